@@ -0,0 +1,761 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.connectionpool;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.CloseListener;
+import org.glassfish.grizzly.CloseType;
+import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.ConnectorHandler;
+import org.glassfish.grizzly.EmptyCompletionHandler;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.GrizzlyFuture;
+import org.glassfish.grizzly.http2.Http2ClientFilter;
+import org.glassfish.grizzly.http2.Http2Session;
+import org.glassfish.grizzly.impl.FutureImpl;
+import org.glassfish.grizzly.impl.SafeFutureImpl;
+
+/**
+ * The single endpoint HTTP/2 {@link Connection} pool. Unlike the {@link SingleEndpointPool}, which hands out a
+ * {@link Connection} exclusively, this pool hands out stream slots on shared, multiplexed HTTP/2 {@link Connection}s.
+ * The same {@link Connection} may be taken several times, up to the number of concurrent streams allowed by the peer
+ * (<tt>SETTINGS_MAX_CONCURRENT_STREAMS</tt>), and every take has to be matched by a {@link #release(Connection)}, once
+ * the stream is complete.
+ *
+ * The {@link Connection}s have to be established by a {@link ConnectorHandler}, whose filter chain contains the
+ * {@link Http2ClientFilter}. A taken slot is served by the {@link Connection} with the fewest active streams; new
+ * {@link Connection}s are open only when all the pooled ones are saturated, up to <tt>maxConnections</tt>. A new
+ * {@link Connection} serves a single stream until the peer's SETTINGS frame is received, then the waiters are served
+ * up to the advertised limit. The
+ * {@link Connection}s, that have received a GOAWAY, are retired: they are not handed out anymore and are closed once
+ * their last stream is released. If the HTTP/2 protocol wasn't negotiated for a {@link Connection}, it's used
+ * exclusively, like in the {@link SingleEndpointPool}.
+ *
+ * @param <E> the address type, for example for TCP transport it's {@link SocketAddress}
+ *
+ * @since 4.1
+ */
+public class Http2ConnectionPool<E> {
+    private static final Logger LOGGER = Grizzly.logger(Http2ConnectionPool.class);
+
+    /**
+     * Returns HTTP/2 connection pool {@link Builder}.
+     *
+     * @param <T> endpoint type
+     * @param endpointType endpoint address type, for example {@link SocketAddress} for TCP transport
+     * @return {@link Builder}
+     */
+    public static <T> Builder<T> builder(Class<T> endpointType) {
+        return new Builder<>();
+    }
+
+    /**
+     * {@link CompletionHandler} to be notified once {@link Endpoint#connect()} is complete
+     */
+    private final ConnectCompletionHandler connectCompletionHandler = new ConnectCompletionHandler();
+    /**
+     * {@link CloseListener} to be notified once pooled {@link Connection} is closed
+     */
+    private final PoolConnectionCloseListener closeListener = new PoolConnectionCloseListener();
+
+    /**
+     * The {@link Connection}s, which may serve new streams
+     */
+    private final List<StreamSlots> activeConnections = new ArrayList<>();
+
+    /**
+     * The {@link Map} contains *all* pooled {@link Connection}s, including the retired ones
+     */
+    private final Map<Connection, StreamSlots> connectionsMap = new HashMap<>();
+
+    /**
+     * The waiting list of asynchronous take requests
+     */
+    private final Deque<CompletionHandler<Connection>> waitingList = new ArrayDeque<>();
+
+    /**
+     * Sync object
+     */
+    final Object poolSync = new Object();
+
+    /**
+     * The endpoint description
+     */
+    private final Endpoint<E> endpoint;
+    /**
+     * The max number of {@link Connection}s kept by this pool
+     */
+    private final int maxConnections;
+    /**
+     * The max number of concurrent streams per {@link Connection}, the peer limit still applies
+     */
+    private final int maxStreamsPerConnection;
+
+    /**
+     * Number of connections we're currently trying to establish and waiting for the result
+     */
+    private int pendingConnections;
+
+    /**
+     * Number of established connections, which are waiting for the peer SETTINGS
+     */
+    private int pendingSettings;
+
+    /**
+     * close flag
+     */
+    private boolean isClosed;
+
+    /**
+     * Constructs Http2ConnectionPool instance.
+     *
+     * @param endpoint {@link Endpoint} to be used to establish new {@link Connection}s
+     * @param maxConnections the max number of {@link Connection}s kept by this pool, <tt>-1</tt> means unlimited
+     * @param maxStreamsPerConnection the max number of concurrent streams per {@link Connection}, <tt>-1</tt> means the
+     * limit is set by the peer only
+     */
+    protected Http2ConnectionPool(final Endpoint<E> endpoint, final int maxConnections, final int maxStreamsPerConnection) {
+        this.endpoint = endpoint;
+        this.maxConnections = maxConnections;
+        this.maxStreamsPerConnection = maxStreamsPerConnection;
+    }
+
+    /**
+     * @return the endpoint description
+     */
+    public Endpoint<E> getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the max number of {@link Connection}s kept by this pool, <tt>-1</tt> means unlimited
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return the max number of concurrent streams per {@link Connection}, <tt>-1</tt> means the limit is set by the peer
+     * only
+     */
+    public int getMaxStreamsPerConnection() {
+        return maxStreamsPerConnection;
+    }
+
+    /**
+     * @return the number of pooled {@link Connection}s, which may serve new streams
+     */
+    public int getOpenConnectionsCount() {
+        synchronized (poolSync) {
+            return activeConnections.size();
+        }
+    }
+
+    /**
+     * @return the total number of taken, but not yet released, stream slots
+     */
+    public int getActiveStreamsCount() {
+        synchronized (poolSync) {
+            int count = 0;
+            for (StreamSlots slots : connectionsMap.values()) {
+                count += slots.activeStreams;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * @param connection the {@link Connection}
+     * @return the number of taken, but not yet released, stream slots of the {@link Connection}, or <tt>-1</tt> if the
+     * {@link Connection} isn't registered in the pool
+     */
+    public int getActiveStreamsCount(final Connection connection) {
+        synchronized (poolSync) {
+            final StreamSlots slots = connectionsMap.get(connection);
+            return slots != null ? slots.activeStreams : -1;
+        }
+    }
+
+    /**
+     * Takes a stream slot in non-blocking/asynchronous fashion. The returned {@link GrizzlyFuture} completes with the
+     * {@link Connection} to open the stream on. If you are not interested in the {@link Connection} anymore, the proper
+     * release code has to look like:
+     *
+     * <pre>
+     * if (!future.cancel(false)) {
+     *     // means Connection is ready
+     *     pool.release(future.get());
+     * }
+     * </pre>
+     *
+     * @return {@link GrizzlyFuture}
+     */
+    public GrizzlyFuture<Connection> take() {
+        final FutureImpl<Connection> future = SafeFutureImpl.create();
+        take(new EmptyCompletionHandler<Connection>() {
+            @Override
+            public void completed(final Connection connection) {
+                future.result(connection);
+                if (future.isCancelled()) {
+                    release(connection);
+                }
+            }
+
+            @Override
+            public void failed(final Throwable throwable) {
+                future.failure(throwable);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Takes a stream slot in non-blocking/asynchronous fashion. The passed {@link CompletionHandler} will be notified with
+     * the {@link Connection} to open the stream on, once a slot is available.
+     *
+     * @param completionHandler to be notified once a stream slot is available or an error occurred
+     */
+    public void take(final CompletionHandler<Connection> completionHandler) {
+        if (completionHandler == null) {
+            throw new IllegalArgumentException("The completionHandler argument can not be null");
+        }
+
+        Connection connection = null;
+        boolean isCreateNewConnection = false;
+        final boolean isClosedNow;
+
+        synchronized (poolSync) {
+            isClosedNow = isClosed;
+            if (!isClosedNow) {
+                final StreamSlots slots = leastLoaded();
+                if (slots != null) {
+                    slots.activeStreams++;
+                    connection = slots.connection;
+                } else {
+                    waitingList.offerLast(completionHandler);
+                    isCreateNewConnection = checkBeforeOpeningConnection();
+                }
+            }
+        }
+
+        if (isClosedNow) {
+            completionHandler.failed(new IOException("The pool is closed"));
+        } else if (connection != null) {
+            completionHandler.completed(connection);
+        } else if (isCreateNewConnection) {
+            connect();
+        }
+    }
+
+    /**
+     * Releases the stream slot taken on the {@link Connection}. If the {@link Connection} has been retired and this was
+     * its last stream - the {@link Connection} is closed.
+     *
+     * @param connection the {@link Connection}
+     * @return <tt>true</tt> if the slot has been released, or <tt>false</tt> if the {@link Connection} isn't registered
+     * in the pool or has no taken slots
+     */
+    public boolean release(final Connection connection) {
+        CompletionHandler<Connection> waiter = null;
+        boolean isClose = false;
+
+        synchronized (poolSync) {
+            final StreamSlots slots = connectionsMap.get(connection);
+            if (slots == null || slots.activeStreams == 0) {
+                return false;
+            }
+
+            slots.activeStreams--;
+
+            if (!slots.isRetired && (isClosed || isGoingAway(connection))) {
+                retire(slots);
+            }
+
+            if (slots.isRetired) {
+                isClose = slots.activeStreams == 0;
+            } else if (!waitingList.isEmpty()) {
+                slots.activeStreams++;
+                waiter = waitingList.pollFirst();
+            }
+        }
+
+        if (isClose) {
+            connection.closeSilently();
+        } else if (waiter != null) {
+            waiter.completed(connection);
+        }
+
+        return true;
+    }
+
+    /**
+     * Closes the pool and the idle {@link Connection}s. The {@link Connection}s with active streams will be closed, once
+     * their last stream is released.
+     */
+    public void close() {
+        final List<Connection> toClose = new ArrayList<>();
+        final List<CompletionHandler<Connection>> toFail;
+
+        synchronized (poolSync) {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+
+            for (StreamSlots slots : new ArrayList<>(activeConnections)) {
+                retire(slots);
+            }
+
+            for (StreamSlots slots : connectionsMap.values()) {
+                if (slots.activeStreams == 0) {
+                    toClose.add(slots.connection);
+                }
+            }
+
+            toFail = new ArrayList<>(waitingList);
+            waitingList.clear();
+        }
+
+        for (Connection connection : toClose) {
+            connection.closeSilently();
+        }
+
+        if (!toFail.isEmpty()) {
+            final IOException exception = new IOException("The pool is closed");
+            for (CompletionHandler<Connection> waiter : toFail) {
+                waiter.failed(exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Connection} with the fewest active streams, which may serve one more stream, retiring the
+     * {@link Connection}s, that are going away. Must be called under <tt>poolSync</tt>.
+     */
+    private StreamSlots leastLoaded() {
+        StreamSlots best = null;
+        for (Iterator<StreamSlots> it = activeConnections.iterator(); it.hasNext();) {
+            final StreamSlots slots = it.next();
+            if (isGoingAway(slots.connection)) {
+                it.remove();
+                slots.isRetired = true;
+                if (slots.activeStreams == 0) {
+                    // the connection will be removed from the map by the close listener
+                    slots.connection.closeSilently();
+                }
+                continue;
+            }
+
+            if (slots.activeStreams < maxStreams(slots.connection) && (best == null || slots.activeStreams < best.activeStreams)) {
+                best = slots;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Stops handing out the {@link Connection}. Must be called under <tt>poolSync</tt>.
+     */
+    private void retire(final StreamSlots slots) {
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.log(Level.FINEST, "Pool connection is retired {0}", slots.connection);
+        }
+
+        slots.isRetired = true;
+        activeConnections.remove(slots);
+    }
+
+    /**
+     * @return the max number of concurrent streams the {@link Connection} may serve
+     */
+    private int maxStreams(final Connection connection) {
+        final Http2Session http2Session = Http2Session.get(connection);
+        if (http2Session == null || !http2Session.isPeerSettingsReceived()) {
+            // HTTP/2 hasn't been negotiated, use the connection exclusively,
+            // or the peer limit isn't known yet
+            return 1;
+        }
+
+        final int peerMaxStreams = http2Session.getPeerMaxConcurrentStreams();
+        return maxStreamsPerConnection > 0 ? Math.min(maxStreamsPerConnection, peerMaxStreams) : peerMaxStreams;
+    }
+
+    private static boolean isGoingAway(final Connection connection) {
+        final Http2Session http2Session = Http2Session.get(connection);
+        return http2Session != null ? http2Session.isGoingAway() : !connection.isOpen();
+    }
+
+    /**
+     * Hands out the free stream slots of the {@link Connection} to the waiters. Must be called under <tt>poolSync</tt>.
+     */
+    private void serveWaiters(final StreamSlots slots, final List<CompletionHandler<Connection>> waiters) {
+        final int maxStreams = maxStreams(slots.connection);
+        while (slots.activeStreams < maxStreams && !waitingList.isEmpty()) {
+            slots.activeStreams++;
+            waiters.add(waitingList.pollFirst());
+        }
+    }
+
+    /**
+     * The method is called before the pool will try to establish new client connection. A new connection is open only if
+     * there is no other one pending, or waiting for the peer SETTINGS, because a single connection may serve many
+     * waiters. Must be called under <tt>poolSync</tt>.
+     *
+     * @return <tt>true</tt> if new connection could be created, or <tt>false</tt> otherwise
+     */
+    private boolean checkBeforeOpeningConnection() {
+        if (pendingConnections == 0 && pendingSettings == 0 && !waitingList.isEmpty() && (maxConnections < 0 || activeConnections.size() < maxConnections)) {
+            pendingConnections++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Establish new pool connection.
+     */
+    private void connect() {
+        endpoint.connect().addCompletionHandler(connectCompletionHandler);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "@" + Integer.toHexString(hashCode()) + "{" + "endpoint=" + endpoint + ", maxConnections=" + maxConnections
+                + ", maxStreamsPerConnection=" + maxStreamsPerConnection + ", isClosed=" + isClosed + "}";
+    }
+
+    /**
+     * The pooled {@link Connection} and its stream slots accounting.
+     */
+    private static final class StreamSlots {
+        private final Connection connection;
+        private int activeStreams;
+        private boolean isRetired;
+        private boolean isSettingsPending;
+
+        private StreamSlots(final Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * {@link CompletionHandler} to be notified once new {@link Connection} is connected or failed to connect.
+     */
+    private final class ConnectCompletionHandler extends EmptyCompletionHandler<Connection> {
+
+        @Override
+        public void completed(final Connection connection) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "Pool connection is established {0}", connection);
+            }
+
+            final List<CompletionHandler<Connection>> waiters = new ArrayList<>();
+            final Http2Session http2Session = Http2Session.get(connection);
+            StreamSlots slots = null;
+            boolean isSettingsPending = false;
+            boolean isCreateNewConnection = false;
+
+            synchronized (poolSync) {
+                pendingConnections--;
+
+                if (!isClosed) {
+                    slots = new StreamSlots(connection);
+                    connectionsMap.put(connection, slots);
+                    activeConnections.add(slots);
+                    connection.addCloseListener(closeListener);
+
+                    if (http2Session != null && !http2Session.isPeerSettingsReceived()) {
+                        isSettingsPending = true;
+                        slots.isSettingsPending = true;
+                        pendingSettings++;
+                    }
+
+                    serveWaiters(slots, waiters);
+                    isCreateNewConnection = checkBeforeOpeningConnection();
+                }
+            }
+
+            if (slots == null) {
+                connection.closeSilently();
+                return;
+            }
+
+            for (CompletionHandler<Connection> waiter : waiters) {
+                waiter.completed(connection);
+            }
+
+            if (isSettingsPending) {
+                http2Session.getPeerSettingsFuture().addCompletionHandler(new PeerSettingsCompletionHandler(slots));
+            }
+
+            if (isCreateNewConnection) {
+                connect();
+            }
+        }
+
+        @Override
+        public void cancelled() {
+            failed(new IOException("Connect cancelled"));
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            final List<CompletionHandler<Connection>> toFail;
+
+            synchronized (poolSync) {
+                pendingConnections--;
+
+                toFail = new ArrayList<>(waitingList);
+                waitingList.clear();
+            }
+
+            for (CompletionHandler<Connection> waiter : toFail) {
+                waiter.failed(throwable);
+            }
+        }
+    }
+
+    /**
+     * {@link CompletionHandler} to be notified once the peer SETTINGS are received by the new {@link Connection}, so its
+     * stream slots, limited by the peer, could be handed out.
+     */
+    private final class PeerSettingsCompletionHandler extends EmptyCompletionHandler<Http2Session> {
+        private final StreamSlots slots;
+
+        private PeerSettingsCompletionHandler(final StreamSlots slots) {
+            this.slots = slots;
+        }
+
+        @Override
+        public void completed(final Http2Session http2Session) {
+            final List<CompletionHandler<Connection>> waiters = new ArrayList<>();
+            final boolean isCreateNewConnection;
+
+            synchronized (poolSync) {
+                if (!slots.isSettingsPending) {
+                    return;
+                }
+
+                slots.isSettingsPending = false;
+                pendingSettings--;
+
+                if (!slots.isRetired && !isClosed) {
+                    serveWaiters(slots, waiters);
+                }
+
+                isCreateNewConnection = !isClosed && checkBeforeOpeningConnection();
+            }
+
+            for (CompletionHandler<Connection> waiter : waiters) {
+                waiter.completed(slots.connection);
+            }
+
+            if (isCreateNewConnection) {
+                connect();
+            }
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            // the connection is closed, the close listener adjusts the counters
+        }
+    }
+
+    /**
+     * The {@link CloseListener} to be notified, when pool {@link Connection} has been closed, so the pool can adjust its
+     * counters.
+     */
+    private final class PoolConnectionCloseListener implements CloseListener<Connection, CloseType> {
+
+        @Override
+        public void onClosed(final Connection connection, final CloseType type) throws IOException {
+            final boolean isCreateNewConnection;
+
+            synchronized (poolSync) {
+                final StreamSlots slots = connectionsMap.remove(connection);
+                if (slots == null) {
+                    return;
+                }
+
+                activeConnections.remove(slots);
+                if (slots.isSettingsPending) {
+                    slots.isSettingsPending = false;
+                    pendingSettings--;
+                }
+
+                // If someone is waiting for a stream slot
+                // try to create a new connection
+                isCreateNewConnection = !isClosed && checkBeforeOpeningConnection();
+            }
+
+            if (isCreateNewConnection) {
+                connect();
+            }
+        }
+    }
+
+    /**
+     * The Builder class responsible for constructing {@link Http2ConnectionPool}.
+     *
+     * @param <E> endpoint address type, for example {@link SocketAddress} for TCP transport
+     */
+    public static class Builder<E> {
+        /**
+         * The endpoint information
+         */
+        protected Endpoint<E> endpoint;
+        /**
+         * {@link ConnectorHandler} used to establish new {@link Connection}s
+         */
+        protected ConnectorHandler<E> connectorHandler;
+        /**
+         * Endpoint address
+         */
+        protected E endpointAddress;
+        /**
+         * Local bind address.
+         */
+        protected E localEndpointAddress;
+        /**
+         * The max number of {@link Connection}s kept by this pool
+         */
+        protected int maxConnections = 4;
+        /**
+         * The max number of concurrent streams per {@link Connection}
+         */
+        protected int maxStreamsPerConnection = -1;
+
+        protected Builder() {
+        }
+
+        /**
+         * Sets the {@link ConnectorHandler} used to establish new {@link Connection}s. The {@link ConnectorHandler} filter
+         * chain has to contain the {@link Http2ClientFilter}.
+         *
+         * @param connectorHandler {@link ConnectorHandler}
+         * @return this {@link Builder}
+         */
+        public Builder<E> connectorHandler(final ConnectorHandler<E> connectorHandler) {
+            this.connectorHandler = connectorHandler;
+            return this;
+        }
+
+        /**
+         * Sets the endpoint address.
+         *
+         * @param endpointAddress
+         * @return this {@link Builder}
+         */
+        public Builder<E> endpointAddress(final E endpointAddress) {
+            this.endpointAddress = endpointAddress;
+            return this;
+        }
+
+        /**
+         * Sets the local endpoint address.
+         *
+         * @param localEndpointAddress
+         * @return this {@link Builder}
+         */
+        public Builder<E> localEndpointAddress(final E localEndpointAddress) {
+            this.localEndpointAddress = localEndpointAddress;
+            return this;
+        }
+
+        /**
+         * Sets the endpoint information.
+         *
+         * @param endpoint {@link Endpoint}
+         * @return this {@link Builder}
+         */
+        public Builder<E> endpoint(final Endpoint<E> endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Sets the max number of {@link Connection}s kept by this pool, <tt>-1</tt> means unlimited. The default value is
+         * <tt>4</tt>.
+         *
+         * @param maxConnections
+         * @return this {@link Builder}
+         */
+        public Builder<E> maxConnections(final int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Sets the max number of concurrent streams per {@link Connection}. The lower of this value and the peer's
+         * <tt>SETTINGS_MAX_CONCURRENT_STREAMS</tt> applies. The default value is <tt>-1</tt>, which means the limit is set
+         * by the peer only.
+         *
+         * @param maxStreamsPerConnection
+         * @return this {@link Builder}
+         */
+        public Builder<E> maxStreamsPerConnection(final int maxStreamsPerConnection) {
+            this.maxStreamsPerConnection = maxStreamsPerConnection;
+            return this;
+        }
+
+        /**
+         * Constructs {@link Http2ConnectionPool}.
+         *
+         * @return {@link Http2ConnectionPool}
+         */
+        public Http2ConnectionPool<E> build() {
+            final Endpoint<E> e;
+            if (endpoint == null) {
+                if (connectorHandler == null) {
+                    throw new IllegalStateException("Neither Endpoint nor ConnectorHandler is set");
+                }
+
+                if (endpointAddress == null) {
+                    throw new IllegalStateException("Neither Endpoint nor endpoint address is set");
+                }
+
+                e = Endpoint.Factory.create(endpointAddress, localEndpointAddress, connectorHandler);
+            } else {
+                e = endpoint;
+            }
+
+            if (maxConnections == 0) {
+                throw new IllegalStateException("Max connections must not be zero");
+            }
+
+            return new Http2ConnectionPool<>(e, maxConnections, maxStreamsPerConnection);
+        }
+    }
+}
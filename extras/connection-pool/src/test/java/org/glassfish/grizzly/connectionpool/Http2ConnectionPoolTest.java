@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.connectionpool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.GrizzlyFuture;
+import org.glassfish.grizzly.filterchain.BaseFilter;
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.filterchain.NextAction;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http.HttpClientFilter;
+import org.glassfish.grizzly.http.HttpContent;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.Method;
+import org.glassfish.grizzly.http.Protocol;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http2.Http2AddOn;
+import org.glassfish.grizzly.http2.Http2ClientFilter;
+import org.glassfish.grizzly.http2.Http2Configuration;
+import org.glassfish.grizzly.http2.Http2Session;
+import org.glassfish.grizzly.impl.FutureImpl;
+import org.glassfish.grizzly.impl.SafeFutureImpl;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link Http2ConnectionPool} tests.
+ */
+public class Http2ConnectionPoolTest {
+    private static final int PORT = 18910;
+    private static final int FAILOVER_PORT = 18911;
+    private static final int MAX_CONCURRENT_STREAMS = 2;
+
+    private HttpServer server;
+    private HttpServer failoverServer;
+    private TCPNIOTransport clientTransport;
+
+    private volatile FutureImpl<String> responseFuture;
+
+    @Before
+    public void init() throws IOException {
+        server = createServer(PORT);
+        failoverServer = createServer(FAILOVER_PORT);
+
+        clientTransport = TCPNIOTransportBuilder.newInstance().build();
+        clientTransport.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).add(new HttpClientFilter())
+                .add(new Http2ClientFilter(Http2Configuration.builder().priorKnowledge(true).build())).add(new BaseFilter() {
+                    @Override
+                    public NextAction handleRead(FilterChainContext ctx) throws IOException {
+                        final HttpContent httpContent = ctx.getMessage();
+                        if (httpContent.isLast()) {
+                            responseFuture.result(httpContent.getContent().toStringContent());
+                        }
+                        return ctx.getStopAction();
+                    }
+                }).build());
+        clientTransport.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        clientTransport.shutdownNow();
+        server.shutdownNow();
+        failoverServer.shutdownNow();
+    }
+
+    @Test
+    public void testStreamSlots() throws Exception {
+        final Http2ConnectionPool<SocketAddress> pool = Http2ConnectionPool.builder(SocketAddress.class).connectorHandler(clientTransport)
+                .endpointAddress(new InetSocketAddress("localhost", PORT)).maxConnections(2).build();
+
+        try {
+            // the streams are multiplexed up to the peer's SETTINGS_MAX_CONCURRENT_STREAMS
+            final Connection c1 = pool.take().get(10, TimeUnit.SECONDS);
+            // the second slot is handed out once the server SETTINGS are received
+            assertSame(c1, pool.take().get(10, TimeUnit.SECONDS));
+            assertTrue(Http2Session.get(c1).isPeerSettingsReceived());
+            assertEquals(MAX_CONCURRENT_STREAMS, Http2Session.get(c1).getPeerMaxConcurrentStreams());
+            assertEquals(1, pool.getOpenConnectionsCount());
+
+            // the first connection is saturated
+            final Connection c2 = pool.take().get(10, TimeUnit.SECONDS);
+            assertNotSame(c1, c2);
+            assertSame(c2, pool.take().get(10, TimeUnit.SECONDS));
+            assertEquals(2, pool.getOpenConnectionsCount());
+            assertEquals(4, pool.getActiveStreamsCount());
+
+            // max connections is reached, wait for a released slot
+            final GrizzlyFuture<Connection> waiting = pool.take();
+            assertFalse(waiting.isDone());
+            assertTrue(pool.release(c1));
+            assertSame(c1, waiting.get(10, TimeUnit.SECONDS));
+
+            // the connection with the fewest active streams is picked
+            assertTrue(pool.release(c2));
+            assertEquals(1, pool.getActiveStreamsCount(c2));
+            assertSame(c2, pool.take().get(10, TimeUnit.SECONDS));
+            assertEquals(2, pool.getOpenConnectionsCount());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testRequest() throws Exception {
+        final Http2ConnectionPool<SocketAddress> pool = Http2ConnectionPool.builder(SocketAddress.class).connectorHandler(clientTransport)
+                .endpointAddress(new InetSocketAddress("localhost", PORT)).build();
+
+        try {
+            final Connection connection = pool.take().get(10, TimeUnit.SECONDS);
+            responseFuture = SafeFutureImpl.create();
+            final HttpRequestPacket request = HttpRequestPacket.builder().method(Method.GET).uri("/").protocol(Protocol.HTTP_2_0)
+                    .host("localhost:" + PORT).build();
+            connection.write(HttpContent.builder(request).content(Buffers.EMPTY_BUFFER).last(true).build());
+
+            assertEquals("OK", responseFuture.get(10, TimeUnit.SECONDS));
+            assertTrue(pool.release(connection));
+            assertEquals(0, pool.getActiveStreamsCount(connection));
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testGoAway() throws Exception {
+        final InetSocketAddress[] address = { new InetSocketAddress("localhost", PORT) };
+        final Endpoint<SocketAddress> endpoint = new Endpoint<SocketAddress>() {
+            @Override
+            public Object getId() {
+                return "failover";
+            }
+
+            @Override
+            public GrizzlyFuture<Connection> connect() {
+                return clientTransport.connect(address[0]);
+            }
+        };
+        final Http2ConnectionPool<SocketAddress> pool = Http2ConnectionPool.builder(SocketAddress.class).endpoint(endpoint).build();
+
+        try {
+            final Connection c1 = pool.take().get(10, TimeUnit.SECONDS);
+
+            // the graceful shutdown sends GOAWAY
+            address[0] = new InetSocketAddress("localhost", FAILOVER_PORT);
+            server.shutdown(10, TimeUnit.SECONDS);
+            final Http2Session session = Http2Session.get(c1);
+            for (int i = 0; i < 100 && !session.isGoingAway(); i++) {
+                Thread.sleep(100);
+            }
+            assertTrue(session.isGoingAway());
+
+            // the connection is retired
+            final Connection c2 = pool.take().get(10, TimeUnit.SECONDS);
+            assertNotSame(c1, c2);
+            assertEquals(FAILOVER_PORT, ((InetSocketAddress) c2.getPeerAddress()).getPort());
+            assertEquals(1, pool.getOpenConnectionsCount());
+
+            // and closed, once its last stream is released
+            assertTrue(pool.release(c1));
+            for (int i = 0; i < 100 && c1.isOpen(); i++) {
+                Thread.sleep(100);
+            }
+            assertFalse(c1.isOpen());
+            assertEquals(-1, pool.getActiveStreamsCount(c1));
+        } finally {
+            pool.close();
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static HttpServer createServer(final int port) throws IOException {
+        final HttpServer server = HttpServer.createSimpleServer(null, port);
+        server.getListener("grizzly").registerAddOn(new Http2AddOn(Http2Configuration.builder().maxConcurrentStreams(MAX_CONCURRENT_STREAMS).build()));
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.setContentType("text/plain");
+                response.getWriter().write("OK");
+            }
+        }, "/");
+        server.start();
+
+        return server;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.multipart;
+
+import java.nio.charset.StandardCharsets;
+
+import org.glassfish.grizzly.Buffer;
+
+/**
+ * Boyer-Moore-Horspool search of the multipart delimiter (<tt>"--" + boundary</tt>) in a {@link Buffer}.
+ *
+ * Only every <tt>delimiter length</tt>-th byte of the content is usually inspected, which makes scanning of large binary
+ * entries much cheaper than a byte-by-byte line parsing. Heap buffers are scanned over their backing array, other
+ * buffers (including composite ones, which keep track of the last accessed segment) via {@link Buffer#get(int)}.
+ */
+final class BoundaryFinder {
+
+    private final byte[] delimiter;
+    private final int[] shifts = new int[256];
+
+    BoundaryFinder(final String boundary) {
+        delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+
+        final int length = delimiter.length;
+        for (int i = 0; i < shifts.length; i++) {
+            shifts[i] = length;
+        }
+
+        for (int i = 0; i < length - 1; i++) {
+            shifts[delimiter[i] & 0xFF] = length - 1 - i;
+        }
+    }
+
+    /**
+     * @return the delimiter length
+     */
+    int length() {
+        return delimiter.length;
+    }
+
+    /**
+     * Finds the first occurrence of the delimiter in the given {@link Buffer} region.
+     *
+     * @param buffer the {@link Buffer} to search in
+     * @param from the index to start the search from (inclusive)
+     * @param to the index to end the search at (exclusive)
+     *
+     * @return the delimiter index, or <tt>-1</tt> if the delimiter wasn't found
+     */
+    int find(final Buffer buffer, final int from, final int to) {
+        if (!buffer.isComposite() && buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            final int idx = find(buffer.array(), offset + from, offset + to);
+            return idx != -1 ? idx - offset : -1;
+        }
+
+        final byte[] localDelimiter = delimiter;
+        final int last = localDelimiter.length - 1;
+        final byte lastByte = localDelimiter[last];
+
+        int i = from;
+        while (i + last < to) {
+            final byte b = buffer.get(i + last);
+            if (b == lastByte) {
+                int j = last - 1;
+                while (j >= 0 && buffer.get(i + j) == localDelimiter[j]) {
+                    j--;
+                }
+
+                if (j < 0) {
+                    return i;
+                }
+            }
+
+            i += shifts[b & 0xFF];
+        }
+
+        return -1;
+    }
+
+    private int find(final byte[] array, final int from, final int to) {
+        final byte[] localDelimiter = delimiter;
+        final int last = localDelimiter.length - 1;
+        final byte lastByte = localDelimiter[last];
+
+        int i = from;
+        while (i + last < to) {
+            final byte b = array[i + last];
+            if (b == lastByte) {
+                int j = last - 1;
+                while (j >= 0 && array[i + j] == localDelimiter[j]) {
+                    j--;
+                }
+
+                if (j < 0) {
+                    return i;
+                }
+            }
+
+            i += shifts[b & 0xFF];
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.multipart;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.ByteBufferArray;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.utils.BufferInputStream;
+
+/**
+ * The content and headers of a {@link MultipartEntry} collected by {@link BufferingMultipartEntryHandler}.
+ *
+ * Small entries are kept in memory as the {@link Buffer}s read from the request (no copying is involved), entries
+ * exceeding the memory threshold are written to a temporary file.
+ *
+ * @since 4.1
+ */
+public class BufferedMultipartEntry {
+
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final String contentType;
+    private final ContentDisposition contentDisposition;
+
+    private final int memoryThreshold;
+    private final File tempDirectory;
+    private final MemoryManager memoryManager;
+
+    private Buffer content;
+    private File file;
+    private FileChannel fileChannel;
+    private long size;
+    private boolean isComplete;
+
+    BufferedMultipartEntry(final MultipartEntry multipartEntry, final int memoryThreshold, final File tempDirectory) {
+        for (final String name : multipartEntry.getHeaderNames()) {
+            headers.put(name, multipartEntry.getHeader(name));
+        }
+
+        contentType = multipartEntry.getContentType();
+        contentDisposition = multipartEntry.getContentDisposition();
+        this.memoryThreshold = memoryThreshold;
+        this.tempDirectory = tempDirectory;
+        memoryManager = multipartEntry.getMemoryManager();
+    }
+
+    /**
+     * @return the entry <tt>Content-Type</tt>
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the entry {@link ContentDisposition} or <tt>null</tt>
+     */
+    public ContentDisposition getContentDisposition() {
+        return contentDisposition;
+    }
+
+    /**
+     * @return the <tt>name</tt> parameter of the entry <tt>Content-Disposition</tt>, or <tt>null</tt>
+     */
+    public String getName() {
+        return contentDisposition != null ? contentDisposition.getDispositionParamUnquoted("name") : null;
+    }
+
+    /**
+     * @return the <tt>filename</tt> parameter of the entry <tt>Content-Disposition</tt>, or <tt>null</tt>
+     */
+    public String getFilename() {
+        return contentDisposition != null ? contentDisposition.getDispositionParamUnquoted("filename") : null;
+    }
+
+    public Set<String> getHeaderNames() {
+        return Collections.unmodifiableSet(headers.keySet());
+    }
+
+    public String getHeader(final String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * @return the entry content size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return <tt>true</tt> if the entry content is kept in memory, or <tt>false</tt> if it was written to a file
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * @return <tt>true</tt> if the entry content has been completely received
+     */
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * Returns the in-memory entry content. The returned {@link Buffer} shares the memory with the request input, so it
+     * must not be used after the request processing is completed.
+     *
+     * @return the entry content, or <tt>null</tt> if the content was written to a file
+     */
+    public Buffer getContent() {
+        if (file != null) {
+            return null;
+        }
+
+        return content != null ? content.duplicate() : Buffers.EMPTY_BUFFER;
+    }
+
+    /**
+     * @return the file the entry content was written to, or <tt>null</tt> if the content is kept in memory
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the {@link InputStream} to read the entry content
+     */
+    public InputStream getInputStream() throws IOException {
+        if (file != null) {
+            return new FileInputStream(file);
+        }
+
+        return new BufferInputStream(getContent());
+    }
+
+    /**
+     * Releases the entry content: disposes in-memory content or deletes the temporary file.
+     */
+    public void release() {
+        closeFile();
+
+        if (file != null) {
+            file.delete();
+        }
+
+        if (content != null) {
+            content.tryDispose();
+            content = null;
+        }
+    }
+
+    void append(final Buffer buffer) throws IOException {
+        final int length = buffer.remaining();
+        if (length == 0) {
+            return;
+        }
+
+        size += length;
+
+        if (fileChannel == null && size > memoryThreshold) {
+            spill();
+        }
+
+        if (fileChannel != null) {
+            write(buffer);
+            buffer.tryDispose();
+        } else {
+            content = Buffers.appendBuffers(memoryManager, content, buffer);
+        }
+    }
+
+    void complete() {
+        isComplete = true;
+        closeFile();
+    }
+
+    private void spill() throws IOException {
+        file = File.createTempFile("grizzly-multipart", ".tmp", tempDirectory);
+        fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+
+        if (content != null) {
+            write(content);
+            content.tryDispose();
+            content = null;
+        }
+    }
+
+    private void write(final Buffer buffer) throws IOException {
+        if (!buffer.isComposite()) {
+            final ByteBuffer bb = buffer.toByteBuffer();
+            while (bb.hasRemaining()) {
+                fileChannel.write(bb);
+            }
+
+            return;
+        }
+
+        final ByteBufferArray array = buffer.toByteBufferArray();
+        try {
+            final ByteBuffer[] bbs = array.getArray();
+            final int arraySize = array.size();
+
+            long remaining = buffer.remaining();
+            while (remaining > 0) {
+                remaining -= fileChannel.write(bbs, 0, arraySize);
+            }
+        } finally {
+            array.restore();
+            array.recycle();
+        }
+    }
+
+    private void closeFile() {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException ignored) {
+            }
+
+            fileChannel = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BufferedMultipartEntry{" + "name=" + getName() + ", size=" + size + ", file=" + file + '}';
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.multipart;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.ReadHandler;
+import org.glassfish.grizzly.http.io.NIOInputStream;
+
+/**
+ * {@link MultipartEntryHandler}, which reads every {@link MultipartEntry} completely and collects them as
+ * {@link BufferedMultipartEntry}s, so the application doesn't have to deal with non-blocking entry reading.
+ *
+ * Entries up to the memory threshold are kept in memory, bigger entries are spilled to temporary files. The collected
+ * entries are usually processed in the {@link MultipartScanner} completion handler. The caller must always
+ * {@link #release() release} them afterwards, including the error cases: the temporary files are deleted only by
+ * {@link #release()}, they aren't scheduled for deletion on the JVM exit.
+ *
+ * <pre>
+ * final BufferingMultipartEntryHandler handler = new BufferingMultipartEntryHandler();
+ * MultipartScanner.scan(request, handler, new EmptyCompletionHandler&lt;Request&gt;() {
+ *     public void completed(Request request) {
+ *         try {
+ *             for (BufferedMultipartEntry entry : handler.getEntries()) {
+ *                 ...
+ *             }
+ *         } finally {
+ *             handler.release();
+ *             response.resume();
+ *         }
+ *     }
+ * });
+ * </pre>
+ *
+ * @since 4.1
+ */
+public class BufferingMultipartEntryHandler implements MultipartEntryHandler {
+    private static final Logger LOGGER = Grizzly.logger(BufferingMultipartEntryHandler.class);
+
+    /**
+     * The default max size of an entry kept in memory.
+     */
+    public static final int DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+
+    private final int memoryThreshold;
+    private final File tempDirectory;
+
+    private final List<BufferedMultipartEntry> entries = new ArrayList<>();
+
+    public BufferingMultipartEntryHandler() {
+        this(DEFAULT_MEMORY_THRESHOLD, null);
+    }
+
+    /**
+     * @param memoryThreshold the max size of an entry kept in memory, bigger entries are written to temporary files
+     * @param tempDirectory the directory for temporary files, or <tt>null</tt> to use the default temporary-file directory
+     */
+    public BufferingMultipartEntryHandler(final int memoryThreshold, final File tempDirectory) {
+        if (memoryThreshold < 0) {
+            throw new IllegalArgumentException("memoryThreshold can't be negative");
+        }
+
+        this.memoryThreshold = memoryThreshold;
+        this.tempDirectory = tempDirectory;
+    }
+
+    public int getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    public File getTempDirectory() {
+        return tempDirectory;
+    }
+
+    @Override
+    public void handle(final MultipartEntry multipartEntry) throws Exception {
+        final BufferedMultipartEntry entry = new BufferedMultipartEntry(multipartEntry, memoryThreshold, tempDirectory);
+        entries.add(entry);
+
+        final NIOInputStream inputStream = multipartEntry.getNIOInputStream();
+        inputStream.notifyAvailable(new EntryReadHandler(inputStream, entry));
+    }
+
+    /**
+     * @return the collected entries in the order they appeared in the multipart message
+     */
+    public List<BufferedMultipartEntry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Releases all the collected entries and deletes their temporary files. Must be called once the entries have been
+     * processed, or the request has failed.
+     */
+    public void release() {
+        for (BufferedMultipartEntry entry : entries) {
+            entry.release();
+        }
+
+        entries.clear();
+    }
+
+    private static final class EntryReadHandler implements ReadHandler {
+        private final NIOInputStream inputStream;
+        private final BufferedMultipartEntry entry;
+
+        private EntryReadHandler(final NIOInputStream inputStream, final BufferedMultipartEntry entry) {
+            this.inputStream = inputStream;
+            this.entry = entry;
+        }
+
+        @Override
+        public void onDataAvailable() throws Exception {
+            read();
+            inputStream.notifyAvailable(this);
+        }
+
+        @Override
+        public void onAllDataRead() throws Exception {
+            read();
+            entry.complete();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            LOGGER.log(Level.FINE, "Error reading multipart entry " + entry, t);
+            entry.release();
+        }
+
+        private void read() throws Exception {
+            if (inputStream.readyData() > 0) {
+                entry.append(inputStream.readBuffer());
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.glassfish.grizzly.http.io.NIOReader;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.util.ContentType;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.memory.MemoryManager;
 
 /**
  * Abstraction represents single multipart entry, its functionality is pretty similar to {@link Request}. In order to
@@ -44,6 +45,7 @@ public class MultipartEntry {
     private NIOInputStream requestInputStream;
 
     private final MultipartContext multipartContext;
+    private final MemoryManager memoryManager;
     private final MultipartEntryNIOInputStream inputStream;
     private final MultipartEntryNIOReader reader;
 
@@ -82,10 +84,11 @@ public class MultipartEntry {
      */
     private boolean isMultipartParsed;
 
-    MultipartEntry(final MultipartContext multipartContext) {
+    MultipartEntry(final MultipartContext multipartContext, final MemoryManager memoryManager) {
         inputStream = new MultipartEntryNIOInputStream(this);
         reader = new MultipartEntryNIOReader(this);
         this.multipartContext = multipartContext;
+        this.memoryManager = memoryManager;
     }
 
     void initialize(final NIOInputStream parentInputStream) {
@@ -129,6 +132,13 @@ public class MultipartEntry {
         return multipartContext;
     }
 
+    /**
+     * @return the {@link MemoryManager} of the connection, the multipart message is read from
+     */
+    MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
     /**
      * Returns <tt>true</tt> if this is "multipart/*" multipart entry, or <tt>false</tt> otherwise.
      *
@@ -37,6 +37,9 @@ import org.glassfish.grizzly.http.util.Header;
  */
 public class MultipartReadHandler implements ReadHandler {
 
+    private static final int NOT_A_BOUNDARY = -1;
+    private static final int NEED_MORE_DATA = -2;
+
     private enum State {
         PREAMBLE, PARSE_MULTIPART_ENTRY_HEADERS, START_BODY, BODY, RESET
     }
@@ -52,6 +55,7 @@ public class MultipartReadHandler implements ReadHandler {
     private final MultipartEntryHandler multipartHandler;
     private final MultipartContext multipartContext;
     private final String boundary;
+    private final BoundaryFinder boundaryFinder;
 
     private final Line line = new Line();
 
@@ -63,6 +67,9 @@ public class MultipartReadHandler implements ReadHandler {
 
     private boolean isMultipartMixed;
 
+    // true, if no content of the current entry has been made available yet
+    private boolean isEntryStart;
+
     public MultipartReadHandler(final Request request, final MultipartEntryHandler multipartHandler, final CompletionHandler<Request> completionHandler,
             final MultipartContext multipartContext) {
         this.request = request;
@@ -70,12 +77,13 @@ public class MultipartReadHandler implements ReadHandler {
         this.requestCompletionHandler = completionHandler;
         this.multipartContext = multipartContext;
         this.boundary = multipartContext.getBoundary();
+        this.boundaryFinder = new BoundaryFinder(boundary);
         this.parentInputStream = request.getNIOInputStream();
 
         multipartMixedCompletionHandler = null;
         multipartMixedEntry = null;
 
-        multipartEntry = new MultipartEntry(multipartContext);
+        multipartEntry = new MultipartEntry(multipartContext, request.getContext().getMemoryManager());
     }
 
     public MultipartReadHandler(final MultipartEntry parentMultipartEntry, final MultipartEntryHandler multipartHandler,
@@ -85,6 +93,7 @@ public class MultipartReadHandler implements ReadHandler {
         this.multipartMixedCompletionHandler = completionHandler;
         this.multipartContext = multipartContext;
         this.boundary = multipartContext.getBoundary();
+        this.boundaryFinder = new BoundaryFinder(boundary);
 
         this.parentInputStream = parentMultipartEntry.getNIOInputStream();
 
@@ -92,7 +101,7 @@ public class MultipartReadHandler implements ReadHandler {
         requestCompletionHandler = null;
         isMultipartMixed = true;
 
-        multipartEntry = new MultipartEntry(multipartContext);
+        multipartEntry = new MultipartEntry(multipartContext, parentMultipartEntry.getMemoryManager());
     }
 
     @Override
@@ -169,6 +178,7 @@ public class MultipartReadHandler implements ReadHandler {
 
             case START_BODY: {
                 state = State.BODY;
+                isEntryStart = true;
 //                    feedMultipartEntry();
                 multipartHandler.handle(multipartEntry);
 
@@ -203,59 +213,124 @@ public class MultipartReadHandler implements ReadHandler {
         } while (true);
     }
 
+    /**
+     * Makes the entry content available to the {@link MultipartEntry} up to the next boundary line.
+     *
+     * Instead of parsing the content line by line, the boundary delimiter is searched using {@link BoundaryFinder}, and
+     * only the delimiter candidates are checked to start (and form) a line. The tail of the ready data, which might be
+     * a part of the next boundary line, is kept reserved until more data comes.
+     */
     @SuppressWarnings({ "ResultOfMethodCallIgnored" })
     private void feedMultipartEntry() throws Exception {
-//        int available = 0;
-        boolean isComplete;
+        final Buffer buffer = parentInputStream.getBuffer();
+        final int position = buffer.position();
+        final int limit = position + parentInputStream.readyData();
+        // the content, which hasn't been made available yet, starts here
+        final int from = position + multipartEntry.availableBytes();
+        final int delimiterLength = boundaryFinder.length();
+
+        int availableLimit;
+        int searchFrom = from;
+
+        while (true) {
+            final int idx = boundaryFinder.find(buffer, searchFrom, limit);
+            if (idx == -1) {
+                // the tail might be an incomplete delimiter preceded by a line terminator
+                availableLimit = Math.max(from, limit - delimiterLength - 1);
+                break;
+            }
 
-        do {
-            line.offset = multipartEntry.availableBytes() + multipartEntry.getReservedBytes();
+            // the delimiter has to start a line
+            final int contentEnd;
+            if (idx == from && idx == position && isEntryStart) {
+                // the entry is empty
+                contentEnd = idx;
+            } else if (idx > from && buffer.get(idx - 1) == Constants.LF) {
+                contentEnd = idx - 2 >= from && buffer.get(idx - 2) == Constants.CR ? idx - 2 : idx - 1;
+            } else {
+                searchFrom = idx + 1;
+                continue;
+            }
 
-            readLine();
+            final int delimiterEnd = idx + delimiterLength;
+            final int lineEnd = findBoundaryLineEnd(buffer, delimiterEnd, limit);
+            if (lineEnd == NOT_A_BOUNDARY) {
+                searchFrom = idx + 1;
+                continue;
+            }
+
+            if (lineEnd == NEED_MORE_DATA) {
+                availableLimit = contentEnd;
+                break;
+            }
+
+            isFinished = buffer.get(delimiterEnd) == '-';
 
-            isComplete = line.isComplete;
-//            System.out.println("Line=" + line.toString() + " " + isComplete);
+            multipartEntry.addAvailableBytes(contentEnd - from);
+            multipartEntry.setReservedBytes(lineEnd - contentEnd);
+            multipartEntry.onFinished();
 
-            if (isComplete) {
-                if (line.isBoundary()) {
-                    isFinished = line.isFinalBoundary;
+            try {
+                // Skip the boundary + all the leftovers from the prev.
+                // multipart entry
+                parentInputStream.skip(multipartEntry.availableBytes() + multipartEntry.getReservedBytes());
+            } catch (IOException ignored) {
+                // should never happen
+            }
+
+            return;
+        }
 
-                    multipartEntry.onFinished();
+        if (availableLimit > from) {
+            multipartEntry.addAvailableBytes(availableLimit - from);
+            isEntryStart = false;
+        }
 
-                    try {
-                        // Skip the boundary + all the leftovers from the prev.
-                        // multipart entry
-                        parentInputStream.skip(multipartEntry.availableBytes() + multipartEntry.getReservedBytes() + line.len);
-                    } catch (IOException ignored) {
-                        // should never happen
-                    }
+        multipartEntry.setReservedBytes(limit - availableLimit);
+        multipartEntry.onDataReceived();
+    }
 
-//                    line.skip();
-                    line.reset();
-                    return;
-                } else {
-                    final int lineTerminatorLength = line.getLineTerminatorLength();
+    /**
+     * Checks the bytes following the delimiter form a (final) boundary line: <tt>[--](CRLF|LF)</tt>.
+     *
+     * @return the boundary line end index, {@link #NOT_A_BOUNDARY} or {@link #NEED_MORE_DATA}
+     */
+    private static int findBoundaryLineEnd(final Buffer buffer, int offset, final int limit) {
+        if (offset >= limit) {
+            return NEED_MORE_DATA;
+        }
 
-                    multipartEntry.addAvailableBytes(line.len + multipartEntry.getReservedBytes() - lineTerminatorLength);
+        byte b = buffer.get(offset);
+        if (b == '-') {
+            if (offset + 1 >= limit) {
+                return NEED_MORE_DATA;
+            }
 
-                    multipartEntry.setReservedBytes(lineTerminatorLength);
-//                    available += line.len;
-                    line.reset();
-                }
-            } else {
-                // if line is incomplete - we always make available line.len - 1
-                // bytes (cause the last byte can be CR).
-                // Also we have to make sure the incomplete line is not a boundary
-                if (line.len > 1 && !line.couldBeBoundary()) {
-                    multipartEntry.addAvailableBytes(line.len - 1 + multipartEntry.getReservedBytes());
-
-                    line.len = 1;
-                    multipartEntry.setReservedBytes(0);
-                }
+            if (buffer.get(offset + 1) != '-') {
+                return NOT_A_BOUNDARY;
             }
-        } while (isComplete);
 
-        multipartEntry.onDataReceived();
+            offset += 2;
+            if (offset >= limit) {
+                return NEED_MORE_DATA;
+            }
+
+            b = buffer.get(offset);
+        }
+
+        if (b == Constants.LF) {
+            return offset + 1;
+        }
+
+        if (b == Constants.CR) {
+            if (offset + 1 >= limit) {
+                return NEED_MORE_DATA;
+            }
+
+            return buffer.get(offset + 1) == Constants.LF ? offset + 2 : NOT_A_BOUNDARY;
+        }
+
+        return NOT_A_BOUNDARY;
     }
 
     private boolean skipPreamble() {
@@ -417,9 +492,6 @@ public class MultipartReadHandler implements ReadHandler {
         int len;
         int offset;
 
-        // Offset, which remembers where the last couldBeBoundary check was finished
-        int couldBeBoundaryOffset;
-
         boolean isBoundary;
         boolean isFinalBoundary;
 
@@ -428,7 +500,6 @@ public class MultipartReadHandler implements ReadHandler {
             isComplete = false;
             len = 0;
             offset = 0;
-            couldBeBoundaryOffset = 0;
             isBoundary = false;
             isFinalBoundary = false;
         }
@@ -454,19 +525,11 @@ public class MultipartReadHandler implements ReadHandler {
             final Buffer buffer = parentInputStream.getBuffer();
             final int position = buffer.position() + offset;
 
-            // if we called couldBeBoundary() for the incomplete boundary line - let's reuse its findings
-            int checkIdx = couldBeBoundaryOffset;
-
-            if (checkIdx < 2) {
-                if (buffer.get(position) != '-' || buffer.get(position + 1) != '-') {
-                    return false;
-                }
-
-                checkIdx = 2;
+            if (buffer.get(position) != '-' || buffer.get(position + 1) != '-') {
+                return false;
             }
 
-            // if we called couldBeBoundary() for the incomplete boundary line - let's reuse its findings
-            for (int i = checkIdx; i < boundaryLength + 2; i++) {
+            for (int i = 2; i < boundaryLength + 2; i++) {
                 // '+ 2' because of '--' prefix
                 if (buffer.get(position + i) != boundary.charAt(i - 2)) {
                     return false;
@@ -484,31 +547,6 @@ public class MultipartReadHandler implements ReadHandler {
             return true;
         }
 
-        private boolean couldBeBoundary() {
-            // 2 + 4 means 2 bytes for line terminator, 4 - for prefix and postfix '--'.
-            if (len > boundary.length() + 2 + 4) {
-                return false;
-            }
-
-            final Buffer buffer = parentInputStream.getBuffer();
-            final int position = buffer.position();
-
-            for (; couldBeBoundaryOffset < 2 && couldBeBoundaryOffset < len; couldBeBoundaryOffset++) {
-                if (buffer.get(offset + position + couldBeBoundaryOffset) != '-') {
-                    return false;
-                }
-            }
-
-            final int boundaryLength = boundary.length();
-            for (; couldBeBoundaryOffset < line.len && couldBeBoundaryOffset < boundaryLength; couldBeBoundaryOffset++) {
-                if (buffer.get(offset + position + couldBeBoundaryOffset) != boundary.charAt(couldBeBoundaryOffset - 2)) {
-                    return false;
-                }
-            }
-
-            return true;
-        }
-
         private int getLineTerminatorLength() {
             return 1 + (isCrLf ? 1 : 0);
         }
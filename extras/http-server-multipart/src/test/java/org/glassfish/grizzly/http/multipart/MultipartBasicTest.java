@@ -21,12 +21,16 @@ import org.glassfish.grizzly.CloseType;
 import org.glassfish.grizzly.GenericCloseListener;
 import org.glassfish.grizzly.utils.Charsets;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -54,6 +58,8 @@ import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
 import org.glassfish.grizzly.impl.FutureImpl;
 import org.glassfish.grizzly.impl.SafeFutureImpl;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
 import org.glassfish.grizzly.nio.transport.TCPNIOConnectorHandler;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.utils.ChunkingFilter;
@@ -273,6 +279,192 @@ public class MultipartBasicTest {
         }
     }
     
+    @Test
+    public void bufferingEntryHandlerTest() throws Exception {
+        final byte[] binaryContent = createBinaryContent(256 * 1024);
+
+        final HttpServer httpServer = createServer("0.0.0.0", PORT);
+        final HttpClient httpClient = new HttpClient(
+                httpServer.getListener("Grizzly").getTransport(), 8192);
+        try {
+            httpServer.getServerConfiguration().addHttpHandler(new HttpHandler() {
+
+                @Override
+                public void service(final Request request, final Response response)
+                        throws Exception {
+                    response.suspend();
+
+                    final BufferingMultipartEntryHandler handler =
+                            new BufferingMultipartEntryHandler(1024, null);
+                    MultipartScanner.scan(request, handler, new EmptyCompletionHandler<Request>() {
+
+                        @Override
+                        public void completed(Request result) {
+                            final StringBuilder sb = new StringBuilder();
+                            try {
+                                for (BufferedMultipartEntry entry : handler.getEntries()) {
+                                    final byte[] content = readFully(entry.getInputStream());
+                                    sb.append(entry.getName()).append(':')
+                                            .append(entry.getSize()).append(':')
+                                            .append(entry.isInMemory()).append(':')
+                                            .append(Arrays.equals(content, binaryContent)
+                                                    ? "binary" : new String(content, Charsets.ASCII_CHARSET))
+                                            .append(';');
+                                }
+                                response.getOutputStream().write(sb.toString().getBytes(Charsets.ASCII_CHARSET));
+                            } catch (IOException e) {
+                            } finally {
+                                handler.release();
+                                response.resume();
+                            }
+                        }
+                    });
+                }
+            }, "/");
+
+            httpServer.start();
+
+            final String boundary = "----boundary";
+            final MultipartPacketBuilder mpb = MultipartPacketBuilder.builder(boundary);
+            mpb.addMultipartEntry(MultipartEntryPacket.builder()
+                    .contentDisposition("form-data; name=\"text\"")
+                    .content("--" + boundary + "-\r\n--" + boundary + " ")
+                    .build());
+            mpb.addMultipartEntry(MultipartEntryPacket.builder()
+                    .contentDisposition("form-data; name=\"empty\"")
+                    .content("")
+                    .build());
+            mpb.addMultipartEntry(MultipartEntryPacket.builder()
+                    .contentDisposition("form-data; name=\"file\"; filename=\"file.bin\"")
+                    .contentType("application/octet-stream")
+                    .content(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, binaryContent))
+                    .build());
+
+            final Future<Connection> connectFuture = httpClient.connect("localhost", PORT);
+            connectFuture.get(10, TimeUnit.SECONDS);
+
+            final HttpPacket responsePacket = httpClient.get(
+                    createMultipartPacket(boundary, mpb.build())).get(10, TimeUnit.SECONDS);
+
+            assertTrue(HttpContent.isContent(responsePacket));
+            assertEquals("text:" + (2 * boundary.length() + 8) + ":true:--" + boundary + "-\r\n--" + boundary + " ;"
+                    + "empty:0:true:;"
+                    + "file:" + binaryContent.length + ":false:binary;",
+                    ((HttpContent) responsePacket).getContent().toStringContent(Charsets.ASCII_CHARSET));
+        } finally {
+            httpServer.shutdownNow();
+        }
+    }
+
+    /**
+     * Uploads a binary entry just above the default memory threshold, so it's spilled to a temporary file.
+     */
+    @Test
+    public void uploadAboveSpillThresholdTest() throws Exception {
+        final byte[] binaryContent = createBinaryContent(BufferingMultipartEntryHandler.DEFAULT_MEMORY_THRESHOLD + 1024);
+
+        final HttpServer httpServer = createServer("0.0.0.0", PORT);
+        final HttpClient httpClient = new HttpClient(
+                httpServer.getListener("Grizzly").getTransport());
+        try {
+            httpServer.getServerConfiguration().addHttpHandler(new HttpHandler() {
+
+                @Override
+                public void service(final Request request, final Response response)
+                        throws Exception {
+                    response.suspend();
+
+                    final BufferingMultipartEntryHandler handler = new BufferingMultipartEntryHandler();
+                    MultipartScanner.scan(request, handler, new EmptyCompletionHandler<Request>() {
+
+                        @Override
+                        public void completed(Request result) {
+                            try {
+                                final BufferedMultipartEntry entry = handler.getEntries().get(0);
+                                final byte[] content = readFully(entry.getInputStream());
+                                final String status = entry.getSize() + ":" + entry.isInMemory() + ":"
+                                        + (Arrays.equals(content, binaryContent) ? "binary" : "mismatch");
+                                response.getOutputStream().write(status.getBytes(Charsets.ASCII_CHARSET));
+                            } catch (IOException e) {
+                            } finally {
+                                handler.release();
+                                response.resume();
+                            }
+                        }
+                    });
+                }
+            }, "/");
+
+            httpServer.start();
+
+            final String boundary = "---------------------------===103832778631715===";
+            final MultipartPacketBuilder mpb = MultipartPacketBuilder.builder(boundary);
+            mpb.addMultipartEntry(MultipartEntryPacket.builder()
+                    .contentDisposition("form-data; name=\"file\"; filename=\"file.bin\"")
+                    .contentType("application/octet-stream")
+                    .content(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, binaryContent))
+                    .build());
+
+            final Future<Connection> connectFuture = httpClient.connect("localhost", PORT);
+            connectFuture.get(10, TimeUnit.SECONDS);
+
+            final HttpPacket responsePacket = httpClient.get(
+                    createMultipartPacket(boundary, mpb.build())).get(10, TimeUnit.SECONDS);
+
+            assertTrue(HttpContent.isContent(responsePacket));
+            assertEquals(binaryContent.length + ":false:binary",
+                    ((HttpContent) responsePacket).getContent().toStringContent(Charsets.ASCII_CHARSET));
+        } finally {
+            httpServer.shutdownNow();
+        }
+    }
+
+    private static HttpPacket createMultipartPacket(final String boundary, final Buffer bodyBuffer) {
+        final HttpRequestPacket requestHeader = HttpRequestPacket.builder()
+                .method(Method.POST)
+                .uri("/multipart")
+                .protocol(Protocol.HTTP_1_1)
+                .header("host", "localhost")
+                .contentType("multipart/form-data; boundary=" + boundary)
+                .contentLength(bodyBuffer.remaining())
+                .build();
+
+        return HttpContent.builder(requestHeader)
+                .content(bodyBuffer)
+                .build();
+    }
+
+    /**
+     * Random binary content with CRLFs and delimiter-like sequences inside.
+     */
+    private static byte[] createBinaryContent(final int size) {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        for (int i = 0; i + 8 < size; i += 1000) {
+            content[i] = '\r';
+            content[i + 1] = '\n';
+            content[i + 2] = '-';
+            content[i + 3] = '-';
+        }
+
+        return content;
+    }
+
+    private static byte[] readFully(final InputStream inputStream) throws IOException {
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final byte[] buf = new byte[8192];
+            int len;
+            while ((len = inputStream.read(buf)) != -1) {
+                baos.write(buf, 0, len);
+            }
+
+            return baos.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
     private HttpPacket createMultipartFormDataPacket() {
         String boundary = "---------------------------===103832778631715===";
         MultipartPacketBuilder mpb = MultipartPacketBuilder.builder(boundary);
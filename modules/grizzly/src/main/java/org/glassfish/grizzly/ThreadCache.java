@@ -20,8 +20,6 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.glassfish.grizzly.threadpool.DefaultWorkerThread;
-
 /**
  *
  * @author oleksiys
@@ -57,8 +55,8 @@ public final class ThreadCache {
     }
 
     public static <E> boolean putToCache(final Thread currentThread, final CachedTypeIndex<E> index, final E o) {
-        if (currentThread instanceof DefaultWorkerThread) {
-            return ((DefaultWorkerThread) currentThread).putToCache(index, o);
+        if (currentThread instanceof ObjectCacheHolder) {
+            return ((ObjectCacheHolder) currentThread).getObjectCache().put(index, o);
         } else {
             ObjectCache genericCache = genericCacheAttr.get();
             if (genericCache == null) {
@@ -94,8 +92,8 @@ public final class ThreadCache {
     public static <E> E getFromCache(final Thread currentThread, final CachedTypeIndex<E> index) {
         assert currentThread == Thread.currentThread();
 
-        if (currentThread instanceof DefaultWorkerThread) {
-            return ((DefaultWorkerThread) currentThread).getFromCache(index);
+        if (currentThread instanceof ObjectCacheHolder) {
+            return ((ObjectCacheHolder) currentThread).getObjectCache().get(index);
         } else {
             final ObjectCache genericCache = genericCacheAttr.get();
             if (genericCache != null) {
@@ -128,8 +126,8 @@ public final class ThreadCache {
      * @return cached object
      */
     public static <E> E takeFromCache(final Thread currentThread, final CachedTypeIndex<E> index) {
-        if (currentThread instanceof DefaultWorkerThread) {
-            return ((DefaultWorkerThread) currentThread).takeFromCache(index);
+        if (currentThread instanceof ObjectCacheHolder) {
+            return ((ObjectCacheHolder) currentThread).getObjectCache().take(index);
         } else {
             final ObjectCache genericCache = genericCacheAttr.get();
             if (genericCache != null) {
@@ -140,6 +138,19 @@ public final class ThreadCache {
         }
     }
 
+    /**
+     * The {@link Thread}, which holds its own {@link ObjectCache}. The objects are cached for any {@link Thread}, but
+     * the threads implementing this interface access their cache directly, without the {@link ThreadLocal} lookup.
+     *
+     * @since 4.1
+     */
+    public interface ObjectCacheHolder {
+        /**
+         * @return the {@link ObjectCache} of this {@link Thread}
+         */
+        ObjectCache getObjectCache();
+    }
+
     public static final class ObjectCache {
         private ObjectCacheElement[] objectCacheElements;
 
@@ -61,6 +61,20 @@ public final class DefaultFilterChain extends ListFacadeFilterChain {
 
     private static final Logger LOGGER = Grizzly.logger(DefaultFilterChain.class);
 
+    /**
+     * The system property to enable the compiled mode for all the {@link DefaultFilterChain}s by default.
+     */
+    public static final String COMPILED_PROPERTY = DefaultFilterChain.class.getName() + ".compiled";
+
+    private static final boolean DEFAULT_COMPILED = Boolean.getBoolean(COMPILED_PROPERTY);
+
+    private volatile boolean isCompiled = DEFAULT_COMPILED;
+
+    /**
+     * The compiled filter invocation order, or <tt>null</tt> if it has to be (re)compiled.
+     */
+    private volatile FilterInvocationTable invocationTable;
+
     public DefaultFilterChain() {
         this(new ArrayList<Filter>());
     }
@@ -69,6 +83,29 @@ public final class DefaultFilterChain extends ListFacadeFilterChain {
         super(new ArrayList<>(initialFilters));
     }
 
+    /**
+     * @return <tt>true</tt> if the chain runs in the compiled mode
+     *
+     * @since 4.1
+     */
+    public boolean isCompiled() {
+        return isCompiled;
+    }
+
+    /**
+     * Enables or disables the compiled mode. In the compiled mode the chain precomputes the filter invocation order for
+     * each operation, so the filters, which don't override the corresponding {@link BaseFilter} method, are not invoked
+     * at all. The invocation order is recompiled, when the chain is modified.
+     *
+     * @param isCompiled <tt>true</tt> to enable the compiled mode
+     *
+     * @since 4.1
+     */
+    public void setCompiled(final boolean isCompiled) {
+        this.isCompiled = isCompiled;
+        invocationTable = null;
+    }
+
     @Override
     public ProcessorResult process(final Context context) {
         if (isEmpty()) {
@@ -161,6 +198,9 @@ public final class DefaultFilterChain extends ListFacadeFilterChain {
         int i = start;
         Filter currentFilter = null;
 
+        final int[] nextFilters = nextFilters(ctx.getOperation(), executor);
+        final boolean isUpstream = executor.isUpstream();
+
         int lastNextActionType = InvokeAction.TYPE;
         NextAction lastNextAction = null;
 
@@ -194,7 +234,14 @@ public final class DefaultFilterChain extends ListFacadeFilterChain {
                 storeMessage(ctx, filtersState, invokeAction.isIncomplete(), i, chunk, invokeAction.getAppender());
             }
 
-            i = executor.getNextFilter(ctx);
+            if (nextFilters == null) {
+                i = executor.getNextFilter(ctx);
+            } else {
+                // skip the filters, which don't process the operation, but don't go beyond the end
+                i = nextFilters[ctx.getFilterIdx()];
+                i = isUpstream ? Math.min(i, end) : Math.max(i, end);
+            }
+
             ctx.setFilterIdx(i);
         }
 
@@ -432,6 +479,36 @@ public final class DefaultFilterChain extends ListFacadeFilterChain {
         return new DefaultFilterChain(filters.subList(fromIndex, toIndex));
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        invocationTable = null;
+    }
+
+    @Override
+    protected void notifyChangedExcept(final Filter filter) {
+        invocationTable = null;
+        super.notifyChangedExcept(filter);
+    }
+
+    /**
+     * Returns the compiled next filter indexes for the given operation, or <tt>null</tt> if the chain isn't compiled.
+     */
+    private int[] nextFilters(final Operation operation, final FilterExecutor executor) {
+        if (!isCompiled || operation == Operation.NONE) {
+            return null;
+        }
+
+        FilterInvocationTable table = invocationTable;
+        final int size = size();
+        if (table == null || table.size() != size) {
+            table = FilterInvocationTable.compile(filters);
+            invocationTable = table;
+        }
+
+        return table.nextFilters(operation, executor.isUpstream());
+    }
+
     @SuppressWarnings("unchecked")
     private FiltersState obtainFiltersState(final Connection connection) {
         return (FiltersState) connection.obtainProcessorState(this, filtersStateFactory);
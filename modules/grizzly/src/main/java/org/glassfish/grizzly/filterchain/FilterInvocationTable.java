@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.filterchain;
+
+import java.util.List;
+
+import org.glassfish.grizzly.filterchain.FilterChainContext.Operation;
+
+/**
+ * Precomputed per-{@link Operation} filter invocation order of the compiled {@link DefaultFilterChain}.
+ *
+ * For each operation and filter index the table holds the index of the next filter (in upstream and downstream
+ * direction), which actually processes the operation, so the {@link BaseFilter} methods, which are not overridden and
+ * just pass the control to the next filter, are skipped.
+ *
+ * @since 4.1
+ */
+final class FilterInvocationTable {
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final int size;
+    // [operation ordinal][filter index] -> the next filter index
+    private final int[][] upstream;
+    private final int[][] downstream;
+
+    private FilterInvocationTable(final int size, final int[][] upstream, final int[][] downstream) {
+        this.size = size;
+        this.upstream = upstream;
+        this.downstream = downstream;
+    }
+
+    static FilterInvocationTable compile(final List<Filter> filters) {
+        final int size = filters.size();
+        final int[][] upstream = new int[OPERATIONS.length][];
+        final int[][] downstream = new int[OPERATIONS.length][];
+
+        final boolean[] isNoop = new boolean[size];
+        for (Operation operation : OPERATIONS) {
+            for (int i = 0; i < size; i++) {
+                isNoop[i] = isNoop(filters.get(i), operation);
+            }
+
+            final int[] up = new int[size];
+            int next = size;
+            for (int i = size - 1; i >= 0; i--) {
+                up[i] = next;
+                if (!isNoop[i]) {
+                    next = i;
+                }
+            }
+
+            final int[] down = new int[size];
+            next = -1;
+            for (int i = 0; i < size; i++) {
+                down[i] = next;
+                if (!isNoop[i]) {
+                    next = i;
+                }
+            }
+
+            upstream[operation.ordinal()] = up;
+            downstream[operation.ordinal()] = down;
+        }
+
+        return new FilterInvocationTable(size, upstream, downstream);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the next filter indexes for the given operation and direction.
+     */
+    int[] nextFilters(final Operation operation, final boolean isUpstream) {
+        return isUpstream ? upstream[operation.ordinal()] : downstream[operation.ordinal()];
+    }
+
+    /**
+     * @return <tt>true</tt> if the {@link Filter} just passes the given operation to the next filter
+     */
+    private static boolean isNoop(final Filter filter, final Operation operation) {
+        if (!(filter instanceof BaseFilter)) {
+            return false;
+        }
+
+        try {
+            final Class<?> declaringClass;
+            switch (operation) {
+            case READ:
+                declaringClass = filter.getClass().getMethod("handleRead", FilterChainContext.class).getDeclaringClass();
+                break;
+            case WRITE:
+                declaringClass = filter.getClass().getMethod("handleWrite", FilterChainContext.class).getDeclaringClass();
+                break;
+            case ACCEPT:
+                declaringClass = filter.getClass().getMethod("handleAccept", FilterChainContext.class).getDeclaringClass();
+                break;
+            case CONNECT:
+                declaringClass = filter.getClass().getMethod("handleConnect", FilterChainContext.class).getDeclaringClass();
+                break;
+            case CLOSE:
+                declaringClass = filter.getClass().getMethod("handleClose", FilterChainContext.class).getDeclaringClass();
+                break;
+            case EVENT:
+                declaringClass = filter.getClass().getMethod("handleEvent", FilterChainContext.class, FilterChainEvent.class).getDeclaringClass();
+                break;
+            default:
+                return false;
+            }
+
+            return declaringClass == BaseFilter.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.monitoring.DefaultMonitoringConfig;
+import org.glassfish.grizzly.monitoring.MonitoringConfig;
+import org.glassfish.grizzly.monitoring.MonitoringUtils;
+
+/**
+ * {@link MemoryManager}, which allocates off-heap memory in big slabs and hands out fixed size, aligned chunks of the
+ * slabs as {@link Buffer}s.
+ *
+ * The chunk is returned to its slab as soon as the {@link Buffer} (and all the {@link Buffer}s sharing its memory) is
+ * disposed. The slab, which has no chunks in use, is released, unless it's one of the <tt>minSlabs</tt> retained slabs
+ * or the only empty slab, which is kept as a spare, so the load oscillating around the slab boundary doesn't allocate
+ * and release a slab over and over. The slabs are direct {@link ByteBuffer}s, so the memory of the released slab is
+ * freed by the garbage collector.
+ *
+ * The total amount of the slab memory is limited by <tt>maxMemory</tt>, so the off-heap footprint stays predictable
+ * regardless of the number of connections. The released slabs are counted against the limit until the garbage collector
+ * frees their memory. Once the limit is reached, the {@link Buffer}s are allocated on the heap.
+ *
+ * The slabs are aligned to the OS page size ({@link #PAGE_SIZE}) or, if <tt>hugePages</tt> is set, to the huge page
+ * size ({@link #HUGE_PAGE_SIZE}), so the OS may back them with transparent huge pages. If the chunk size is a multiple
+ * of the page size, every chunk is page aligned as well, which lets the OS perform I/O on whole pages.
+ *
+ * The allocation requests larger than the chunk size are served by {@link CompositeBuffer}s of several chunks.
+ *
+ * @since 4.1
+ */
+public class ArenaMemoryManager implements MemoryManager<Buffer>, WrapperAware {
+
+    /**
+     * The OS page size, <tt>4096</tt> unless set via the <tt>org.glassfish.grizzly.memory.ArenaMemoryManager.page-size</tt>
+     * system property.
+     */
+    public static final int PAGE_SIZE = Integer.getInteger(ArenaMemoryManager.class.getName() + ".page-size", 4096);
+
+    /**
+     * The huge page size, <tt>2 MiB</tt> unless set via the
+     * <tt>org.glassfish.grizzly.memory.ArenaMemoryManager.huge-page-size</tt> system property.
+     */
+    public static final int HUGE_PAGE_SIZE = Integer.getInteger(ArenaMemoryManager.class.getName() + ".huge-page-size", 2 * 1024 * 1024);
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+    public static final int DEFAULT_SLAB_SIZE = 2 * 1024 * 1024;
+    public static final int DEFAULT_MIN_SLABS = 1;
+
+    /**
+     * Basic monitoring support. Concrete implementations of this class need only to implement the
+     * {@link #createJmxManagementObject()} method to plug into the Grizzly 2.0 JMX framework.
+     */
+    protected final DefaultMonitoringConfig<MemoryProbe> monitoringConfig = new DefaultMonitoringConfig<MemoryProbe>(MemoryProbe.class) {
+
+        @Override
+        public Object createManagementObject() {
+            return createJmxManagementObject();
+        }
+
+    };
+
+    private final int chunkSize;
+    private final int slabSize;
+    private final int slabAlignment;
+    private final int maxSlabs;
+    private final int minSlabs;
+
+    // the current slabs, the array is replaced under the lock
+    private volatile Slab[] slabs = new Slab[0];
+
+    private final Object slabsSync = new Object();
+
+    // the number of the released slabs, which memory hasn't been freed by the garbage collector yet
+    private final AtomicInteger releasedSlabs = new AtomicInteger();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Creates a new <tt>ArenaMemoryManager</tt> with 8 KiB chunks in 2 MiB page aligned slabs, limited by 5% of the max
+     * heap size.
+     */
+    public ArenaMemoryManager() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_SLAB_SIZE, (long) (Runtime.getRuntime().maxMemory() * 0.05f), DEFAULT_MIN_SLABS, false);
+    }
+
+    /**
+     * Creates a new <tt>ArenaMemoryManager</tt> using the specified parameters for configuration.
+     *
+     * @param chunkSize the size of the {@link Buffer}s handed out by the manager, must be a power of two
+     * @param slabSize the size of a slab, must be a multiple of the <tt>chunkSize</tt>
+     * @param maxMemory the max total size of the slabs
+     * @param minSlabs the number of the slabs, which are retained even if they have no chunks in use
+     * @param hugePages if <tt>true</tt>, the slabs are aligned to the huge page size, otherwise to the page size
+     */
+    public ArenaMemoryManager(final int chunkSize, final int slabSize, final long maxMemory, final int minSlabs, final boolean hugePages) {
+        if (chunkSize <= 0 || (chunkSize & chunkSize - 1) != 0) {
+            throw new IllegalArgumentException("chunkSize must be a power of two");
+        }
+        if (slabSize < chunkSize || slabSize % chunkSize != 0) {
+            throw new IllegalArgumentException("slabSize must be a multiple of chunkSize");
+        }
+        if (maxMemory < slabSize) {
+            throw new IllegalArgumentException("maxMemory must be greater or equal to slabSize");
+        }
+        if (minSlabs < 0) {
+            throw new IllegalArgumentException("minSlabs must be greater or equal to zero");
+        }
+
+        this.chunkSize = chunkSize;
+        this.slabSize = slabSize;
+        this.minSlabs = minSlabs;
+        slabAlignment = Math.max(hugePages ? HUGE_PAGE_SIZE : PAGE_SIZE, Math.min(chunkSize, slabSize));
+        maxSlabs = (int) Math.min(Integer.MAX_VALUE, maxMemory / slabSize);
+    }
+
+    // ---------------------------------------------- Methods from MemoryManager
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Buffer allocate(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Requested allocation size must be greater than or equal to zero.");
+        }
+
+        return allocateAtLeast(size).limit(size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Buffer allocateAtLeast(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Requested allocation size must be greater than or equal to zero.");
+        }
+
+        if (size == 0) {
+            return Buffers.EMPTY_BUFFER;
+        }
+
+        if (size <= chunkSize) {
+            return allocateChunk();
+        }
+
+        final CompositeBuffer cb = newCompositeBuffer();
+        for (int remaining = size; remaining > 0; remaining -= chunkSize) {
+            cb.append(allocateChunk());
+        }
+
+        return cb;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Buffer reallocate(final Buffer oldBuffer, final int newSize) {
+        if (newSize == 0) {
+            oldBuffer.tryDispose();
+            return Buffers.EMPTY_BUFFER;
+        }
+
+        final int capacity = oldBuffer.capacity();
+        if (newSize <= capacity) {
+            final int pos = Math.min(oldBuffer.position(), newSize);
+            Buffers.setPositionLimit(oldBuffer, pos, newSize);
+            return oldBuffer;
+        }
+
+        final int pos = oldBuffer.position();
+        Buffers.setPositionLimit(oldBuffer, 0, capacity);
+
+        final Buffer newBuffer = allocateAtLeast(newSize);
+        newBuffer.put(oldBuffer);
+        Buffers.setPositionLimit(newBuffer, pos, newSize);
+        oldBuffer.tryDispose();
+
+        return newBuffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(final Buffer buffer) {
+        buffer.tryDispose();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean willAllocateDirect(final int size) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MonitoringConfig<MemoryProbe> getMonitoringConfig() {
+        return monitoringConfig;
+    }
+
+    // ----------------------------------------------- Methods from WrapperAware
+
+    @Override
+    public Buffer wrap(final byte[] data) {
+        return wrap(ByteBuffer.wrap(data));
+    }
+
+    @Override
+    public Buffer wrap(final byte[] data, final int offset, final int length) {
+        return wrap(ByteBuffer.wrap(data, offset, length));
+    }
+
+    @Override
+    public Buffer wrap(final String s) {
+        return wrap(s.getBytes(Charset.defaultCharset()));
+    }
+
+    @Override
+    public Buffer wrap(final String s, final Charset charset) {
+        return wrap(s.getBytes(charset));
+    }
+
+    @Override
+    public Buffer wrap(final ByteBuffer byteBuffer) {
+        return new ByteBufferWrapper(byteBuffer);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the size of the {@link Buffer}s handed out by this manager
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the slab size
+     */
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    /**
+     * @return the current total size of the slabs, including the released slabs, which memory hasn't been freed by the
+     * garbage collector yet
+     */
+    public long getAllocatedMemory() {
+        return ((long) slabs.length + releasedSlabs.get()) * slabSize;
+    }
+
+    /**
+     * @return the max total size of the slabs
+     */
+    public long getMaxMemory() {
+        return (long) maxSlabs * slabSize;
+    }
+
+    /**
+     * @return the total size of the chunks in use
+     */
+    public long getUsedMemory() {
+        long used = 0;
+        for (Slab slab : slabs) {
+            used += slab.usedChunks();
+        }
+
+        return used * chunkSize;
+    }
+
+    // ------------------------------------------------------- Protected Methods
+
+    protected Object createJmxManagementObject() {
+        return MonitoringUtils.loadJmxObject("org.glassfish.grizzly.memory.jmx.MemoryManager", this, MemoryManager.class);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Buffer allocateChunk() {
+        final Slab[] current = slabs;
+        final int length = current.length;
+        if (length > 0) {
+            final int start = (int) (Thread.currentThread().getId() % length);
+            for (int i = 0; i < length; i++) {
+                final ArenaBuffer b = current[(start + i) % length].allocate();
+                if (b != null) {
+                    ProbeNotifier.notifyBufferAllocatedFromPool(monitoringConfig, chunkSize);
+                    return b;
+                }
+            }
+        }
+
+        final ArenaBuffer b = allocateFromNewSlab();
+        if (b != null) {
+            ProbeNotifier.notifyBufferAllocatedFromPool(monitoringConfig, chunkSize);
+            return b;
+        }
+
+        // the memory limit is reached
+        ProbeNotifier.notifyBufferAllocated(monitoringConfig, chunkSize);
+        final ByteBufferWrapper heapBuffer = new ByteBufferWrapper(ByteBuffer.allocate(chunkSize));
+        heapBuffer.allowBufferDispose(true);
+        return heapBuffer;
+    }
+
+    private ArenaBuffer allocateFromNewSlab() {
+        synchronized (slabsSync) {
+            // the slab might have been added or a chunk released meanwhile
+            for (Slab slab : slabs) {
+                final ArenaBuffer b = slab.allocate();
+                if (b != null) {
+                    return b;
+                }
+            }
+
+            if (slabs.length + releasedSlabs.get() >= maxSlabs) {
+                return null;
+            }
+
+            final Slab slab = new Slab(new NativeSlab(slabSize, slabAlignment));
+            ProbeNotifier.notifyBufferAllocated(monitoringConfig, slabSize);
+
+            final ArenaBuffer b = slab.allocate();
+
+            final Slab[] newSlabs = Arrays.copyOf(slabs, slabs.length + 1);
+            newSlabs[newSlabs.length - 1] = slab;
+            slabs = newSlabs;
+
+            return b;
+        }
+    }
+
+    private void onSlabEmpty(final Slab slab) {
+        synchronized (slabsSync) {
+            final Slab[] current = slabs;
+            if (current.length <= minSlabs || !hasOtherEmptySlab(current, slab) || !slab.retireIfEmpty()) {
+                return;
+            }
+
+            final Slab[] newSlabs = new Slab[current.length - 1];
+            for (int i = 0, j = 0; i < current.length; i++) {
+                if (current[i] != slab) {
+                    newSlabs[j++] = current[i];
+                }
+            }
+            slabs = newSlabs;
+            releasedSlabs.incrementAndGet();
+        }
+
+        slab.memory.free(releasedSlabs::decrementAndGet);
+    }
+
+    private static boolean hasOtherEmptySlab(final Slab[] current, final Slab slab) {
+        for (Slab s : current) {
+            if (s != slab && s.usedChunks() == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private CompositeBuffer newCompositeBuffer() {
+        final CompositeBuffer cb = CompositeBuffer.newBuffer(this);
+        cb.allowInternalBuffersDispose(true);
+        cb.allowBufferDispose(true);
+        return cb;
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * The slab, split to the chunks of the same size.
+     */
+    private final class Slab {
+        private final NativeSlab memory;
+
+        // the stack of the free chunk indexes
+        private final int[] freeChunks;
+        private int freeCount;
+
+        // true, if the slab is released and can't be used anymore
+        private boolean isRetired;
+
+        Slab(final NativeSlab memory) {
+            this.memory = memory;
+            final int chunks = slabSize / chunkSize;
+            freeChunks = new int[chunks];
+            for (int i = 0; i < chunks; i++) {
+                freeChunks[i] = chunks - 1 - i;
+            }
+            freeCount = chunks;
+        }
+
+        ArenaBuffer allocate() {
+            final int chunk;
+            synchronized (this) {
+                if (freeCount == 0 || isRetired) {
+                    return null;
+                }
+
+                chunk = freeChunks[--freeCount];
+            }
+
+            final ArenaBuffer b = new ArenaBuffer(memory.buffer().slice(chunk * chunkSize, chunkSize), this, chunk);
+            b.allowBufferDispose(true);
+            return b;
+        }
+
+        void release(final int chunk) {
+            final boolean isEmpty;
+            synchronized (this) {
+                freeChunks[freeCount++] = chunk;
+                isEmpty = freeCount == freeChunks.length;
+            }
+
+            ProbeNotifier.notifyBufferReleasedToPool(monitoringConfig, chunkSize);
+            if (isEmpty) {
+                onSlabEmpty(this);
+            }
+        }
+
+        synchronized boolean retireIfEmpty() {
+            if (freeCount == freeChunks.length && !isRetired) {
+                isRetired = true;
+                return true;
+            }
+
+            return false;
+        }
+
+        synchronized int usedChunks() {
+            return freeChunks.length - freeCount;
+        }
+    }
+
+    /**
+     * The {@link Buffer} view of a slab chunk. The chunk is returned to the slab once this {@link Buffer} and all the
+     * {@link Buffer}s sharing its memory are disposed.
+     */
+    private static final class ArenaBuffer extends RefCountedByteBufferWrapper {
+        private final Slab slab;
+        private final int chunk;
+
+        ArenaBuffer(final ByteBuffer chunkBuffer, final Slab slab, final int chunk) {
+            super(chunkBuffer);
+            this.slab = slab;
+            this.chunk = chunk;
+        }
+
+        private ArenaBuffer(final ByteBuffer byteBuffer, final ArenaBuffer parent) {
+            super(byteBuffer, parent);
+            this.slab = parent.slab;
+            this.chunk = parent.chunk;
+        }
+
+        @Override
+        protected RefCountedByteBufferWrapper createChild(final ByteBuffer byteBuffer) {
+            return new ArenaBuffer(byteBuffer, this);
+        }
+
+        @Override
+        protected void onRelease() {
+            // the chunk isn't referenced anymore, return it to the slab
+            slab.release(chunk);
+        }
+    }
+}
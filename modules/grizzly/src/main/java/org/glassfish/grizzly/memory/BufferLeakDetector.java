@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.glassfish.grizzly.monitoring.DefaultMonitoringConfig;
+
+/**
+ * Sampling detector of the pooled {@link org.glassfish.grizzly.Buffer}s, which have been garbage collected without
+ * being returned to their pool.
+ *
+ * The allocation stack trace is recorded for the sampled fraction of the allocated buffers. If a sampled buffer becomes
+ * unreachable before it's returned to the pool, the leak is reported via
+ * {@link MemoryProbe#onBufferLeakEvent(int, Throwable)}. The collected buffers are checked on every sampled allocation.
+ */
+final class BufferLeakDetector {
+    private final DefaultMonitoringConfig<MemoryProbe> monitoringConfig;
+
+    private final ReferenceQueue<Object> collectedBuffers = new ReferenceQueue<>();
+
+    // keeps the trackers reachable until the buffer is either released or collected
+    private final Set<LeakTracker> trackers = ConcurrentHashMap.newKeySet();
+
+    private volatile float samplingRate;
+
+    BufferLeakDetector(final DefaultMonitoringConfig<MemoryProbe> monitoringConfig, final float samplingRate) {
+        this.monitoringConfig = monitoringConfig;
+        setSamplingRate(samplingRate);
+    }
+
+    float getSamplingRate() {
+        return samplingRate;
+    }
+
+    void setSamplingRate(final float samplingRate) {
+        if (samplingRate < 0.0f || samplingRate > 1.0f) {
+            throw new IllegalArgumentException("samplingRate must be greater or equal to zero and less or equal to 1");
+        }
+
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * Returns a new {@link LeakTracker} for the allocated buffer, if the buffer is sampled, or <tt>null</tt> otherwise.
+     */
+    LeakTracker track(final Object buffer, final int size) {
+        final float rate = samplingRate;
+        if (rate == 0.0f || rate < 1.0f && ThreadLocalRandom.current().nextFloat() >= rate) {
+            return null;
+        }
+
+        reportLeaks();
+        return new LeakTracker(buffer, size);
+    }
+
+    /**
+     * Reports the sampled buffers, which have been collected since the previous check.
+     */
+    void reportLeaks() {
+        LeakTracker tracker;
+        while ((tracker = (LeakTracker) collectedBuffers.poll()) != null) {
+            if (trackers.remove(tracker)) {
+                ProbeNotifier.notifyBufferLeak(monitoringConfig, tracker.size, tracker.allocationTrace);
+            }
+        }
+    }
+
+    final class LeakTracker extends WeakReference<Object> {
+        private final int size;
+        private final Throwable allocationTrace;
+
+        private LeakTracker(final Object buffer, final int size) {
+            super(buffer, collectedBuffers);
+            this.size = size;
+            allocationTrace = new Throwable("Buffer of size " + size + " allocated by " + Thread.currentThread().getName());
+            trackers.add(this);
+        }
+
+        /**
+         * Stops tracking the buffer, which has been returned to the pool.
+         */
+        void close() {
+            trackers.remove(this);
+            clear();
+        }
+    }
+}
@@ -43,6 +43,18 @@ public interface MemoryProbe {
      */
     void onBufferReleaseToPoolEvent(int size);
 
+    /**
+     * Called by {@link MemoryManager}, when a pooled buffer, sampled by the leak detector, has been garbage collected
+     * without being released to its pool.
+     *
+     * @param size buffer size
+     * @param allocationTrace the stack trace of the leaked buffer allocation
+     *
+     * @since 4.1
+     */
+    default void onBufferLeakEvent(int size, Throwable allocationTrace) {
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
     /**
@@ -77,5 +89,12 @@ public interface MemoryProbe {
         public void onBufferReleaseToPoolEvent(int size) {
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onBufferLeakEvent(int size, Throwable allocationTrace) {
+        }
+
     } // END Adapter
 }
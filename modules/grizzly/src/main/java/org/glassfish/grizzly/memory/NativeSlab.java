@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+
+/**
+ * Aligned block of off-heap memory used by {@link ArenaMemoryManager} as a slab.
+ *
+ * The slab is allocated using {@link ByteBuffer#allocateDirect(int)}, so the memory is freed by the garbage collector
+ * once neither the slab nor any {@link ByteBuffer} sharing its memory is reachable.
+ */
+final class NativeSlab {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // the direct buffer owning the memory
+    private final ByteBuffer root;
+    private final ByteBuffer buffer;
+
+    NativeSlab(final int size, final int alignment) {
+        root = ByteBuffer.allocateDirect(size + alignment);
+        buffer = root.alignedSlice(alignment).limit(size).slice();
+    }
+
+    /**
+     * @return the slab memory, the returned {@link ByteBuffer} must not be accessed once the slab is freed
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Frees the slab memory. The memory is actually returned to the OS by the garbage collector, which then runs the
+     * given action.
+     *
+     * @param onFreed the action to run once the memory is freed
+     */
+    void free(final Runnable onFreed) {
+        CLEANER.register(root, onFreed);
+    }
+}
@@ -16,11 +16,19 @@
 
 package org.glassfish.grizzly.memory;
 
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.LockSupport;
 
@@ -28,6 +36,7 @@ import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.monitoring.DefaultMonitoringConfig;
 import org.glassfish.grizzly.monitoring.MonitoringConfig;
 import org.glassfish.grizzly.monitoring.MonitoringUtils;
+import org.glassfish.grizzly.utils.DelayedExecutor;
 
 /**
  * A {@link MemoryManager} implementation based on a series of shared memory pools. Each pool contains multiple buffers
@@ -44,6 +53,8 @@ import org.glassfish.grizzly.monitoring.MonitoringUtils;
  * <li>The percentage of the heap that this manager will use when populating the pools</li>
  * <li>The percentage of buffers to be pre-allocated during MemoryManager initialization</li>
  * <li>The flag indicating whether direct or heap based {@link Buffer}s will be allocated</li>
+ * <li>The size of the per-thread magazines, which cache buffers in front of the shared pool slices</li>
+ * <li>The flag indicating whether the pools are elastic</li>
  * </ul>
  *
  * If no explicit configuration is provided, the following defaults will be used:
@@ -56,8 +67,35 @@ import org.glassfish.grizzly.monitoring.MonitoringUtils;
  * <li>Percentage of heap: 3% ({@link #DEFAULT_HEAP_USAGE_PERCENTAGE})</li>
  * <li>Percentage of buffers to be pre-allocated: 100% ({@link #DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE})</li>
  * <li>Heap based {@link Buffer}s will be allocated</li>
+ * <li>Magazine size: 0 ({@link #DEFAULT_MAGAZINE_SIZE}), which means the magazines are disabled</li>
+ * <li>The pools are not elastic</li>
  * </ul>
  *
+ * The pool slices are never larger than the configured share of the heap. By default the buffers, which are not
+ * preallocated, are created one by one on demand and stay in the pool once released. In the elastic mode the pools grow
+ * in chunks of several buffers, when they run out of free buffers, and give the idle buffers back to the garbage
+ * collector: the free buffers, including the ones cached in the per-thread magazines, are sampled by a background
+ * timer, and if some of them haven't been used during the quiet period, they are trimmed (in whole chunks) down to the
+ * preallocated amount, which becomes the minimal pool size. So the idle buffers are trimmed even if the pool isn't
+ * used at all after a burst. The pool memory usage is available via
+ * {@link #getPooledBytes()}, {@link #getPooledBytesHighWater()} and {@link #getTrimmedBytes()}.
+ *
+ * When the magazines are enabled, every thread keeps a small bounded stack (a magazine) of buffers per pool. The buffers
+ * are allocated from and released to the thread's magazine without any atomic operations on the shared pool slices, and
+ * are moved between the magazine and the slices in batches of half the magazine size: the empty magazine is refilled
+ * from a slice, the full one is flushed back to the buffers' slices. The magazines of the threads, which haven't used the
+ * pool for a while, and of the terminated threads are drained back to the slices periodically by a background timer,
+ * when the pool runs low on buffers or when {@link #trimMagazines()} is called, so the magazines of the terminated
+ * threads don't accumulate. The magazines pay off under high contention, when many threads allocate and
+ * release buffers of the same size, at the price of up to <tt>magazineSize</tt> buffers per pool being cached by each
+ * thread.
+ *
+ * The allocated {@link Buffer}s implement {@link RefCountedBuffer}, so the same pooled memory may be safely shared by
+ * several consumers, each one releasing its own reference. The leaked buffers, which are garbage collected without being
+ * returned to the pool, may be detected by sampling: the allocation stack traces of the configured fraction of the
+ * buffers are recorded and the leaks are reported via {@link MemoryProbe#onBufferLeakEvent(int, Throwable)}, see
+ * {@link #setLeakDetectionSamplingRate(float)}.
+ *
  * The main advantage of this manager over {@link org.glassfish.grizzly.memory.HeapMemoryManager} or
  * {@link org.glassfish.grizzly.memory.ByteBufferManager} is that this implementation doesn't use ThreadLocal pools and
  * as such, doesn't suffer from the memory fragmentation/reallocation cycle that can impact the ThreadLocal versions.
@@ -73,9 +111,32 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
     public static final float DEFAULT_HEAP_USAGE_PERCENTAGE = 0.03f;
     public static final float DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE = 1.0f;
 
+    /**
+     * @since 4.1
+     */
+    public static final int DEFAULT_MAGAZINE_SIZE = 0;
+
     private static final boolean FORCE_BYTE_BUFFER_BASED_BUFFERS = Boolean.getBoolean(PooledMemoryManager.class + ".force-byte-buffer-based-buffers");
 
     private static final long BACK_OFF_DELAY = Long.getLong(PooledMemoryManager.class + ".back-off-delay", 0L);
+
+    // the magazine size used by the constructors, which don't take it explicitly
+    private static final int MAGAZINE_SIZE = Integer.getInteger(PooledMemoryManager.class.getName() + ".magazine-size", DEFAULT_MAGAZINE_SIZE);
+
+    // the initial leak detection sampling rate
+    private static final float LEAK_DETECTION_SAMPLING_RATE = Float
+            .parseFloat(System.getProperty(PooledMemoryManager.class.getName() + ".leak-detection-sampling-rate", "0"));
+
+    // the number of buffers an elastic pool slice grows by at once
+    private static final int ELASTIC_GROWTH_CHUNK = Integer.getInteger(PooledMemoryManager.class.getName() + ".elastic-growth-chunk", 16);
+
+    // the period, during which the free buffers of an elastic pool have to stay unused to be trimmed
+    private static final long ELASTIC_QUIET_PERIOD_NANOS = TimeUnit.MILLISECONDS
+            .toNanos(Long.getLong(PooledMemoryManager.class.getName() + ".elastic-quiet-period-millis", 30000L));
+
+    // the min interval between the idle magazine trimming attempts
+    private static final long MAGAZINE_TRIM_INTERVAL_NANOS = TimeUnit.MILLISECONDS
+            .toNanos(Long.getLong(PooledMemoryManager.class.getName() + ".magazine-trim-interval-millis", 1000L));
     /**
      * Basic monitoring support. Concrete implementations of this class need only to implement the
      * {@link #createJmxManagementObject()} method to plug into the Grizzly 2.0 JMX framework.
@@ -95,6 +156,15 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
     // the max buffer size pooled by this memory manager
     private final int maxPooledBufferSize;
 
+    // the max number of buffers cached per thread per pool, 0 if the magazines are disabled
+    private final int magazineSize;
+
+    // the pooled buffers leak detector
+    private final BufferLeakDetector leakDetector;
+
+    // true, if the pools grow and shrink on demand
+    private final boolean isElastic;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -139,6 +209,52 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
      */
     public PooledMemoryManager(final int baseBufferSize, final int numberOfPools, final int growthFactor, final int numberOfPoolSlices,
             final float percentOfHeap, final float percentPreallocated, final boolean isDirect) {
+        this(baseBufferSize, numberOfPools, growthFactor, numberOfPoolSlices, percentOfHeap, percentPreallocated, isDirect, MAGAZINE_SIZE, false);
+    }
+
+    /**
+     * Creates a new <code>PooledMemoryManager</code> using the specified parameters for configuration.
+     *
+     * @param baseBufferSize the base size of the buffer for the 1st pool, every next pool n will have buffer size equal to
+     * bufferSize(n-1) * 2^growthFactor
+     * @param numberOfPools the number of pools, responsible for allocation of buffers of a pool-specific size
+     * @param growthFactor the buffer size growth factor, that defines 2^x multiplier, used to calculate buffer size for
+     * next allocated pool
+     * @param numberOfPoolSlices the number of pool slices that every pool will stripe allocation requests across
+     * @param percentOfHeap percentage of the heap that will be used when populating the pools
+     * @param percentPreallocated percentage of buffers to be pre-allocated during MemoryManager initialization
+     * @param isDirect flag, indicating whether direct or heap based {@link Buffer}s will be allocated
+     * @param magazineSize the max number of buffers every thread may cache per pool, <tt>0</tt> disables the per-thread
+     * magazines
+     *
+     * @since 4.1
+     */
+    public PooledMemoryManager(final int baseBufferSize, final int numberOfPools, final int growthFactor, final int numberOfPoolSlices,
+            final float percentOfHeap, final float percentPreallocated, final boolean isDirect, final int magazineSize) {
+        this(baseBufferSize, numberOfPools, growthFactor, numberOfPoolSlices, percentOfHeap, percentPreallocated, isDirect, magazineSize, false);
+    }
+
+    /**
+     * Creates a new <code>PooledMemoryManager</code> using the specified parameters for configuration.
+     *
+     * @param baseBufferSize the base size of the buffer for the 1st pool, every next pool n will have buffer size equal to
+     * bufferSize(n-1) * 2^growthFactor
+     * @param numberOfPools the number of pools, responsible for allocation of buffers of a pool-specific size
+     * @param growthFactor the buffer size growth factor, that defines 2^x multiplier, used to calculate buffer size for
+     * next allocated pool
+     * @param numberOfPoolSlices the number of pool slices that every pool will stripe allocation requests across
+     * @param percentOfHeap percentage of the heap, which the pools may grow up to
+     * @param percentPreallocated percentage of buffers to be pre-allocated during MemoryManager initialization, the
+     * elastic pools are never trimmed below this size
+     * @param isDirect flag, indicating whether direct or heap based {@link Buffer}s will be allocated
+     * @param magazineSize the max number of buffers every thread may cache per pool, <tt>0</tt> disables the per-thread
+     * magazines
+     * @param isElastic flag, indicating whether the pools grow in chunks on demand and trim the idle buffers
+     *
+     * @since 4.1
+     */
+    public PooledMemoryManager(final int baseBufferSize, final int numberOfPools, final int growthFactor, final int numberOfPoolSlices,
+            final float percentOfHeap, final float percentPreallocated, final boolean isDirect, final int magazineSize, final boolean isElastic) {
         if (baseBufferSize <= 0) {
             throw new IllegalArgumentException("baseBufferSize must be greater than zero");
         }
@@ -167,14 +283,23 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             throw new IllegalArgumentException("percentPreallocated must be greater or equal to zero and less or equal to 1");
         }
 
+        if (magazineSize < 0) {
+            throw new IllegalArgumentException("magazineSize must be greater or equal to zero");
+        }
+
         final long heapSize = Runtime.getRuntime().maxMemory();
         final long memoryPerSubPool = (long) (heapSize * percentOfHeap / numberOfPools);
 
+        leakDetector = new BufferLeakDetector(monitoringConfig, LEAK_DETECTION_SAMPLING_RATE);
+
         pools = new Pool[numberOfPools];
         for (int i = 0, bufferSize = baseBufferSize; i < numberOfPools; i++, bufferSize <<= growthFactor) {
-            pools[i] = new Pool(bufferSize, memoryPerSubPool, numberOfPoolSlices, percentPreallocated, isDirect, monitoringConfig);
+            pools[i] = new Pool(bufferSize, memoryPerSubPool, numberOfPoolSlices, percentPreallocated, isDirect, magazineSize, isElastic,
+                    monitoringConfig, leakDetector);
         }
         maxPooledBufferSize = pools[numberOfPools - 1].bufferSize;
+        this.magazineSize = magazineSize;
+        this.isElastic = isElastic;
     }
 
     // ---------------------------------------------- Methods from MemoryManager
@@ -338,6 +463,103 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         return new ByteBufferWrapper(byteBuffer);
     }
 
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the max number of buffers every thread may cache per pool, <tt>0</tt> if the per-thread magazines are
+     * disabled
+     *
+     * @since 4.1
+     */
+    public int getMagazineSize() {
+        return magazineSize;
+    }
+
+    /**
+     * @return <tt>true</tt> if the pools grow in chunks on demand and trim the idle buffers
+     *
+     * @since 4.1
+     */
+    public boolean isElastic() {
+        return isElastic;
+    }
+
+    /**
+     * @return the number of bytes in the buffers, currently owned by the pools, including the buffers in use
+     *
+     * @since 4.1
+     */
+    public long getPooledBytes() {
+        long sum = 0;
+        for (int i = 0; i < pools.length; i++) {
+            sum += pools[i].getPooledBytes();
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return the sum of the pools' max {@link #getPooledBytes()} values
+     *
+     * @since 4.1
+     */
+    public long getPooledBytesHighWater() {
+        long sum = 0;
+        for (int i = 0; i < pools.length; i++) {
+            sum += pools[i].getPooledBytesHighWater();
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return the total number of bytes in the idle buffers trimmed by the elastic pools
+     *
+     * @since 4.1
+     */
+    public long getTrimmedBytes() {
+        long sum = 0;
+        for (int i = 0; i < pools.length; i++) {
+            sum += pools[i].getTrimmedBytes();
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return the fraction of the allocated buffers, which are tracked by the leak detector
+     *
+     * @since 4.1
+     */
+    public float getLeakDetectionSamplingRate() {
+        return leakDetector.getSamplingRate();
+    }
+
+    /**
+     * Sets the fraction of the allocated buffers, which are tracked by the leak detector. The allocation stack trace is
+     * recorded for every tracked buffer, so the higher rates noticeably slow down the allocation. <tt>0</tt> (the default)
+     * disables the leak detection, <tt>1</tt> tracks every buffer.
+     *
+     * @param samplingRate the value between <tt>0</tt> and <tt>1</tt>
+     *
+     * @since 4.1
+     */
+    public void setLeakDetectionSamplingRate(final float samplingRate) {
+        leakDetector.setSamplingRate(samplingRate);
+    }
+
+    /**
+     * Returns the buffers, cached in the magazines of the terminated threads and of the threads, which haven't used the
+     * pools since the previous call, back to the shared pool slices.
+     *
+     * @since 4.1
+     */
+    public void trimMagazines() {
+        for (int i = 0; i < pools.length; i++) {
+            pools[i].trimMagazines();
+        }
+    }
+
     // ------------------------------------------------------- Protected Methods
 
     protected Object createJmxManagementObject() {
@@ -422,23 +644,103 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         private final PoolSlice[] slices;
         private final int bufferSize;
 
+        // MemoryProbe configuration.
+        private final DefaultMonitoringConfig<MemoryProbe> monitoringConfig;
+
+        // the max number of buffers in a magazine, 0 if the magazines are disabled
+        private final int magazineSize;
+
+        // the number of buffers moved between a magazine and the slices at once
+        private final int magazineBatchSize;
+
+        // the current thread's magazine, null if the magazines are disabled
+        private final ThreadLocal<Magazine> magazines;
+
+        // all the magazines created by this pool, used for the trimming and monitoring
+        private final Queue<Magazine> allMagazines;
+
+        // the earliest time the next automatic magazines trimming may happen
+        private final AtomicLong nextTrimTime;
+
+        // the leak detector, may be null
+        private final BufferLeakDetector leakDetector;
+
+        // true, if the pool grows in chunks and trims the idle buffers
+        private final boolean isElastic;
+
+        // the number of buffers the pool slice grows by at once
+        private final int growthChunk;
+
+        // the earliest time the free buffers count may be sampled next time
+        private final AtomicLong nextSampleTime;
+
+        // the end of the current quiet period, guarded by this
+        private long quietPeriodEnd;
+
+        private final AtomicLong pooledBytesHighWater = new AtomicLong();
+        private final AtomicLong trimmedBytes = new AtomicLong();
+
         public Pool(final int bufferSize, final long memoryPerSubPool, final int numberOfPoolSlices, final float percentPreallocated, final boolean isDirect,
                 final DefaultMonitoringConfig<MemoryProbe> monitoringConfig) {
+            this(bufferSize, memoryPerSubPool, numberOfPoolSlices, percentPreallocated, isDirect, 0, false, monitoringConfig, null);
+        }
+
+        public Pool(final int bufferSize, final long memoryPerSubPool, final int numberOfPoolSlices, final float percentPreallocated, final boolean isDirect,
+                final int magazineSize, final boolean isElastic, final DefaultMonitoringConfig<MemoryProbe> monitoringConfig,
+                final BufferLeakDetector leakDetector) {
             this.bufferSize = bufferSize;
+            this.monitoringConfig = monitoringConfig;
+            this.leakDetector = leakDetector;
             slices = new PoolSlice[numberOfPoolSlices];
             final long memoryPerSlice = memoryPerSubPool / numberOfPoolSlices;
 
             for (int i = 0; i < numberOfPoolSlices; i++) {
                 slices[i] = new PoolSlice(this, memoryPerSlice, bufferSize, percentPreallocated, isDirect, monitoringConfig);
             }
+
+            this.isElastic = isElastic;
+            growthChunk = Math.max(1, ELASTIC_GROWTH_CHUNK);
+            final long now = System.nanoTime();
+            nextSampleTime = new AtomicLong(now + ELASTIC_QUIET_PERIOD_NANOS / 8);
+            quietPeriodEnd = now + ELASTIC_QUIET_PERIOD_NANOS;
+            pooledBytesHighWater.set(getPooledBytes());
+
+            this.magazineSize = magazineSize;
+            magazineBatchSize = Math.max(1, magazineSize / 2);
+            if (magazineSize > 0) {
+                allMagazines = new ConcurrentLinkedQueue<>();
+                magazines = ThreadLocal.withInitial(() -> {
+                    final Magazine magazine = new Magazine(Thread.currentThread(), magazineSize);
+                    allMagazines.add(magazine);
+                    return magazine;
+                });
+                nextTrimTime = new AtomicLong(System.nanoTime() + MAGAZINE_TRIM_INTERVAL_NANOS);
+            } else {
+                allMagazines = null;
+                magazines = null;
+                nextTrimTime = null;
+            }
+
+            if (isElastic || magazineSize > 0) {
+                PoolMaintenance.schedule(this);
+            }
         }
 
+        /**
+         * @return the number of the pooled buffers, including the buffers cached in the per-thread magazines
+         */
         public int elementsCount() {
             int sum = 0;
             for (int i = 0; i < slices.length; i++) {
                 sum += slices[i].elementsCount();
             }
 
+            if (allMagazines != null) {
+                for (Magazine magazine : allMagazines) {
+                    sum += magazine.size;
+                }
+            }
+
             return sum;
         }
 
@@ -454,21 +756,259 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             return Arrays.copyOf(slices, slices.length);
         }
 
+        public long getPooledBytes() {
+            long sum = 0;
+            for (int i = 0; i < slices.length; i++) {
+                sum += slices[i].buffersCount();
+            }
+
+            return sum * bufferSize;
+        }
+
+        public long getPooledBytesHighWater() {
+            return pooledBytesHighWater.get();
+        }
+
+        public long getTrimmedBytes() {
+            return trimmedBytes.get();
+        }
+
         public Buffer allocate() {
+            final PoolBuffer b = allocate0();
+            if (leakDetector != null) {
+                final BufferLeakDetector.LeakTracker tracker = leakDetector.track(b, bufferSize);
+                if (tracker != null) {
+                    b.track(tracker);
+                }
+            }
+
+            return b;
+        }
+
+        private PoolBuffer allocate0() {
+            if (magazines != null) {
+                final Magazine magazine = magazines.get();
+                // the magazine may be locked only if it's being trimmed
+                if (magazine.tryLock()) {
+                    try {
+                        final PoolBuffer b = allocateFromMagazine(magazine);
+                        if (b != null) {
+                            return b.prepare();
+                        }
+                    } finally {
+                        magazine.unlock();
+                    }
+                }
+            }
+
             final PoolSlice slice = getSlice();
             PoolBuffer b = slice.poll();
             if (b == null) {
-                b = slice.allocate();
+                b = isElastic ? grow(slice) : slice.allocate();
             }
 
             return b.prepare();
         }
 
+        /*
+         * Allocates a chunk of buffers for the empty slice, returns one of them and puts the rest into the slice.
+         */
+        private PoolBuffer grow(final PoolSlice slice) {
+            final PoolBuffer b = slice.allocate();
+            final int count = Math.min(growthChunk, slice.getMaxElementsCount() - slice.buffersCount() + 1);
+            for (int i = 1; i < count; i++) {
+                if (!slice.offer0(slice.allocate().free(true))) {
+                    break;
+                }
+            }
+
+            final long pooledBytes = getPooledBytes();
+            long highWater;
+            while (pooledBytes > (highWater = pooledBytesHighWater.get())) {
+                if (pooledBytesHighWater.compareAndSet(highWater, pooledBytes)) {
+                    break;
+                }
+            }
+
+            return b;
+        }
+
+        /**
+         * Checks the idle buffers of the elastic pool and drains the idle magazines. Called by the background timer.
+         */
+        void maintain(final long now) {
+            if (isElastic) {
+                checkIdleBuffers(now);
+            }
+
+            if (allMagazines != null) {
+                trimMagazinesIfNeeded();
+            }
+        }
+
+        /**
+         * Samples the min number of the free buffers in the slices and in the magazines and, once the quiet period is over,
+         * trims the buffers, which haven't been used during the period.
+         */
+        void checkIdleBuffers(final long now) {
+            final long sampleTime = nextSampleTime.get();
+            if (now - sampleTime < 0 || !nextSampleTime.compareAndSet(sampleTime, now + ELASTIC_QUIET_PERIOD_NANOS / 8)) {
+                return;
+            }
+
+            synchronized (this) {
+                final int[] magazineCounts = countMagazineBuffers();
+                for (int i = 0; i < slices.length; i++) {
+                    final PoolSlice slice = slices[i];
+                    slice.minFreeCount = Math.min(slice.minFreeCount, slice.elementsCount() + magazineCounts[i]);
+                }
+
+                if (now - quietPeriodEnd >= 0) {
+                    boolean isDrained = false;
+                    for (int i = 0; i < slices.length; i++) {
+                        final PoolSlice slice = slices[i];
+                        final int idle = Math.min(slice.minFreeCount, slice.buffersCount() - slice.getMinElementsCount());
+                        final int count = idle / growthChunk * growthChunk;
+                        if (count > 0 && !isDrained) {
+                            // the idle buffers might be cached in the magazines, return them to the slices to be trimmed
+                            drainMagazines();
+                            isDrained = true;
+                        }
+
+                        final int trimmed = slice.trim(count);
+                        trimmedBytes.addAndGet((long) trimmed * bufferSize);
+                        slice.minFreeCount = Integer.MAX_VALUE;
+                    }
+
+                    quietPeriodEnd = now + ELASTIC_QUIET_PERIOD_NANOS;
+                }
+            }
+        }
+
+        /**
+         * Returns the disposed buffer to the current thread's magazine or to its slice.
+         */
+        void release(final PoolBuffer b) {
+            if (magazines != null) {
+                final Magazine magazine = magazines.get();
+                if (magazine.tryLock()) {
+                    try {
+                        if (magazine.size == magazineSize) {
+                            flush(magazine, magazineBatchSize);
+                        }
+
+                        magazine.push(b);
+                        ProbeNotifier.notifyBufferReleasedToPool(monitoringConfig, bufferSize);
+                        return;
+                    } finally {
+                        magazine.unlock();
+                    }
+                }
+            }
+
+            b.owner().offer(b);
+        }
+
+        /**
+         * Drains the magazines of the terminated threads and of the threads, which haven't used the pool since the previous
+         * trimming.
+         */
+        void trimMagazines() {
+            if (allMagazines == null) {
+                return;
+            }
+
+            for (Iterator<Magazine> it = allMagazines.iterator(); it.hasNext();) {
+                final Magazine magazine = it.next();
+                final Thread owner = magazine.owner.get();
+                if (owner == null || !owner.isAlive()) {
+                    // the owner can't touch the magazine anymore
+                    it.remove();
+                    if (magazine.tryLock()) {
+                        try {
+                            flush(magazine, magazine.size);
+                        } finally {
+                            magazine.unlock();
+                        }
+                    }
+                } else if (magazine.tryLock()) {
+                    try {
+                        if (magazine.operations == magazine.lastTrimOperations) {
+                            flush(magazine, magazine.size);
+                        }
+                        magazine.lastTrimOperations = magazine.operations;
+                    } finally {
+                        magazine.unlock();
+                    }
+                }
+            }
+        }
+
+        /*
+         * Moves the buffers from all the magazines, which are not being used at the moment, back to their slices.
+         */
+        private void drainMagazines() {
+            if (allMagazines == null) {
+                return;
+            }
+
+            for (Magazine magazine : allMagazines) {
+                if (magazine.tryLock()) {
+                    try {
+                        flush(magazine, magazine.size);
+                    } finally {
+                        magazine.unlock();
+                    }
+                }
+            }
+        }
+
+        /*
+         * Counts the free buffers cached in the magazines per the buffers' slice. The magazines, which are being used at the
+         * moment, are skipped.
+         */
+        private int[] countMagazineBuffers() {
+            final int[] counts = new int[slices.length];
+            if (allMagazines == null) {
+                return counts;
+            }
+
+            for (Magazine magazine : allMagazines) {
+                if (!magazine.tryLock()) {
+                    continue;
+                }
+
+                try {
+                    for (int i = 0; i < magazine.size; i++) {
+                        final PoolSlice owner = magazine.buffers[i].owner();
+                        for (int j = 0; j < slices.length; j++) {
+                            if (slices[j] == owner) {
+                                counts[j]++;
+                                break;
+                            }
+                        }
+                    }
+                } finally {
+                    magazine.unlock();
+                }
+            }
+
+            return counts;
+        }
+
+        int getMagazinesCount() {
+            return allMagazines != null ? allMagazines.size() : 0;
+        }
+
         @Override
         public String toString() {
             final StringBuilder sb = new StringBuilder(
                     "Pool[" + Integer.toHexString(hashCode()) + "] {" + "buffer size=" + bufferSize + ", slices count=" + slices.length);
 
+            if (allMagazines != null) {
+                sb.append(", magazines count=").append(allMagazines.size());
+            }
+
             for (int i = 0; i < slices.length; i++) {
                 if (i == 0) {
                     sb.append("\n");
@@ -485,6 +1025,171 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         private PoolSlice getSlice() {
             return slices[ThreadLocalRandom.current().nextInt(slices.length)];
         }
+
+        /*
+         * Pops a buffer from the magazine refilling it from a slice if needed. Returns null if both the magazine and the slice
+         * are empty.
+         */
+        private PoolBuffer allocateFromMagazine(final Magazine magazine) {
+            PoolBuffer b = magazine.pop();
+            if (b == null) {
+                final PoolSlice slice = getSlice();
+                for (int i = 0; i < magazineBatchSize; i++) {
+                    final PoolBuffer polled = slice.poll0();
+                    if (polled == null) {
+                        break;
+                    }
+                    magazine.push(polled);
+                }
+
+                b = magazine.pop();
+                if (b == null) {
+                    // the buffers might be hoarded by idle magazines
+                    trimMagazinesIfNeeded();
+                    return null;
+                }
+            }
+
+            ProbeNotifier.notifyBufferAllocatedFromPool(monitoringConfig, bufferSize);
+            return b;
+        }
+
+        /*
+         * Moves up to count buffers from the magazine back to their slices.
+         */
+        private void flush(final Magazine magazine, final int count) {
+            for (int i = 0; i < count; i++) {
+                final PoolBuffer b = magazine.pop();
+                if (b == null) {
+                    break;
+                }
+                // if the slice is full - the buffer will be garbage collected
+                b.owner().offer0(b);
+            }
+        }
+
+        private void trimMagazinesIfNeeded() {
+            final long now = System.nanoTime();
+            final long trimTime = nextTrimTime.get();
+            if (now - trimTime >= 0 && nextTrimTime.compareAndSet(trimTime, now + MAGAZINE_TRIM_INTERVAL_NANOS)) {
+                // if called on allocation, the caller's magazine is locked, so it's skipped
+                trimMagazines();
+            }
+        }
+
+        /*
+         * Bounded stack of the free buffers, used by its owner thread. The lock is uncontended unless the magazine is being
+         * trimmed by another thread.
+         */
+        private static final class Magazine {
+            private final WeakReference<Thread> owner;
+            private final PoolBuffer[] buffers;
+            private final AtomicBoolean lock = new AtomicBoolean();
+
+            // the number of buffers in the magazine, might be read without the lock for monitoring purposes
+            private volatile int size;
+
+            // the number of the allocate/release operations, used to detect the idle magazines
+            private int operations;
+            private int lastTrimOperations;
+
+            Magazine(final Thread owner, final int capacity) {
+                this.owner = new WeakReference<>(owner);
+                buffers = new PoolBuffer[capacity];
+            }
+
+            boolean tryLock() {
+                return lock.compareAndSet(false, true);
+            }
+
+            void unlock() {
+                lock.lazySet(false);
+            }
+
+            PoolBuffer pop() {
+                operations++;
+                final int s = size;
+                if (s == 0) {
+                    return null;
+                }
+
+                final PoolBuffer b = buffers[s - 1];
+                buffers[s - 1] = null;
+                size = s - 1;
+                return b;
+            }
+
+            void push(final PoolBuffer b) {
+                operations++;
+                final int s = size;
+                buffers[s] = b;
+                size = s + 1;
+            }
+        } // END Magazine
+    }
+
+    /*
+     * The shared background timer, which periodically checks the idle buffers of the elastic pools and drains the idle
+     * magazines. The pool is referenced weakly, so the maintenance is cancelled once the pool is garbage collected.
+     */
+    private static final class PoolMaintenance {
+        private static final long ELASTIC_CHECK_INTERVAL_MILLIS = Math.max(1, TimeUnit.NANOSECONDS.toMillis(ELASTIC_QUIET_PERIOD_NANOS / 8));
+        private static final long MAGAZINE_CHECK_INTERVAL_MILLIS = Math.max(1, TimeUnit.NANOSECONDS.toMillis(MAGAZINE_TRIM_INTERVAL_NANOS));
+
+        private static final DelayedExecutor.DelayQueue<PoolMaintenance> QUEUE = createQueue();
+
+        private final WeakReference<Pool> pool;
+        private final long intervalMillis;
+        private volatile long timeoutMillis = DelayedExecutor.UNSET_TIMEOUT;
+
+        private PoolMaintenance(final Pool pool) {
+            this.pool = new WeakReference<>(pool);
+            intervalMillis = pool.magazineSize > 0 ? Math.min(ELASTIC_CHECK_INTERVAL_MILLIS, MAGAZINE_CHECK_INTERVAL_MILLIS)
+                    : ELASTIC_CHECK_INTERVAL_MILLIS;
+        }
+
+        static void schedule(final Pool pool) {
+            final PoolMaintenance maintenance = new PoolMaintenance(pool);
+            QUEUE.add(maintenance, maintenance.intervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private static DelayedExecutor.DelayQueue<PoolMaintenance> createQueue() {
+            final long checkInterval = Math.min(1000, Math.min(ELASTIC_CHECK_INTERVAL_MILLIS, MAGAZINE_CHECK_INTERVAL_MILLIS));
+            final DelayedExecutor executor = new DelayedExecutor(Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, "Grizzly-PooledMemoryManager-Maintenance");
+                thread.setDaemon(true);
+                return thread;
+            }), checkInterval, TimeUnit.MILLISECONDS);
+            executor.start();
+
+            return executor.createDelayQueue(maintenance -> {
+                final Pool p = maintenance.pool.get();
+                if (p == null) {
+                    return true;
+                }
+
+                p.maintain(System.nanoTime());
+                maintenance.timeoutMillis = System.currentTimeMillis() + maintenance.intervalMillis;
+                return false;
+            }, new DelayedExecutor.Resolver<PoolMaintenance>() {
+
+                @Override
+                public boolean removeTimeout(final PoolMaintenance maintenance) {
+                    maintenance.timeoutMillis = DelayedExecutor.UNSET_TIMEOUT;
+                    return true;
+                }
+
+                @Override
+                public long getTimeoutMillis(final PoolMaintenance maintenance) {
+                    return maintenance.timeoutMillis;
+                }
+
+                @Override
+                public void setTimeoutMillis(final PoolMaintenance maintenance, final long timeoutMillis) {
+                    maintenance.timeoutMillis = timeoutMillis;
+                }
+            });
+        }
     }
 
     /*
@@ -536,6 +1241,15 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         // MemoryProbe configuration.
         private final DefaultMonitoringConfig<MemoryProbe> monitoringConfig;
 
+        // the number of buffers owned by this slice, either free or in use
+        private final AtomicInteger buffersCount = new AtomicInteger();
+
+        // the number of the preallocated buffers, the elastic slice isn't trimmed below this size
+        private final int minPoolSize;
+
+        // the min number of free buffers seen during the current quiet period, guarded by the owner Pool
+        int minFreeCount = Integer.MAX_VALUE;
+
         // -------------------------------------------------------- Constructors
 
         PoolSlice(final Pool owner, final long totalPoolSize, final int bufferSize, final float percentPreallocated, final boolean isDirect,
@@ -562,6 +1276,7 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             pool1 = new PaddedAtomicReferenceArray<>(maxPoolSize);
 
             final int preallocatedBufs = Math.min(maxPoolSize, (int) (percentPreallocated * maxPoolSize));
+            minPoolSize = preallocatedBufs;
 
             int idx = 0;
 
@@ -577,6 +1292,27 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         // ------------------------------------------------------ Public Methods
 
         public PoolBuffer poll() {
+            final PoolBuffer pb = poll0();
+            if (pb != null) {
+                ProbeNotifier.notifyBufferAllocatedFromPool(monitoringConfig, bufferSize);
+            }
+
+            return pb;
+        }
+
+        public boolean offer(final PoolBuffer b) {
+            if (offer0(b)) {
+                ProbeNotifier.notifyBufferReleasedToPool(monitoringConfig, bufferSize);
+                return true;
+            }
+
+            return false;
+        }
+
+        /*
+         * Same as poll(), but doesn't notify the probes, used for the batch transfers to the magazines.
+         */
+        PoolBuffer poll0() {
             int pollIdx;
             for (;;) {
                 pollIdx = this.pollIdx.get();
@@ -601,7 +1337,6 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
                 // unmask the current read value to the actual array index.
                 final PoolBuffer pb = pool.getAndSet(unmaskedPollIdx, null);
                 if (pb != null) {
-                    ProbeNotifier.notifyBufferAllocatedFromPool(monitoringConfig, bufferSize);
                     return pb;
                 }
 
@@ -610,7 +1345,10 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             }
         }
 
-        public boolean offer(final PoolBuffer b) {
+        /*
+         * Same as offer(), but doesn't notify the probes, used for the batch transfers from the magazines.
+         */
+        boolean offer0(final PoolBuffer b) {
             int offerIdx;
             for (;;) {
                 offerIdx = this.offerIdx.get();
@@ -618,6 +1356,8 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
 
                 // weak isFull check, might return false positives
                 if (isFull(pollIdx, offerIdx)) {
+                    // the buffer is dropped
+                    buffersCount.decrementAndGet();
                     return false;
                 }
                 final int nextOfferIndex = nextIndex(offerIdx);
@@ -633,8 +1373,6 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             for (;;) {
                 // unmask the current write value to the actual array index.
                 if (pool.compareAndSet(unmaskedOfferIdx, null, b)) {
-                    ProbeNotifier.notifyBufferReleasedToPool(monitoringConfig, bufferSize);
-
                     return true;
                 }
                 // give poll at this index time to complete...
@@ -672,10 +1410,38 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         }
 
         public void clear() {
-            // noinspection StatementWithEmptyBody
             while (poll() != null) {
-                ;
+                buffersCount.decrementAndGet();
+            }
+        }
+
+        /**
+         * @return the number of buffers owned by this <tt>PoolSlice</tt>, either free or in use
+         */
+        public int buffersCount() {
+            return buffersCount.get();
+        }
+
+        /**
+         * @return the number of the preallocated buffers
+         */
+        public int getMinElementsCount() {
+            return minPoolSize;
+        }
+
+        /**
+         * Removes up to the given number of the free buffers from the slice, so they could be garbage collected.
+         *
+         * @return the number of the removed buffers
+         */
+        int trim(final int count) {
+            int trimmed = 0;
+            while (trimmed < count && poll0() != null) {
+                trimmed++;
             }
+
+            buffersCount.addAndGet(-trimmed);
+            return trimmed;
         }
 
         public PoolBuffer allocate() {
@@ -687,6 +1453,7 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
                     // otherwise use HeapBuffer
                     new PoolHeapBuffer(new byte[bufferSize], this);
 
+            buffersCount.incrementAndGet();
             ProbeNotifier.notifyBufferAllocated(monitoringConfig, bufferSize);
             return buffer;
         }
@@ -786,9 +1553,14 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
 
     } // END BufferPool
 
-    interface PoolBuffer extends Buffer {
+    interface PoolBuffer extends RefCountedBuffer {
         PoolBuffer prepare();
 
+        /**
+         * Attaches the leak tracker, which is closed once the buffer is returned to the pool.
+         */
+        void track(BufferLeakDetector.LeakTracker tracker);
+
         boolean free();
 
         PoolBuffer free(boolean free);
@@ -814,6 +1586,9 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         // non-null in any 'child' buffers created from the original.
         protected final PoolHeapBuffer source;
 
+        // tracks the source buffer, if it's sampled by the leak detector
+        private BufferLeakDetector.LeakTracker leakTracker;
+
         // ------------------------------------------------------------ Constructors
 
         /**
@@ -878,6 +1653,31 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             return this;
         }
 
+        @Override
+        public void track(final BufferLeakDetector.LeakTracker tracker) {
+            leakTracker = tracker;
+        }
+
+        // ------------------------------------------ Methods from RefCountedBuffer
+
+        @Override
+        public int refCount() {
+            return free ? 0 : shareCount.get() + 1;
+        }
+
+        @Override
+        public RefCountedBuffer retain() {
+            return (PoolHeapBuffer) duplicate();
+        }
+
+        @Override
+        public boolean release() {
+            checkDispose();
+            free = true;
+
+            return dispose0();
+        }
+
         // ------------------------------------------ Methods from HeapBuffer
 
         @Override
@@ -927,7 +1727,7 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             dispose0();
         }
 
-        private void dispose0() {
+        private boolean dispose0() {
             // check shared counter optimistically
             boolean isNotShared = shareCount.get() == 0;
             if (!isNotShared) {
@@ -944,15 +1744,22 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
                 // we can now safely return source back to the queue
                 source.returnToPool();
             }
+
+            return isNotShared;
         }
 
         private void returnToPool() {
+            if (leakTracker != null) {
+                leakTracker.close();
+                leakTracker = null;
+            }
+
             // restore capacity
             cap = heap.length;
             // clear
             clear();
 
-            owner.offer(this);
+            owner.owner.release(this);
         }
 
         // ----------------------------------------------------- Protected Methods
@@ -1014,6 +1821,9 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         // non-null in any 'child' buffers created from the original.
         protected final PoolByteBufferWrapper source;
 
+        // tracks the source buffer, if it's sampled by the leak detector
+        private BufferLeakDetector.LeakTracker leakTracker;
+
         // Used for the special case of the split() method. This maintains
         // the original wrapper from the pool which must ultimately be returned.
         private final ByteBuffer origVisible;
@@ -1083,6 +1893,31 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             return this;
         }
 
+        @Override
+        public void track(final BufferLeakDetector.LeakTracker tracker) {
+            leakTracker = tracker;
+        }
+
+        // ------------------------------------------ Methods from RefCountedBuffer
+
+        @Override
+        public int refCount() {
+            return free ? 0 : shareCount.get() + 1;
+        }
+
+        @Override
+        public RefCountedBuffer retain() {
+            return (PoolByteBufferWrapper) duplicate();
+        }
+
+        @Override
+        public boolean release() {
+            checkDispose();
+            free = true;
+
+            return dispose0();
+        }
+
         // ------------------------------------------ Methods from ByteBufferWrapper
 
         @Override
@@ -1095,7 +1930,7 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
             dispose0();
         }
 
-        private void dispose0() {
+        private boolean dispose0() {
             // check shared counter optimistically
             boolean isNotShared = shareCount.get() == 0;
             if (!isNotShared) {
@@ -1112,6 +1947,8 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
                 // we can now safely return source back to the queue
                 source.returnToPool();
             }
+
+            return isNotShared;
         }
 
         // ----------------------------------------------------- Protected Methods
@@ -1141,10 +1978,15 @@ public class PooledMemoryManager implements MemoryManager<Buffer>, WrapperAware
         // ----------------------------------------------------- Private Methods
 
         private void returnToPool() {
+            if (leakTracker != null) {
+                leakTracker.close();
+                leakTracker = null;
+            }
+
             // should be called on "source" only
             visible = origVisible;
             visible.clear();
-            owner.offer(this);
+            owner.owner.release(this);
         }
     } // END PoolBuffer
 }
@@ -70,4 +70,20 @@ final class ProbeNotifier {
         }
     }
 
+    /**
+     * Notify registered {@link MemoryProbe}s about the "buffer leak" event.
+     *
+     * @param size buffer size
+     * @param allocationTrace the leaked buffer allocation stack trace
+     */
+    static void notifyBufferLeak(final DefaultMonitoringConfig<MemoryProbe> config, final int size, final Throwable allocationTrace) {
+
+        final MemoryProbe[] probes = config.getProbesUnsafe();
+        if (probes != null) {
+            for (MemoryProbe probe : probes) {
+                probe.onBufferLeakEvent(size, allocationTrace);
+            }
+        }
+    }
+
 }
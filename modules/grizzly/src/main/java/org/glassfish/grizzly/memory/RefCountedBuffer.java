@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import org.glassfish.grizzly.Buffer;
+
+/**
+ * {@link Buffer}, whose underlying memory is reference counted. The memory is returned to its pool once all the
+ * references are released.
+ *
+ * Every reference is a separate {@link Buffer} object with its own position and limit, so the same content may be
+ * passed to several consumers (for example written to several connections) without copying, each consumer releases its
+ * own reference once it's done:
+ *
+ * <pre>
+ * final RefCountedBuffer payload = (RefCountedBuffer) memoryManager.allocate(size);
+ * ...
+ * for (Connection connection : connections) {
+ *     final RefCountedBuffer reference = payload.retain();
+ *     connection.write(reference, new EmptyCompletionHandler() {
+ *         public void completed(Object result) {
+ *             reference.release();
+ *         }
+ *         ...
+ *     });
+ * }
+ * payload.release();
+ * </pre>
+ *
+ * Unlike {@link #tryDispose()}, {@link #release()} doesn't depend on the {@link #allowBufferDispose()} flag. The
+ * {@link Buffer}s of the {@link PooledMemoryManager} implement this interface.
+ *
+ * @since 4.1
+ */
+public interface RefCountedBuffer extends Buffer {
+
+    /**
+     * @return the number of the live references to the underlying memory, or <tt>0</tt> if this reference has been
+     * released
+     */
+    int refCount();
+
+    /**
+     * Creates a new reference to the underlying memory. The returned {@link Buffer} has the same position and limit as
+     * this one, but they are changed independently.
+     *
+     * @return the new reference, which has to be released separately
+     * @throws IllegalStateException if this reference has been released
+     */
+    RefCountedBuffer retain();
+
+    /**
+     * Releases this reference, the {@link Buffer} mustn't be used afterwards.
+     *
+     * @return <tt>true</tt> if this was the last reference and the memory has been returned to the pool
+     * @throws IllegalStateException if this reference has already been released
+     */
+    boolean release();
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ByteBufferWrapper}, which implements {@link RefCountedBuffer}. The buffers created by {@link #slice()},
+ * {@link #duplicate()}, {@link #split(int)} etc. share the reference counter with the original buffer, the underlying
+ * memory is released via {@link #onRelease()} once the last of them is disposed.
+ *
+ * @since 4.1
+ */
+public abstract class RefCountedByteBufferWrapper extends ByteBufferWrapper implements RefCountedBuffer {
+
+    // true, if this Buffer has been disposed
+    private boolean free;
+
+    // the number of the 'child' buffers sharing the memory with the original buffer
+    private final AtomicInteger shareCount;
+
+    /**
+     * Creates the original buffer.
+     *
+     * @param byteBuffer the underlying {@link ByteBuffer}
+     */
+    protected RefCountedByteBufferWrapper(final ByteBuffer byteBuffer) {
+        super(byteBuffer);
+        shareCount = new AtomicInteger();
+    }
+
+    /**
+     * Creates the 'child' buffer, which shares the reference counter with the given buffer.
+     *
+     * @param byteBuffer the underlying {@link ByteBuffer}
+     * @param parent the buffer sharing the memory
+     */
+    protected RefCountedByteBufferWrapper(final ByteBuffer byteBuffer, final RefCountedByteBufferWrapper parent) {
+        super(byteBuffer);
+        shareCount = parent.shareCount;
+    }
+
+    /**
+     * Creates the 'child' buffer for the given {@link ByteBuffer}, usually via
+     * {@link #RefCountedByteBufferWrapper(ByteBuffer, RefCountedByteBufferWrapper)}.
+     */
+    protected abstract RefCountedByteBufferWrapper createChild(ByteBuffer byteBuffer);
+
+    /**
+     * Invoked once, when the last buffer sharing the memory is disposed.
+     */
+    protected abstract void onRelease();
+
+    // ------------------------------------------ Methods from RefCountedBuffer
+
+    @Override
+    public int refCount() {
+        return free ? 0 : shareCount.get() + 1;
+    }
+
+    @Override
+    public RefCountedBuffer retain() {
+        return (RefCountedBuffer) duplicate();
+    }
+
+    @Override
+    public boolean release() {
+        checkDispose();
+        free = true;
+
+        return dispose0();
+    }
+
+    // ------------------------------------------ Methods from ByteBufferWrapper
+
+    @Override
+    public void dispose() {
+        if (free) {
+            return;
+        }
+        free = true;
+
+        dispose0();
+    }
+
+    @Override
+    protected final ByteBufferWrapper wrapByteBuffer(final ByteBuffer byteBuffer) {
+        final RefCountedByteBufferWrapper b = createChild(byteBuffer);
+        b.allowBufferDispose(true);
+        shareCount.incrementAndGet();
+
+        return b;
+    }
+
+    @Override
+    protected void checkDispose() {
+        if (free) {
+            throw new IllegalStateException(getClass().getSimpleName() + " has already been disposed", disposeStackTrace);
+        }
+    }
+
+    // ----------------------------------------------------- Private Methods
+
+    private boolean dispose0() {
+        // check shared counter optimistically
+        boolean isNotShared = shareCount.get() == 0;
+        if (!isNotShared) {
+            // try pessimistic check using CAS loop
+            isNotShared = shareCount.getAndDecrement() == 0;
+            if (isNotShared) {
+                // if the former check is true - the shared counter is negative,
+                // so we have to reset it
+                shareCount.set(0);
+            }
+        }
+
+        if (isNotShared) {
+            onRelease();
+        }
+
+        return isNotShared;
+    }
+}
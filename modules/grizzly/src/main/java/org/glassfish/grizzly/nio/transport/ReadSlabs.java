@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.nio.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.ThreadCache;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.RefCountedByteBufferWrapper;
+
+/**
+ * Pool of the large direct {@link ByteBuffer}s (slabs), which the {@link TCPNIOTransport} reads into, if
+ * {@link TCPNIOTransport#isPooledDirectRead()} is enabled and the transport's memory manager doesn't allocate direct
+ * buffers.
+ *
+ * Every thread reads into the free space of its current slab and passes the filled region up the filter chain as a
+ * {@link Buffer} slice, so the read data isn't copied into a heap buffer. Slabs are reference counted: the slab is
+ * returned to the pool once the thread switched to another slab and all the slices have been disposed. Please note, a
+ * slice, which isn't disposed, keeps the entire slab out of the pool until the slice is garbage collected.
+ */
+final class ReadSlabs {
+    static final int SLAB_SIZE = Integer.getInteger(TCPNIOTransport.class.getName() + ".read-slab-size", 256 * 1024);
+
+    static final int MAX_POOLED_SLABS = Integer.getInteger(TCPNIOTransport.class.getName() + ".max-pooled-read-slabs", 64);
+
+    // if there is less free space in the current slab - the thread switches to a new slab
+    static final int MIN_READ_SIZE = 4096;
+
+    private static final ThreadCache.CachedTypeIndex<Slab> CACHE_IDX = ThreadCache.obtainIndex("read-slab", Slab.class, 1);
+
+    private static final Queue<Slab> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    private ReadSlabs() {
+    }
+
+    /**
+     * Returns the current {@link Slab} of the calling thread, which has enough free space for the next read.
+     *
+     * @param receiveBufferSize the preferred read size
+     * @return the {@link Slab}
+     */
+    static Slab currentSlab(final int receiveBufferSize) {
+        Slab slab = ThreadCache.takeFromCache(CACHE_IDX);
+        if (slab != null && slab.remaining() < Math.min(receiveBufferSize, MIN_READ_SIZE)) {
+            // release the thread's reference
+            slab.release();
+            slab = null;
+        }
+
+        if (slab == null) {
+            slab = POOL.poll();
+            if (slab != null) {
+                POOL_SIZE.decrementAndGet();
+                slab.reset();
+            } else {
+                slab = new Slab(ByteBuffer.allocateDirect(Math.max(SLAB_SIZE, MIN_READ_SIZE)));
+            }
+        }
+
+        ThreadCache.putToCache(CACHE_IDX, slab);
+        return slab;
+    }
+
+    /**
+     * @return the number of the slabs in the pool
+     */
+    static int pooledSlabsCount() {
+        return POOL_SIZE.get();
+    }
+
+    private static void recycle(final Slab slab) {
+        if (POOL_SIZE.incrementAndGet() <= MAX_POOLED_SLABS) {
+            POOL.offer(slab);
+        } else {
+            POOL_SIZE.decrementAndGet();
+        }
+    }
+
+    /**
+     * The direct {@link ByteBuffer}, which is filled sequentially by the owner thread.
+     */
+    static final class Slab {
+        private final ByteBuffer byteBuffer;
+        private int position;
+
+        // one reference is held by the owner thread and one by each slice
+        private final AtomicInteger refs = new AtomicInteger(1);
+
+        private Slab(final ByteBuffer byteBuffer) {
+            this.byteBuffer = byteBuffer;
+        }
+
+        /**
+         * Returns the {@link ByteBuffer} to read into, its position and limit are set to the free region.
+         */
+        ByteBuffer prepareRead(final int receiveBufferSize) {
+            Buffers.setPositionLimit(byteBuffer, position, Math.min(byteBuffer.capacity(), position + receiveBufferSize));
+            return byteBuffer;
+        }
+
+        /**
+         * Returns the {@link Buffer} slice of the given size starting at the free region, the free region is shrunk
+         * accordingly.
+         */
+        Buffer slice(final int size) {
+            Buffers.setPositionLimit(byteBuffer, position, position + size);
+            final ByteBuffer slice = byteBuffer.slice();
+            position += size;
+
+            refs.incrementAndGet();
+            return new SlabBuffer(slice, this);
+        }
+
+        int remaining() {
+            return byteBuffer.capacity() - position;
+        }
+
+        int refCount() {
+            return refs.get();
+        }
+
+        void release() {
+            if (refs.decrementAndGet() == 0) {
+                recycle(this);
+            }
+        }
+
+        private void reset() {
+            position = 0;
+            refs.set(1);
+        }
+    }
+
+    private static final class SlabBuffer extends RefCountedByteBufferWrapper {
+        private final Slab slab;
+
+        SlabBuffer(final ByteBuffer byteBuffer, final Slab slab) {
+            super(byteBuffer);
+            this.slab = slab;
+        }
+
+        private SlabBuffer(final ByteBuffer byteBuffer, final SlabBuffer parent) {
+            super(byteBuffer, parent);
+            this.slab = parent.slab;
+        }
+
+        @Override
+        protected RefCountedByteBufferWrapper createChild(final ByteBuffer byteBuffer) {
+            return new SlabBuffer(byteBuffer, this);
+        }
+
+        @Override
+        protected void onRelease() {
+            slab.release();
+        }
+    }
+}
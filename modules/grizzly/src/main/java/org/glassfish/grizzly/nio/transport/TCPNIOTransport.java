@@ -125,6 +125,10 @@ public final class TCPNIOTransport extends NIOTransport implements AsyncQueueEna
      * The socket keepAlive mode.
      */
     boolean isKeepAlive = DEFAULT_KEEP_ALIVE;
+    /**
+     * Read into the pooled direct buffers, if the {@link org.glassfish.grizzly.memory.MemoryManager} allocates heap buffers.
+     */
+    boolean isPooledDirectRead;
 
     private final Filter defaultTransportFilter;
     final RegisterChannelCompletionHandler selectorRegistrationHandler;
@@ -440,6 +444,33 @@ public final class TCPNIOTransport extends NIOTransport implements AsyncQueueEna
         notifyProbesConfigChanged(this);
     }
 
+    /**
+     * @return <tt>true</tt> if the data is read into the pooled direct buffers and passed up the filter chain without
+     * copying
+     * @since 4.1
+     */
+    public boolean isPooledDirectRead() {
+        return isPooledDirectRead;
+    }
+
+    /**
+     * Enables or disables reading into the pooled direct buffers. The option matters only if the
+     * {@link org.glassfish.grizzly.memory.MemoryManager} allocates heap buffers: by default the data is read into a
+     * thread-local direct buffer and then copied into a newly allocated heap {@link Buffer}. If the option is enabled,
+     * the data is read into a large direct buffer (slab) shared by all the connections of the selector thread, and its
+     * filled region is passed up the filter chain as a {@link Buffer} slice, so the copy is avoided.
+     *
+     * The slab is returned to the pool once all its slices are disposed, so the filters, which retain the read
+     * {@link Buffer}s for a long time, keep the slab memory in use.
+     *
+     * @param isPooledDirectRead <tt>true</tt> to read into the pooled direct buffers
+     * @since 4.1
+     */
+    public void setPooledDirectRead(final boolean isPooledDirectRead) {
+        this.isPooledDirectRead = isPooledDirectRead;
+        notifyProbesConfigChanged(this);
+    }
+
     public boolean isTcpNoDelay() {
         return tcpNoDelay;
     }
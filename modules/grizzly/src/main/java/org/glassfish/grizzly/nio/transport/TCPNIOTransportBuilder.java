@@ -32,6 +32,7 @@ public class TCPNIOTransportBuilder extends NIOTransportBuilder<TCPNIOTransportB
     protected int serverConnectionBackLog = TCPNIOTransport.DEFAULT_SERVER_CONNECTION_BACKLOG;
     protected int serverSocketSoTimeout = TCPNIOTransport.DEFAULT_SERVER_SOCKET_SO_TIMEOUT;
     protected boolean tcpNoDelay = TCPNIOTransport.DEFAULT_TCP_NO_DELAY;
+    protected boolean pooledDirectRead;
 
     // ------------------------------------------------------------ Constructors
 
@@ -130,6 +131,23 @@ public class TCPNIOTransportBuilder extends NIOTransportBuilder<TCPNIOTransportB
         return getThis();
     }
 
+    /**
+     * @see TCPNIOTransport#isPooledDirectRead()
+     */
+    public boolean isPooledDirectRead() {
+        return pooledDirectRead;
+    }
+
+    /**
+     * @see TCPNIOTransport#setPooledDirectRead(boolean)
+     *
+     * @return this <code>TCPNIOTransportBuilder</code>
+     */
+    public TCPNIOTransportBuilder setPooledDirectRead(boolean pooledDirectRead) {
+        this.pooledDirectRead = pooledDirectRead;
+        return getThis();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -141,6 +159,7 @@ public class TCPNIOTransportBuilder extends NIOTransportBuilder<TCPNIOTransportB
         transport.setServerConnectionBackLog(serverConnectionBackLog);
         transport.setTcpNoDelay(tcpNoDelay);
         transport.setServerSocketSoTimeout(serverSocketSoTimeout);
+        transport.setPooledDirectRead(pooledDirectRead);
         return transport;
     }
 
@@ -189,7 +189,14 @@ public class TCPNIOUtils {
         try {
             final int receiveBufferSize = Math.min(TCPNIOTransport.MAX_RECEIVE_BUFFER_SIZE, connection.getReadBufferSize());
 
-            if (!memoryManager.willAllocateDirect(receiveBufferSize)) {
+            if (!memoryManager.willAllocateDirect(receiveBufferSize) && ((TCPNIOTransport) connection.getTransport()).isPooledDirectRead()) {
+                // read into the pooled direct slab and pass the slice up the chain without copying
+                final ReadSlabs.Slab slab = ReadSlabs.currentSlab(receiveBufferSize);
+                read = readSimpleByteBuffer(connection, slab.prepareRead(receiveBufferSize));
+                if (read > 0) {
+                    buffer = slab.slice(read);
+                }
+            } else if (!memoryManager.willAllocateDirect(receiveBufferSize)) {
                 final DirectByteBufferRecord ioRecord = DirectByteBufferRecord.get();
                 final ByteBuffer directByteBuffer = ioRecord.allocate(receiveBufferSize);
 
@@ -82,6 +82,8 @@ public abstract class AbstractThreadPool extends AbstractExecutorService impleme
     protected final long transactionTimeoutMillis;
     protected final DelayedExecutor.DelayQueue<Worker> delayedQueue;
 
+    private volatile ThreadPoolSizeController sizeController;
+
     private static final DelayedExecutor.Resolver<Worker> transactionResolver = new DelayedExecutor.Resolver<Worker>() {
 
         @Override
@@ -182,6 +184,43 @@ public abstract class AbstractThreadPool extends AbstractExecutorService impleme
         }
     }
 
+    /**
+     * Changes the size of the running thread pool. The meaning of the size depends on the implementation: it's the number
+     * of the worker threads for {@link FixedThreadPool}, and the max number of the worker threads for
+     * {@link SyncThreadPool}. The {@link ThreadPoolProbe}s are notified via
+     * {@link ThreadPoolProbe#onThreadPoolResizeEvent(AbstractThreadPool, int, int)}.
+     *
+     * @param poolSize the new pool size
+     * @throws UnsupportedOperationException if the thread pool can't be resized, see {@link #isResizable()}
+     *
+     * @since 4.1
+     */
+    public void resize(final int poolSize) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " can't be resized");
+    }
+
+    /**
+     * @return <tt>true</tt> if the thread pool supports {@link #resize(int)}, or <tt>false</tt> otherwise
+     *
+     * @since 4.1
+     */
+    public boolean isResizable() {
+        return false;
+    }
+
+    /**
+     * @return the {@link ThreadPoolSizeController} managing this thread pool size, or <tt>null</tt>
+     *
+     * @since 4.1
+     */
+    public ThreadPoolSizeController getSizeController() {
+        return sizeController;
+    }
+
+    void setSizeController(final ThreadPoolSizeController sizeController) {
+        this.sizeController = sizeController;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.glassfish.grizzly.ThreadCache;
 import org.glassfish.grizzly.ThreadCache.ObjectCache;
+import org.glassfish.grizzly.ThreadCache.ObjectCacheHolder;
 import org.glassfish.grizzly.attributes.AttributeBuilder;
 import org.glassfish.grizzly.attributes.AttributeHolder;
 import org.glassfish.grizzly.memory.ThreadLocalPool;
@@ -30,7 +31,7 @@ import org.glassfish.grizzly.memory.ThreadLocalPool;
  *
  * @author Alexey Stashok
  */
-public class DefaultWorkerThread extends Thread implements WorkerThread {
+public class DefaultWorkerThread extends Thread implements WorkerThread, ObjectCacheHolder {
 
     private final AttributeHolder attributes;
 
@@ -61,6 +62,11 @@ public class DefaultWorkerThread extends Thread implements WorkerThread {
         return memoryPool;
     }
 
+    @Override
+    public final ObjectCache getObjectCache() {
+        return objectCache;
+    }
+
     /**
      * Get the cached object with the given type index from cache. Unlike
      * {@link #takeFromCache(org.glassfish.grizzly.ThreadCache.CachedTypeIndex)}, the object won't be removed from cache.
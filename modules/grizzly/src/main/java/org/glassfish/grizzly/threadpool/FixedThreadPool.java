@@ -29,6 +29,9 @@ public class FixedThreadPool extends AbstractThreadPool {
 
     protected final BlockingQueue<Runnable> workQueue;
 
+    // the number of the poison tasks queued by resize(), which haven't been consumed yet
+    private int pendingPoisons;
+
     public FixedThreadPool(ThreadPoolConfig config) {
         super(config);
 
@@ -72,6 +75,63 @@ public class FixedThreadPool extends AbstractThreadPool {
         throw new RejectedExecutionException("ThreadPool is not running");
     }
 
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    /**
+     * Starts the new worker threads, or lets the redundant ones exit once they complete the tasks queued before.
+     *
+     * @param poolSize the new number of the worker threads
+     */
+    @Override
+    public void resize(final int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolsize < 1");
+        }
+
+        final int oldSize;
+        synchronized (stateLock) {
+            if (!running) {
+                return;
+            }
+
+            oldSize = config.getMaxPoolSize();
+            final int currentSize = workers.size() - pendingPoisons;
+
+            config.setMaxPoolSize(poolSize);
+            if (config.getCorePoolSize() >= 0) {
+                config.setCorePoolSize(poolSize);
+            }
+
+            for (int i = currentSize; i < poolSize; i++) {
+                doStartWorker();
+            }
+
+            for (int i = poolSize; i < currentSize; i++) {
+                if (workQueue.offer(poison)) {
+                    pendingPoisons++;
+                }
+            }
+        }
+
+        if (oldSize != poolSize) {
+            ProbeNotifier.notifyThreadPoolResized(this, oldSize, poolSize);
+        }
+    }
+
+    @Override
+    protected void onWorkerExit(final Worker worker) {
+        synchronized (stateLock) {
+            if (running && pendingPoisons > 0) {
+                pendingPoisons--;
+            }
+        }
+
+        super.onWorkerExit(worker);
+    }
+
     private final class BasicWorker extends Worker {
         @Override
         protected Runnable getTask() throws InterruptedException {
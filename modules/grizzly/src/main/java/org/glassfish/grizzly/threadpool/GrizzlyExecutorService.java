@@ -69,7 +69,9 @@ public class GrizzlyExecutorService extends AbstractExecutorService implements M
         }
 
         final Queue<Runnable> queue = cfg.getQueue();
-        if ((queue == null || queue instanceof BlockingQueue) && (cfg.getCorePoolSize() < 0 || cfg.getCorePoolSize() == cfg.getMaxPoolSize())) {
+        if (cfg.isWorkStealing()) {
+            this.pool = new WorkStealingThreadPool(cfg);
+        } else if ((queue == null || queue instanceof BlockingQueue) && (cfg.getCorePoolSize() < 0 || cfg.getCorePoolSize() == cfg.getMaxPoolSize())) {
 
             this.pool = cfg.getQueueLimit() < 0 ? new FixedThreadPool(cfg) : new QueueLimitedThreadPool(cfg);
         } else {
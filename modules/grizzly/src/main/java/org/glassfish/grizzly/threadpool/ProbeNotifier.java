@@ -178,4 +178,21 @@ final class ProbeNotifier {
             }
         }
     }
+
+    /**
+     * Notify registered {@link ThreadPoolProbe}s about the "thread pool resized" event.
+     *
+     * @param threadPool the {@link AbstractThreadPool} being monitored
+     * @param oldSize the former pool size
+     * @param newSize the new pool size
+     */
+    static void notifyThreadPoolResized(final AbstractThreadPool threadPool, final int oldSize, final int newSize) {
+
+        final ThreadPoolProbe[] probes = threadPool.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (ThreadPoolProbe probe : probes) {
+                probe.onThreadPoolResizeEvent(threadPool, oldSize, newSize);
+            }
+        }
+    }
 }
@@ -97,6 +97,51 @@ public class SyncThreadPool extends AbstractThreadPool {
         }
     }
 
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    /**
+     * Changes the max number of the worker threads. If the pool size is decreased, the redundant non-core threads exit
+     * once they become idle.
+     *
+     * @param poolSize the new max number of the worker threads
+     */
+    @Override
+    public void resize(final int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolsize < 1");
+        }
+
+        final int oldSize;
+        synchronized (stateLock) {
+            if (!running) {
+                return;
+            }
+
+            oldSize = config.getMaxPoolSize();
+            config.setMaxPoolSize(poolSize);
+            if (config.getCorePoolSize() > poolSize) {
+                config.setCorePoolSize(poolSize);
+            }
+
+            // start the threads for the tasks, which are waiting in the queue
+            int idleThreadsNumber = currentPoolSize - activeThreadsCount;
+            while (currentPoolSize < poolSize && workQueue.size() > idleThreadsNumber) {
+                startWorker(new SyncThreadWorker(false));
+                idleThreadsNumber++;
+            }
+
+            // wake up the idle threads, so the redundant ones exit
+            stateLock.notifyAll();
+        }
+
+        if (oldSize != poolSize) {
+            ProbeNotifier.notifyThreadPoolResized(this, oldSize, poolSize);
+        }
+    }
+
     @Override
     protected void startWorker(Worker worker) {
         synchronized (stateLock) {
@@ -179,7 +224,7 @@ public class SyncThreadPool extends AbstractThreadPool {
                         }
 
                         // Less than 20 millis remainder will consider as keepalive timeout
-                        if (!running) {
+                        if (!running || !core && currentPoolSize > config.getMaxPoolSize()) {
                             return null;
                         } else if (hasKeepAlive) {
                             keepAliveMillis = endTime - System.currentTimeMillis();
@@ -68,6 +68,8 @@ public final class ThreadPoolConfig {
     protected DelayedExecutor transactionMonitor;
     protected long transactionTimeoutMillis;
     protected ClassLoader initialClassLoader;
+    protected boolean isWorkStealing;
+    protected int affinityGroups = -1;
 
     /**
      * Thread pool probes
@@ -111,6 +113,8 @@ public final class ThreadPoolConfig {
         this.keepAliveTimeMillis = cfg.keepAliveTimeMillis;
         this.mm = cfg.mm;
         this.initialClassLoader = cfg.initialClassLoader;
+        this.isWorkStealing = cfg.isWorkStealing;
+        this.affinityGroups = cfg.affinityGroups;
 
         this.threadPoolMonitoringConfig = new DefaultMonitoringConfig<>(ThreadPoolProbe.class);
 
@@ -361,12 +365,61 @@ public final class ThreadPoolConfig {
         return this;
     }
 
+    /**
+     * @return <tt>true</tt> if the {@link WorkStealingThreadPool} is going to be used
+     *
+     * @since 4.1
+     */
+    public boolean isWorkStealing() {
+        return isWorkStealing;
+    }
+
+    /**
+     * Enables the {@link WorkStealingThreadPool}, which has a task deque per worker thread instead of the single shared
+     * task queue. The pool has {@link #getMaxPoolSize()} threads, the configured {@link #getQueue() queue} is ignored.
+     *
+     * @param isWorkStealing <tt>true</tt> to use the {@link WorkStealingThreadPool}
+     * @return the {@link ThreadPoolConfig}
+     *
+     * @since 4.1
+     */
+    public ThreadPoolConfig setWorkStealing(final boolean isWorkStealing) {
+        this.isWorkStealing = isWorkStealing;
+        return this;
+    }
+
+    /**
+     * @return the number of the worker groups of the {@link WorkStealingThreadPool}, the value less than 1 means the
+     * number of the available processors
+     *
+     * @since 4.1
+     */
+    public int getAffinityGroups() {
+        return affinityGroups;
+    }
+
+    /**
+     * Sets the number of the worker groups of the {@link WorkStealingThreadPool}. The tasks submitted by the same thread
+     * (for example a selector thread) are preferably executed by the workers of the same group. Usually it should be
+     * equal to the number of the selector threads. The value less than 1 means the number of the available processors.
+     *
+     * @param affinityGroups the number of the worker groups
+     * @return the {@link ThreadPoolConfig}
+     *
+     * @since 4.1
+     */
+    public ThreadPoolConfig setAffinityGroups(final int affinityGroups) {
+        this.affinityGroups = affinityGroups;
+        return this;
+    }
+
     @Override
     public String toString() {
         return ThreadPoolConfig.class.getSimpleName() + " :\r\n" + "  poolName: " + poolName + "\r\n" + "  corePoolSize: " + corePoolSize + "\r\n"
                 + "  maxPoolSize: " + maxPoolSize + "\r\n" + "  queue: " + (queue != null ? queue.getClass() : "undefined") + "\r\n" + "  queueLimit: "
                 + queueLimit + "\r\n" + "  keepAliveTime (millis): " + keepAliveTimeMillis + "\r\n" + "  threadFactory: " + threadFactory + "\r\n"
                 + "  transactionMonitor: " + transactionMonitor + "\r\n" + "  transactionTimeoutMillis: " + transactionTimeoutMillis + "\r\n" + "  priority: "
-                + priority + "\r\n" + "  isDaemon: " + isDaemon + "\r\n" + "  initialClassLoader: " + initialClassLoader;
+                + priority + "\r\n" + "  isDaemon: " + isDaemon + "\r\n" + "  initialClassLoader: " + initialClassLoader + "\r\n" + "  isWorkStealing: "
+                + isWorkStealing + "\r\n" + "  affinityGroups: " + affinityGroups;
     }
 }
@@ -126,6 +126,21 @@ public interface ThreadPoolProbe {
      */
     void onTaskQueueOverflowEvent(AbstractThreadPool threadPool);
 
+    /**
+     * <p>
+     * This event may be fired when the {@link AbstractThreadPool} has been resized at runtime, for example by the
+     * {@link ThreadPoolSizeController}.
+     * </p>
+     *
+     * @param threadPool the {@link AbstractThreadPool} being monitored
+     * @param oldSize the former pool size
+     * @param newSize the new pool size
+     *
+     * @since 4.1
+     */
+    default void onThreadPoolResizeEvent(AbstractThreadPool threadPool, int oldSize, int newSize) {
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
     /**
@@ -209,6 +224,13 @@ public interface ThreadPoolProbe {
         public void onTaskQueueOverflowEvent(AbstractThreadPool threadPool) {
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onThreadPoolResizeEvent(AbstractThreadPool threadPool, int oldSize, int newSize) {
+        }
+
     } // END Adapter
 
 }
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.threadpool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.utils.DelayedExecutor;
+
+/**
+ * Controller, which periodically resizes the {@link FixedThreadPool} or {@link SyncThreadPool} (see
+ * {@link AbstractThreadPool#resize(int)}) within the given bounds according to the observed task queue wait time and
+ * task duration.
+ *
+ * The controller is registered as a {@link ThreadPoolProbe} of the pool. Every sample period it calculates the task
+ * arrival rate, the average task duration and, using Little's law, the average queue wait time (the average queue
+ * length divided by the arrival rate). The new pool size is calculated as:
+ *
+ * <pre>
+ * gradient = min(1, max(0.5, tolerance * minDuration / duration))
+ * newSize  = size * gradient + (queueWait &gt; targetQueueWait ? sqrt(size) : 0)
+ * </pre>
+ *
+ * where <tt>minDuration</tt> is the slowly decaying minimum of the observed average task durations. So the pool grows,
+ * while the tasks wait in the queue longer than the target and the tasks run as fast as usual, but it doesn't grow, and
+ * even shrinks, when the tasks become slower (for example because of an overloaded downstream service), which prevents
+ * thread explosions. If there is no queueing and the threads are underutilized, the pool gradually shrinks towards twice
+ * the average number of busy threads.
+ *
+ * To avoid oscillation, the pool is resized only if two consecutive samples suggest the change in the same direction
+ * and the change is at least {@link #setHysteresis(float) hysteresis} of the current size.
+ *
+ * <pre>
+ * final ThreadPoolSizeController controller = new ThreadPoolSizeController(pool, 8, 256)
+ *         .setTargetQueueWait(5, TimeUnit.MILLISECONDS);
+ * controller.start(delayedExecutor);
+ * </pre>
+ *
+ * @since 4.1
+ */
+public class ThreadPoolSizeController extends ThreadPoolProbe.Adapter {
+    private static final Logger LOGGER = Grizzly.logger(ThreadPoolSizeController.class);
+
+    public static final long DEFAULT_TARGET_QUEUE_WAIT_MILLIS = 10;
+    public static final long DEFAULT_SAMPLE_PERIOD_MILLIS = 1000;
+    public static final float DEFAULT_HYSTERESIS = 0.1f;
+    public static final float DEFAULT_DURATION_TOLERANCE = 2.0f;
+
+    // the rate the minimum task duration drifts up to the current task duration
+    private static final double MIN_DURATION_DECAY = 0.01;
+
+    private static final DelayedExecutor.Resolver<ThreadPoolSizeController> RESOLVER = new DelayedExecutor.Resolver<ThreadPoolSizeController>() {
+
+        @Override
+        public boolean removeTimeout(final ThreadPoolSizeController element) {
+            element.nextSampleTime = DelayedExecutor.UNSET_TIMEOUT;
+            return true;
+        }
+
+        @Override
+        public long getTimeoutMillis(final ThreadPoolSizeController element) {
+            return element.nextSampleTime;
+        }
+
+        @Override
+        public void setTimeoutMillis(final ThreadPoolSizeController element, final long timeoutMillis) {
+            element.nextSampleTime = timeoutMillis;
+        }
+    };
+
+    private final AbstractThreadPool threadPool;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+
+    private long targetQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TARGET_QUEUE_WAIT_MILLIS);
+    private long samplePeriodMillis = DEFAULT_SAMPLE_PERIOD_MILLIS;
+    private float hysteresis = DEFAULT_HYSTERESIS;
+    private float durationTolerance = DEFAULT_DURATION_TOLERANCE;
+
+    // statistics collected by the probe
+    private final LongAdder queuedTasks = new LongAdder();
+    private final LongAdder dequeuedTasks = new LongAdder();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final ThreadLocal<long[]> taskStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    // the sampling state, accessed under the controller lock
+    private long lastSampleNanos;
+    private long lastQueued;
+    private long lastDequeued;
+    private long lastCompleted;
+    private long lastBusyNanos;
+    private long lastQueueLength;
+    private double minDuration;
+    private int pendingDirection;
+
+    private volatile long queueWaitNanos;
+    private volatile long taskDurationNanos;
+    private volatile double busyThreads;
+    private volatile int targetSize;
+    private volatile String lastResize;
+    private final AtomicLong resizeCount = new AtomicLong();
+
+    private DelayedExecutor.DelayQueue<ThreadPoolSizeController> delayQueue;
+    private volatile long nextSampleTime = DelayedExecutor.UNSET_TIMEOUT;
+
+    /**
+     * @param threadPool the {@link AbstractThreadPool} to control, which supports {@link AbstractThreadPool#resize(int)}
+     * @param minPoolSize the min pool size
+     * @param maxPoolSize the max pool size
+     * @throws IllegalArgumentException if the thread pool isn't {@link AbstractThreadPool#isResizable() resizable} or the
+     * bounds are invalid
+     */
+    public ThreadPoolSizeController(final AbstractThreadPool threadPool, final int minPoolSize, final int maxPoolSize) {
+        if (!threadPool.isResizable()) {
+            throw new IllegalArgumentException(threadPool.getClass().getSimpleName() + " can't be resized");
+        }
+        if (minPoolSize < 1 || minPoolSize > maxPoolSize) {
+            throw new IllegalArgumentException("Invalid pool size bounds: [" + minPoolSize + ", " + maxPoolSize + "]");
+        }
+
+        this.threadPool = threadPool;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.targetSize = threadPool.getConfig().getMaxPoolSize();
+        this.lastSampleNanos = System.nanoTime();
+    }
+
+    public ThreadPoolSizeController setTargetQueueWait(final long targetQueueWait, final TimeUnit timeUnit) {
+        this.targetQueueWaitNanos = timeUnit.toNanos(targetQueueWait);
+        return this;
+    }
+
+    public long getTargetQueueWait(final TimeUnit timeUnit) {
+        return timeUnit.convert(targetQueueWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets the period of the statistics sampling and the pool resizing, it can't be shorter than the
+     * {@link DelayedExecutor} check interval.
+     */
+    public ThreadPoolSizeController setSamplePeriod(final long samplePeriod, final TimeUnit timeUnit) {
+        this.samplePeriodMillis = timeUnit.toMillis(samplePeriod);
+        return this;
+    }
+
+    public long getSamplePeriod(final TimeUnit timeUnit) {
+        return timeUnit.convert(samplePeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets the min relative pool size change, the smaller changes are ignored.
+     */
+    public ThreadPoolSizeController setHysteresis(final float hysteresis) {
+        this.hysteresis = hysteresis;
+        return this;
+    }
+
+    public float getHysteresis() {
+        return hysteresis;
+    }
+
+    /**
+     * Sets how many times the average task duration may exceed the min observed duration, before the pool stops growing
+     * and starts shrinking.
+     */
+    public ThreadPoolSizeController setDurationTolerance(final float durationTolerance) {
+        this.durationTolerance = durationTolerance;
+        return this;
+    }
+
+    public float getDurationTolerance() {
+        return durationTolerance;
+    }
+
+    public AbstractThreadPool getThreadPool() {
+        return threadPool;
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * @return the pool size calculated by the last sample
+     */
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    /**
+     * @return the average task queue wait time measured by the last sample
+     */
+    public long getQueueWait(final TimeUnit timeUnit) {
+        return timeUnit.convert(queueWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the average task duration measured by the last sample
+     */
+    public long getTaskDuration(final TimeUnit timeUnit) {
+        return timeUnit.convert(taskDurationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the average number of the busy threads measured by the last sample
+     */
+    public double getBusyThreads() {
+        return busyThreads;
+    }
+
+    /**
+     * @return the number of the pool resizes
+     */
+    public long getResizeCount() {
+        return resizeCount.get();
+    }
+
+    /**
+     * @return the description of the last resize decision, or <tt>null</tt> if the pool hasn't been resized
+     */
+    public String getLastResize() {
+        return lastResize;
+    }
+
+    /**
+     * Registers the controller as the thread pool probe and schedules the periodic sampling.
+     *
+     * @param delayedExecutor the {@link DelayedExecutor} to run the sampling
+     */
+    public synchronized void start(final DelayedExecutor delayedExecutor) {
+        if (delayQueue != null) {
+            return;
+        }
+
+        threadPool.getMonitoringConfig().addProbes(this);
+        threadPool.setSizeController(this);
+
+        lastSampleNanos = System.nanoTime();
+        delayQueue = delayedExecutor.createDelayQueue(new DelayedExecutor.Worker<ThreadPoolSizeController>() {
+
+            @Override
+            public boolean doWork(final ThreadPoolSizeController controller) {
+                if (controller.threadPool.isShutdown()) {
+                    controller.stop();
+                    return true;
+                }
+
+                try {
+                    controller.sample();
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Thread pool size controller error", e);
+                }
+
+                controller.delayQueue.add(controller, controller.samplePeriodMillis, TimeUnit.MILLISECONDS);
+                return true;
+            }
+        }, RESOLVER);
+
+        delayQueue.add(this, samplePeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the sampling and unregisters the controller.
+     */
+    public synchronized void stop() {
+        if (delayQueue == null) {
+            return;
+        }
+
+        delayQueue.remove(this);
+        delayQueue.destroy();
+        delayQueue = null;
+
+        threadPool.getMonitoringConfig().removeProbes(this);
+        if (threadPool.getSizeController() == this) {
+            threadPool.setSizeController(null);
+        }
+    }
+
+    /**
+     * Calculates the statistics since the previous sample and resizes the thread pool, if needed. Normally it's called
+     * periodically once the controller is {@link #start(DelayedExecutor) started}.
+     */
+    public void sample() {
+        sample(System.nanoTime());
+    }
+
+    /**
+     * Calculates the statistics as of the given time, see {@link #sample()}.
+     */
+    synchronized void sample(final long now) {
+        final long period = now - lastSampleNanos;
+        if (period <= 0) {
+            return;
+        }
+
+        final long queued = queuedTasks.sum();
+        final long dequeued = dequeuedTasks.sum();
+        final long completed = completedTasks.sum();
+        final long busy = busyNanos.sum();
+
+        final long arrivals = queued - lastQueued;
+        final long completions = completed - lastCompleted;
+        final long busyPeriod = busy - lastBusyNanos;
+        final long queueLength = Math.max(queued - dequeued, 0);
+
+        lastSampleNanos = now;
+        lastQueued = queued;
+        lastDequeued = dequeued;
+        lastCompleted = completed;
+        lastBusyNanos = busy;
+
+        // Little's law: W = L / lambda, the average queue length is approximated by the mean of the sampled lengths
+        final double averageQueueLength = (lastQueueLength + queueLength) / 2.0;
+        lastQueueLength = queueLength;
+        queueWaitNanos = arrivals > 0 ? (long) (averageQueueLength * period / arrivals) : queueLength > 0 ? period : 0;
+
+        if (completions > 0) {
+            final double duration = (double) busyPeriod / completions;
+            taskDurationNanos = (long) duration;
+            if (minDuration == 0 || duration < minDuration) {
+                minDuration = duration;
+            } else {
+                minDuration += (duration - minDuration) * MIN_DURATION_DECAY;
+            }
+        }
+        busyThreads = (double) busyPeriod / period;
+
+        final int currentSize = threadPool.getConfig().getMaxPoolSize();
+        final int newSize = calculateSize(currentSize);
+        targetSize = newSize;
+
+        final int direction = Integer.signum(newSize - currentSize);
+        final int threshold = Math.max(1, (int) (currentSize * hysteresis));
+        if (direction == 0 || Math.abs(newSize - currentSize) < threshold) {
+            pendingDirection = 0;
+            return;
+        }
+
+        if (pendingDirection != direction) {
+            // wait for the next sample to confirm the decision
+            pendingDirection = direction;
+            return;
+        }
+
+        pendingDirection = 0;
+        lastResize = currentSize + " -> " + newSize + " (queue wait " + TimeUnit.NANOSECONDS.toMicros(queueWaitNanos) + "us, task duration "
+                + TimeUnit.NANOSECONDS.toMicros(taskDurationNanos) + "us, busy threads " + String.format("%.1f", busyThreads) + ")";
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Resizing thread pool {0}: {1}", new Object[] { threadPool.getConfig().getPoolName(), lastResize });
+        }
+
+        threadPool.resize(newSize);
+        resizeCount.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadPoolSizeController{pool=" + threadPool.getConfig().getPoolName() + ", bounds=[" + minPoolSize + ", " + maxPoolSize
+                + "], target-size=" + targetSize + ", resize-count=" + resizeCount + '}';
+    }
+
+    // ---------------------------------------- Methods from ThreadPoolProbe
+
+    @Override
+    public void onTaskQueueEvent(final AbstractThreadPool threadPool, final Runnable task) {
+        queuedTasks.increment();
+    }
+
+    @Override
+    public void onTaskDequeueEvent(final AbstractThreadPool threadPool, final Runnable task) {
+        dequeuedTasks.increment();
+        taskStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void onTaskCancelEvent(final AbstractThreadPool threadPool, final Runnable task) {
+        // the cancelled tasks are dequeued, but not processed
+        queuedTasks.decrement();
+        dequeuedTasks.decrement();
+    }
+
+    @Override
+    public void onTaskCompleteEvent(final AbstractThreadPool threadPool, final Runnable task) {
+        final long start = taskStart.get()[0];
+        if (start != 0) {
+            onTaskComplete(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the completed task, which took the given time.
+     */
+    void onTaskComplete(final long durationNanos) {
+        busyNanos.add(durationNanos);
+        completedTasks.increment();
+    }
+
+    // ----------------------------------------------------- Private Methods
+
+    private int calculateSize(final int currentSize) {
+        double gradient = 1;
+        if (minDuration > 0 && taskDurationNanos > 0) {
+            gradient = Math.max(0.5, Math.min(1, durationTolerance * minDuration / taskDurationNanos));
+        }
+
+        double newSize = currentSize * gradient;
+        if (queueWaitNanos > targetQueueWaitNanos) {
+            newSize += Math.sqrt(currentSize);
+        } else {
+            final int requiredSize = (int) Math.ceil(busyThreads * 2);
+            if (requiredSize < currentSize) {
+                // no queueing, the threads are underutilized - shrink by a quarter of the excess
+                newSize = Math.min(newSize, Math.max(requiredSize, currentSize - Math.max(1, (currentSize - requiredSize) / 4)));
+            }
+        }
+
+        return (int) Math.max(minPoolSize, Math.min(maxPoolSize, Math.round(newSize)));
+    }
+}
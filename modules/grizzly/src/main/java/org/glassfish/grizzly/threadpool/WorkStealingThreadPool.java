@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed thread pool, where every worker thread has its own task deque.
+ *
+ * The workers are split into the affinity groups (see {@link ThreadPoolConfig#setAffinityGroups(int)}), every
+ * submitting thread is bound to one of the groups, so the tasks submitted by the same thread (for example the IO events
+ * of the same selector) are executed by the same small set of threads, which keeps their data in the CPU caches. A task
+ * is put to the deque of an idle worker of the group, or to the least loaded deque of the group. A worker takes the
+ * tasks from its own deque first, then steals them from the other workers of its group, then from the shared queue
+ * and the other groups. The tasks submitted by a worker thread are put to its own deque.
+ *
+ * The pool notifies {@link ThreadPoolProbe}s the same way as {@link FixedThreadPool}, the
+ * {@link ThreadPoolConfig#getQueueLimit() queue limit} is applied to the total number of the queued tasks.
+ *
+ * @since 4.1
+ */
+public class WorkStealingThreadPool extends AbstractThreadPool {
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 128 : 0;
+
+    private final StealingWorker[] allWorkers;
+    private final StealingWorker[][] groups;
+
+    // the shared queue, which gets the tasks drained from the previous pool on reconfiguration
+    private final InjectionQueue injectionQueue;
+
+    // the queued tasks are counted only if the queue is limited
+    private final boolean isQueueLimited;
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+
+    private final AtomicInteger nextGroup = new AtomicInteger();
+    private final ThreadLocal<StealingWorker> localWorker = new ThreadLocal<>();
+    // the index of the affinity group of the submitting thread
+    private final ThreadLocal<Integer> localGroup;
+
+    public WorkStealingThreadPool(final ThreadPoolConfig config) {
+        super(config);
+
+        isQueueLimited = config.getQueueLimit() >= 0;
+        injectionQueue = new InjectionQueue();
+        config.setQueue(injectionQueue);
+
+        final int poolSize = config.getMaxPoolSize();
+        int groupsCount = config.getAffinityGroups() > 0 ? config.getAffinityGroups() : Runtime.getRuntime().availableProcessors();
+        groupsCount = Math.min(groupsCount, poolSize);
+
+        allWorkers = new StealingWorker[poolSize];
+        groups = new StealingWorker[groupsCount][];
+
+        for (int g = 0, i = 0; g < groupsCount; g++) {
+            final int groupEnd = (int) ((long) poolSize * (g + 1) / groupsCount);
+            final StealingWorker[] group = new StealingWorker[groupEnd - i];
+            for (int j = 0; i < groupEnd; i++, j++) {
+                group[j] = allWorkers[i] = new StealingWorker(group);
+            }
+
+            groups[g] = group;
+        }
+
+        localGroup = ThreadLocal.withInitial(() -> Math.floorMod(nextGroup.getAndIncrement(), groups.length));
+
+        synchronized (stateLock) {
+            for (StealingWorker worker : allWorkers) {
+                startWorker(worker);
+            }
+        }
+
+        ProbeNotifier.notifyThreadPoolStarted(this);
+        super.onMaxNumberOfThreadsReached();
+    }
+
+    /**
+     * @return the number of the worker affinity groups
+     */
+    public int getAffinityGroupsCount() {
+        return groups.length;
+    }
+
+    /**
+     * @return the number of the queued tasks
+     */
+    public int getQueuedTasksCount() {
+        if (isQueueLimited) {
+            return Math.max(queuedTasks.get(), 0);
+        }
+
+        int count = injectionQueue.size();
+        for (StealingWorker worker : allWorkers) {
+            count += worker.size.get();
+        }
+
+        return count;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (command == null) { // must nullcheck to ensure queuesize is valid
+            throw new IllegalArgumentException("Runnable task is null");
+        }
+
+        if (!running) {
+            throw new RejectedExecutionException("ThreadPool is not running");
+        }
+
+        if (isQueueLimited && queuedTasks.incrementAndGet() > config.getQueueLimit()) {
+            queuedTasks.decrementAndGet();
+            onTaskQueueOverflow();
+        }
+
+        StealingWorker target = localWorker.get();
+        final StealingWorker[] group = target != null ? target.group : groups[localGroup.get()];
+        if (target == null) {
+            target = selectWorker(group);
+        }
+
+        target.offer(command);
+
+        // doublecheck the pool is still running
+        if (!running && target.remove(command)) {
+            if (isQueueLimited) {
+                queuedTasks.decrementAndGet();
+            }
+            throw new RejectedExecutionException("ThreadPool is not running");
+        }
+
+        onTaskQueued(command);
+
+        if (target.parked) {
+            LockSupport.unpark(target.t);
+        } else if (idleWorkers.get() > 0) {
+            // let an idle worker steal the task
+            wakeUpIdleWorker(group);
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        synchronized (stateLock) {
+            final List<Runnable> drained = new ArrayList<>();
+            if (running) {
+                for (StealingWorker worker : allWorkers) {
+                    Runnable task;
+                    while ((task = worker.poll()) != null) {
+                        onTaskDequeued(task);
+                        onTaskCancelled(task);
+                        drained.add(task);
+                    }
+                }
+            }
+
+            drained.addAll(super.shutdownNow());
+            return drained;
+        }
+    }
+
+    @Override
+    protected void poisonAll() {
+        // the workers exit once the pool isn't running and there are no tasks left
+        for (StealingWorker worker : allWorkers) {
+            LockSupport.unpark(worker.t);
+        }
+    }
+
+    @Override
+    protected void onWorkerStarted(final Worker worker) {
+        localWorker.set((StealingWorker) worker);
+        super.onWorkerStarted(worker);
+    }
+
+    @Override
+    protected void onTaskDequeued(final Runnable task) {
+        if (isQueueLimited) {
+            queuedTasks.decrementAndGet();
+        }
+        super.onTaskDequeued(task);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + ", affinity-groups=" + groups.length;
+    }
+
+    // ----------------------------------------------------- Private Methods
+
+    /**
+     * Selects an idle worker of the group, or the worker with the least number of the queued tasks.
+     */
+    private static StealingWorker selectWorker(final StealingWorker[] group) {
+        final int length = group.length;
+        final int start = length == 1 ? 0 : ThreadLocalRandom.current().nextInt(length);
+
+        StealingWorker best = null;
+        int bestSize = Integer.MAX_VALUE;
+        for (int i = 0; i < length; i++) {
+            final StealingWorker worker = group[(start + i) % length];
+            if (worker.parked) {
+                return worker;
+            }
+
+            final int size = worker.size.get();
+            if (size < bestSize) {
+                best = worker;
+                bestSize = size;
+            }
+        }
+
+        return best;
+    }
+
+    private void wakeUpIdleWorker(final StealingWorker[] group) {
+        if (!wakeUpIdleWorker0(group)) {
+            wakeUpIdleWorker0(allWorkers);
+        }
+    }
+
+    private static boolean wakeUpIdleWorker0(final StealingWorker[] workers) {
+        for (StealingWorker worker : workers) {
+            if (worker.parked) {
+                LockSupport.unpark(worker.t);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private final class StealingWorker extends Worker {
+        private final ConcurrentLinkedDeque<Runnable> deque = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final StealingWorker[] group;
+
+        private volatile boolean parked;
+
+        StealingWorker(final StealingWorker[] group) {
+            this.group = group;
+        }
+
+        void offer(final Runnable task) {
+            deque.offerLast(task);
+            size.incrementAndGet();
+        }
+
+        boolean remove(final Runnable task) {
+            if (deque.removeLastOccurrence(task)) {
+                size.decrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+
+        Runnable poll() {
+            final Runnable task = deque.pollFirst();
+            if (task != null) {
+                size.decrementAndGet();
+            }
+
+            return task;
+        }
+
+        Runnable steal() {
+            final Runnable task = deque.pollLast();
+            if (task != null) {
+                size.decrementAndGet();
+            }
+
+            return task;
+        }
+
+        @Override
+        protected Runnable getTask() throws InterruptedException {
+            while (true) {
+                Runnable task = findTask();
+                if (task != null) {
+                    return task;
+                }
+
+                if (!running) {
+                    return null;
+                }
+
+                // spin for a while before parking, the thread unparking is more expensive than a short task
+                for (int i = 0; i < SPINS; i++) {
+                    Thread.onSpinWait();
+                    if ((task = findTask()) != null) {
+                        return task;
+                    }
+                }
+
+                parked = true;
+                idleWorkers.incrementAndGet();
+                try {
+                    // recheck after the parked flag is published, so a concurrent execute() either sees the flag or
+                    // its task is found here
+                    task = findTask();
+                    if (task != null) {
+                        return task;
+                    }
+
+                    if (!running) {
+                        return null;
+                    }
+
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                } finally {
+                    parked = false;
+                    idleWorkers.decrementAndGet();
+                }
+            }
+        }
+
+        private Runnable findTask() {
+            Runnable task = poll();
+            if (task != null) {
+                return task;
+            }
+
+            if ((task = stealFrom(group)) != null) {
+                return task;
+            }
+
+            if ((task = injectionQueue.poll()) != null) {
+                return task;
+            }
+
+            return group.length < allWorkers.length ? stealFrom(allWorkers) : null;
+        }
+
+        private Runnable stealFrom(final StealingWorker[] workers) {
+            final int length = workers.length;
+            final int start = ThreadLocalRandom.current().nextInt(length);
+            for (int i = 0; i < length; i++) {
+                final StealingWorker worker = workers[(start + i) % length];
+                if (worker != this && worker.size.get() > 0) {
+                    final Runnable task = worker.steal();
+                    if (task != null) {
+                        return task;
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * The shared queue, which wakes up an idle worker, when a task is added.
+     */
+    private final class InjectionQueue extends LinkedTransferQueue<Runnable> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public boolean offer(final Runnable task) {
+            super.offer(task);
+            if (isQueueLimited) {
+                queuedTasks.incrementAndGet();
+            }
+            wakeUpIdleWorker0(allWorkers);
+            return true;
+        }
+
+        @Override
+        public boolean add(final Runnable task) {
+            return offer(task);
+        }
+    }
+}
@@ -20,9 +20,13 @@ import java.util.LinkedList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import org.glassfish.grizzly.threadpool.AbstractThreadPool;
+import org.glassfish.grizzly.threadpool.FixedThreadPool;
 import org.glassfish.grizzly.threadpool.GrizzlyExecutorService;
+import org.glassfish.grizzly.threadpool.SyncThreadPool;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
 import org.glassfish.grizzly.utils.DelayedExecutor;
@@ -134,6 +138,133 @@ public class GrizzlyExecutorServiceTest extends GrizzlyTestCase {
         assertTrue(r.isTerminated());
     }
 
+    public void testWorkStealingPool() throws Exception {
+        int threads = 16;
+        ThreadPoolConfig cfg = ThreadPoolConfig.defaultConfig().setPoolName("test").setMaxPoolSize(threads).setWorkStealing(true)
+                .setAffinityGroups(4);
+
+        GrizzlyExecutorService r = GrizzlyExecutorService.createInstance(cfg);
+        final int tasks = 200000;
+        doTest(r, tasks);
+
+        // tasks submitted by several threads
+        final ExecutorService submitters = Executors.newFixedThreadPool(4);
+        try {
+            final GrizzlyExecutorService service = r;
+            final CountDownLatch cl = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                submitters.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            doTest(service, tasks / 4);
+                            cl.countDown();
+                        } catch (Exception ignore) {
+                        }
+                    }
+                });
+            }
+            assertTrue(cl.await(30, TimeUnit.SECONDS));
+        } finally {
+            submitters.shutdownNow();
+        }
+
+        doTest(r.reconfigure(r.getConfiguration().setQueueLimit(tasks)), tasks);
+        assertTrue(r.getConfiguration().isWorkStealing());
+
+        r.shutdown();
+        assertTrue(r.awaitTermination(10, TimeUnit.SECONDS));
+
+        r = GrizzlyExecutorService.createInstance(cfg.copy().setMaxPoolSize(2).setQueueLimit(10));
+        final CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 13; i++) {
+                r.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            blocker.await();
+                        } catch (InterruptedException ignore) {
+                        }
+                    }
+                });
+            }
+            fail("The queue limit has to be reached");
+        } catch (RejectedExecutionException expected) {
+        } finally {
+            blocker.countDown();
+            r.shutdown();
+            assertTrue(r.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    public void testFixedThreadPoolResize() throws Exception {
+        final FixedThreadPool pool = new FixedThreadPool(ThreadPoolConfig.defaultConfig().copy().setPoolName("resize-fixed").setCorePoolSize(2).setMaxPoolSize(2));
+        final int[] resizes = new int[2];
+        pool.getMonitoringConfig().addProbes(new ThreadPoolProbe.Adapter() {
+            @Override
+            public void onThreadPoolResizeEvent(AbstractThreadPool threadPool, int oldSize, int newSize) {
+                resizes[0] = oldSize;
+                resizes[1] = newSize;
+            }
+        });
+
+        try {
+            pool.resize(5);
+            assertEquals(5, pool.getSize());
+            assertEquals(5, pool.getConfig().getMaxPoolSize());
+            assertEquals(2, resizes[0]);
+            assertEquals(5, resizes[1]);
+
+            pool.resize(1);
+            awaitPoolSize(pool, 1);
+            assertEquals(1, pool.getConfig().getMaxPoolSize());
+
+            // the pool still works
+            final CountDownLatch latch = new CountDownLatch(10);
+            for (int i = 0; i < 10; i++) {
+                pool.execute(latch::countDown);
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testSyncThreadPoolResize() throws Exception {
+        final SyncThreadPool pool = new SyncThreadPool(
+                ThreadPoolConfig.defaultConfig().copy().setPoolName("resize-sync").setCorePoolSize(1).setMaxPoolSize(2).setKeepAliveTime(1, TimeUnit.MINUTES));
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(4);
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                pool.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignore) {
+                    }
+                });
+            }
+
+            assertFalse(started.await(200, TimeUnit.MILLISECONDS));
+
+            // the queued tasks get the new threads
+            pool.resize(4);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertEquals(4, pool.getSize());
+
+            release.countDown();
+
+            // the redundant non-core threads exit, even though the keep-alive time hasn't expired
+            pool.resize(1);
+            awaitPoolSize(pool, 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     public void testMonitoringProbesCopying() {
         final ThreadPoolProbe probe = new ThreadPoolProbe.Adapter();
 
@@ -170,7 +301,14 @@ public class GrizzlyExecutorServiceTest extends GrizzlyTestCase {
         assertTrue("latch timed out", cl.await(30, TimeUnit.SECONDS));
     }
 
-    private void runTasks(GrizzlyExecutorService r, int tasks) throws Exception {
+    private void awaitPoolSize(AbstractThreadPool pool, int size) throws Exception {
+        for (int i = 0; i < 100 && pool.getSize() != size; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(size, pool.getSize());
+    }
+
+    private void runTasks(ExecutorService r, int tasks) throws Exception {
         while (tasks-- > 0) {
             r.execute(new Runnable() {
                 @Override
@@ -20,6 +20,7 @@ package org.glassfish.grizzly;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.nio.channels.SelectableChannel;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
@@ -40,6 +41,7 @@ import org.glassfish.grizzly.filterchain.TransportFilter;
 import org.glassfish.grizzly.impl.FutureImpl;
 import org.glassfish.grizzly.impl.SafeFutureImpl;
 import org.glassfish.grizzly.memory.ByteBufferWrapper;
+import org.glassfish.grizzly.memory.HeapMemoryManager;
 import org.glassfish.grizzly.nio.AbstractNIOConnectionDistributor;
 import org.glassfish.grizzly.nio.NIOConnection;
 import org.glassfish.grizzly.nio.NIOTransport;
@@ -426,6 +428,55 @@ public class TCPNIOTransportTest {
         }
     }
 
+    @Test
+    public void testPooledDirectRead() throws Exception {
+        final AtomicInteger heapReads = new AtomicInteger();
+        final AtomicInteger reads = new AtomicInteger();
+
+        FilterChainBuilder filterChainBuilder = FilterChainBuilder.stateless();
+        filterChainBuilder.add(new TransportFilter());
+        filterChainBuilder.add(new BaseFilter() {
+            @Override
+            public NextAction handleRead(FilterChainContext ctx) throws IOException {
+                reads.incrementAndGet();
+                if (!((Buffer) ctx.getMessage()).isDirect()) {
+                    heapReads.incrementAndGet();
+                }
+                return ctx.getInvokeAction();
+            }
+        });
+        filterChainBuilder.add(new EchoFilter());
+
+        transport.setMemoryManager(new HeapMemoryManager());
+        transport.setPooledDirectRead(true);
+        transport.setProcessor(filterChainBuilder.build());
+        bindToPort(transport);
+
+        final byte[] message = new byte[1000];
+        for (int i = 0; i < message.length; i++) {
+            message[i] = (byte) i;
+        }
+
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            final byte[] echo = new byte[message.length];
+            for (int i = 0; i < 500; i++) {
+                socket.getOutputStream().write(message);
+
+                int read = 0;
+                while (read < echo.length) {
+                    final int n = socket.getInputStream().read(echo, read, echo.length - read);
+                    assertTrue(n > 0);
+                    read += n;
+                }
+                assertArrayEquals(message, echo);
+            }
+        }
+
+        assertTrue(reads.get() > 0);
+        assertEquals(0, heapReads.get());
+    }
+
     @Test
     public void testThreadInterruptionDuringAcceptDoesNotMakeServerDeaf() throws Exception {
         logger.info("Starting test");
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.filterchain;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.filterchain.FilterChainContext.Operation;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.Test;
+
+/**
+ * Tests the compiled {@link DefaultFilterChain} mode.
+ */
+public class DefaultFilterChainCompiledTest {
+    private static final FilterChainEvent EVENT = new FilterChainEvent() {
+        @Override
+        public Object type() {
+            return "TEST_EVENT";
+        }
+    };
+
+    @Test
+    public void testInvocationTable() {
+        final List<Filter> filters = Arrays.asList(new ReadFilter(), new EventFilter(null), new BaseFilter(), new ReadFilter());
+        final FilterInvocationTable table = FilterInvocationTable.compile(filters);
+
+        assertArrayEquals(new int[] { 3, 3, 3, 4 }, table.nextFilters(Operation.READ, true));
+        assertArrayEquals(new int[] { -1, 0, 0, 0 }, table.nextFilters(Operation.READ, false));
+        assertArrayEquals(new int[] { 1, 4, 4, 4 }, table.nextFilters(Operation.EVENT, true));
+        assertArrayEquals(new int[] { -1, -1, 1, 1 }, table.nextFilters(Operation.EVENT, false));
+        assertArrayEquals(new int[] { 4, 4, 4, 4 }, table.nextFilters(Operation.WRITE, true));
+    }
+
+    @Test
+    public void testCompiledChain() throws Exception {
+        final TCPNIOTransport transport = TCPNIOTransportBuilder.newInstance().build();
+        final Connection connection = new TCPNIOConnection(transport, null);
+        final List<Integer> invoked = new ArrayList<>();
+
+        final DefaultFilterChain chain = (DefaultFilterChain) FilterChainBuilder.stateless().add(new ReadFilter()).add(new EventFilter(invoked))
+                .add(new ReadFilter()).add(new EventFilter(invoked)).add(new BaseFilter()).build();
+        chain.setCompiled(true);
+
+        chain.fireEventUpstream(connection, EVENT, null);
+        assertEquals(Arrays.asList(1, 3), invoked);
+
+        invoked.clear();
+        chain.fireEventDownstream(connection, EVENT, null);
+        assertEquals(Arrays.asList(3, 1), invoked);
+
+        // the chain is recompiled once it's changed (the connection FiltersState is sized for the chain, so a new
+        // connection is used)
+        invoked.clear();
+        chain.add(new EventFilter(invoked));
+        chain.fireEventUpstream(new TCPNIOConnection(transport, null), EVENT, null);
+        assertEquals(Arrays.asList(1, 3, 5), invoked);
+
+        invoked.clear();
+        chain.remove(1);
+        chain.fireEventUpstream(new TCPNIOConnection(transport, null), EVENT, null);
+        assertEquals(Arrays.asList(2, 4), invoked);
+    }
+
+    @Test
+    public void testCompiledMatchesInterpreted() throws Exception {
+        final Connection connection = new TCPNIOConnection(TCPNIOTransportBuilder.newInstance().build(), null);
+
+        for (int length = 3; length <= 10; length++) {
+            final List<List<Integer>> results = new ArrayList<>();
+            for (boolean isCompiled : new boolean[] { false, true }) {
+                // a typical chain: the event is processed by the first and the last filters only
+                final List<Integer> invoked = new ArrayList<>();
+                final FilterChainBuilder builder = FilterChainBuilder.stateless().add(new EventFilter(invoked));
+                for (int i = 0; i < length - 2; i++) {
+                    builder.add(new ReadFilter());
+                }
+                final DefaultFilterChain chain = (DefaultFilterChain) builder.add(new EventFilter(invoked)).build();
+                chain.setCompiled(isCompiled);
+
+                chain.fireEventUpstream(connection, EVENT, null);
+                chain.fireEventDownstream(connection, EVENT, null);
+                results.add(invoked);
+            }
+
+            assertEquals(Arrays.asList(0, length - 1, length - 1, 0), results.get(0));
+            assertEquals(results.get(0), results.get(1));
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private static final class ReadFilter extends BaseFilter {
+        @Override
+        public NextAction handleRead(final FilterChainContext ctx) throws IOException {
+            return ctx.getInvokeAction();
+        }
+    }
+
+    private static final class EventFilter extends BaseFilter {
+        private final List<Integer> invoked;
+
+        private EventFilter(final List<Integer> invoked) {
+            this.invoked = invoked;
+        }
+
+        @Override
+        public NextAction handleEvent(final FilterChainContext ctx, final FilterChainEvent event) throws IOException {
+            if (invoked != null) {
+                invoked.add(ctx.getFilterIdx());
+            }
+
+            return ctx.getInvokeAction();
+        }
+    }
+}
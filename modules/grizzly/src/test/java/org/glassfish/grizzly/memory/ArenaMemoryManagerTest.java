@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.grizzly.Buffer;
+import org.junit.Test;
+
+/**
+ * {@link ArenaMemoryManager} tests.
+ */
+public class ArenaMemoryManagerTest {
+    private static final int CHUNK_SIZE = 4096;
+    private static final int SLAB_SIZE = 4 * CHUNK_SIZE;
+
+    @Test
+    public void testAllocateAndDispose() {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, 2 * SLAB_SIZE, 0, false);
+
+        final Buffer b = mm.allocate(100);
+        assertEquals(100, b.remaining());
+        assertEquals(CHUNK_SIZE, b.capacity());
+        assertTrue(b.isDirect());
+        assertTrue(b.allowBufferDispose());
+        assertEquals(SLAB_SIZE, mm.getAllocatedMemory());
+        assertEquals(CHUNK_SIZE, mm.getUsedMemory());
+
+        b.put(0, (byte) 1);
+        assertTrue(b.tryDispose());
+
+        // the only empty slab is kept as a spare
+        assertEquals(0, mm.getUsedMemory());
+        assertEquals(SLAB_SIZE, mm.getAllocatedMemory());
+    }
+
+    @Test
+    public void testReleasedSlabsCountedUntilFreed() throws Exception {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, 2 * SLAB_SIZE, 0, false);
+
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            buffers.add(mm.allocate(CHUNK_SIZE));
+        }
+        for (Buffer b : buffers) {
+            b.dispose();
+        }
+
+        // one slab is kept as a spare, the other one is released, but its memory isn't freed while it's reachable
+        assertEquals(0, mm.getUsedMemory());
+        assertEquals(2L * SLAB_SIZE, mm.getAllocatedMemory());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(mm.allocate(CHUNK_SIZE).isDirect());
+        }
+        assertFalse(mm.allocate(CHUNK_SIZE).isDirect());
+
+        // the released slab is credited back once its memory is freed by the garbage collector
+        buffers.clear();
+        for (int i = 0; i < 100 && mm.getAllocatedMemory() > SLAB_SIZE; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertEquals(SLAB_SIZE, mm.getAllocatedMemory());
+        assertTrue(mm.allocate(CHUNK_SIZE).isDirect());
+    }
+
+    @Test
+    public void testPageAlignment() {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, SLAB_SIZE, 1, false);
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Buffer b = mm.allocate(CHUNK_SIZE);
+            // the page aligned ByteBuffer has no unaligned prefix
+            assertEquals(0, b.toByteBuffer().alignmentOffset(0, ArenaMemoryManager.PAGE_SIZE));
+            buffers.add(b);
+        }
+
+        for (Buffer b : buffers) {
+            b.dispose();
+        }
+
+        // the min slab is retained
+        assertEquals(SLAB_SIZE, mm.getAllocatedMemory());
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, SLAB_SIZE, 1, false);
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffers.add(mm.allocate(CHUNK_SIZE));
+        }
+        assertEquals(SLAB_SIZE, mm.getUsedMemory());
+
+        // the limit is reached - the heap buffer is allocated
+        final Buffer heapBuffer = mm.allocate(CHUNK_SIZE);
+        assertFalse(heapBuffer.isDirect());
+        assertEquals(SLAB_SIZE, mm.getAllocatedMemory());
+
+        buffers.get(0).dispose();
+        assertTrue(mm.allocate(CHUNK_SIZE).isDirect());
+    }
+
+    @Test
+    public void testCompositeAllocation() {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, 2 * SLAB_SIZE, 0, false);
+
+        final Buffer b = mm.allocate(CHUNK_SIZE * 5 + 1);
+        assertTrue(b.isComposite());
+        assertEquals(CHUNK_SIZE * 5 + 1, b.remaining());
+        assertEquals(6L * CHUNK_SIZE, mm.getUsedMemory());
+        assertEquals(2L * SLAB_SIZE, mm.getAllocatedMemory());
+
+        b.tryDispose();
+        assertEquals(0, mm.getUsedMemory());
+        assertTrue(mm.getAllocatedMemory() >= SLAB_SIZE);
+    }
+
+    @Test
+    public void testSharedChunk() {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, SLAB_SIZE, 0, false);
+
+        final Buffer b = mm.allocate(100);
+        b.put((byte) 1).put((byte) 2).flip();
+        final Buffer slice = b.slice();
+        final RefCountedBuffer reference = ((RefCountedBuffer) b).retain();
+        assertEquals(3, reference.refCount());
+
+        b.dispose();
+        assertEquals(CHUNK_SIZE, mm.getUsedMemory());
+        try {
+            b.get();
+            fail("the disposed buffer can't be accessed");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(1, slice.get());
+        slice.dispose();
+        assertEquals(CHUNK_SIZE, mm.getUsedMemory());
+
+        assertEquals(2, reference.get(1));
+        assertTrue(reference.release());
+        assertEquals(0, mm.getUsedMemory());
+    }
+
+    @Test
+    public void testReallocate() {
+        final ArenaMemoryManager mm = new ArenaMemoryManager(CHUNK_SIZE, SLAB_SIZE, SLAB_SIZE, 0, false);
+
+        Buffer b = mm.allocate(10);
+        b.put((byte) 1).put((byte) 2);
+        b = mm.reallocate(b, CHUNK_SIZE + 10);
+        assertEquals(2, b.position());
+        assertEquals(CHUNK_SIZE + 10, b.limit());
+        assertEquals(1, b.get(0));
+        assertEquals(2, b.get(1));
+        assertEquals(2L * CHUNK_SIZE, mm.getUsedMemory());
+
+        b = mm.reallocate(b, 0);
+        assertEquals(0, b.capacity());
+        assertEquals(0, mm.getUsedMemory());
+    }
+}
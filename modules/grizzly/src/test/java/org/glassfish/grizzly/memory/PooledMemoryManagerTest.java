@@ -31,6 +31,7 @@ import static org.junit.Assert.fail;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -650,11 +651,333 @@ public class PooledMemoryManagerTest {
 
     @Test
     public void stressTest() {
+        stressTest(0);
+    }
+
+    @Test
+    public void stressTestWithMagazines() {
+        stressTest(16);
+    }
+
+    @Test
+    public void testMagazineAllocationAndDispose() throws Exception {
+        final int magazineSize = 8;
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, DEFAULT_HEAP_USAGE_PERCENTAGE,
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect, magazineSize);
+        assertEquals(magazineSize, mm.getMagazineSize());
+
+        final TestProbe probe = new TestProbe();
+        mm.getMonitoringConfig().addProbes(probe);
+
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final PoolSlice slice0 = pool.getSlices()[0];
+        final int elementCount = pool.elementsCount();
+
+        // the 1st allocation moves a batch of buffers to the magazine
+        final Buffer b = mm.allocate(100);
+        assertEquals(DEFAULT_BASE_BUFFER_SIZE, b.capacity());
+        assertEquals(elementCount - magazineSize / 2, slice0.elementsCount());
+        assertEquals(elementCount - 1, pool.elementsCount());
+        assertEquals(1, probe.bufferAllocatedFromPool.get());
+
+        // the buffer is returned to the magazine, not to the slice
+        assertTrue(b.tryDispose());
+        assertEquals(elementCount - magazineSize / 2, slice0.elementsCount());
+        assertEquals(elementCount, pool.elementsCount());
+        assertEquals(1, probe.bufferReleasedToPool.get());
+
+        // overflow the magazine
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < magazineSize * 2; i++) {
+            buffers.add(mm.allocate(100));
+        }
+        assertEquals(elementCount - magazineSize * 2, pool.elementsCount());
+        for (Buffer buffer : buffers) {
+            assertTrue(buffer.tryDispose());
+        }
+        assertEquals(elementCount, pool.elementsCount());
+        assertTrue(slice0.elementsCount() >= elementCount - magazineSize);
+        assertEquals(magazineSize * 2 + 1, probe.bufferAllocatedFromPool.get());
+        assertEquals(magazineSize * 2 + 1, probe.bufferReleasedToPool.get());
+        assertEquals(0, probe.bufferAllocated.get());
+    }
+
+    @Test
+    public void testMagazineTrimming() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, DEFAULT_HEAP_USAGE_PERCENTAGE,
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect, 8);
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final PoolSlice slice0 = pool.getSlices()[0];
+        final int elementCount = slice0.elementsCount();
+
+        // the magazine of the terminated thread
+        final Thread t = new Thread(() -> mm.allocate(100).tryDispose());
+        t.start();
+        t.join();
+
+        // the magazine of the current thread
+        mm.allocate(100).tryDispose();
+
+        assertTrue(slice0.elementsCount() < elementCount);
+        assertEquals(elementCount, pool.elementsCount());
+
+        // the 1st trimming drains the terminated thread's magazine and marks the current thread's one
+        mm.trimMagazines();
+        assertTrue(slice0.elementsCount() < elementCount);
+        // the current thread's magazine is idle since the previous trimming
+        mm.trimMagazines();
+        assertEquals(elementCount, slice0.elementsCount());
+        assertEquals(elementCount, pool.elementsCount());
+    }
+
+    @Test
+    public void testTerminatedThreadsMagazinesReclaimed() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, DEFAULT_HEAP_USAGE_PERCENTAGE,
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect, 8);
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final int elementCount = pool.getSlices()[0].elementsCount();
+
+        for (int i = 0; i < 10; i++) {
+            final Thread t = new Thread(() -> mm.allocate(100).tryDispose());
+            t.start();
+            t.join();
+        }
+        assertEquals(10, pool.getMagazinesCount());
+
+        // the magazines of the terminated threads are drained and dropped in background
+        for (int i = 0; i < 100 && pool.getMagazinesCount() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, pool.getMagazinesCount());
+        assertEquals(elementCount, pool.getSlices()[0].elementsCount());
+    }
+
+    @Test
+    public void testRefCounting() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, DEFAULT_HEAP_USAGE_PERCENTAGE,
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect);
+        final TestProbe probe = new TestProbe();
+        mm.getMonitoringConfig().addProbes(probe);
+
+        final RefCountedBuffer b = (RefCountedBuffer) mm.allocate(100);
+        b.put((byte) 1).put((byte) 2).flip();
+        assertEquals(1, b.refCount());
+
+        final RefCountedBuffer r1 = b.retain();
+        final RefCountedBuffer r2 = r1.retain();
+        assertEquals(3, b.refCount());
+        assertEquals(3, r2.refCount());
+
+        // the references have independent positions
+        assertEquals(1, r1.get());
+        assertEquals(0, r2.position());
+        assertEquals(2, r2.remaining());
+        assertEquals(1, b.get(0));
+
+        // the reference is released regardless of the allowBufferDispose flag
+        b.allowBufferDispose(false);
+        assertFalse(b.release());
+        assertEquals(0, b.refCount());
+        assertEquals(2, r1.refCount());
+        try {
+            b.release();
+            fail("the released reference can't be released twice");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertFalse(r2.release());
+        assertEquals(0, probe.bufferReleasedToPool.get());
+        assertEquals(2, r1.get());
+        assertTrue(r1.release());
+        assertEquals(1, probe.bufferReleasedToPool.get());
+    }
+
+    @Test
+    public void testLeakDetection() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, DEFAULT_HEAP_USAGE_PERCENTAGE,
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect);
+        final TestProbe probe = new TestProbe();
+        mm.getMonitoringConfig().addProbes(probe);
+        mm.setLeakDetectionSamplingRate(1.0f);
+
+        // released buffers are not reported
+        for (int i = 0; i < 10; i++) {
+            mm.allocate(100).tryDispose();
+        }
+
+        // leak the buffer
+        mm.allocate(100);
+
+        for (int i = 0; i < 100 && probe.bufferLeaked.get() == 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+            // the leaks are checked on allocation
+            mm.allocate(100).tryDispose();
+        }
+
+        assertEquals(1, probe.bufferLeaked.get());
+        assertNotNull(probe.leakTrace);
+        assertTrue(probe.leakTrace.getStackTrace().length > 0);
+
+        try {
+            mm.setLeakDetectionSamplingRate(2.0f);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testElasticGrowthAndTrimming() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, 0.01f, 0.0f, isDirect, 0, true);
+        assertTrue(mm.isElastic());
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final PoolSlice slice0 = pool.getSlices()[0];
+        assertEquals(0, slice0.buffersCount());
+        assertEquals(0, mm.getPooledBytes());
+
+        // the pool grows by chunks
+        final List<Buffer> buffers = new ArrayList<>();
+        buffers.add(mm.allocate(100));
+        assertEquals(16, slice0.buffersCount());
+        assertEquals(15, slice0.elementsCount());
+        for (int i = 0; i < 19; i++) {
+            buffers.add(mm.allocate(100));
+        }
+        assertEquals(32, slice0.buffersCount());
+        assertEquals(12, slice0.elementsCount());
+        assertEquals(32L * DEFAULT_BASE_BUFFER_SIZE, mm.getPooledBytes());
+        assertEquals(32L * DEFAULT_BASE_BUFFER_SIZE, mm.getPooledBytesHighWater());
+
+        // less than a chunk is idle - nothing is trimmed
+        long now = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        pool.checkIdleBuffers(now);
+        assertEquals(32, slice0.buffersCount());
+        assertEquals(0, mm.getTrimmedBytes());
+
+        for (Buffer buffer : buffers) {
+            buffer.tryDispose();
+        }
+
+        // all the buffers are idle
+        now += TimeUnit.HOURS.toNanos(1);
+        pool.checkIdleBuffers(now);
+        assertEquals(0, slice0.buffersCount());
+        assertEquals(0, slice0.elementsCount());
+        assertEquals(0, mm.getPooledBytes());
+        assertEquals(32L * DEFAULT_BASE_BUFFER_SIZE, mm.getPooledBytesHighWater());
+        assertEquals(32L * DEFAULT_BASE_BUFFER_SIZE, mm.getTrimmedBytes());
+
+        // the trimmed pool grows again
+        mm.allocate(100).tryDispose();
+        assertEquals(16, slice0.buffersCount());
+    }
+
+    @Test
+    public void testElasticMinSize() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, 0.01f, 0.25f, isDirect, 0, true);
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final PoolSlice slice0 = pool.getSlices()[0];
+        final int minSize = slice0.getMinElementsCount();
+        assertEquals(minSize, slice0.buffersCount());
+
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < minSize + 40; i++) {
+            buffers.add(mm.allocate(100));
+        }
+        for (Buffer buffer : buffers) {
+            buffer.tryDispose();
+        }
+        assertTrue(slice0.buffersCount() > minSize);
+
+        // the preallocated buffers are not trimmed
+        pool.checkIdleBuffers(System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+        assertTrue(slice0.buffersCount() >= minSize);
+        assertTrue(slice0.buffersCount() < minSize + 16);
+        assertTrue(mm.getTrimmedBytes() > 0);
+    }
+
+    @Test
+    public void testElasticTrimmingWithMagazines() throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, 1, 0.01f, 0.0f, isDirect, 8, true);
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final PoolSlice slice0 = pool.getSlices()[0];
+
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            buffers.add(mm.allocate(100));
+        }
+        for (Buffer buffer : buffers) {
+            buffer.tryDispose();
+        }
+
+        // some of the free buffers are cached in the current thread's magazine
+        assertEquals(16, slice0.buffersCount());
+        assertTrue(slice0.elementsCount() < 16);
+        assertEquals(16, pool.elementsCount());
+
+        // the magazine buffers are counted as idle and returned to the slice to be trimmed
+        pool.checkIdleBuffers(System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+        assertEquals(0, slice0.buffersCount());
+        assertEquals(0, pool.elementsCount());
+        assertEquals(16L * DEFAULT_BASE_BUFFER_SIZE, mm.getTrimmedBytes());
+    }
+
+    /**
+     * Allocates and disposes buffers concurrently with and without the magazines, every buffer has to be returned to
+     * the pool afterwards.
+     */
+    @Test
+    public void testMagazineContention() throws Exception {
+        for (int threads = 1; threads <= 8; threads <<= 1) {
+            runContention(0, threads, 2000);
+            runContention(32, threads, 2000);
+        }
+    }
+
+    private void runContention(final int magazineSize, final int threadsNum, final int iterations) throws Exception {
+        final PooledMemoryManager mm = new PooledMemoryManager(DEFAULT_BASE_BUFFER_SIZE, 1, 0, Runtime.getRuntime().availableProcessors(), .01f,
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect, magazineSize);
+        final PooledMemoryManager.Pool pool = mm.getPools()[0];
+        final int elementsCount = pool.elementsCount();
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadsNum];
+        for (int i = 0; i < threadsNum; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                final Buffer[] batch = new Buffer[4];
+                for (int j = 0; j < iterations; j++) {
+                    for (int k = 0; k < batch.length; k++) {
+                        batch[k] = mm.allocate(1024);
+                    }
+                    for (int k = 0; k < batch.length; k++) {
+                        batch[k].tryDispose();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // the buffers are either back in the slices or cached in the magazines
+        assertEquals("magazineSize=" + magazineSize + ", threads=" + threadsNum, elementsCount, pool.elementsCount());
+    }
+
+    private void stressTest(final int magazineSize) {
         final int poolsNum = 3;
 
         final int numTestThreads = Runtime.getRuntime().availableProcessors() * 8;
         final PooledMemoryManager mm = new PooledMemoryManager(4096, poolsNum, 1, Runtime.getRuntime().availableProcessors(), .10f,
-                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect);
+                DEFAULT_PREALLOCATED_BUFFERS_PERCENTAGE, isDirect, magazineSize);
         final ThreadFactory f = new ThreadFactory() {
             final AtomicInteger ii = new AtomicInteger();
 
@@ -731,6 +1054,8 @@ public class PooledMemoryManagerTest {
         final AtomicInteger bufferAllocated = new AtomicInteger();
         final AtomicInteger bufferAllocatedFromPool = new AtomicInteger();
         final AtomicInteger bufferReleasedToPool = new AtomicInteger();
+        final AtomicInteger bufferLeaked = new AtomicInteger();
+        volatile Throwable leakTrace;
 
         @Override
         public void onBufferAllocateEvent(int size) {
@@ -746,5 +1071,11 @@ public class PooledMemoryManagerTest {
         public void onBufferReleaseToPoolEvent(int size) {
             bufferReleasedToPool.incrementAndGet();
         }
+
+        @Override
+        public void onBufferLeakEvent(int size, Throwable allocationTrace) {
+            leakTrace = allocationTrace;
+            bufferLeaked.incrementAndGet();
+        }
     }
 }
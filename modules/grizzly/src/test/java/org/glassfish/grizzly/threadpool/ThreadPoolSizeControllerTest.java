@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.threadpool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link ThreadPoolSizeController} tests, which feed the controller with the synthetic task statistics and sample it at
+ * the given points in time.
+ */
+public class ThreadPoolSizeControllerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private FixedThreadPool pool;
+    private ThreadPoolSizeController controller;
+    private long now;
+
+    @Before
+    public void before() {
+        pool = new FixedThreadPool(ThreadPoolConfig.defaultConfig().copy().setPoolName("controlled").setCorePoolSize(1).setMaxPoolSize(1));
+        controller = new ThreadPoolSizeController(pool, 1, 8).setTargetQueueWait(1, TimeUnit.MILLISECONDS).setHysteresis(0);
+
+        // the baseline sample
+        now = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        controller.sample(now);
+    }
+
+    @After
+    public void after() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        // the tasks are queued, the pool grows once two samples confirm the decision
+        queue(100);
+        sample();
+        assertEquals(1, pool.getConfig().getMaxPoolSize());
+        sample();
+        assertEquals(1000, controller.getQueueWait(TimeUnit.MILLISECONDS));
+        assertEquals(2, pool.getConfig().getMaxPoolSize());
+        assertEquals(1, controller.getResizeCount());
+        assertNotNull(controller.getLastResize());
+
+        // the queue is drained, the underutilized pool shrinks back
+        complete(100, MILLISECOND);
+        sample();
+        assertEquals(2, pool.getConfig().getMaxPoolSize());
+        sample();
+        assertEquals(1, pool.getConfig().getMaxPoolSize());
+        assertEquals(2, controller.getResizeCount());
+    }
+
+    @Test
+    public void testNoGrowthWhenTasksSlowDown() {
+        pool.resize(4);
+
+        // the normal task duration
+        queue(100);
+        complete(10, MILLISECOND);
+        sample();
+        assertEquals(1, controller.getTaskDuration(TimeUnit.MILLISECONDS));
+
+        // the tasks are still queued, but they became much slower
+        complete(10, 10 * MILLISECOND);
+        sample();
+        complete(10, 10 * MILLISECOND);
+        sample();
+        assertEquals(4, pool.getConfig().getMaxPoolSize());
+        assertEquals(0, controller.getResizeCount());
+    }
+
+    @Test
+    public void testNotResizablePool() {
+        final WorkStealingThreadPool workStealingPool = new WorkStealingThreadPool(
+                ThreadPoolConfig.defaultConfig().copy().setPoolName("work-stealing").setCorePoolSize(2).setMaxPoolSize(2));
+        try {
+            new ThreadPoolSizeController(workStealingPool, 1, 8);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            workStealingPool.shutdownNow();
+        }
+    }
+
+    private void queue(final int count) {
+        for (int i = 0; i < count; i++) {
+            controller.onTaskQueueEvent(pool, null);
+        }
+    }
+
+    private void complete(final int count, final long durationNanos) {
+        for (int i = 0; i < count; i++) {
+            controller.onTaskDequeueEvent(pool, null);
+            controller.onTaskComplete(durationNanos);
+        }
+    }
+
+    private void sample() {
+        now += SECOND;
+        controller.sample(now);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.grizzly.http.StaticResponse;
+import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HttpStatus;
+
+/**
+ * Adaptive limit of the number of the requests processed concurrently by a {@link NetworkListener}.
+ *
+ * The limiter is checked by the {@link HttpServerFilter} as soon as the request headers are parsed. If the number of
+ * the in-flight requests has reached the limit, the request is rejected right away with the pre-encoded
+ * {@link #getRejectResponse() reject response} (<tt>503 Service Unavailable</tt> by default) and the connection is
+ * closed, so the server sheds the load before the request is queued to the worker thread pool and the tail latency of
+ * the admitted requests stays low.
+ *
+ * The limit is adjusted using the TCP Vegas congestion avoidance algorithm, where the request service time (the time
+ * from the request admission until the request processing is completed, including the time spent in the worker thread
+ * pool queue) plays the role of the RTT. Every window of {@link #setWindowSize(int) samples} the limiter estimates the
+ * number of the queued requests as
+ *
+ * <pre>
+ * queued = limit * (1 - noLoadServiceTime / serviceTime)
+ * </pre>
+ *
+ * where <tt>noLoadServiceTime</tt> is the min service time observed. The limit is increased, if the estimated queue is
+ * shorter than <tt>3 * log10(limit)</tt>, and decreased, if it's longer than <tt>6 * log10(limit)</tt>. The limit is
+ * increased only if at least half of it has been used during the sample, i.e. the max number of the in-flight requests
+ * was at least <tt>limit / 2</tt>, so the limit doesn't grow unbounded under light load, but still has room to grow
+ * before the load reaches it. The no-load service time is re-learned periodically, so the limiter adapts to the
+ * changed application behaviour.
+ *
+ * <pre>
+ * final NetworkListener listener = new NetworkListener("http", "0.0.0.0", 8080);
+ * listener.setConcurrencyLimiter(new ConcurrencyLimiter(10, 500));
+ * </pre>
+ *
+ * The limit changes and the rejected requests are reported via {@link HttpServerProbe}.
+ *
+ * @since 4.1
+ */
+public class ConcurrencyLimiter {
+    public static final int DEFAULT_MIN_LIMIT = 4;
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_PROBE_INTERVAL = 100;
+
+    private static final StaticResponse DEFAULT_REJECT_RESPONSE = StaticResponse.builder().status(HttpStatus.SERVICE_UNAVAILABLE_503)
+            .header(Header.RetryAfter, "1").contentType("text/plain").body(HttpStatus.SERVICE_UNAVAILABLE_503.getReasonPhrase()).build();
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private int probeInterval = DEFAULT_PROBE_INTERVAL;
+    private StaticResponse rejectResponse = DEFAULT_REJECT_RESPONSE;
+
+    private volatile int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    // the current window statistics
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final LongAdder windowServiceTime = new LongAdder();
+    private final AtomicLong windowMinServiceTime = new AtomicLong(Long.MAX_VALUE);
+    private volatile int windowMaxInFlight;
+    private final AtomicBoolean isUpdating = new AtomicBoolean();
+
+    // the state updated by the thread, which holds isUpdating
+    private long noLoadServiceTime;
+    private int windowsSinceProbe;
+
+    private volatile long serviceTime;
+
+    public ConcurrencyLimiter() {
+        this(DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * @param minLimit the min concurrency limit
+     * @param maxLimit the max concurrency limit
+     */
+    public ConcurrencyLimiter(final int minLimit, final int maxLimit) {
+        this(minLimit, maxLimit, Math.max(minLimit, Math.min(maxLimit, DEFAULT_INITIAL_LIMIT)));
+    }
+
+    /**
+     * @param minLimit the min concurrency limit
+     * @param maxLimit the max concurrency limit
+     * @param initialLimit the initial concurrency limit
+     */
+    public ConcurrencyLimiter(final int minLimit, final int maxLimit, final int initialLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits: min=" + minLimit + " max=" + maxLimit + " initial=" + initialLimit);
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of the requests, which are currently in process
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the total number of the rejected requests
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * @return the average request service time measured by the last window
+     */
+    public long getServiceTime(final TimeUnit timeUnit) {
+        return timeUnit.convert(serviceTime, TimeUnit.NANOSECONDS);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of the service time samples, after which the limit is recalculated.
+     */
+    public ConcurrencyLimiter setWindowSize(final int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize < 1");
+        }
+
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public int getProbeInterval() {
+        return probeInterval;
+    }
+
+    /**
+     * Sets the number of the windows, after which the no-load service time is re-learned.
+     */
+    public ConcurrencyLimiter setProbeInterval(final int probeInterval) {
+        if (probeInterval < 1) {
+            throw new IllegalArgumentException("probeInterval < 1");
+        }
+
+        this.probeInterval = probeInterval;
+        return this;
+    }
+
+    /**
+     * @return the {@link StaticResponse} sent, when the request is rejected
+     */
+    public StaticResponse getRejectResponse() {
+        return rejectResponse;
+    }
+
+    /**
+     * Sets the {@link StaticResponse} sent, when the request is rejected. The connection is closed after the response is
+     * sent regardless of the response status.
+     */
+    public ConcurrencyLimiter setRejectResponse(final StaticResponse rejectResponse) {
+        if (rejectResponse == null) {
+            throw new IllegalArgumentException("rejectResponse can't be null");
+        }
+
+        this.rejectResponse = rejectResponse;
+        return this;
+    }
+
+    /**
+     * Admits the request, if the number of the in-flight requests is less than the limit.
+     *
+     * @return <tt>true</tt> if the request is admitted, in this case {@link #release(long)} has to be called once the
+     * request is processed, or <tt>false</tt> if the request has to be rejected
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current >= windowMaxInFlight) {
+                    windowMaxInFlight = current + 1;
+                }
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes the admitted request processing.
+     *
+     * @param serviceTimeNanos the request service time in nanoseconds
+     */
+    public void release(final long serviceTimeNanos) {
+        inFlight.decrementAndGet();
+
+        windowServiceTime.add(serviceTimeNanos);
+        if (serviceTimeNanos < windowMinServiceTime.get()) {
+            windowMinServiceTime.accumulateAndGet(serviceTimeNanos, Math::min);
+        }
+
+        if (windowCount.incrementAndGet() >= windowSize && isUpdating.compareAndSet(false, true)) {
+            try {
+                updateLimit();
+            } finally {
+                isUpdating.set(false);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimiter{limit=" + limit + ", in-flight=" + inFlight + ", bounds=[" + minLimit + ", " + maxLimit + "], rejected="
+                + rejectedCount + '}';
+    }
+
+    private void updateLimit() {
+        final int count = windowCount.getAndSet(0);
+        final long sum = windowServiceTime.sumThenReset();
+        final long minServiceTime = windowMinServiceTime.getAndSet(Long.MAX_VALUE);
+        final int maxInFlight = windowMaxInFlight;
+        windowMaxInFlight = 0;
+
+        if (count == 0) {
+            return;
+        }
+
+        final long averageServiceTime = Math.max(1, sum / count);
+        serviceTime = averageServiceTime;
+
+        if (++windowsSinceProbe >= probeInterval) {
+            // re-learn the no-load service time, it might have changed
+            windowsSinceProbe = 0;
+            noLoadServiceTime = minServiceTime;
+        } else if (noLoadServiceTime == 0 || minServiceTime < noLoadServiceTime) {
+            noLoadServiceTime = minServiceTime;
+        }
+
+        final int currentLimit = limit;
+        final double queued = currentLimit * (1 - (double) noLoadServiceTime / averageServiceTime);
+        final double log = Math.max(1, Math.log10(currentLimit));
+
+        int newLimit = currentLimit;
+        if (queued <= 3 * log) {
+            // the limit isn't increased, if less than half of it is used
+            if (maxInFlight * 2 >= currentLimit) {
+                newLimit = currentLimit + (int) log;
+            }
+        } else if (queued >= 6 * log) {
+            newLimit = currentLimit - (int) log;
+        }
+
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -19,7 +19,9 @@ package org.glassfish.grizzly.http.server;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,8 +43,12 @@ import org.glassfish.grizzly.http.Method;
 import org.glassfish.grizzly.http.server.filecache.FileCache;
 import org.glassfish.grizzly.http.server.filecache.FileCache.CacheType;
 import org.glassfish.grizzly.http.server.filecache.FileCacheEntry;
+import org.glassfish.grizzly.http.server.util.ByteRange;
+import org.glassfish.grizzly.http.server.util.MultipartByteRanges;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HttpStatus;
 import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
 
 /**
  *
@@ -80,6 +86,13 @@ public class FileCacheFilter extends BaseFilter {
                     return flush(ctx);
                 }
 
+                final List<ByteRange> ranges = ByteRange.forRequest(request, cacheEntry.getFileSize(false), cacheEntry.Etag,
+                        cacheEntry.lastModified);
+                if (ranges != null) {
+                    // partial content is always served from the plain (not compressed) representation
+                    return sendRanges(ctx, request, response, cacheEntry, ranges);
+                }
+
                 // check if we can send plain or compressed data back.
                 // depends on client request headers and file cache entry
                 final boolean isServeCompressed = cacheEntry.canServeCompressed(request);
@@ -127,6 +140,7 @@ public class FileCacheFilter extends BaseFilter {
     private void prepareResponseWithPayload(final FileCacheEntry entry, final HttpResponsePacket response, final boolean isServeCompressed) throws IOException {
         response.addHeader(Header.ETag, entry.Etag);
         response.addHeader(Header.LastModified, entry.lastModifiedHeader);
+        response.addHeader(Header.AcceptRanges, "bytes");
 
         response.setContentLengthLong(entry.getFileSize(isServeCompressed));
 
@@ -135,15 +149,87 @@ public class FileCacheFilter extends BaseFilter {
         }
     }
 
+    /**
+     * Serves the requested ranges of the plain representation: 416 if none of the ranges is satisfiable, 206 with a
+     * single part if one range was requested, or 206 with a <tt>multipart/byteranges</tt> body otherwise.
+     */
+    private NextAction sendRanges(final FilterChainContext ctx, final HttpRequestPacket request, final HttpResponsePacket response,
+            final FileCacheEntry cacheEntry, final List<ByteRange> ranges) {
+
+        final long completeLength = cacheEntry.getFileSize(false);
+
+        response.addHeader(Header.ETag, cacheEntry.Etag);
+        response.addHeader(Header.LastModified, cacheEntry.lastModifiedHeader);
+        response.addHeader(Header.AcceptRanges, "bytes");
+
+        if (ranges.isEmpty()) {
+            HttpStatus.REQUEST_RANGE_NOT_SATISFIABLE_416.setValues(response);
+            response.addHeader(Header.ContentRange, ByteRange.unsatisfiedContentRange(completeLength));
+            response.setContentLength(0);
+            ctx.write(HttpContent.builder(response).content(Buffers.EMPTY_BUFFER).last(true).build());
+
+            return flush(ctx);
+        }
+
+        HttpStatus.PARTIAL_CONTENT_206.setValues(response);
+
+        final MultipartByteRanges multipart;
+        if (ranges.size() == 1) {
+            multipart = null;
+            response.addHeader(Header.ContentRange, ranges.get(0).toContentRange(completeLength));
+            response.setContentLengthLong(ranges.get(0).getLength());
+        } else {
+            multipart = new MultipartByteRanges(ranges, response.getContentType(), completeLength);
+            response.setContentType(multipart.getContentType());
+            response.setContentLengthLong(multipart.getContentLength());
+        }
+
+        if (cacheEntry.type != CacheType.FILE) {
+            // the payload is available in a ByteBuffer - send slices of it
+            final MemoryManager mm = ctx.getMemoryManager();
+            final ByteBuffer bb = cacheEntry.getByteBuffer(false);
+
+            Buffer content = null;
+            for (int i = 0; i < ranges.size(); i++) {
+                final ByteRange range = ranges.get(i);
+                if (multipart != null) {
+                    content = Buffers.appendBuffers(mm, content, Buffers.wrap(mm, multipart.getPartHeader(i)));
+                }
+
+                final ByteBuffer slice = bb.duplicate();
+                slice.limit((int) (range.getLast() + 1));
+                slice.position((int) range.getFirst());
+                content = Buffers.appendBuffers(mm, content, Buffers.wrap(mm, slice));
+            }
+
+            if (multipart != null) {
+                content = Buffers.appendBuffers(mm, content, Buffers.wrap(mm, multipart.getCloseDelimiter()));
+            }
+
+            ctx.write(HttpContent.builder(response).content(content).last(true).build());
+
+            return flush(ctx);
+        }
+
+        final File file = cacheEntry.getFile(false);
+        if (multipart == null && fileCache.isFileSendEnabled() && !request.isSecure()) {
+            final ByteRange range = ranges.get(0);
+            return sendFileZeroCopy(ctx, response, cacheEntry, file, range.getFirst(), range.getLength());
+        }
+
+        try {
+            return send(ctx, FileSendEntry.create(ctx, response, file, ranges, multipart));
+        } catch (IOException e) {
+        }
+
+        // FAILURE
+        return ctx.getInvokeAction();
+    }
+
     private NextAction sendFileUsingBuffers(final FilterChainContext ctx, final HttpResponsePacket response, final FileCacheEntry cacheEntry,
             final boolean isServeCompressed) {
         try {
-            final FileSendEntry sendEntry = FileSendEntry.create(ctx, response, cacheEntry.getFile(isServeCompressed),
-                    cacheEntry.getFileSize(isServeCompressed));
-
-            ctx.suspend();
-            sendEntry.send();
-            return ctx.getSuspendAction();
+            return send(ctx, FileSendEntry.create(ctx, response, cacheEntry.getFile(isServeCompressed), cacheEntry.getFileSize(isServeCompressed)));
         } catch (IOException e) {
         }
 
@@ -151,14 +237,25 @@ public class FileCacheFilter extends BaseFilter {
         return ctx.getInvokeAction();
     }
 
+    private NextAction send(final FilterChainContext ctx, final FileSendEntry sendEntry) {
+        ctx.suspend();
+        sendEntry.send();
+        return ctx.getSuspendAction();
+    }
+
     private NextAction sendFileZeroCopy(final FilterChainContext ctx, final HttpResponsePacket response, final FileCacheEntry cacheEntry,
             final boolean isServeCompressed) {
+        return sendFileZeroCopy(ctx, response, cacheEntry, cacheEntry.getFile(isServeCompressed), 0, cacheEntry.getFileSize(isServeCompressed));
+    }
+
+    private NextAction sendFileZeroCopy(final FilterChainContext ctx, final HttpResponsePacket response, final FileCacheEntry cacheEntry,
+            final File file, final long offset, final long length) {
 
         // flush response
         ctx.write(response);
 
         // send-file
-        final FileTransfer f = new FileTransfer(cacheEntry.getFile(isServeCompressed), 0, cacheEntry.getFileSize(isServeCompressed));
+        final FileTransfer f = new FileTransfer(file, offset, length);
         ctx.write(f, new EmptyCompletionHandler<WriteResult>() {
             @Override
             public void failed(Throwable throwable) {
@@ -210,6 +307,11 @@ public class FileCacheFilter extends BaseFilter {
         private final HttpResponsePacket response;
         private final OutputSink output;
 
+        // the ranges to be sent, or null if the entire file has to be sent
+        private final List<ByteRange> ranges;
+        private final MultipartByteRanges multipart;
+        private int rangeIdx;
+
         private long remaining;
 
         public static FileSendEntry create(final FilterChainContext ctx, final HttpResponsePacket response, final File file, final long size)
@@ -221,14 +323,30 @@ public class FileCacheFilter extends BaseFilter {
             return new FileSendEntry(ctx, response, fis, fc, size);
         }
 
+        public static FileSendEntry create(final FilterChainContext ctx, final HttpResponsePacket response, final File file,
+                final List<ByteRange> ranges, final MultipartByteRanges multipart) throws IOException {
+
+            final FileInputStream fis = new FileInputStream(file);
+            final FileChannel fc = fis.getChannel();
+
+            return new FileSendEntry(ctx, response, fis, fc, 0, ranges, multipart);
+        }
+
         public FileSendEntry(final FilterChainContext ctx, final HttpResponsePacket response, final FileInputStream fis, final FileChannel fc,
                 final long size) {
+            this(ctx, response, fis, fc, size, null, null);
+        }
+
+        private FileSendEntry(final FilterChainContext ctx, final HttpResponsePacket response, final FileInputStream fis, final FileChannel fc,
+                final long size, final List<ByteRange> ranges, final MultipartByteRanges multipart) {
 
             this.ctx = ctx;
             this.response = response;
             this.fis = fis;
             this.fc = fc;
             this.remaining = size;
+            this.ranges = ranges;
+            this.multipart = multipart;
 
             final HttpContext httpContext = response.getProcessingState().getHttpContext();
             assert httpContext != null;
@@ -244,18 +362,36 @@ public class FileCacheFilter extends BaseFilter {
 
         private void send() {
             final int chunkSize = 8192;
+            final MemoryManager mm = ctx.getMemoryManager();
 
             try {
                 boolean isLast;
                 do {
-                    final Buffer buffer = ctx.getMemoryManager().allocate(chunkSize);
+                    Buffer content = null;
+                    if (ranges != null && remaining == 0) {
+                        // start the next range
+                        final ByteRange range = ranges.get(rangeIdx);
+                        fc.position(range.getFirst());
+                        remaining = range.getLength();
+
+                        if (multipart != null) {
+                            content = Buffers.wrap(mm, multipart.getPartHeader(rangeIdx));
+                        }
+                    }
+
+                    final Buffer buffer = mm.allocate(ranges == null ? chunkSize : (int) Math.min(chunkSize, remaining));
                     buffer.allowBufferDispose(true);
 
                     final long readNow = Buffers.readFromFileChannel(fc, buffer);
-                    isLast = readNow <= 0 || (remaining -= readNow) <= 0;
+                    isLast = readNow <= 0 || (remaining -= readNow) <= 0 && (ranges == null || ++rangeIdx == ranges.size());
 
                     buffer.trim();
-                    ctx.write(HttpContent.builder(response).content(buffer).last(isLast).build());
+                    content = Buffers.appendBuffers(mm, content, buffer);
+                    if (isLast && multipart != null) {
+                        content = Buffers.appendBuffers(mm, content, Buffers.wrap(mm, multipart.getCloseDelimiter()));
+                    }
+
+                    ctx.write(HttpContent.builder(response).content(content).last(isLast).build());
 
                 } while (!isLast && output.canWrite());
 
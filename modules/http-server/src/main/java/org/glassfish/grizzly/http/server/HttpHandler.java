@@ -20,6 +20,7 @@ import java.io.CharConversionException;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -177,7 +178,7 @@ public abstract class HttpHandler {
             final FilterChainContext ctx = request.getContext();
             ctx.suspend();
 
-            threadPool.execute(new Runnable() {
+            final LaneRequestExecutorProvider.RejectableTask task = new LaneRequestExecutorProvider.RejectableTask() {
 
                 @Override
                 public void run() {
@@ -205,7 +206,27 @@ public abstract class HttpHandler {
                         }
                     }
                 }
-            });
+
+                @Override
+                public void reject(final RejectedExecutionException e) {
+                    // the executor is saturated - reject the request right away
+                    LOGGER.log(Level.FINE, "service rejected", e);
+                    try {
+                        response.getResponse().getProcessingState().setError(true);
+                        HtmlHelper.setErrorAndSendErrorPage(request, response, response.getErrorPageGenerator(), 503,
+                                HttpStatus.SERVICE_UNAVAILABLE_503.getReasonPhrase(), HttpStatus.SERVICE_UNAVAILABLE_503.getReasonPhrase(), null);
+                    } catch (IOException ignored) {
+                    } finally {
+                        ctx.resume();
+                    }
+                }
+            };
+
+            try {
+                threadPool.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.reject(e);
+            }
 
             return false;
         }
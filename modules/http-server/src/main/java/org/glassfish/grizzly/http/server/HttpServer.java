@@ -576,6 +576,7 @@ public class HttpServer {
             }
             httpServerCodecFilter.setAllowPayloadForUndefinedHttpMethods(serverConfig.isAllowPayloadForUndefinedHttpMethods());
             httpServerCodecFilter.setMaxPayloadRemainderToSkip(serverConfig.getMaxPayloadRemainderToSkip());
+            httpServerCodecFilter.setDefaultResponseHeaders(serverConfig.getDefaultResponseHeaders());
 
             httpServerCodecFilter.getMonitoringConfig().addProbes(serverConfig.getMonitoringConfig().getHttpConfig().getProbes());
             builder.add(httpServerCodecFilter);
@@ -600,6 +601,10 @@ public class HttpServer {
                 config.setBackendConfiguration(listener.getBackendConfiguration());
             }
 
+            if (listener.getConcurrencyLimiter() != null) {
+                config.setConcurrencyLimiter(listener.getConcurrencyLimiter());
+            }
+
             if (listener.getDefaultErrorPageGenerator() != null) {
                 config.setDefaultErrorPageGenerator(listener.getDefaultErrorPageGenerator());
             }
@@ -43,6 +43,7 @@ import org.glassfish.grizzly.http.HttpPacket;
 import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.HttpResponsePacket;
 import org.glassfish.grizzly.http.Method;
+import org.glassfish.grizzly.http.Protocol;
 import org.glassfish.grizzly.http.server.util.HtmlHelper;
 import org.glassfish.grizzly.http.util.Header;
 import org.glassfish.grizzly.http.util.HttpStatus;
@@ -174,6 +175,17 @@ public class HttpServerFilter extends BaseFilter implements MonitoringAware<Http
 
                 HttpServerProbeNotifier.notifyRequestReceive(this, connection, handlerRequest);
 
+                final ConcurrencyLimiter limiter = config.getConcurrencyLimiter();
+                boolean isRejected = false;
+                if (limiter != null) {
+                    if (limiter.tryAcquire()) {
+                        handlerRequest.admittedBy = limiter;
+                        handlerRequest.admissionTime = System.nanoTime();
+                    } else {
+                        isRejected = true;
+                    }
+                }
+
                 boolean wasSuspended = false;
 
                 try {
@@ -183,6 +195,9 @@ public class HttpServerFilter extends BaseFilter implements MonitoringAware<Http
                         handlerResponse.getResponse().getProcessingState().setError(true);
                         HtmlHelper.setErrorAndSendErrorPage(handlerRequest, handlerResponse, config.getDefaultErrorPageGenerator(), 503,
                                 HttpStatus.SERVICE_UNAVAILABLE_503.getReasonPhrase(), "The server is being shutting down...", null);
+                    } else if (isRejected) {
+                        onRequestRejected(handlerRequest, handlerResponse, limiter);
+                        HttpServerProbeNotifier.notifyRequestReject(this, connection, handlerRequest);
                     } else if (!config.isPassTraceRequest() && request.getMethod() == Method.TRACE) {
                         onTraceRequest(handlerRequest, handlerResponse);
                     } else if (!checkMaxPostSize(request.getContentLength())) {
@@ -314,6 +329,23 @@ public class HttpServerFilter extends BaseFilter implements MonitoringAware<Http
         }
     }
 
+    /**
+     * Sends the {@link ConcurrencyLimiter#getRejectResponse() reject response} and makes sure the connection is closed
+     * once the response is sent.
+     */
+    protected void onRequestRejected(final Request request, final Response response, final ConcurrencyLimiter limiter) {
+        final HttpResponsePacket responsePacket = response.getResponse();
+        responsePacket.getProcessingState().setKeepAlive(false);
+
+        if (request.getRequest().getProtocol() == Protocol.HTTP_2_0) {
+            // the pre-encoded response is HTTP/1.x specific
+            response.setStatus(limiter.getRejectResponse().getStatus());
+            response.setHeader(Header.RetryAfter, "1");
+        } else {
+            response.sendStaticResponse(limiter.getRejectResponse());
+        }
+    }
+
     protected String getFullServerName() {
         return config.getHttpServerName() + " " + config.getHttpServerVersion();
     }
@@ -335,6 +367,10 @@ public class HttpServerFilter extends BaseFilter implements MonitoringAware<Http
 
         HttpServerProbeNotifier.notifyRequestComplete(this, connection, response);
 
+        if (request.admittedBy != null) {
+            releaseAdmission(request);
+        }
+
         final HttpRequestPacket httpRequest = request.getRequest();
         final boolean isBroken = httpRequest.isContentBroken();
 
@@ -359,6 +395,19 @@ public class HttpServerFilter extends BaseFilter implements MonitoringAware<Http
         return ctx.getStopAction();
     }
 
+    private void releaseAdmission(final Request request) {
+        final ConcurrencyLimiter limiter = request.admittedBy;
+        request.admittedBy = null;
+
+        final int oldLimit = limiter.getLimit();
+        limiter.release(System.nanoTime() - request.admissionTime);
+        final int newLimit = limiter.getLimit();
+
+        if (oldLimit != newLimit) {
+            HttpServerProbeNotifier.notifyConcurrencyLimitChange(this, oldLimit, newLimit);
+        }
+    }
+
     /**
      * Will be called, once HTTP request processing is complete and response is flushed.
      */
@@ -91,6 +91,30 @@ public interface HttpServerProbe {
      */
     void onBeforeServiceEvent(HttpServerFilter filter, Connection connection, Request request, HttpHandler httpHandler);
 
+    /**
+     * Method will be called, when {@link Request} is rejected by the {@link ConcurrencyLimiter}.
+     *
+     * @param filter {@link HttpServerFilter}, the event belongs to.
+     * @param connection {@link Connection}, the event belongs to.
+     * @param request rejected {@link Request}.
+     *
+     * @since 4.1
+     */
+    default void onRequestRejectEvent(HttpServerFilter filter, Connection connection, Request request) {
+    }
+
+    /**
+     * Method will be called, when the {@link ConcurrencyLimiter} limit is changed.
+     *
+     * @param filter {@link HttpServerFilter}, the event belongs to.
+     * @param oldLimit the old concurrency limit.
+     * @param newLimit the new concurrency limit.
+     *
+     * @since 4.1
+     */
+    default void onConcurrencyLimitChangeEvent(HttpServerFilter filter, int oldLimit, int newLimit) {
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
     /**
@@ -149,5 +173,19 @@ public interface HttpServerProbe {
         @Override
         public void onBeforeServiceEvent(HttpServerFilter filter, Connection connection, Request request, HttpHandler httpHandler) {
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onRequestRejectEvent(HttpServerFilter filter, Connection connection, Request request) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onConcurrencyLimitChangeEvent(HttpServerFilter filter, int oldLimit, int newLimit) {
+        }
     }
 }
@@ -144,4 +144,38 @@ final class HttpServerProbeNotifier {
             }
         }
     }
+
+    /**
+     * Notify registered {@link HttpServerProbe}s about the "request rejected" event.
+     *
+     * @param filter {@link HttpServerFilter}, the event belongs to.
+     * @param connection {@link Connection}, the event belongs to.
+     * @param request rejected {@link Request}.
+     */
+    static void notifyRequestReject(final HttpServerFilter filter, final Connection connection, final Request request) {
+
+        final HttpServerProbe[] probes = filter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (HttpServerProbe probe : probes) {
+                probe.onRequestRejectEvent(filter, connection, request);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link HttpServerProbe}s about the "concurrency limit changed" event.
+     *
+     * @param filter {@link HttpServerFilter}, the event belongs to.
+     * @param oldLimit the old concurrency limit.
+     * @param newLimit the new concurrency limit.
+     */
+    static void notifyConcurrencyLimitChange(final HttpServerFilter filter, final int oldLimit, final int newLimit) {
+
+        final HttpServerProbe[] probes = filter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (HttpServerProbe probe : probes) {
+                probe.onConcurrencyLimitChangeEvent(filter, oldLimit, newLimit);
+            }
+        }
+    }
 }
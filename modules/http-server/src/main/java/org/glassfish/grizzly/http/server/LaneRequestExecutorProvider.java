@@ -0,0 +1,520 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.http.Method;
+
+/**
+ * {@link RequestExecutorProvider}, which classifies the requests into isolated, prioritized lanes.
+ *
+ * Each {@link Lane} has its own task queue and max concurrency, so slow requests in one lane (for example bulk exports)
+ * can't occupy all the worker threads and starve latency-sensitive requests in other lanes. The lanes share the
+ * backing {@link Executor} and the provider's total concurrency. When a worker thread becomes available, the next
+ * queued task is picked from the lanes, which have free capacity, using smooth weighted round-robin, so under overload
+ * the lanes get the worker threads in proportion to their weights. The worker thread, which has completed a task, runs
+ * the picked task itself, so the queued tasks don't cost an extra thread hand-off.
+ *
+ * The lane is chosen by the first matching rule, the requests, which don't match any rule, go to the
+ * {@link #getDefaultLane() default lane}. When the lane queue is full, the request is rejected with
+ * <tt>503 Service Unavailable</tt>. The queued request, which the backing {@link Executor} rejects once its turn comes,
+ * is rejected the same way.
+ *
+ * <pre>
+ * final LaneRequestExecutorProvider provider = new LaneRequestExecutorProvider(workerThreadPool, 32);
+ * final LaneRequestExecutorProvider.Lane health = provider.addLane("health", 8, 2, 16);
+ * final LaneRequestExecutorProvider.Lane bulk = provider.addLane("bulk", 1, 4, 64);
+ * provider.addRule(LaneRequestExecutorProvider.pathPrefix("/health"), health);
+ * provider.addRule(LaneRequestExecutorProvider.pathPrefix("/export/"), bulk);
+ * provider.addRule(LaneRequestExecutorProvider.header("X-Priority", "bulk"), bulk);
+ * ...
+ * public class MyHttpHandler extends HttpHandler {
+ *     ...
+ *     &#64;Override
+ *     public RequestExecutorProvider getRequestExecutorProvider() {
+ *         return provider;
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 4.1
+ */
+public class LaneRequestExecutorProvider implements RequestExecutorProvider {
+    private static final Logger LOGGER = Grizzly.logger(LaneRequestExecutorProvider.class);
+
+    public static final String DEFAULT_LANE_NAME = "default";
+
+    private final Executor executor;
+    private final int maxConcurrency;
+
+    private final Object sync = new Object();
+    private final List<Lane> lanes = new CopyOnWriteArrayList<>();
+    private final List<Rule> rules = new CopyOnWriteArrayList<>();
+    private final Lane defaultLane;
+
+    // the number of the running tasks in all the lanes, guarded by sync
+    private int activeCount;
+
+    /**
+     * @param executor the backing {@link Executor} (usually the worker thread pool) to run the tasks
+     * @param maxConcurrency the max number of the tasks, which may run concurrently in all the lanes (usually the worker
+     * thread pool size)
+     */
+    public LaneRequestExecutorProvider(final Executor executor, final int maxConcurrency) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor can't be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency < 1");
+        }
+
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.defaultLane = addLane(DEFAULT_LANE_NAME, 1, maxConcurrency, -1);
+    }
+
+    /**
+     * Adds a new {@link Lane}.
+     *
+     * @param name the lane name
+     * @param weight the lane weight, the lanes get the worker threads in proportion to their weights, when the provider
+     * is saturated
+     * @param maxConcurrency the max number of the lane tasks, which may run concurrently
+     * @param queueLimit the max number of the queued lane tasks, <tt>-1</tt> means unbounded
+     *
+     * @return the {@link Lane}
+     */
+    public Lane addLane(final String name, final int weight, final int maxConcurrency, final int queueLimit) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("weight < 1");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency < 1");
+        }
+
+        final Lane lane = new Lane(name, weight, maxConcurrency, queueLimit);
+        lanes.add(lane);
+        return lane;
+    }
+
+    /**
+     * Adds the rule, which routes the matching requests to the given {@link Lane}. The rules are checked in the order
+     * they have been added.
+     *
+     * @param rule the request {@link Predicate}
+     * @param lane the {@link Lane} of this provider
+     */
+    public LaneRequestExecutorProvider addRule(final Predicate<Request> rule, final Lane lane) {
+        if (lane.provider() != this) {
+            throw new IllegalArgumentException("The lane belongs to another provider");
+        }
+
+        rules.add(new Rule(rule, lane));
+        return this;
+    }
+
+    /**
+     * @return the {@link Lane}, which gets the requests not matching any rule
+     */
+    public Lane getDefaultLane() {
+        return defaultLane;
+    }
+
+    /**
+     * @return the {@link Lane} with the given name, or <tt>null</tt> if there is no such lane
+     */
+    public Lane getLane(final String name) {
+        for (Lane lane : lanes) {
+            if (lane.name.equals(name)) {
+                return lane;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return all the {@link Lane}s, including the default one
+     */
+    public List<Lane> getLanes() {
+        return new ArrayList<>(lanes);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return the number of the tasks running in all the lanes
+     */
+    public int getActiveCount() {
+        synchronized (sync) {
+            return activeCount;
+        }
+    }
+
+    /**
+     * Returns the {@link Lane} for the {@link Request}.
+     */
+    public Lane selectLane(final Request request) {
+        for (Rule rule : rules) {
+            if (rule.predicate.test(request)) {
+                return rule.lane;
+            }
+        }
+
+        return defaultLane;
+    }
+
+    @Override
+    public Executor getExecutor(final Request request) {
+        return selectLane(request);
+    }
+
+    // ------------------------------------------------------------------ Rules
+
+    /**
+     * @return the rule matching the requests, which URI starts with any of the given prefixes on a path segment
+     * boundary, so the prefix <tt>/api</tt> matches <tt>/api</tt> and <tt>/api/users</tt>, but not <tt>/apis</tt>
+     */
+    public static Predicate<Request> pathPrefix(final String... prefixes) {
+        final String[] copy = prefixes.clone();
+        return request -> {
+            final String uri = request.getRequestURI();
+            for (String prefix : copy) {
+                if (uri.startsWith(prefix) && (uri.length() == prefix.length() || prefix.endsWith("/")
+                        || uri.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+
+            return false;
+        };
+    }
+
+    /**
+     * @return the rule matching the requests, which have the header with the given value (case insensitive), or, if the
+     * value is <tt>null</tt>, just have the header
+     */
+    public static Predicate<Request> header(final String name, final String value) {
+        return request -> {
+            final String headerValue = request.getHeader(name);
+            return headerValue != null && (value == null || value.equalsIgnoreCase(headerValue));
+        };
+    }
+
+    /**
+     * @return the rule matching the requests with any of the given methods
+     */
+    public static Predicate<Request> method(final Method... methods) {
+        final List<Method> list = Arrays.asList(methods.clone());
+        return request -> list.contains(request.getMethod());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Picks the next task to run, the caller must hold the lock and, if the task is found, has already acquired the
+     * lane and the provider capacity.
+     */
+    private QueuedTask pollNext() {
+        if (activeCount >= maxConcurrency) {
+            return null;
+        }
+
+        // smooth weighted round-robin over the lanes, which have queued tasks and free capacity
+        Lane selected = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes) {
+            if (!lane.queue.isEmpty() && lane.activeCount < lane.maxConcurrency) {
+                lane.currentWeight += lane.weight;
+                totalWeight += lane.weight;
+                if (selected == null || lane.currentWeight > selected.currentWeight) {
+                    selected = lane;
+                }
+            }
+        }
+
+        if (selected == null) {
+            return null;
+        }
+
+        selected.currentWeight -= totalWeight;
+        selected.activeCount++;
+        activeCount++;
+
+        final QueuedTask task = selected.queue.poll();
+        selected.queueWaitNanos += System.nanoTime() - task.queueTime;
+        selected.dequeuedCount++;
+        return task;
+    }
+
+    private void dispatch(final Lane lane, final Runnable task) {
+        try {
+            executor.execute(new LaneWorker(lane, task));
+        } catch (RuntimeException e) {
+            final QueuedTask next;
+            synchronized (sync) {
+                lane.activeCount--;
+                activeCount--;
+
+                // the released capacity may be the one a queued task is waiting for
+                next = pollNext();
+            }
+
+            if (next != null) {
+                dispatchQueued(next);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the queued task picked by {@link #pollNext()}. If the executor rejects it too, the task is failed: its
+     * submitter has already returned, so the {@link RejectableTask} is notified, the other tasks are dropped.
+     */
+    private void dispatchQueued(final QueuedTask queued) {
+        try {
+            executor.execute(new LaneWorker(queued.lane, queued.task));
+        } catch (RuntimeException e) {
+            synchronized (sync) {
+                queued.lane.activeCount--;
+                queued.lane.rejectedCount++;
+                activeCount--;
+            }
+
+            final RejectedExecutionException rejection = e instanceof RejectedExecutionException ? (RejectedExecutionException) e
+                    : new RejectedExecutionException(e);
+            if (queued.task instanceof RejectableTask) {
+                ((RejectableTask) queued.task).reject(rejection);
+            } else {
+                LOGGER.log(Level.WARNING, "The queued task of the lane " + queued.lane.name + " has been rejected and dropped", rejection);
+            }
+        }
+    }
+
+    /**
+     * The task, which can be failed, if it's rejected after it has been queued, for example the request processing task,
+     * which completes the request with <tt>503 Service Unavailable</tt>.
+     */
+    interface RejectableTask extends Runnable {
+        void reject(RejectedExecutionException e);
+    }
+
+    private static final class Rule {
+        private final Predicate<Request> predicate;
+        private final Lane lane;
+
+        private Rule(final Predicate<Request> predicate, final Lane lane) {
+            this.predicate = predicate;
+            this.lane = lane;
+        }
+    }
+
+    private static final class QueuedTask {
+        private final Lane lane;
+        private final Runnable task;
+        private final long queueTime;
+
+        private QueuedTask(final Lane lane, final Runnable task) {
+            this.lane = lane;
+            this.task = task;
+            this.queueTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Runs the lane task and then the queued tasks picked for this worker thread.
+     */
+    private final class LaneWorker implements Runnable {
+        private Lane lane;
+        private Runnable task;
+
+        private LaneWorker(final Lane lane, final Runnable task) {
+            this.lane = lane;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            while (task != null) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOGGER.log(Level.WARNING, "Lane task error", t);
+                }
+
+                final QueuedTask next;
+                synchronized (sync) {
+                    lane.activeCount--;
+                    lane.completedCount++;
+                    activeCount--;
+
+                    next = pollNext();
+                }
+
+                if (next != null) {
+                    lane = next.lane;
+                    task = next.task;
+                } else {
+                    task = null;
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * The lane of the {@link LaneRequestExecutorProvider}: the {@link Executor} with bounded concurrency, its own queue
+     * and the weighted share of the provider's worker threads.
+     */
+    public final class Lane implements Executor {
+        private final String name;
+        private final int weight;
+        private final int maxConcurrency;
+        private final int queueLimit;
+
+        // guarded by sync
+        private final ArrayDeque<QueuedTask> queue = new ArrayDeque<>();
+        private int activeCount;
+        private int currentWeight;
+        private long completedCount;
+        private long rejectedCount;
+        private long dequeuedCount;
+        private long queueWaitNanos;
+
+        private Lane(final String name, final int weight, final int maxConcurrency, final int queueLimit) {
+            this.name = name;
+            this.weight = weight;
+            this.maxConcurrency = maxConcurrency;
+            this.queueLimit = queueLimit;
+        }
+
+        /**
+         * Runs the task, if the lane and the provider have free capacity, otherwise queues the task.
+         *
+         * @throws RejectedExecutionException if the lane queue is full
+         */
+        @Override
+        public void execute(final Runnable task) {
+            synchronized (sync) {
+                if (activeCount >= maxConcurrency || LaneRequestExecutorProvider.this.activeCount >= LaneRequestExecutorProvider.this.maxConcurrency) {
+                    if (queueLimit >= 0 && queue.size() >= queueLimit) {
+                        rejectedCount++;
+                        throw new RejectedExecutionException("The lane " + name + " queue is full");
+                    }
+
+                    queue.add(new QueuedTask(this, task));
+                    return;
+                }
+
+                activeCount++;
+                LaneRequestExecutorProvider.this.activeCount++;
+            }
+
+            dispatch(this, task);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public int getQueueLimit() {
+            return queueLimit;
+        }
+
+        /**
+         * @return the number of the lane tasks, which are currently running
+         */
+        public int getActiveCount() {
+            synchronized (sync) {
+                return activeCount;
+            }
+        }
+
+        /**
+         * @return the number of the queued lane tasks
+         */
+        public int getQueueSize() {
+            synchronized (sync) {
+                return queue.size();
+            }
+        }
+
+        /**
+         * @return the total number of the completed lane tasks
+         */
+        public long getCompletedCount() {
+            synchronized (sync) {
+                return completedCount;
+            }
+        }
+
+        /**
+         * @return the total number of the rejected lane tasks
+         */
+        public long getRejectedCount() {
+            synchronized (sync) {
+                return rejectedCount;
+            }
+        }
+
+        /**
+         * @return the average time the queued lane tasks have been waiting in the queue
+         */
+        public long getAverageQueueWait(final TimeUnit timeUnit) {
+            synchronized (sync) {
+                return dequeuedCount == 0 ? 0 : timeUnit.convert(queueWaitNanos / dequeuedCount, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public String toString() {
+            synchronized (sync) {
+                return "Lane{name=" + name + ", weight=" + weight + ", active=" + activeCount + '/' + maxConcurrency + ", queued=" + queue.size()
+                        + ", completed=" + completedCount + ", rejected=" + rejectedCount + '}';
+            }
+        }
+
+        private LaneRequestExecutorProvider provider() {
+            return LaneRequestExecutorProvider.this;
+        }
+    }
+}
@@ -219,6 +219,11 @@ public class NetworkListener {
      */
     private BackendConfiguration backendConfiguration;
 
+    /**
+     * The {@link ConcurrencyLimiter} to shed the load.
+     */
+    private ConcurrencyLimiter concurrencyLimiter;
+
     private int maxRequestHeaders = MimeHeaders.MAX_NUM_HEADERS_DEFAULT;
     private int maxResponseHeaders = MimeHeaders.MAX_NUM_HEADERS_DEFAULT;
 
@@ -549,6 +554,30 @@ public class NetworkListener {
         this.backendConfiguration = backendConfiguration;
     }
 
+    /**
+     * @return the {@link ConcurrencyLimiter}, which limits the number of the requests processed concurrently by this
+     * listener, or <tt>null</tt> if the number isn't limited.
+     *
+     * @since 4.1
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Sets the {@link ConcurrencyLimiter}, which limits the number of the requests processed concurrently by this
+     * listener. The requests exceeding the limit are rejected with the pre-encoded
+     * {@link ConcurrencyLimiter#getRejectResponse() response} as soon as their headers are parsed. The limiter must not be
+     * shared between listeners.
+     *
+     * @param concurrencyLimiter {@link ConcurrencyLimiter}, or <tt>null</tt> to disable the limiting
+     *
+     * @since 4.1
+     */
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
     /**
      * Returns the maximum number of headers allowed for a request.
      *
@@ -68,6 +68,7 @@ import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http.util.FastHttpDateFormat;
 import org.glassfish.grizzly.http.util.Header;
 import org.glassfish.grizzly.http.util.Parameters;
+import org.glassfish.grizzly.http.util.ParametersParser;
 import org.glassfish.grizzly.localization.LogMessages;
 import org.glassfish.grizzly.utils.Charsets;
 
@@ -283,6 +284,16 @@ public class Request {
      */
     protected boolean secure = false;
 
+    /**
+     * The {@link ConcurrencyLimiter}, which has admitted the request, or <tt>null</tt> if the request isn't limited.
+     */
+    ConcurrencyLimiter admittedBy;
+
+    /**
+     * The time the request has been admitted by the {@link ConcurrencyLimiter}.
+     */
+    long admissionTime;
+
     /**
      * The Subject associated with the current AccessControllerContext
      */
@@ -569,6 +580,7 @@ public class Request {
         locales.clear();
         localesParsed = false;
         secure = false;
+        admittedBy = null;
 
         request.recycle();
         request = null;
@@ -1906,20 +1918,50 @@ public class Request {
             throw new IllegalStateException(LogMessages.WARNING_GRIZZLY_HTTP_SERVER_REQUEST_POST_TOO_LARGE());
         }
 
-        int read = 0;
         try {
-            final Buffer formData = getPostBody(len);
-            read = formData.remaining();
-            parameters.processParameters(formData, formData.position(), read);
+            parseFormParameters(len);
         } catch (Exception ignored) {
-        } finally {
+        }
+
+    }
+
+    /**
+     * Parses the <tt>application/x-www-form-urlencoded</tt> POST body chunk by chunk as it arrives, so the form doesn't
+     * have to be buffered completely. Once the parameters limit is reached the rest of the body is read and discarded
+     * chunk by chunk, so the body is consumed the same way as if all the parameters were parsed.
+     *
+     * @param len the max number of body bytes to parse, <tt>-1</tt> means the entire body
+     */
+    private void parseFormParameters(final int len) throws IOException {
+        final ParametersParser parser = parameters.getParser(parameters.getEncoding());
+
+        boolean isLimitReached = false;
+        int remaining = len < 0 ? Integer.MAX_VALUE : len;
+        while (remaining > 0) {
+            if (inputBuffer.readyData() == 0) {
+                inputBuffer.fillFully(1);
+                if (inputBuffer.readyData() == 0) {
+                    break;
+                }
+            }
+
+            final int available = inputBuffer.readyData();
+            final Buffer chunk = available <= remaining ? inputBuffer.readBuffer() : inputBuffer.readBuffer(remaining);
+            final int chunkLength = chunk.remaining();
+            remaining -= chunkLength;
+
             try {
-                skipPostBody(read);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, LogMessages.WARNING_GRIZZLY_HTTP_SERVER_REQUEST_BODY_SKIP(), e);
+                if (!isLimitReached) {
+                    isLimitReached = !parser.parse(chunk, chunk.position(), chunk.limit());
+                }
+            } finally {
+                chunk.tryDispose();
             }
         }
 
+        if (!isLimitReached) {
+            parser.finish();
+        }
     }
 
     private Charset lookupCharset(final String enc) {
@@ -48,6 +48,7 @@ import org.glassfish.grizzly.http.Cookies;
 import org.glassfish.grizzly.http.HttpContext;
 import org.glassfish.grizzly.http.HttpResponsePacket;
 import org.glassfish.grizzly.http.Protocol;
+import org.glassfish.grizzly.http.StaticResponse;
 import org.glassfish.grizzly.http.io.InputBuffer;
 import org.glassfish.grizzly.http.io.NIOOutputStream;
 import org.glassfish.grizzly.http.io.NIOWriter;
@@ -60,6 +61,7 @@ import org.glassfish.grizzly.http.util.ContentType;
 import org.glassfish.grizzly.http.util.CookieSerializerUtils;
 import org.glassfish.grizzly.http.util.FastHttpDateFormat;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
 import org.glassfish.grizzly.http.util.HeaderValue;
 import org.glassfish.grizzly.http.util.HttpRequestURIDecoder;
 import org.glassfish.grizzly.http.util.HttpStatus;
@@ -1174,6 +1176,44 @@ public class Response {
         return response.containsHeader(header);
     }
 
+    /**
+     * Adds the block of pre-encoded headers, which is serialized with a single bulk copy after the other response headers.
+     * The headers of the block are not visible via {@link #getHeader(String)}, it's up to the caller not to set the same
+     * headers individually.
+     *
+     * @param headerBlock the {@link HeaderBlock}
+     *
+     * @since 4.1
+     */
+    public void addHeaderBlock(final HeaderBlock headerBlock) {
+        checkResponse();
+        if (isCommitted()) {
+            return;
+        }
+
+        response.addHeaderBlock(headerBlock);
+    }
+
+    /**
+     * Sends the pre-encoded {@link StaticResponse} instead of this response's status, headers and content. The response
+     * is written, when the request processing is completed or the response is flushed, all the content written to this
+     * response is ignored.
+     *
+     * @param staticResponse the {@link StaticResponse}
+     *
+     * @exception IllegalStateException if this response has already been committed
+     *
+     * @since 4.1
+     */
+    public void sendStaticResponse(final StaticResponse staticResponse) {
+        checkResponse();
+        if (isCommitted()) {
+            throw new IllegalStateException("Illegal attempt to send a static response after the response has been committed.");
+        }
+
+        response.setStaticResponse(staticResponse);
+    }
+
     /**
      * Send an acknowledgment of a request. An acknowledgment in this case is simply an HTTP response status line, i.e.
      * <code>HTTP/1.1 [STATUS] [REASON-PHRASE]<code>.
@@ -1190,6 +1230,43 @@ public class Response {
 
     }
 
+    /**
+     * Sends a <tt>103 Early Hints</tt> informational response with the given headers, usually <tt>Link</tt> headers
+     * pointing to resources the client may start loading while the final response is still being prepared. The status,
+     * headers and a pending <tt>100 Continue</tt> acknowledgment of this response are not affected, so the method may be
+     * called several times before the response is committed. The hints are silently dropped for HTTP/1.0 clients, which
+     * don't expect informational responses.
+     *
+     * @param headers the early hints headers
+     *
+     * @exception IllegalStateException if this response has already been committed
+     * @exception java.io.IOException if an input/output error occurs
+     *
+     * @since 4.1
+     */
+    public void sendEarlyHints(final MimeHeaders headers) throws IOException {
+        checkResponse();
+        if (isCommitted()) {
+            throw new IllegalStateException("Illegal attempt to send early hints after the response has been committed.");
+        }
+
+        final Protocol protocol = request.getProtocol();
+        if (protocol == Protocol.HTTP_0_9 || protocol == Protocol.HTTP_1_0) {
+            return;
+        }
+
+        // encoding marks the headers as serialized, so work on a copy the caller may reuse
+        final MimeHeaders earlyHints = new MimeHeaders();
+        earlyHints.copyFrom(headers);
+
+        response.setEarlyHints(earlyHints);
+        try {
+            outputBuffer.acknowledge();
+        } finally {
+            response.setEarlyHints(null);
+        }
+    }
+
     /**
      * Send an error response with the specified status and a default message.
      *
@@ -19,6 +19,7 @@ package org.glassfish.grizzly.http.server;
 import java.nio.charset.Charset;
 
 import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.http.util.HeaderBlock;
 
 /**
  * {@link HttpServerFilter} configuration.
@@ -49,6 +50,11 @@ public class ServerFilterConfiguration {
      */
     private Charset defaultQueryEncoding;
 
+    /**
+     * The pre-encoded headers added to every response.
+     */
+    private HeaderBlock defaultResponseHeaders;
+
     /**
      * The default error page generator
      */
@@ -60,6 +66,11 @@ public class ServerFilterConfiguration {
      */
     private BackendConfiguration backendConfiguration;
 
+    /**
+     * The {@link ConcurrencyLimiter} to shed the load.
+     */
+    private ConcurrencyLimiter concurrencyLimiter;
+
     /**
      * The HTTP server {@link SessionManager}.
      */
@@ -87,12 +98,14 @@ public class ServerFilterConfiguration {
         this.httpServerVersion = configuration.httpServerVersion;
         this.sendFileEnabled = configuration.sendFileEnabled;
         this.backendConfiguration = configuration.backendConfiguration;
+        this.concurrencyLimiter = configuration.concurrencyLimiter;
         this.traceEnabled = configuration.traceEnabled;
         this.passTraceRequest = configuration.passTraceRequest;
         this.maxRequestParameters = configuration.maxRequestParameters;
         this.maxFormPostSize = configuration.maxFormPostSize;
         this.maxBufferedPostSize = configuration.maxBufferedPostSize;
         this.defaultQueryEncoding = configuration.defaultQueryEncoding;
+        this.defaultResponseHeaders = configuration.defaultResponseHeaders;
         this.defaultErrorPageGenerator = configuration.defaultErrorPageGenerator;
         this.isGracefulShutdownSupported = configuration.isGracefulShutdownSupported;
         this.maxPostSize = configuration.maxPostSize;
@@ -232,6 +245,28 @@ public class ServerFilterConfiguration {
         this.backendConfiguration = backendConfiguration;
     }
 
+    /**
+     * @return the {@link ConcurrencyLimiter}, which limits the number of the requests processed concurrently, or
+     * <tt>null</tt> if the number isn't limited.
+     *
+     * @since 4.1
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Sets the {@link ConcurrencyLimiter}, which limits the number of the requests processed concurrently. The requests
+     * exceeding the limit are rejected as soon as their headers are parsed.
+     *
+     * @param concurrencyLimiter {@link ConcurrencyLimiter}, or <tt>null</tt> to disable the limiting
+     *
+     * @since 4.1
+     */
+    public void setConcurrencyLimiter(final ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
     /**
      * @return <tt>true</tt> if the <tt>TRACE</tt> request will be passed to the registered {@link HttpHandler}s, otherwise
      * <tt>false</tt> if the <tt>TRACE</tt> request will be handled by Grizzly.
@@ -400,6 +435,25 @@ public class ServerFilterConfiguration {
         this.defaultQueryEncoding = defaultQueryEncoding;
     }
 
+    /**
+     * @return the pre-encoded {@link HeaderBlock} added to every response, or <tt>null</tt>
+     *
+     * @since 4.1
+     */
+    public HeaderBlock getDefaultResponseHeaders() {
+        return defaultResponseHeaders;
+    }
+
+    /**
+     * Sets the pre-encoded {@link HeaderBlock} (like <tt>Server</tt> or security headers), which will be added to every
+     * response. The setting takes effect when the {@link HttpServer} is started.
+     *
+     * @since 4.1
+     */
+    public void setDefaultResponseHeaders(final HeaderBlock defaultResponseHeaders) {
+        this.defaultResponseHeaders = defaultResponseHeaders;
+    }
+
     /**
      * @return the default {@link ErrorPageGenerator}
      */
@@ -21,6 +21,8 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +35,8 @@ import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.io.NIOOutputStream;
 import org.glassfish.grizzly.http.io.OutputBuffer;
 import org.glassfish.grizzly.http.server.filecache.FileCache;
+import org.glassfish.grizzly.http.server.util.ByteRange;
+import org.glassfish.grizzly.http.server.util.MultipartByteRanges;
 import org.glassfish.grizzly.http.util.Header;
 import org.glassfish.grizzly.http.util.HttpStatus;
 import org.glassfish.grizzly.http.util.MimeType;
@@ -82,6 +86,10 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
         this.isFileCacheEnabled = isFileCacheEnabled;
     }
 
+    /**
+     * Sends the file content. If the request carries a satisfiable <tt>Range</tt> header (and the <tt>If-Range</tt>
+     * condition, if any, holds) only the requested ranges are sent back with <tt>206 Partial Content</tt> status.
+     */
     public static void sendFile(final Response response, final File file) throws IOException {
         response.setStatus(HttpStatus.OK_200);
 
@@ -89,29 +97,58 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
         pickupContentType(response, file.getPath());
 
         final long length = file.length();
-        response.setContentLengthLong(length);
+        response.setHeader(Header.AcceptRanges, "bytes");
         response.addDateHeader(Header.Date, System.currentTimeMillis());
+
+        final String eTag = response.containsHeader(Header.ETag) ? response.getHeader(Header.ETag.toString()) : getETag(file);
+        final List<ByteRange> ranges = ByteRange.forRequest(response.getRequest().getRequest(), length, eTag, file.lastModified());
+
+        if (ranges == null) {
+            response.setContentLengthLong(length);
+            send(response, file, length > 0 ? Collections.singletonList(new ByteRange(0, length - 1)) : Collections.<ByteRange>emptyList(), null);
+        } else if (ranges.isEmpty()) {
+            response.setStatus(HttpStatus.REQUEST_RANGE_NOT_SATISFIABLE_416);
+            response.setHeader(Header.ContentRange, ByteRange.unsatisfiedContentRange(length));
+            response.setContentLength(0);
+        } else if (ranges.size() == 1) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT_206);
+            response.setHeader(Header.ContentRange, ranges.get(0).toContentRange(length));
+            response.setContentLengthLong(ranges.get(0).getLength());
+            send(response, file, ranges, null);
+        } else {
+            final MultipartByteRanges multipart = new MultipartByteRanges(ranges, response.getContentType(), length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT_206);
+            response.setContentType(multipart.getContentType());
+            response.setContentLengthLong(multipart.getContentLength());
+            sendUsingBuffers(response, file, ranges, multipart);
+        }
+    }
+
+    private static void send(final Response response, final File file, final List<ByteRange> ranges, final MultipartByteRanges multipart)
+            throws IOException {
         if (!response.isSendFileEnabled() || response.getRequest().isSecure()) {
-            sendUsingBuffers(response, file);
+            sendUsingBuffers(response, file, ranges, multipart);
         } else {
-            sendZeroCopy(response, file);
+            final ByteRange range = ranges.isEmpty() ? null : ranges.get(0);
+            sendZeroCopy(response, file, range != null ? range.getFirst() : 0, range != null ? range.getLength() : 0);
         }
     }
 
-    private static void sendUsingBuffers(final Response response, final File file) throws FileNotFoundException, IOException {
+    private static void sendUsingBuffers(final Response response, final File file, final List<ByteRange> ranges, final MultipartByteRanges multipart)
+            throws FileNotFoundException, IOException {
         final int chunkSize = 8192;
 
         response.suspend();
 
         final NIOOutputStream outputStream = response.getNIOOutputStream();
 
-        outputStream.notifyCanWrite(new NonBlockingDownloadHandler(response, outputStream, file, chunkSize));
+        outputStream.notifyCanWrite(new NonBlockingDownloadHandler(response, outputStream, file, chunkSize, ranges, multipart));
 
     }
 
-    private static void sendZeroCopy(final Response response, final File file) throws IOException {
+    private static void sendZeroCopy(final Response response, final File file, final long offset, final long length) throws IOException {
         final OutputBuffer outputBuffer = response.getOutputBuffer();
-        outputBuffer.sendfile(file, null);
+        outputBuffer.sendfile(file, offset, length, null);
     }
 
     public final boolean addToFileCache(final Request req, final Response res, final File resource) {
@@ -240,29 +277,41 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
     }
 
     protected static void addCachingHeaders(final Response response, final File file) {
-        final StringBuilder sb = new StringBuilder();
+        final String eTag = getETag(file);
+        if (eTag != null) {
+            response.setHeader(Header.ETag, eTag);
+        }
+        response.addDateHeader(Header.LastModified, file.lastModified());
+
+    }
 
+    private static String getETag(final File file) {
         final long fileLength = file.length();
         final long lastModified = file.lastModified();
         if (fileLength >= 0 || lastModified >= 0) {
-            sb.append('"').append(fileLength).append('-').append(lastModified).append('"');
-            response.setHeader(Header.ETag, sb.toString());
+            return new StringBuilder().append('"').append(fileLength).append('-').append(lastModified).append('"').toString();
         }
-        response.addDateHeader(Header.LastModified, lastModified);
 
+        return null;
     }
 
     private static class NonBlockingDownloadHandler implements WriteHandler {
-        // keep the remaining size
-        private volatile long size;
-
         private final Response response;
         private final NIOOutputStream outputStream;
         private final FileChannel fileChannel;
         private final MemoryManager mm;
         private final int chunkSize;
 
-        NonBlockingDownloadHandler(final Response response, final NIOOutputStream outputStream, final File file, final int chunkSize) {
+        private final List<ByteRange> ranges;
+        // not null if the ranges have to be sent as multipart/byteranges body
+        private final MultipartByteRanges multipart;
+
+        // keep the current range index and its remaining size
+        private volatile int rangeIdx;
+        private volatile long remaining;
+
+        NonBlockingDownloadHandler(final Response response, final NIOOutputStream outputStream, final File file, final int chunkSize,
+                final List<ByteRange> ranges, final MultipartByteRanges multipart) {
 
             try {
                 fileChannel = new FileInputStream(file).getChannel();
@@ -270,12 +319,12 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
                 throw new IllegalStateException("File should have existed", e);
             }
 
-            size = file.length();
-
             this.response = response;
             this.outputStream = outputStream;
             mm = response.getRequest().getContext().getMemoryManager();
             this.chunkSize = chunkSize;
+            this.ranges = ranges;
+            this.multipart = multipart;
         }
 
         @Override
@@ -301,8 +350,24 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
          * Send next CHUNK_SIZE of file
          */
         private boolean sendChunk() throws IOException {
+            if (rangeIdx == ranges.size()) {
+                complete(false);
+                return false;
+            }
+
+            if (remaining == 0) {
+                // start the next range
+                final ByteRange range = ranges.get(rangeIdx);
+                fileChannel.position(range.getFirst());
+                remaining = range.getLength();
+
+                if (multipart != null) {
+                    outputStream.write(Buffers.wrap(mm, multipart.getPartHeader(rangeIdx)));
+                }
+            }
+
             // allocate Buffer
-            final Buffer buffer = mm.allocate(chunkSize);
+            final Buffer buffer = mm.allocate((int) Math.min(chunkSize, remaining));
             // mark it available for disposal after content is written
             buffer.allowBufferDispose(true);
 
@@ -319,10 +384,14 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
 
             // write the Buffer
             outputStream.write(buffer);
-            size -= justReadBytes;
+            remaining -= justReadBytes;
 
             // check the remaining size here to avoid extra onWritePossible() invocation
-            if (size <= 0) {
+            if (remaining <= 0 && ++rangeIdx == ranges.size()) {
+                if (multipart != null) {
+                    outputStream.write(Buffers.wrap(mm, multipart.getCloseDelimiter()));
+                }
+
                 complete(false);
                 return false;
             }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import org.glassfish.grizzly.http.StaticResponse;
+
+/**
+ * {@link HttpHandler}, which responds to every request with the same pre-encoded {@link StaticResponse}. Useful for
+ * health probes and tiny plain-text or JSON endpoints, where the response serialization costs more than producing it.
+ *
+ * <pre>
+ * server.getServerConfiguration().addHttpHandler(
+ *         new StaticResponseHttpHandler(StaticResponse.builder().contentType("text/plain").body("OK").build()),
+ *         "/health");
+ * </pre>
+ *
+ * @since 4.1
+ */
+public class StaticResponseHttpHandler extends HttpHandler {
+    private final StaticResponse staticResponse;
+
+    public StaticResponseHttpHandler(final StaticResponse staticResponse) {
+        this.staticResponse = staticResponse;
+    }
+
+    /**
+     * @return the {@link StaticResponse} sent by this handler
+     */
+    public StaticResponse getStaticResponse() {
+        return staticResponse;
+    }
+
+    @Override
+    public void service(final Request request, final Response response) throws Exception {
+        response.sendStaticResponse(staticResponse);
+    }
+}
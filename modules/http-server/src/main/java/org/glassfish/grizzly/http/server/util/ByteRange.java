@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.Method;
+import org.glassfish.grizzly.http.util.FastHttpDateFormat;
+import org.glassfish.grizzly.http.util.Header;
+
+/**
+ * A satisfiable byte range of a representation, as described by the HTTP <tt>Range</tt> request header (RFC 7233).
+ * Both {@link #getFirst()} and {@link #getLast()} positions are inclusive.
+ */
+public final class ByteRange {
+
+    /**
+     * The max number of ranges served for one request. Requests asking for more ranges are served with the complete
+     * representation, to limit the cost of abusive multi-range requests.
+     */
+    public static final int MAX_RANGES = 64;
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private final long first;
+    private final long last;
+
+    public ByteRange(final long first, final long last) {
+        if (first < 0 || last < first) {
+            throw new IllegalArgumentException("Invalid range: " + first + "-" + last);
+        }
+
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * @return the position of the first byte of the range
+     */
+    public long getFirst() {
+        return first;
+    }
+
+    /**
+     * @return the position of the last byte of the range (inclusive)
+     */
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * @return the number of bytes in the range
+     */
+    public long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * @param completeLength the length of the complete representation
+     * @return the <tt>Content-Range</tt> header value describing this range
+     */
+    public String toContentRange(final long completeLength) {
+        return BYTES_UNIT + ' ' + first + '-' + last + '/' + completeLength;
+    }
+
+    /**
+     * @param completeLength the length of the complete representation
+     * @return the <tt>Content-Range</tt> header value to be sent with a 416 response
+     */
+    public static String unsatisfiedContentRange(final long completeLength) {
+        return BYTES_UNIT + " */" + completeLength;
+    }
+
+    /**
+     * Returns the ranges, which have to be served in response to the given request, taking into account the
+     * <tt>Range</tt> and <tt>If-Range</tt> headers.
+     *
+     * @param request the {@link HttpRequestPacket}
+     * @param completeLength the length of the complete representation
+     * @param eTag the representation's entity tag or <tt>null</tt>
+     * @param lastModified the representation's last modification time in milliseconds, or <tt>-1</tt>
+     *
+     * @return <tt>null</tt> if the complete representation has to be served, an empty {@link List} if none of the
+     * requested ranges is satisfiable (416), or the list of ranges to be served (206)
+     */
+    public static List<ByteRange> forRequest(final HttpRequestPacket request, final long completeLength, final String eTag, final long lastModified) {
+        if (!Method.GET.equals(request.getMethod())) {
+            return null;
+        }
+
+        final String range = request.getHeader(Header.Range);
+        if (range == null) {
+            return null;
+        }
+
+        final String ifRange = request.getHeader(Header.IfRange);
+        if (ifRange != null && !isIfRangeSatisfied(ifRange, eTag, lastModified)) {
+            return null;
+        }
+
+        return parse(range, completeLength);
+    }
+
+    /**
+     * Parses the <tt>Range</tt> header value. Overlapping and adjacent ranges are coalesced.
+     *
+     * @param rangeHeader the <tt>Range</tt> header value
+     * @param completeLength the length of the complete representation
+     *
+     * @return <tt>null</tt> if the header is not valid, uses an unknown range unit or asks for too many ranges (the header
+     * has to be ignored in all these cases), an empty {@link List} if none of the ranges is satisfiable, or the sorted
+     * list of satisfiable ranges
+     */
+    public static List<ByteRange> parse(final String rangeHeader, final long completeLength) {
+        final int eq = rangeHeader.indexOf('=');
+        if (eq == -1 || !BYTES_UNIT.equalsIgnoreCase(rangeHeader.substring(0, eq).trim())) {
+            return null;
+        }
+
+        final List<ByteRange> ranges = new ArrayList<>(2);
+        int specsCount = 0;
+        int pos = eq + 1;
+        final int length = rangeHeader.length();
+
+        while (pos <= length) {
+            int comma = rangeHeader.indexOf(',', pos);
+            if (comma == -1) {
+                comma = length;
+            }
+
+            final String spec = rangeHeader.substring(pos, comma).trim();
+            pos = comma + 1;
+
+            if (spec.isEmpty()) {
+                // empty list elements are allowed
+                continue;
+            }
+
+            if (++specsCount > MAX_RANGES) {
+                return null;
+            }
+
+            final int dash = spec.indexOf('-');
+            if (dash == -1) {
+                return null;
+            }
+
+            final long first = parsePosition(spec, 0, dash);
+            final long last = parsePosition(spec, dash + 1, spec.length());
+            if (first == -2 || last == -2) {
+                return null;
+            }
+
+            if (first == -1) {
+                // suffix-byte-range-spec
+                if (last == -1) {
+                    return null;
+                }
+
+                if (last > 0 && completeLength > 0) {
+                    ranges.add(new ByteRange(Math.max(0, completeLength - last), completeLength - 1));
+                }
+            } else {
+                if (last != -1 && last < first) {
+                    return null;
+                }
+
+                if (first < completeLength) {
+                    ranges.add(new ByteRange(first, last == -1 || last >= completeLength ? completeLength - 1 : last));
+                }
+            }
+        }
+
+        if (specsCount == 0) {
+            return null;
+        }
+
+        return coalesce(ranges);
+    }
+
+    /**
+     * Checks whether the <tt>If-Range</tt> condition matches the current representation, in which case the
+     * <tt>Range</tt> header has to be taken into account.
+     *
+     * @param ifRange the <tt>If-Range</tt> header value
+     * @param eTag the representation's entity tag or <tt>null</tt>
+     * @param lastModified the representation's last modification time in milliseconds, or <tt>-1</tt>
+     */
+    public static boolean isIfRangeSatisfied(final String ifRange, final String eTag, final long lastModified) {
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // strong comparison, weak tags never match
+            return eTag != null && !eTag.startsWith("W/") && value.equals(eTag);
+        }
+
+        if (lastModified < 0) {
+            return false;
+        }
+
+        final SimpleDateFormats formats = SimpleDateFormats.create();
+        try {
+            final long date = FastHttpDateFormat.parseDate(value, formats.getFormats());
+            // HTTP dates have one second precision
+            return date != -1 && date / 1000 == lastModified / 1000;
+        } finally {
+            formats.recycle();
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ByteRange)) {
+            return false;
+        }
+
+        final ByteRange other = (ByteRange) o;
+        return first == other.first && last == other.last;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(first) + Long.hashCode(last);
+    }
+
+    @Override
+    public String toString() {
+        return first + "-" + last;
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    /**
+     * @return the parsed position, <tt>-1</tt> if the string is empty, or <tt>-2</tt> if it is not a number
+     */
+    private static long parsePosition(final String spec, final int start, final int end) {
+        int from = start;
+        int to = end;
+        while (from < to && spec.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && spec.charAt(to - 1) == ' ') {
+            to--;
+        }
+
+        if (from == to) {
+            return -1;
+        }
+
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            final char c = spec.charAt(i);
+            if (c < '0' || c > '9' || result > (Long.MAX_VALUE - 9) / 10) {
+                return -2;
+            }
+            result = result * 10 + c - '0';
+        }
+
+        return result;
+    }
+
+    private static List<ByteRange> coalesce(final List<ByteRange> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+
+        final List<ByteRange> sorted = new ArrayList<>(ranges);
+        Collections.sort(sorted, (r1, r2) -> Long.compare(r1.first, r2.first));
+
+        final List<ByteRange> result = new ArrayList<>(sorted.size());
+        ByteRange current = sorted.get(0);
+        for (int i = 1; i < sorted.size(); i++) {
+            final ByteRange next = sorted.get(i);
+            if (next.first <= current.last + 1) {
+                current = new ByteRange(current.first, Math.max(current.last, next.last));
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        result.add(current);
+
+        return result;
+    }
+}
@@ -50,6 +50,8 @@ public class Mapper {
 
     private static final String JSP_SERVLET = System.getProperty("org.glassfish.grizzly.servlet.jspServlet", "jsp");
 
+    private static final int DEFAULT_MAPPING_CACHE_SIZE = Integer.getInteger(Mapper.class.getName() + ".mapping-cache-size", 1024);
+
     private static final CharChunk SLASH = new CharChunk();
 
     /**
@@ -72,6 +74,11 @@ public class Mapper {
      */
     protected Host[] hosts = new Host[0];
 
+    /**
+     * Case-insensitive trie over the {@link #hosts} names.
+     */
+    private volatile MappingTrie hostTrie = MappingTrie.EMPTY_IGNORE_CASE;
+
     /**
      * Default host name.
      */
@@ -90,6 +97,16 @@ public class Mapper {
      */
     private int port = 0;
 
+    /**
+     * The max number of mapping results to be cached, <tt>0</tt> disables the cache.
+     */
+    private volatile int mappingCacheSize = DEFAULT_MAPPING_CACHE_SIZE;
+
+    /**
+     * The mapping results cache, which is replaced every time the mapping configuration changes.
+     */
+    private volatile MappingCache mappingCache = createMappingCache(DEFAULT_MAPPING_CACHE_SIZE);
+
     // --------------------------------------------------------- Public Methods
 
     /**
@@ -122,6 +139,27 @@ public class Mapper {
         return port;
     }
 
+    /**
+     * @return the max number of mapping results cached by this <tt>Mapper</tt>
+     */
+    public int getMappingCacheSize() {
+        return mappingCacheSize;
+    }
+
+    /**
+     * Sets the max number of mapping results cached by this <tt>Mapper</tt>. Exact mappings are cached per URI, while
+     * wildcard and default servlet mappings are cached per resolved prefix and shared by all the URIs under it. The
+     * least recently used results are evicted once the cache is full. Results, which depend on the static resources of a
+     * context (welcome files, folder redirects), or on the extension of the URI are never cached. The default value is
+     * <tt>1024</tt>, <tt>0</tt> or a negative value disables the cache.
+     *
+     * @param mappingCacheSize the max number of cached mapping results
+     */
+    public void setMappingCacheSize(final int mappingCacheSize) {
+        this.mappingCacheSize = mappingCacheSize;
+        invalidateMappingCache();
+    }
+
     /**
      * @return Default host name
      */
@@ -136,6 +174,7 @@ public class Mapper {
      */
     public void setDefaultHostName(String defaultHostName) {
         this.defaultHostName = defaultHostName;
+        invalidateMappingCache();
     }
 
     /**
@@ -185,6 +224,9 @@ public class Mapper {
         if (defaultContextPath != null) {
             newHost.defaultContextPaths[0] = defaultContextPath;
         }
+
+        hostTrie = MappingTrie.build(hosts, true);
+        invalidateMappingCache();
     }
 
     /**
@@ -216,6 +258,9 @@ public class Mapper {
         // START GlassFish 1024
         defaultContextPathsMap.remove(name);
         // END GlassFish 1024
+
+        hostTrie = MappingTrie.build(hosts, true);
+        invalidateMappingCache();
     }
 
     public String[] getHosts() {
@@ -236,6 +281,7 @@ public class Mapper {
         context.name = path;
         context.welcomeResources = welcomeResources;
         context.resources = resources;
+        invalidateMappingCache();
     }
 
     /**
@@ -295,6 +341,7 @@ public class Mapper {
                 Context oldElem = (Context) insertMap(contexts, newContexts, newContext);
                 if (oldElem == null) {
                     host.contextList.contexts = newContexts;
+                    host.contextList.contextTrie = MappingTrie.build(newContexts, false);
                     // START GlassFish 1024
                     if (path.equals(host.defaultContextPaths[0])) {
                         host.defaultContexts[0] = newContext;
@@ -306,6 +353,8 @@ public class Mapper {
                     oldElem.resources = resources;
                 }
             }
+
+            invalidateMappingCache();
         }
     }
 
@@ -332,6 +381,7 @@ public class Mapper {
                 Context[] newContexts = new Context[contexts.length - 1];
                 if (removeMap(contexts, newContexts, path)) {
                     host.contextList.contexts = newContexts;
+                    host.contextList.contextTrie = MappingTrie.build(newContexts, false);
                     // Recalculate nesting
                     host.contextList.nesting = 0;
                     for (Context newContext : newContexts) {
@@ -342,6 +392,8 @@ public class Mapper {
                     }
                 }
             }
+
+            invalidateMappingCache();
         }
     }
 
@@ -473,6 +525,7 @@ public class Mapper {
                 Wrapper oldElem = (Wrapper) insertMap(oldWrappers, newWrappers, newWrapper);
                 if (oldElem == null) {
                     context.wildcardWrappers = newWrappers;
+                    context.wildcardTrie = MappingTrie.build(newWrappers, false);
                     int slashCount = slashCount(newWrapper.name);
                     if (slashCount > context.nesting) {
                         context.nesting = slashCount;
@@ -489,6 +542,7 @@ public class Mapper {
                 Wrapper oldElem = (Wrapper) insertMap(oldWrappers, newWrappers, newWrapper);
                 if (oldElem == null) {
                     context.extensionWrappers = newWrappers;
+                    context.extensionTrie = MappingTrie.build(newWrappers, false);
                 } else if (allowReplacement) {
                     oldElem.object = wrapper;
                     oldElem.jspWildCard = jspWildCard;
@@ -513,6 +567,7 @@ public class Mapper {
                         Wrapper oldElem = (Wrapper) insertMap(oldWrappers, newWrappers, newWrapper);
                         if (oldElem == null) {
                             context.exactWrappers = newWrappers;
+                            context.exactTrie = MappingTrie.build(newWrappers, false);
                         } else if (allowReplacement) {
                             oldElem.object = wrapper;
                             oldElem.jspWildCard = jspWildCard;
@@ -521,6 +576,8 @@ public class Mapper {
                 }
             }
         }
+
+        invalidateMappingCache();
     }
 
     /**
@@ -577,6 +634,7 @@ public class Mapper {
                         }
                     }
                     context.wildcardWrappers = newWrappers;
+                    context.wildcardTrie = MappingTrie.build(newWrappers, false);
                 }
             } else if (path.startsWith("*.")) {
                 // Extension wrapper
@@ -585,6 +643,7 @@ public class Mapper {
                 Wrapper[] newWrappers = new Wrapper[oldWrappers.length - 1];
                 if (removeMap(oldWrappers, newWrappers, name)) {
                     context.extensionWrappers = newWrappers;
+                    context.extensionTrie = MappingTrie.build(newWrappers, false);
                 }
             } else if ("/".equals(path)) {
                 // Default wrapper
@@ -595,9 +654,12 @@ public class Mapper {
                 Wrapper[] newWrappers = new Wrapper[oldWrappers.length - 1];
                 if (removeMap(oldWrappers, newWrappers, path)) {
                     context.exactWrappers = newWrappers;
+                    context.exactTrie = MappingTrie.build(newWrappers, false);
                 }
             }
         }
+
+        invalidateMappingCache();
     }
 
     public String getWrappersString(String host, String context) {
@@ -672,6 +734,8 @@ public class Mapper {
             hosts[pos].defaultContexts[0] = null;
             defaultContextPathsMap.remove(hostName);
         }
+
+        invalidateMappingCache();
     }
 
     /**
@@ -848,106 +912,55 @@ public class Mapper {
 
         uri.setLimit(-1);
 
-        Context[] contexts = null;
-        Context ctx = null;
-        int nesting = 0;
+        // the cache has to be read before the tries to observe the tries it was created for
+        final MappingCache localMappingCache = mappingCache;
 
-        int hostPos = -1;
+        Host mappedHost = null;
+        Context ctx = null;
 
         // Virtual host mapping
         if (mappingData.host == null) {
-            Host[] newHosts = hosts;
-            int pos = host == null || host.isNull() ? -1 : findIgnoreCase(newHosts, host);
-            if (pos != -1 && host.equalsIgnoreCase(newHosts[pos].name)) {
-                mappingData.host = newHosts[pos].object;
-                hostPos = pos;
-                contexts = newHosts[pos].contextList.contexts;
-                nesting = newHosts[pos].contextList.nesting;
-            } else {
+            final MappingTrie localHostTrie = hostTrie;
+            if (host != null && !host.isNull()) {
+                mappedHost = (Host) localHostTrie.findExact(host.getBuffer(), host.getStart(), host.getEnd());
+            }
+
+            if (mappedHost == null) {
                 if (defaultHostName == null) {
                     return;
                 }
-                pos = findIgnoreCase(newHosts, defaultHostName);
-                if (pos != -1 && defaultHostName.equalsIgnoreCase(newHosts[pos].name)) {
-                    mappingData.host = newHosts[pos].object;
-                    hostPos = pos;
-                    contexts = newHosts[pos].contextList.contexts;
-                    nesting = newHosts[pos].contextList.nesting;
-                } else {
+
+                mappedHost = (Host) localHostTrie.findExact(defaultHostName);
+                if (mappedHost == null) {
                     return;
                 }
             }
+
+            mappingData.host = mappedHost.object;
+        }
+
+        final boolean isCacheable = localMappingCache != null && mappedHost != null && mappingData.context == null && mappingData.wrapper == null;
+        final int uriStart = uri.getStart();
+        final int uriEnd = uri.getEnd();
+
+        if (isCacheable && localMappingCache.apply(mappedHost, uri.getBuffer(), uriStart, uriEnd, mappingData)) {
+            return;
         }
 
         // Context mapping
-        if (mappingData.context == null) {
+        if (mappingData.context == null && mappedHost != null) {
+            ctx = (Context) mappedHost.contextList.contextTrie.findLongestPrefix(uri.getBuffer(), uriStart, uriEnd);
 
             // START GlassFish 1024
-            boolean found = false;
+            if (ctx == null && mappedHost.defaultContexts[0] != null) {
+                ctx = mappedHost.defaultContexts[0];
+                mappingData.isDefaultContext = true;
+            }
             // END GlassFish 1024
 
-            int pos = find(contexts, uri);
-            if (pos == -1) {
-                // START GlassFish 1024
-                if (hosts[hostPos].defaultContexts[0] == null) {
-                    // END GlassFish 1024
-                    return;
-                    // START GlassFish 1024
-                }
-                ctx = hosts[hostPos].defaultContexts[0];
+            if (ctx != null) {
                 mappingData.context = ctx.object;
                 mappingData.contextPath.setString(ctx.name);
-                found = true;
-                mappingData.isDefaultContext = true;
-                // END GlassFish 1024
-            }
-
-            // START GlassFish 1024
-            if (!found) {
-                // END GlassFish 1024
-                int lastSlash = -1;
-                int uriEnd = uri.getEnd();
-                int length;
-                /*
-                 * GlassFish 1024 boolean found = false;
-                 */
-                while (pos >= 0) {
-                    if (contexts != null && uri.startsWith(contexts[pos].name)) {
-                        length = contexts[pos].name.length();
-                        if (uri.getLength() == length) {
-                            found = true;
-                            break;
-                        } else if (uri.startsWithIgnoreCase("/", length)) {
-                            found = true;
-                            break;
-                        }
-                    }
-                    if (lastSlash == -1) {
-                        lastSlash = nthSlash(uri, nesting + 1);
-                    } else {
-                        lastSlash = lastSlash(uri);
-                    }
-                    uri.setEnd(lastSlash);
-                    pos = find(contexts, uri);
-                }
-                uri.setEnd(uriEnd);
-
-                if (!found) {
-                    if (contexts != null && "".equals(contexts[0].name)) {
-                        ctx = contexts[0];
-                        // START GlassFish 1024
-                    } else if (hosts[hostPos].defaultContexts[0] != null) {
-                        ctx = hosts[hostPos].defaultContexts[0];
-                        mappingData.isDefaultContext = true;
-                        // END GlassFish 1024
-                    }
-                } else {
-                    ctx = contexts[pos];
-                }
-                if (ctx != null) {
-                    mappingData.context = ctx.object;
-                    mappingData.contextPath.setString(ctx.name);
-                }
             }
         }
 
@@ -956,6 +969,108 @@ public class Mapper {
             internalMapWrapper(ctx, uri, mappingData);
         }
 
+        // results depending on static resources, or the ones which modified the URI can't be cached
+        if (isCacheable && (ctx == null || ctx.resources == null) && mappingData.redirectPath.isNull() && uri.getStart() == uriStart
+                && uri.getEnd() == uriEnd) {
+            cacheMappingResult(localMappingCache, mappedHost, ctx, uri.getBuffer(), uriStart, uriEnd, mappingData);
+        }
+    }
+
+    /**
+     * Caches the mapping result either for the whole URI, or for the resolved prefix, if the result is the same for
+     * every URI under that prefix. Results, which are neither, are not cached, so the number of cache keys is bounded
+     * by the mapping configuration rather than by the request URIs.
+     */
+    private static void cacheMappingResult(final MappingCache cache, final Host host, final Context ctx, final char[] uri, final int start,
+            final int end, final MappingData mappingData) {
+        if (ctx == null || mappingData.isDefaultContext) {
+            return;
+        }
+
+        final int contextPathLength = ctx.name.length();
+        if (mappingData.wrapper == null) {
+            if (ctx.defaultWrapper == null && hasNoServletMappings(ctx) && hasNoNestedContexts(host, ctx, ctx.name)) {
+                putPrefix(cache, MappingCache.CONTEXT_PREFIX_ENTRY, host, uri, start, end, contextPathLength, mappingData);
+            }
+            return;
+        }
+
+        // the servlet path is what was mapped, rather than a welcome resource appended to it
+        if (mappingData.matchedPath == null || mappingData.matchedPath.length() != end - start - contextPathLength) {
+            return;
+        }
+
+        switch (mappingData.mappingType) {
+        case MappingData.EXACT:
+        case MappingData.CONTEXT_ROOT:
+            cache.putExact(host, uri, start, end, mappingData);
+            break;
+        case MappingData.PATH:
+            final String wrapperPath = mappingData.wrapperPath.toString();
+            if (mappingData.jspWildCard || wrapperPath == null) {
+                return;
+            }
+
+            final int prefixLength = contextPathLength + wrapperPath.length();
+            if (prefixLength == end - start) {
+                cache.putExact(host, uri, start, end, mappingData);
+            } else if (uri[start + prefixLength] == '/' && (!wrapperPath.isEmpty() || ctx.emptyPathWrapper == null)
+                    && hasNoLongerWrappers(ctx.exactWrappers, wrapperPath) && hasNoLongerWrappers(ctx.wildcardWrappers, wrapperPath)
+                    && hasNoNestedContexts(host, ctx, ctx.name + wrapperPath)) {
+                cache.putPrefix(MappingCache.WILDCARD_PREFIX_ENTRY, host, uri, start, contextPathLength, start + prefixLength, mappingData);
+            }
+            break;
+        case MappingData.DEFAULT:
+            if (ctx.defaultWrapper != null && mappingData.wrapper == ctx.defaultWrapper.object && hasNoServletMappings(ctx)
+                    && hasNoNestedContexts(host, ctx, ctx.name)) {
+                putPrefix(cache, MappingCache.DEFAULT_PREFIX_ENTRY, host, uri, start, end, contextPathLength, mappingData);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static void putPrefix(final MappingCache cache, final byte kind, final Host host, final char[] uri, final int start,
+            final int end, final int contextPathLength, final MappingData mappingData) {
+        final int prefixEnd = start + contextPathLength;
+        if (prefixEnd < end && uri[prefixEnd] == '/') {
+            cache.putPrefix(kind, host, uri, start, contextPathLength, prefixEnd, mappingData);
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if the context maps every servlet path to its default servlet (if any)
+     */
+    private static boolean hasNoServletMappings(final Context ctx) {
+        return ctx.emptyPathWrapper == null && ctx.exactWrappers.length == 0 && ctx.wildcardWrappers.length == 0
+                && ctx.extensionWrappers.length == 0;
+    }
+
+    /**
+     * @return <tt>true</tt> if none of the wrappers could match a longer servlet path than the given wrapper path
+     */
+    private static boolean hasNoLongerWrappers(final Wrapper[] wrappers, final String wrapperPath) {
+        for (Wrapper wrapper : wrappers) {
+            if (wrapper.name.length() > wrapperPath.length() && wrapper.name.startsWith(wrapperPath)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return <tt>true</tt> if none of the host's contexts could win the context mapping for a URI under the prefix
+     */
+    private static boolean hasNoNestedContexts(final Host host, final Context ctx, final String prefix) {
+        for (Context context : host.contextList.contexts) {
+            if (context != ctx && context.name.length() > ctx.name.length() && context.name.startsWith(prefix)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -1003,16 +1118,16 @@ public class Mapper {
         }
 
         // Rule 1 -- Exact Match
-        Wrapper[] exactWrappers = context.exactWrappers;
+        final MappingTrie exactTrie = context.exactTrie;
         if (mappingData.wrapper == null) {
-            internalMapExactWrapper(exactWrappers, path, mappingData);
+            internalMapExactWrapper(exactTrie, path, mappingData);
         }
 
         // Rule 2 -- Prefix Match
         boolean checkJspWelcomeFiles = false;
-        Wrapper[] wildcardWrappers = context.wildcardWrappers;
+        final MappingTrie wildcardTrie = context.wildcardTrie;
         if (mappingData.wrapper == null) {
-            internalMapWildcardWrapper(wildcardWrappers, context.nesting, path, mappingData);
+            internalMapWildcardWrapper(wildcardTrie, path, mappingData);
             if (mappingData.wrapper != null && mappingData.jspWildCard) {
                 char[] buf = path.getBuffer();
                 if (buf[pathEnd - 1] == '/') {
@@ -1048,9 +1163,9 @@ public class Mapper {
         }
 
         // Rule 3 -- Extension Match
-        Wrapper[] extensionWrappers = context.extensionWrappers;
+        final MappingTrie extensionTrie = context.extensionTrie;
         if (mappingData.wrapper == null && !checkJspWelcomeFiles) {
-            internalMapExtensionWrapper(extensionWrappers, path, mappingData);
+            internalMapExtensionWrapper(extensionTrie, path, mappingData);
         }
 
         // Rule 4 -- Welcome resources processing for servlets
@@ -1101,16 +1216,16 @@ public class Mapper {
 
                         if (file != null && !(file instanceof DirContext)) {
                             // Rule 4a1 -- exact match
-                            internalMapExactWrapper(exactWrappers, path, mappingData);
+                            internalMapExactWrapper(exactTrie, path, mappingData);
 
                             // Rule 4a2 -- prefix match
                             if (mappingData.wrapper == null) {
-                                internalMapWildcardWrapper(wildcardWrappers, context.nesting, path, mappingData);
+                                internalMapWildcardWrapper(wildcardTrie, path, mappingData);
                             }
 
                             // Rule 4a3 -- extension match
                             if (mappingData.wrapper == null) {
-                                internalMapExtensionWrapper(extensionWrappers, path, mappingData);
+                                internalMapExtensionWrapper(extensionTrie, path, mappingData);
                             }
 
                             // Rule 4a4 use default
@@ -1138,16 +1253,16 @@ public class Mapper {
                         path.setStart(servletPath);
 
                         // Rule 4b1 -- Welcome resources processing for exact match
-                        internalMapExactWrapper(exactWrappers, path, mappingData);
+                        internalMapExactWrapper(exactTrie, path, mappingData);
 
                         // Rule 4b2 -- Welcome resources processing for prefix match
                         if (mappingData.wrapper == null) {
-                            internalMapWildcardWrapper(wildcardWrappers, context.nesting, path, mappingData);
+                            internalMapWildcardWrapper(wildcardTrie, path, mappingData);
                         }
 
                         // Rule 4b3 -- Welcome resources processing for extension match
                         if (mappingData.wrapper == null) {
-                            internalMapExtensionWrapper(extensionWrappers, path, mappingData);
+                            internalMapExtensionWrapper(extensionTrie, path, mappingData);
                         }
 
                         // cannot use jsp as the file does not exist
@@ -1225,14 +1340,14 @@ public class Mapper {
     /**
      * Exact mapping.
      */
-    private void internalMapExactWrapper(Wrapper[] wrappers, CharChunk path, MappingData mappingData) {
-        int pos = find(wrappers, path);
-        if (pos != -1 && path.equals(wrappers[pos].name)) {
-            mappingData.requestPath.setString(wrappers[pos].name);
-            mappingData.wrapperPath.setString(wrappers[pos].name);
-            mappingData.wrapper = wrappers[pos].object;
-            mappingData.servletName = wrappers[pos].servletName;
-            mappingData.descriptorPath = wrappers[pos].path;
+    private void internalMapExactWrapper(MappingTrie wrappers, CharChunk path, MappingData mappingData) {
+        final Wrapper wrapper = (Wrapper) wrappers.findExact(path.getBuffer(), path.getStart(), path.getEnd());
+        if (wrapper != null) {
+            mappingData.requestPath.setString(wrapper.name);
+            mappingData.wrapperPath.setString(wrapper.name);
+            mappingData.wrapper = wrapper.object;
+            mappingData.servletName = wrapper.servletName;
+            mappingData.descriptorPath = wrapper.path;
             mappingData.matchedPath = path.toString();
             mappingData.mappingType = "/".equals(mappingData.matchedPath) ? MappingData.DEFAULT : MappingData.EXACT;
         }
@@ -1241,55 +1356,28 @@ public class Mapper {
     /**
      * Wildcard mapping.
      */
-    private void internalMapWildcardWrapper(Wrapper[] wrappers, int nesting, CharChunk path, MappingData mappingData) {
-
-        int pathEnd = path.getEnd();
-
-        int lastSlash = -1;
-        int length = -1;
-        int pos = find(wrappers, path);
-        if (pos != -1) {
-            boolean found = false;
-            while (pos >= 0) {
-                if (path.startsWith(wrappers[pos].name)) {
-                    length = wrappers[pos].name.length();
-                    if (path.getLength() == length) {
-                        found = true;
-                        break;
-                    } else if (path.startsWithIgnoreCase("/", length)) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (lastSlash == -1) {
-                    lastSlash = nthSlash(path, nesting + 1);
-                } else {
-                    lastSlash = lastSlash(path);
-                }
-                path.setEnd(lastSlash);
-                pos = find(wrappers, path);
-            }
-            path.setEnd(pathEnd);
-            if (found) {
-                mappingData.wrapperPath.setString(wrappers[pos].name);
-                if (path.getLength() > length) {
-                    mappingData.pathInfo.setChars(path.getBuffer(), path.getStart() + length, path.getEnd());
-                }
-                mappingData.requestPath.setChars(path.getBuffer(), path.getStart(), path.getEnd());
-                mappingData.wrapper = wrappers[pos].object;
-                mappingData.servletName = wrappers[pos].servletName;
-                mappingData.jspWildCard = wrappers[pos].jspWildCard;
-                mappingData.mappingType = MappingData.PATH;
-                mappingData.descriptorPath = wrappers[pos].path;
-                mappingData.matchedPath = path.toString();
+    private void internalMapWildcardWrapper(MappingTrie wrappers, CharChunk path, MappingData mappingData) {
+        final Wrapper wrapper = (Wrapper) wrappers.findLongestPrefix(path.getBuffer(), path.getStart(), path.getEnd());
+        if (wrapper != null) {
+            final int length = wrapper.name.length();
+            mappingData.wrapperPath.setString(wrapper.name);
+            if (path.getLength() > length) {
+                mappingData.pathInfo.setChars(path.getBuffer(), path.getStart() + length, path.getEnd());
             }
+            mappingData.requestPath.setChars(path.getBuffer(), path.getStart(), path.getEnd());
+            mappingData.wrapper = wrapper.object;
+            mappingData.servletName = wrapper.servletName;
+            mappingData.jspWildCard = wrapper.jspWildCard;
+            mappingData.mappingType = MappingData.PATH;
+            mappingData.descriptorPath = wrapper.path;
+            mappingData.matchedPath = path.toString();
         }
     }
 
     /**
      * Extension mappings.
      */
-    private void internalMapExtensionWrapper(Wrapper[] wrappers, CharChunk path, MappingData mappingData) {
+    private void internalMapExtensionWrapper(MappingTrie wrappers, CharChunk path, MappingData mappingData) {
         char[] buf = path.getBuffer();
         int pathEnd = path.getEnd();
         int servletPath = path.getStart();
@@ -1309,73 +1397,32 @@ public class Mapper {
                 }
             }
             if (period >= 0) {
-                path.setStart(period + 1);
-                path.setEnd(pathEnd);
-                int pos = find(wrappers, path);
-                if (pos != -1 && path.equals(wrappers[pos].name)) {
+                final Wrapper wrapper = (Wrapper) wrappers.findExact(buf, period + 1, pathEnd);
+                if (wrapper != null) {
                     mappingData.wrapperPath.setChars(buf, servletPath, pathEnd);
                     mappingData.requestPath.setChars(buf, servletPath, pathEnd);
-                    mappingData.wrapper = wrappers[pos].object;
-                    mappingData.servletName = wrappers[pos].servletName;
+                    mappingData.wrapper = wrapper.object;
+                    mappingData.servletName = wrapper.servletName;
                     mappingData.mappingType = MappingData.EXTENSION;
-                    mappingData.descriptorPath = wrappers[pos].path;
+                    mappingData.descriptorPath = wrapper.path;
                 }
-                path.setStart(servletPath);
-                path.setEnd(pathEnd);
                 mappingData.matchedPath = path.toString();
             }
         }
     }
 
     /**
-     * Find a map element given its name in a sorted array of map elements. This will return the index for the closest
-     * inferior or equal item in the given array.
+     * Creates the mapping results cache of the given size, or returns <tt>null</tt> if caching is disabled.
      */
-    private static int find(MapElement[] map, CharChunk name) {
-        return find(map, name, name.getStart(), name.getEnd());
+    private static MappingCache createMappingCache(final int size) {
+        return size > 0 ? new MappingCache(size) : null;
     }
 
     /**
-     * Find a map element given its name in a sorted array of map elements. This will return the index for the closest
-     * inferior or equal item in the given array.
+     * Drops all the cached mapping results. Must be called after every change of the mapping configuration.
      */
-    private static int find(MapElement[] map, CharChunk name, int start, int end) {
-
-        int a = 0;
-        int b = map.length - 1;
-
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
-        }
-
-        if (compare(name, start, end, map[0].name) < 0) {
-            return -1;
-        }
-        if (b == 0) {
-            return 0;
-        }
-
-        int i;
-        while (true) {
-            i = b + a >>> 1;
-            int result = compare(name, start, end, map[i].name);
-            if (result == 1) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if (b - a == 1) {
-                int result2 = compare(name, start, end, map[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
-                }
-            }
-        }
+    private void invalidateMappingCache() {
+        mappingCache = createMappingCache(mappingCacheSize);
     }
 
 //    /**
@@ -1528,33 +1575,6 @@ public class Mapper {
 
     }
 
-    /**
-     * Compare given char chunk with String. Return -1, 0 or +1 if inferior, equal, or superior to the String.
-     */
-    private static int compare(CharChunk name, int start, int end, String compareTo) {
-        int result = 0;
-        char[] c = name.getBuffer();
-        int len = compareTo.length();
-        if (end - start < len) {
-            len = end - start;
-        }
-        for (int i = 0; i < len && result == 0; i++) {
-            if (c[i + start] > compareTo.charAt(i)) {
-                result = 1;
-            } else if (c[i + start] < compareTo.charAt(i)) {
-                result = -1;
-            }
-        }
-        if (result == 0) {
-            if (compareTo.length() > end - start) {
-                result = -1;
-            } else if (compareTo.length() < end - start) {
-                result = 1;
-            }
-        }
-        return result;
-    }
-
     /**
      * Compare given char chunk with String ignoring case. Return -1, 0 or +1 if inferior, equal, or superior to the String.
      */
@@ -1611,47 +1631,6 @@ public class Mapper {
         return result;
     }
 
-    /**
-     * Find the position of the last slash in the given char chunk.
-     */
-    private static int lastSlash(CharChunk name) {
-
-        char[] c = name.getBuffer();
-        int end = name.getEnd();
-        int start = name.getStart();
-        int pos = end;
-
-        while (pos > start) {
-            if (c[--pos] == '/') {
-                break;
-            }
-        }
-
-        return pos;
-
-    }
-
-    /**
-     * Find the position of the nth slash, in the given char chunk.
-     */
-    private static int nthSlash(CharChunk name, int n) {
-
-        char[] c = name.getBuffer();
-        int end = name.getEnd();
-        int pos = name.getStart();
-        int count = 0;
-
-        while (pos < end) {
-            if (c[pos++] == '/' && ++count == n) {
-                pos--;
-                break;
-            }
-        }
-
-        return pos;
-
-    }
-
     /**
      * Return the slash count in a given string.
      */
@@ -1761,6 +1740,7 @@ public class Mapper {
 
         public Context[] contexts = new Context[0];
         public int nesting = 0;
+        MappingTrie contextTrie = MappingTrie.EMPTY;
 
     }
 
@@ -1778,6 +1758,9 @@ public class Mapper {
         public Wrapper[] wildcardWrappers = new Wrapper[0];
         public Wrapper[] extensionWrappers = new Wrapper[0];
         public int nesting = 0;
+        MappingTrie exactTrie = MappingTrie.EMPTY;
+        MappingTrie wildcardTrie = MappingTrie.EMPTY;
+        MappingTrie extensionTrie = MappingTrie.EMPTY;
 
     }
 
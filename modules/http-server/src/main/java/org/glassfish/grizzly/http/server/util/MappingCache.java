@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.glassfish.grizzly.http.util.DataChunk;
+
+/**
+ * Bounded mapping results cache used by the {@link Mapper}, keyed by the virtual host and the resolved URI prefix.
+ *
+ * An exact entry is keyed by the whole URI and caches an exact (or context root) mapping, so the number of such keys is
+ * bounded by the mapping configuration rather than by the request URIs. A prefix entry is keyed by the part of the URI,
+ * which determined the mapping: the context path plus the wildcard wrapper path, or just the context path if every
+ * URI of the context goes to its default wrapper. It's applied to every URI under that prefix, the request path and
+ * the path info are taken from the URI. Once the cache is full, the entries are evicted using the clock (second
+ * chance) algorithm.
+ *
+ * The cache is never updated in place: every change of the {@link Mapper} configuration replaces the whole cache
+ * instance, so a cached result can't outlive the mapping it was computed from.
+ */
+final class MappingCache {
+
+    /**
+     * The cached result of the exact URI mapping
+     */
+    static final byte EXACT_ENTRY = 0;
+    /**
+     * The cached result of the wildcard wrapper mapping, which applies to all the URIs under the prefix
+     */
+    static final byte WILDCARD_PREFIX_ENTRY = 1;
+    /**
+     * The cached result of the default wrapper mapping, which applies to all the URIs under the context path
+     */
+    static final byte DEFAULT_PREFIX_ENTRY = 2;
+    /**
+     * The cached result of the context mapping, if the context has no wrappers
+     */
+    static final byte CONTEXT_PREFIX_ENTRY = 3;
+
+    private final int maxEntries;
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    // the clock of the cached keys, guarded by this
+    private final Key[] clock;
+    private int clockSize;
+    private int clockHand;
+
+    MappingCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+        clock = new Key[maxEntries];
+    }
+
+    /**
+     * Applies the cached mapping result for the given host and URI to the {@link MappingData}. The exact entry of the
+     * URI is looked up first, then the prefix entries from the longest prefix to the shortest one.
+     *
+     * @return <tt>true</tt> if the result was found in cache, or <tt>false</tt> otherwise
+     */
+    boolean apply(final Object host, final char[] uri, final int start, final int end, final MappingData mappingData) {
+        final Key probe = mappingData.cacheKey;
+        probe.prepare(host, uri, start, end);
+        try {
+            Entry entry = entries.get(probe);
+            while (entry == null && probe.nextPrefix()) {
+                entry = entries.get(probe);
+            }
+
+            if (entry == null) {
+                return false;
+            }
+
+            entry.applyTo(uri, start, end, mappingData);
+            return true;
+        } finally {
+            probe.reset();
+        }
+    }
+
+    /**
+     * Stores the result of the exact mapping of the given URI.
+     */
+    void putExact(final Object host, final char[] uri, final int start, final int end, final MappingData mappingData) {
+        put(newKey(host, uri, start, end, false), new Entry(EXACT_ENTRY, 0, 0, mappingData));
+    }
+
+    /**
+     * Stores the mapping result, which applies to all the URIs under the given prefix.
+     *
+     * @param kind {@link #WILDCARD_PREFIX_ENTRY}, {@link #DEFAULT_PREFIX_ENTRY} or {@link #CONTEXT_PREFIX_ENTRY}
+     * @param contextPathLength the length of the context path at the beginning of the URI
+     * @param prefixEnd the end of the prefix in the URI array, the prefix has to be followed by a <tt>'/'</tt>
+     */
+    void putPrefix(final byte kind, final Object host, final char[] uri, final int start, final int contextPathLength, final int prefixEnd,
+            final MappingData mappingData) {
+        put(newKey(host, uri, start, prefixEnd, true), new Entry(kind, contextPathLength, prefixEnd - start, mappingData));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private synchronized void put(final Key key, final Entry entry) {
+        if (entries.containsKey(key)) {
+            return;
+        }
+
+        if (clockSize < maxEntries) {
+            clock[clockSize++] = key;
+        } else {
+            // second chance: skip and clear the entries, which were hit since the hand passed them last time
+            while (true) {
+                final Entry candidate = entries.get(clock[clockHand]);
+                if (candidate == null || !candidate.isReferenced) {
+                    break;
+                }
+
+                candidate.isReferenced = false;
+                clockHand = (clockHand + 1) % maxEntries;
+            }
+
+            entries.remove(clock[clockHand]);
+            clock[clockHand] = key;
+            clockHand = (clockHand + 1) % maxEntries;
+        }
+
+        entries.put(key, entry);
+    }
+
+    private static Key newKey(final Object host, final char[] uri, final int start, final int end, final boolean isPrefix) {
+        final Key key = new Key();
+        key.prepare(host, Arrays.copyOfRange(uri, start, end), 0, end - start);
+        key.isPrefix = isPrefix;
+        return key;
+    }
+
+    // -------------------------------------------------------- Key Inner Class
+
+    static final class Key {
+
+        private Object host;
+        private char[] chars;
+        private int start;
+        private int end;
+        private int hash;
+        private boolean isPrefix;
+
+        // the ends and hashes of the URI prefixes followed by '/', the probe goes from the last one to the first one
+        private int[] prefixEnds = new int[8];
+        private int[] prefixHashes = new int[8];
+        private int prefixCount;
+
+        /**
+         * Sets the key to the whole URI and records its prefixes, which end before a <tt>'/'</tt>.
+         */
+        void prepare(final Object host, final char[] chars, final int start, final int end) {
+            this.host = host;
+            this.chars = chars;
+            this.start = start;
+            this.end = end;
+            isPrefix = false;
+            prefixCount = 0;
+
+            int h = System.identityHashCode(host);
+            for (int i = start; i < end; i++) {
+                final char c = chars[i];
+                if (c == '/') {
+                    if (prefixCount == prefixEnds.length) {
+                        prefixEnds = Arrays.copyOf(prefixEnds, prefixCount * 2);
+                        prefixHashes = Arrays.copyOf(prefixHashes, prefixCount * 2);
+                    }
+
+                    prefixEnds[prefixCount] = i;
+                    prefixHashes[prefixCount++] = h;
+                }
+                h = 31 * h + c;
+            }
+            hash = h;
+        }
+
+        /**
+         * Switches the key to the next shorter URI prefix.
+         *
+         * @return <tt>false</tt> if there are no more prefixes
+         */
+        boolean nextPrefix() {
+            if (prefixCount == 0) {
+                return false;
+            }
+
+            prefixCount--;
+            end = prefixEnds[prefixCount];
+            hash = prefixHashes[prefixCount];
+            isPrefix = true;
+            return true;
+        }
+
+        void reset() {
+            host = null;
+            chars = null;
+        }
+
+        @Override
+        public int hashCode() {
+            return isPrefix ? ~hash : hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) o;
+            if (host != other.host || isPrefix != other.isPrefix || hash != other.hash || end - start != other.end - other.start) {
+                return false;
+            }
+
+            final char[] otherChars = other.chars;
+            for (int i = start, j = other.start; i < end; i++, j++) {
+                if (chars[i] != otherChars[j]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // ------------------------------------------------------ Entry Inner Class
+
+    private static final class Entry {
+
+        private final byte kind;
+        private final int contextPathLength;
+        private final int prefixLength;
+
+        private final byte mappingType;
+        private final Object host;
+        private final Object context;
+        private final Object wrapper;
+        private final String servletName;
+        private final String descriptorPath;
+        private final String matchedPath;
+        private final boolean jspWildCard;
+        private final boolean isDefaultContext;
+        private final String contextPath;
+        private final String requestPath;
+        private final String wrapperPath;
+        private final String pathInfo;
+
+        // the clock reference bit
+        private volatile boolean isReferenced;
+
+        private Entry(final byte kind, final int contextPathLength, final int prefixLength, final MappingData mappingData) {
+            this.kind = kind;
+            this.contextPathLength = contextPathLength;
+            this.prefixLength = prefixLength;
+
+            mappingType = mappingData.mappingType;
+            host = mappingData.host;
+            context = mappingData.context;
+            wrapper = mappingData.wrapper;
+            servletName = mappingData.servletName;
+            descriptorPath = mappingData.descriptorPath;
+            matchedPath = mappingData.matchedPath;
+            jspWildCard = mappingData.jspWildCard;
+            isDefaultContext = mappingData.isDefaultContext;
+            contextPath = mappingData.contextPath.toString();
+            requestPath = mappingData.requestPath.toString();
+            wrapperPath = mappingData.wrapperPath.toString();
+            pathInfo = mappingData.pathInfo.toString();
+        }
+
+        private void applyTo(final char[] uri, final int start, final int end, final MappingData mappingData) {
+            if (!isReferenced) {
+                isReferenced = true;
+            }
+
+            mappingData.mappingType = mappingType;
+            mappingData.host = host;
+            mappingData.context = context;
+            mappingData.wrapper = wrapper;
+            mappingData.servletName = servletName;
+            mappingData.descriptorPath = descriptorPath;
+            mappingData.jspWildCard = jspWildCard;
+            mappingData.isDefaultContext = isDefaultContext;
+            setIfNotNull(mappingData.contextPath, contextPath);
+
+            switch (kind) {
+            case EXACT_ENTRY:
+                mappingData.matchedPath = matchedPath;
+                setIfNotNull(mappingData.requestPath, requestPath);
+                setIfNotNull(mappingData.wrapperPath, wrapperPath);
+                setIfNotNull(mappingData.pathInfo, pathInfo);
+                break;
+            case WILDCARD_PREFIX_ENTRY:
+                mappingData.requestPath.setChars(uri, start + contextPathLength, end);
+                mappingData.wrapperPath.setString(wrapperPath);
+                mappingData.pathInfo.setChars(uri, start + prefixLength, end);
+                mappingData.matchedPath = mappingData.requestPath.toString();
+                break;
+            case DEFAULT_PREFIX_ENTRY:
+                mappingData.requestPath.setChars(uri, start + contextPathLength, end);
+                mappingData.wrapperPath.setChars(uri, start + contextPathLength, end);
+                mappingData.matchedPath = mappingData.requestPath.toString();
+                break;
+            default:
+                break;
+            }
+        }
+
+        private static void setIfNotNull(final DataChunk dataChunk, final String value) {
+            if (value != null) {
+                dataChunk.setString(value);
+            }
+        }
+    }
+}
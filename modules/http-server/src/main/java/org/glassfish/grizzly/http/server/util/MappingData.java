@@ -57,6 +57,9 @@ public class MappingData {
 
     public final DataChunk tmpMapperDC = DataChunk.newInstance();
 
+    // reusable key to look up the Mapper's cache without allocations
+    final MappingCache.Key cacheKey = new MappingCache.Key();
+
     public void recycle() {
         mappingType = UNKNOWN;
         host = null;
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.util;
+
+import org.glassfish.grizzly.http.server.util.Mapper.MapElement;
+
+/**
+ * Immutable character trie over the names of a {@link MapElement} array, which lets the {@link Mapper} resolve exact and
+ * longest-prefix matches with a single pass over the decoded URI instead of repeated binary searches and string
+ * comparisons.
+ *
+ * The trie is never modified once built: the {@link Mapper} builds a new instance every time the element array it
+ * mirrors is replaced, so lookups may run concurrently with registrations.
+ */
+final class MappingTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    static final MappingTrie EMPTY = new MappingTrie(new Node(), false);
+    static final MappingTrie EMPTY_IGNORE_CASE = new MappingTrie(new Node(), true);
+
+    private final Node root;
+    private final boolean ignoreCase;
+
+    private MappingTrie(final Node root, final boolean ignoreCase) {
+        this.root = root;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Builds the trie for the given elements.
+     *
+     * @param elements the {@link MapElement}s to index by name
+     * @param ignoreCase <tt>true</tt> if names have to be matched in case-insensitive manner (ASCII only)
+     */
+    static MappingTrie build(final MapElement[] elements, final boolean ignoreCase) {
+        if (elements == null || elements.length == 0) {
+            return ignoreCase ? EMPTY_IGNORE_CASE : EMPTY;
+        }
+
+        final Node root = new Node();
+        for (final MapElement element : elements) {
+            final String name = element.name;
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.getOrAddChild(fold(name.charAt(i), ignoreCase));
+            }
+
+            if (node.value == null) {
+                node.value = element;
+            }
+        }
+
+        return new MappingTrie(root, ignoreCase);
+    }
+
+    /**
+     * @return the element, whose name is equal to the given char sequence, or <tt>null</tt>
+     */
+    MapElement findExact(final char[] buffer, final int start, final int end) {
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            node = node.getChild(fold(buffer[i], ignoreCase));
+            if (node == null) {
+                return null;
+            }
+        }
+
+        return node.value;
+    }
+
+    /**
+     * @return the element, whose name is equal to the given {@link String}, or <tt>null</tt>
+     */
+    MapElement findExact(final String name) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getChild(fold(name.charAt(i), ignoreCase));
+            if (node == null) {
+                return null;
+            }
+        }
+
+        return node.value;
+    }
+
+    /**
+     * Finds the element with the longest name, which is a prefix of the given char sequence and is followed either by
+     * '/' or by the end of the sequence. This is the servlet path-prefix (and context path) matching rule.
+     *
+     * @return the longest matching element or <tt>null</tt>
+     */
+    MapElement findLongestPrefix(final char[] buffer, final int start, final int end) {
+        Node node = root;
+        MapElement match = null;
+        for (int i = start;; i++) {
+            if (node.value != null && (i == end || buffer[i] == '/')) {
+                match = node.value;
+            }
+
+            if (i == end) {
+                return match;
+            }
+
+            node = node.getChild(fold(buffer[i], ignoreCase));
+            if (node == null) {
+                return match;
+            }
+        }
+    }
+
+    private static char fold(final char c, final boolean ignoreCase) {
+        return ignoreCase && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    // ------------------------------------------------------- Node Inner Class
+
+    private static final class Node {
+
+        // children labels are kept sorted, so lookups can use binary search
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private MapElement value;
+
+        private Node getChild(final char c) {
+            final char[] localLabels = labels;
+            int low = 0;
+            int high = localLabels.length - 1;
+
+            while (low <= high) {
+                final int mid = low + high >>> 1;
+                final char label = localLabels[mid];
+                if (label < c) {
+                    low = mid + 1;
+                } else if (label > c) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+
+            return null;
+        }
+
+        private Node getOrAddChild(final char c) {
+            int pos = 0;
+            while (pos < labels.length && labels[pos] < c) {
+                pos++;
+            }
+
+            if (pos < labels.length && labels[pos] == c) {
+                return children[pos];
+            }
+
+            final int size = labels.length;
+            final char[] newLabels = new char[size + 1];
+            final Node[] newChildren = new Node[size + 1];
+            System.arraycopy(labels, 0, newLabels, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(labels, pos, newLabels, pos + 1, size - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, size - pos);
+
+            final Node child = new Node();
+            newLabels[pos] = c;
+            newChildren[pos] = child;
+
+            labels = newLabels;
+            children = newChildren;
+
+            return child;
+        }
+    }
+}
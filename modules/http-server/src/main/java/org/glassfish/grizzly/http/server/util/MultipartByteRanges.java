@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The <tt>multipart/byteranges</tt> framing of a multi-range 206 response. The framing (part headers and the closing
+ * delimiter) is pre-encoded once, so the body can be written as a sequence of framing bytes interleaved with the
+ * representation ranges, and the content length is known before the body is sent.
+ */
+public final class MultipartByteRanges {
+
+    private static final byte[] CLOSE_DELIMITER_SUFFIX = "--\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final List<ByteRange> ranges;
+    private final String boundary;
+    private final byte[][] partHeaders;
+    private final byte[] closeDelimiter;
+    private final long contentLength;
+
+    /**
+     * @param ranges the ranges to be served, as returned by {@link ByteRange#parse(String, long)}
+     * @param contentType the content type of the representation or <tt>null</tt>
+     * @param completeLength the length of the complete representation
+     */
+    public MultipartByteRanges(final List<ByteRange> ranges, final String contentType, final long completeLength) {
+        this.ranges = ranges;
+        boundary = "grizzly-" + Long.toHexString(ThreadLocalRandom.current().nextLong()) + Long.toHexString(System.nanoTime());
+
+        final int size = ranges.size();
+        partHeaders = new byte[size][];
+
+        long length = 0;
+        final StringBuilder sb = new StringBuilder(128);
+        for (int i = 0; i < size; i++) {
+            final ByteRange range = ranges.get(i);
+            sb.setLength(0);
+            if (i > 0) {
+                sb.append("\r\n");
+            }
+            sb.append("--").append(boundary).append("\r\n");
+            if (contentType != null) {
+                sb.append("Content-Type: ").append(contentType).append("\r\n");
+            }
+            sb.append("Content-Range: ").append(range.toContentRange(completeLength)).append("\r\n\r\n");
+
+            partHeaders[i] = sb.toString().getBytes(StandardCharsets.US_ASCII);
+            length += partHeaders[i].length + range.getLength();
+        }
+
+        final byte[] boundaryBytes = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        closeDelimiter = new byte[boundaryBytes.length + CLOSE_DELIMITER_SUFFIX.length];
+        System.arraycopy(boundaryBytes, 0, closeDelimiter, 0, boundaryBytes.length);
+        System.arraycopy(CLOSE_DELIMITER_SUFFIX, 0, closeDelimiter, boundaryBytes.length, CLOSE_DELIMITER_SUFFIX.length);
+
+        contentLength = length + closeDelimiter.length;
+    }
+
+    /**
+     * @return the ranges
+     */
+    public List<ByteRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * @return the value of the response <tt>Content-Type</tt> header
+     */
+    public String getContentType() {
+        return "multipart/byteranges; boundary=" + boundary;
+    }
+
+    /**
+     * @return the length of the complete multipart body
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * @param idx the range index
+     * @return the framing bytes, which precede the <tt>idx</tt>-th range content
+     */
+    public byte[] getPartHeader(final int idx) {
+        return partHeaders[idx];
+    }
+
+    /**
+     * @return the framing bytes, which close the multipart body
+     */
+    public byte[] getCloseDelimiter() {
+        return closeDelimiter;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http.server;
+
+import static org.glassfish.grizzly.http.server.NetworkListener.DEFAULT_NETWORK_HOST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.grizzly.Connection;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConcurrencyLimiter}.
+ */
+public class ConcurrencyLimiterTest {
+    private static final int PORT = 18912;
+
+    @Test
+    public void testLimit() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, 2);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(1000);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testLimitAdaptation() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 100, 10).setWindowSize(10);
+
+        // the limit is fully used and the service time is stable - the limit grows
+        for (int i = 0; i < 50; i++) {
+            runWindow(limiter, limiter.getLimit(), 1000000);
+        }
+        final int grownLimit = limiter.getLimit();
+        assertTrue("The limit hasn't grown: " + limiter, grownLimit > 10);
+
+        // the service time grows proportionally to the limit - the requests are queued, the limit goes down
+        for (int i = 0; i < 50; i++) {
+            runWindow(limiter, limiter.getLimit(), limiter.getLimit() * 1000000L / 4);
+        }
+        assertTrue("The limit hasn't decreased: " + limiter, limiter.getLimit() < grownLimit);
+        assertEquals(1000000L * limiter.getLimit() / 4 / 1000, limiter.getServiceTime(TimeUnit.MICROSECONDS), 1000);
+
+        // the limit isn't used - it doesn't grow
+        final int limit = limiter.getLimit();
+        for (int i = 0; i < 50; i++) {
+            runWindow(limiter, 1, 1000000);
+        }
+        assertTrue(limiter.getLimit() <= limit);
+    }
+
+    @Test
+    public void testRequestRejection() throws Exception {
+        final CountDownLatch inService = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger rejected = new AtomicInteger();
+
+        final HttpServer server = new HttpServer();
+        final NetworkListener listener = new NetworkListener("test", DEFAULT_NETWORK_HOST, PORT);
+        listener.setConcurrencyLimiter(new ConcurrencyLimiter(1, 1, 1));
+        server.addListener(listener);
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                inService.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                response.getWriter().write("done");
+            }
+        }, "/");
+        server.getServerConfiguration().getMonitoringConfig().getWebServerConfig().addProbes(new HttpServerProbe.Adapter() {
+            @Override
+            public void onRequestRejectEvent(HttpServerFilter filter, Connection connection, Request request) {
+                rejected.incrementAndGet();
+            }
+        });
+        server.start();
+
+        try (Socket first = new Socket("localhost", PORT); Socket second = new Socket("localhost", PORT)) {
+            first.setSoTimeout(10000);
+            second.setSoTimeout(10000);
+
+            first.getOutputStream().write("GET /a HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            assertTrue(inService.await(10, TimeUnit.SECONDS));
+
+            // the limit is reached - the request is rejected and the connection is closed
+            second.getOutputStream().write("GET /b HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            final String response = readAll(second.getInputStream());
+            assertTrue(response, response.startsWith("HTTP/1.1 503 Service Unavailable\r\n"));
+            assertTrue(response, response.contains("Retry-After: 1\r\n"));
+            assertTrue(response, response.contains("Connection: close\r\n"));
+            assertEquals(1, rejected.get());
+            assertEquals(1, listener.getConcurrencyLimiter().getRejectedCount());
+
+            release.countDown();
+            final String firstResponse = readLine(first.getInputStream());
+            assertEquals("HTTP/1.1 200 OK", firstResponse);
+        } finally {
+            server.shutdownNow();
+        }
+
+        assertEquals(0, listener.getConcurrencyLimiter().getInFlight());
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void runWindow(final ConcurrencyLimiter limiter, final int concurrency, final long serviceTime) {
+        for (int i = 0; i < limiter.getWindowSize(); i += concurrency) {
+            int acquired = 0;
+            for (int j = 0; j < concurrency && limiter.tryAcquire(); j++) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(serviceTime);
+            }
+        }
+    }
+
+    private static String readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[1024];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            if (b != '\r') {
+                out.write(b);
+            }
+        }
+
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
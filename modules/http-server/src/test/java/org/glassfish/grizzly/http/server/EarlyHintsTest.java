@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http.server;
+
+import static org.glassfish.grizzly.http.server.NetworkListener.DEFAULT_NETWORK_HOST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.glassfish.grizzly.http.util.MimeHeaders;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests <tt>103 Early Hints</tt> informational responses sent by {@link Response#sendEarlyHints(MimeHeaders)}.
+ */
+public class EarlyHintsTest {
+    private static final int PORT = 18914;
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws Exception {
+        final MimeHeaders hints = new MimeHeaders();
+        hints.addValue("Link").setString("</style.css>; rel=preload; as=style");
+        hints.addValue("Link").setString("</script.js>; rel=preload; as=script");
+
+        server = new HttpServer();
+        server.addListener(new NetworkListener("test", DEFAULT_NETWORK_HOST, PORT));
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                // the same hints are sent twice
+                response.sendEarlyHints(hints);
+                response.sendEarlyHints(hints);
+                response.setHeader("X-Final", "true");
+                response.setContentType("text/plain");
+                response.getWriter().write("done " + request.getParameter("a"));
+            }
+        }, "/hints");
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.setContentLength(3);
+                response.getWriter().write("ISE");
+                response.flush();
+                try {
+                    response.sendEarlyHints(hints);
+                    response.getWriter().write("---");
+                } catch (IllegalStateException expected) {
+                }
+            }
+        }, "/late");
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testEarlyHintsKeepAlive() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            final OutputStream out = socket.getOutputStream();
+            final InputStream in = socket.getInputStream();
+
+            for (int i = 0; i < 2; i++) {
+                out.write("GET /hints?a=get HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                for (int j = 0; j < 2; j++) {
+                    final TestResponse hints = readHead(in);
+                    assertEquals("HTTP/1.1 103 Early Hints", hints.statusLine);
+                    assertEquals(2, hints.links.size());
+                    assertEquals("</style.css>; rel=preload; as=style", hints.links.get(0));
+                    assertEquals("</script.js>; rel=preload; as=script", hints.links.get(1));
+                    assertNull(hints.headers.get("Content-Length"));
+                }
+
+                final TestResponse response = readResponse(in);
+                assertEquals("HTTP/1.1 200 OK", response.statusLine);
+                assertEquals("true", response.headers.get("X-Final"));
+                assertEquals(0, response.links.size());
+                assertNull(response.headers.get("Connection"));
+                assertEquals("done get", response.body);
+            }
+        }
+    }
+
+    @Test
+    public void testEarlyHintsWithContinue() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            final OutputStream out = socket.getOutputStream();
+            final InputStream in = socket.getInputStream();
+
+            out.write(("POST /hints HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/x-www-form-urlencoded\r\n"
+                    + "Content-Length: 7\r\nExpect: 100-continue\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            assertEquals("HTTP/1.1 100 Continue", readHead(in).statusLine);
+            out.write("a=hello".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            assertEquals("HTTP/1.1 103 Early Hints", readHead(in).statusLine);
+            assertEquals("HTTP/1.1 103 Early Hints", readHead(in).statusLine);
+            // the final response is chunked after the 100 Continue
+            final TestResponse response = readHead(in);
+            assertEquals("HTTP/1.1 200 OK", response.statusLine);
+            assertEquals("true", response.headers.get("X-Final"));
+        }
+    }
+
+    @Test
+    public void testEarlyHintsHttp10() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            socket.getOutputStream().write("GET /hints?a=old HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+            final TestResponse response = readResponse(socket.getInputStream());
+            assertEquals("HTTP/1.1 200 OK", response.statusLine);
+            assertEquals("done old", response.body);
+        }
+    }
+
+    @Test
+    public void testEarlyHintsAfterCommit() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            socket.getOutputStream().write("GET /late HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+            final TestResponse response = readResponse(socket.getInputStream());
+            assertEquals("HTTP/1.1 200 OK", response.statusLine);
+            assertEquals("ISE", response.body);
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static TestResponse readHead(final InputStream in) throws IOException {
+        final TestResponse response = new TestResponse();
+        response.statusLine = readLine(in);
+
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            final int idx = line.indexOf(':');
+            final String name = line.substring(0, idx).trim();
+            final String value = line.substring(idx + 1).trim();
+            if ("Link".equalsIgnoreCase(name)) {
+                response.links.add(value);
+            } else {
+                response.headers.put(name, value);
+            }
+        }
+
+        return response;
+    }
+
+    private static TestResponse readResponse(final InputStream in) throws IOException {
+        final TestResponse response = readHead(in);
+
+        final int length = Integer.parseInt(response.headers.get("Content-Length"));
+        final byte[] body = new byte[length];
+        int read = 0;
+        while (read < length) {
+            final int n = in.read(body, read, length - read);
+            if (n == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            read += n;
+        }
+
+        response.body = new String(body, StandardCharsets.UTF_8);
+        return response;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            if (b != '\r') {
+                out.write(b);
+            }
+        }
+
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static final class TestResponse {
+        private String statusLine;
+        private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final List<String> links = new ArrayList<>();
+        private String body;
+    }
+}
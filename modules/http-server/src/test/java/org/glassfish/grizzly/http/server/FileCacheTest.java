@@ -905,6 +905,73 @@ public class FileCacheTest {
 
     }
 
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Test
+    public void testRange() throws Exception {
+        final File file = createTempFile();
+        final String fileName = file.getName();
+        final String requestPath = "/" + fileName;
+        startHttpServer(new StaticHttpHandler(file.getParent()) {
+        });
+
+        InputStream fis = new FileInputStream(file);
+        byte[] data = new byte[(int) file.length()];
+        fis.read(data);
+        fis.close();
+
+        final String pattern = new String(data);
+        final String eTag = "\"" + file.length() + '-' + file.lastModified() + '"';
+        final ReusableFuture<HttpContent> responseFuture = new ReusableFuture<>();
+        final Connection c = getConnection("localhost", PORT, responseFuture);
+
+        // the first round is served by the StaticHttpHandler, the second one by the file cache
+        for (int i = 0; i < 2; i++) {
+            HttpContent response = sendRangeRequest(c, responseFuture, requestPath, "bytes=10-19", null);
+            HttpResponsePacket header = (HttpResponsePacket) response.getHttpHeader();
+            assertEquals("206 is expected", 206, header.getStatus());
+            assertEquals("bytes 10-19/" + file.length(), header.getHeader("Content-Range"));
+            assertEquals(10, header.getContentLength());
+            assertEquals(pattern.substring(10, 20), response.getContent().toStringContent());
+
+            response = sendRangeRequest(c, responseFuture, requestPath, "bytes=-5", eTag);
+            assertEquals(206, ((HttpResponsePacket) response.getHttpHeader()).getStatus());
+            assertEquals(pattern.substring(pattern.length() - 5), response.getContent().toStringContent());
+
+            response = sendRangeRequest(c, responseFuture, requestPath, "bytes=0-4,20-24", null);
+            header = (HttpResponsePacket) response.getHttpHeader();
+            assertEquals(206, header.getStatus());
+            assertTrue(header.getContentType().startsWith("multipart/byteranges; boundary="));
+            final String body = response.getContent().toStringContent();
+            assertEquals(header.getContentLength(), body.length());
+            assertTrue(body.contains("Content-Range: bytes 0-4/" + file.length() + "\r\n\r\n" + pattern.substring(0, 5) + "\r\n--"));
+            assertTrue(body.contains("Content-Range: bytes 20-24/" + file.length() + "\r\n\r\n" + pattern.substring(20, 25) + "\r\n--"));
+            assertTrue(body.endsWith("--\r\n"));
+
+            response = sendRangeRequest(c, responseFuture, requestPath, "bytes=" + file.length() + "-", null);
+            header = (HttpResponsePacket) response.getHttpHeader();
+            assertEquals("416 is expected", 416, header.getStatus());
+            assertEquals("bytes */" + file.length(), header.getHeader("Content-Range"));
+
+            // If-Range doesn't match - the entire representation is expected
+            response = sendRangeRequest(c, responseFuture, requestPath, "bytes=10-19", "\"stale\"");
+            assertEquals(200, ((HttpResponsePacket) response.getHttpHeader()).getStatus());
+            assertEquals(pattern, response.getContent().toStringContent());
+        }
+    }
+
+    private static HttpContent sendRangeRequest(final Connection c, final ReusableFuture<HttpContent> responseFuture, final String requestPath,
+            final String range, final String ifRange) throws Exception {
+        final HttpRequestPacket.Builder builder = HttpRequestPacket.builder().method("GET").uri(requestPath).protocol("HTTP/1.1")
+                .header("Host", "localhost").header("Range", range);
+        if (ifRange != null) {
+            builder.header("If-Range", ifRange);
+        }
+
+        responseFuture.reset();
+        c.write(builder.build());
+        return responseFuture.get(10, TimeUnit.SECONDS);
+    }
+
     private void configureHttpServer() throws Exception {
         httpServer = new HttpServer();
         final NetworkListener listener = new NetworkListener("grizzly", NetworkListener.DEFAULT_NETWORK_HOST, PORT);
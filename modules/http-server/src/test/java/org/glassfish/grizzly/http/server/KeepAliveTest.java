@@ -226,6 +226,124 @@ public class KeepAliveTest extends TestCase {
         }
     }
 
+    public void testHttp11KeepAliveMaxConnectionAge() throws Exception {
+        final String msg = "Hello world #";
+
+        HttpServer server = createServer(new HttpHandler() {
+            private final AtomicInteger ai = new AtomicInteger();
+
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.setContentType("text/plain");
+                response.getWriter().write(msg + ai.getAndIncrement());
+            }
+
+        }, "/path");
+        server.getListener("grizzly").getKeepAlive().setMaxConnectionAgeInSeconds(1);
+        server.getListener("grizzly").getKeepAlive().setConnectionAgeJitter(0);
+
+        final TCPNIOTransport clientTransport = TCPNIOTransportBuilder.newInstance().build();
+        final HttpClient client = new HttpClient(clientTransport);
+
+        try {
+            server.start();
+            clientTransport.start();
+
+            Future<Connection> connectFuture = client.connect("localhost", PORT);
+            connectFuture.get(10, TimeUnit.SECONDS);
+
+            for (int i = 0; i < 3; i++) {
+                final Future<Buffer> resultFuture = client
+                        .get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1).header("Host", "localhost:" + PORT).build());
+
+                assertEquals("Hello world #" + i, resultFuture.get(10, TimeUnit.SECONDS).toStringContent());
+            }
+
+            Thread.sleep(1100);
+
+            // the connection is too old, the response is sent with "Connection: close"
+            Future<Buffer> resultFuture = client
+                    .get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1).header("Host", "localhost:" + PORT).build());
+            assertEquals("Hello world #3", resultFuture.get(10, TimeUnit.SECONDS).toStringContent());
+
+            try {
+                resultFuture = client
+                        .get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1).header("Host", "localhost:" + PORT).build());
+
+                resultFuture.get(10, TimeUnit.SECONDS);
+
+                fail("IOException expected");
+            } catch (ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+                assertTrue("IOException expected, but got" + cause.getClass() + " " + cause.getMessage(), cause instanceof IOException);
+            }
+        } finally {
+            client.close();
+            clientTransport.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    public void testHttp11KeepAliveOverloadConnectionAge() throws Exception {
+        HttpServer server = createServer(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.setContentType("text/plain");
+                response.getWriter().write("Hello world");
+            }
+
+        }, "/path");
+        server.getListener("grizzly").getKeepAlive().setOverloadConnectionsThreshold(1);
+        server.getListener("grizzly").getKeepAlive().setOverloadMaxConnectionAgeInSeconds(1);
+        server.getListener("grizzly").getKeepAlive().setConnectionAgeJitter(0);
+
+        final TCPNIOTransport clientTransport = TCPNIOTransportBuilder.newInstance().build();
+        final HttpClient client1 = new HttpClient(clientTransport);
+        final HttpClient client2 = new HttpClient(clientTransport);
+
+        try {
+            server.start();
+            clientTransport.start();
+
+            client1.connect("localhost", PORT).get(10, TimeUnit.SECONDS);
+            assertEquals("Hello world", client1.get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1)
+                    .header("Host", "localhost:" + PORT).build()).get(10, TimeUnit.SECONDS).toStringContent());
+
+            Thread.sleep(1100);
+
+            // a single connection doesn't overload the server, the age isn't limited
+            for (int i = 0; i < 2; i++) {
+                assertEquals("Hello world", client1.get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1)
+                        .header("Host", "localhost:" + PORT).build()).get(10, TimeUnit.SECONDS).toStringContent());
+            }
+
+            client2.connect("localhost", PORT).get(10, TimeUnit.SECONDS);
+            assertEquals("Hello world", client2.get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1)
+                    .header("Host", "localhost:" + PORT).build()).get(10, TimeUnit.SECONDS).toStringContent());
+
+            // overloaded, the old connection is closed after the response
+            assertEquals("Hello world", client1.get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1)
+                    .header("Host", "localhost:" + PORT).build()).get(10, TimeUnit.SECONDS).toStringContent());
+            try {
+                client1.get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1).header("Host", "localhost:" + PORT).build())
+                        .get(10, TimeUnit.SECONDS);
+
+                fail("IOException expected");
+            } catch (ExecutionException ee) {
+                assertTrue(ee.getCause() instanceof IOException);
+            }
+
+            // the new connection is young enough
+            assertEquals("Hello world", client2.get(HttpRequestPacket.builder().method("GET").uri("/path").protocol(Protocol.HTTP_1_1)
+                    .header("Host", "localhost:" + PORT).build()).get(10, TimeUnit.SECONDS).toStringContent());
+        } finally {
+            client1.close();
+            client2.close();
+            clientTransport.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
     public void testHttp11KeepAliveUnlimitedMaxRequests() throws Exception {
         final String msg = "Hello world #";
 
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http.server;
+
+import static org.glassfish.grizzly.http.server.NetworkListener.DEFAULT_NETWORK_HOST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import org.glassfish.grizzly.http.server.LaneRequestExecutorProvider.Lane;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link LaneRequestExecutorProvider}.
+ */
+public class LaneRequestExecutorProviderTest {
+    private static final int PORT = 18913;
+
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLaneIsolation() throws Exception {
+        final LaneRequestExecutorProvider provider = new LaneRequestExecutorProvider(executor, 4);
+        final Lane bulk = provider.addLane("bulk", 1, 2, -1);
+        final Lane interactive = provider.addLane("interactive", 4, 4, -1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            // the bulk lane is overloaded
+            for (int i = 0; i < 20; i++) {
+                bulk.execute(() -> await(release));
+            }
+            assertEquals(2, bulk.getActiveCount());
+            assertEquals(18, bulk.getQueueSize());
+
+            // but the interactive requests are still served by the remaining threads
+            final CountDownLatch served = new CountDownLatch(50);
+            for (int i = 0; i < 50; i++) {
+                interactive.execute(served::countDown);
+            }
+            assertTrue(served.await(10, TimeUnit.SECONDS));
+            assertEquals(2, bulk.getActiveCount());
+        } finally {
+            release.countDown();
+        }
+
+        awaitCompleted(bulk, 20);
+        assertEquals(50, interactive.getCompletedCount());
+        assertEquals(0, provider.getActiveCount());
+    }
+
+    @Test
+    public void testWeightedPriority() throws Exception {
+        final LaneRequestExecutorProvider provider = new LaneRequestExecutorProvider(executor, 1);
+        final Lane high = provider.addLane("high", 3, 1, -1);
+        final Lane low = provider.addLane("low", 1, 1, -1);
+
+        final CountDownLatch gate = new CountDownLatch(1);
+        provider.getDefaultLane().execute(() -> await(gate));
+
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 40; i++) {
+            low.execute(() -> order.add("low"));
+            high.execute(() -> order.add("high"));
+        }
+
+        gate.countDown();
+        awaitCompleted(high, 40);
+        awaitCompleted(low, 40);
+
+        // the lanes share the thread in proportion to their weights
+        assertEquals(15, Collections.frequency(order.subList(0, 20), "high"));
+        assertTrue(high.getAverageQueueWait(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void testQueueLimit() throws Exception {
+        final LaneRequestExecutorProvider provider = new LaneRequestExecutorProvider(executor, 4);
+        final Lane lane = provider.addLane("limited", 1, 1, 1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            lane.execute(() -> await(release));
+            lane.execute(() -> {
+            });
+
+            try {
+                lane.execute(() -> {
+                });
+                fail("RejectedExecutionException is expected");
+            } catch (RejectedExecutionException expected) {
+            }
+
+            assertEquals(1, lane.getRejectedCount());
+        } finally {
+            release.countDown();
+        }
+
+        awaitCompleted(lane, 2);
+    }
+
+    @Test
+    public void testRequestRouting() throws Exception {
+        final LaneRequestExecutorProvider provider = new LaneRequestExecutorProvider(executor, 4);
+        final Lane slow = provider.addLane("slow", 1, 1, 0);
+        final Lane admin = provider.addLane("admin", 2, 1, -1);
+        provider.addRule(LaneRequestExecutorProvider.pathPrefix("/slow"), slow);
+        provider.addRule(LaneRequestExecutorProvider.header("X-Lane", "admin"), admin);
+
+        final CountDownLatch inService = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final HttpServer server = new HttpServer();
+        server.addListener(new NetworkListener("test", DEFAULT_NETWORK_HOST, PORT));
+        final HttpHandler handler = new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                if (provider.selectLane(request) == slow) {
+                    inService.countDown();
+                    await(release);
+                }
+                response.getWriter().write(provider.selectLane(request).getName());
+            }
+
+            @Override
+            public RequestExecutorProvider getRequestExecutorProvider() {
+                return provider;
+            }
+        };
+        server.getServerConfiguration().addHttpHandler(handler, "/");
+        server.start();
+
+        try (Socket first = new Socket("localhost", PORT); Socket second = new Socket("localhost", PORT); Socket third = new Socket("localhost", PORT)) {
+            first.setSoTimeout(10000);
+            second.setSoTimeout(10000);
+            third.setSoTimeout(10000);
+
+            send(first, "GET /slow/1 HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            assertTrue(inService.await(10, TimeUnit.SECONDS));
+
+            // the slow lane is full and has no queue
+            send(second, "GET /slow/2 HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            assertTrue(readLine(second.getInputStream()).startsWith("HTTP/1.1 503"));
+            assertEquals(1, slow.getRejectedCount());
+
+            // the other lanes are served
+            send(third, "GET /fast HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            assertEquals("default", readBody(third.getInputStream()));
+            send(third, "GET /slowly HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            assertEquals("default", readBody(third.getInputStream()));
+            send(third, "GET /fast HTTP/1.1\r\nHost: localhost\r\nX-Lane: admin\r\n\r\n");
+            assertEquals("admin", readBody(third.getInputStream()));
+
+            release.countDown();
+            assertEquals("slow", readBody(first.getInputStream()));
+        } finally {
+            release.countDown();
+            server.shutdownNow();
+        }
+
+        assertSame(provider.getDefaultLane(), provider.getLane("default"));
+        assertEquals(1, admin.getCompletedCount());
+    }
+
+    @Test
+    public void testRejectedDispatch() throws Exception {
+        final AtomicInteger rejects = new AtomicInteger();
+        final AtomicReference<Runnable> onReject = new AtomicReference<>();
+        final Executor rejecting = task -> {
+            if (rejects.getAndDecrement() > 0) {
+                // another task is queued, while the rejected one holds the provider capacity
+                final Runnable action = onReject.getAndSet(null);
+                if (action != null) {
+                    action.run();
+                }
+                throw new RejectedExecutionException();
+            }
+            executor.execute(task);
+        };
+
+        final LaneRequestExecutorProvider provider = new LaneRequestExecutorProvider(rejecting, 1);
+        final Lane first = provider.addLane("first", 1, 1, -1);
+        final Lane second = provider.addLane("second", 1, 1, -1);
+
+        // the capacity released by the rejected task is handed to the queued one
+        rejects.set(1);
+        onReject.set(() -> second.execute(() -> {
+        }));
+        try {
+            first.execute(() -> {
+            });
+            fail("RejectedExecutionException is expected");
+        } catch (RejectedExecutionException expected) {
+        }
+
+        awaitCompleted(second, 1);
+        assertEquals(0, provider.getActiveCount());
+
+        // the queued task is rejected too: it's failed, as its submitter has already returned
+        final AtomicReference<RejectedExecutionException> rejected = new AtomicReference<>();
+        rejects.set(2);
+        onReject.set(() -> second.execute(new LaneRequestExecutorProvider.RejectableTask() {
+            @Override
+            public void run() {
+            }
+
+            @Override
+            public void reject(final RejectedExecutionException e) {
+                rejected.set(e);
+            }
+        }));
+        try {
+            first.execute(() -> {
+            });
+            fail("RejectedExecutionException is expected");
+        } catch (RejectedExecutionException expected) {
+        }
+
+        assertNotNull(rejected.get());
+        assertEquals(0, second.getQueueSize());
+        assertEquals(1, second.getRejectedCount());
+        assertEquals(0, provider.getActiveCount());
+
+        // the lanes are still served
+        second.execute(() -> {
+        });
+        awaitCompleted(second, 2);
+        assertEquals(0, provider.getActiveCount());
+    }
+
+    @Test
+    public void testPathPrefix() {
+        final Predicate<Request> rule = LaneRequestExecutorProvider.pathPrefix("/slow", "/static/");
+
+        assertTrue(rule.test(requestFor("/slow")));
+        assertTrue(rule.test(requestFor("/slow/1")));
+        assertFalse(rule.test(requestFor("/slowly")));
+        assertTrue(rule.test(requestFor("/static/logo.png")));
+        assertFalse(rule.test(requestFor("/static")));
+        assertFalse(rule.test(requestFor("/fast")));
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCompleted(final Lane lane, final int count) throws InterruptedException {
+        for (int i = 0; i < 200 && lane.getCompletedCount() < count; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(count, lane.getCompletedCount());
+    }
+
+    private static Request requestFor(final String uri) {
+        return new Request() {
+            @Override
+            public String getRequestURI() {
+                return uri;
+            }
+        };
+    }
+
+    private static void send(final Socket socket, final String request) throws IOException {
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+    }
+
+    private static String readBody(final InputStream in) throws IOException {
+        assertEquals("HTTP/1.1 200 OK", readLine(in));
+
+        int length = -1;
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            if (line.toLowerCase().startsWith("content-length:")) {
+                length = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+
+        final byte[] body = new byte[length];
+        int read = 0;
+        while (read < length) {
+            final int n = in.read(body, read, length - read);
+            if (n == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            read += n;
+        }
+
+        return new String(body, StandardCharsets.US_ASCII);
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            if (b != '\r') {
+                out.write(b);
+            }
+        }
+
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
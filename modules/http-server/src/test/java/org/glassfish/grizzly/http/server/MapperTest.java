@@ -18,6 +18,7 @@ package org.glassfish.grizzly.http.server;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.glassfish.grizzly.http.server.util.Mapper;
 import org.glassfish.grizzly.http.server.util.MappingData;
@@ -95,4 +96,178 @@ public class MapperTest {
         assertEquals(wrapper21, md.wrapper);
 
     }
+
+    @Test
+    public void testServletMappingRules() throws Exception {
+        final Mapper mapper = new Mapper();
+        mapper.setDefaultHostName("default");
+        mapper.addHost("default", new String[0], "host");
+        mapper.addContext("default", "", "root", new String[0], null);
+        mapper.addContext("default", "/app", "app", new String[0], null);
+        mapper.addContext("default", "/app/nested", "nested", new String[0], null);
+
+        mapper.addWrapper("default", "/app", "/exact", "exact");
+        mapper.addWrapper("default", "/app", "/prefix/*", "prefix");
+        mapper.addWrapper("default", "/app", "/prefix/longer/*", "longer");
+        mapper.addWrapper("default", "/app", "*.jsp", "jsp");
+        mapper.addWrapper("default", "/app", "/", "default");
+
+        final MappingData md = new MappingData();
+
+        map(mapper, "DEFAULT", "/app/exact", md);
+        assertEquals("app", md.context);
+        assertEquals("exact", md.wrapper);
+        assertEquals(MappingData.EXACT, md.mappingType);
+
+        map(mapper, "default", "/app/prefix/longer/x/y", md);
+        assertEquals("longer", md.wrapper);
+        assertEquals("/prefix/longer", md.wrapperPath.toString());
+        assertEquals("/x/y", md.pathInfo.toString());
+
+        map(mapper, "default", "/app/prefix", md);
+        assertEquals("prefix", md.wrapper);
+        assertNull(md.pathInfo.toString());
+
+        map(mapper, "default", "/app/prefixed/a.jsp", md);
+        assertEquals("jsp", md.wrapper);
+        assertEquals(MappingData.EXTENSION, md.mappingType);
+
+        map(mapper, "default", "/app/other", md);
+        assertEquals("default", md.wrapper);
+        assertEquals(MappingData.DEFAULT, md.mappingType);
+
+        map(mapper, "default", "/app/nested/x", md);
+        assertEquals("nested", md.context);
+
+        map(mapper, "default", "/application", md);
+        assertEquals("root", md.context);
+        assertEquals("", md.contextPath.toString());
+
+        map(mapper, "unknown", "/app/exact", md);
+        assertEquals("host", md.host);
+        assertEquals("exact", md.wrapper);
+    }
+
+    @Test
+    public void testManyWrappers() throws Exception {
+        final int wrappersCount = 1000;
+        final Mapper mapper = new Mapper();
+        mapper.setDefaultHostName("default");
+        mapper.addHost("default", new String[0], "host");
+        mapper.addContext("default", "/ctx", "context", new String[0], null);
+
+        final Object[] exactWrappers = new Object[wrappersCount];
+        final Object[] prefixWrappers = new Object[wrappersCount];
+        for (int i = 0; i < wrappersCount; i++) {
+            exactWrappers[i] = "exact" + i;
+            prefixWrappers[i] = "prefix" + i;
+            mapper.addWrapper("default", "/ctx", "/service" + i + "/op", exactWrappers[i]);
+            mapper.addWrapper("default", "/ctx", "/service" + i + "/*", prefixWrappers[i]);
+        }
+
+        final MappingData md = new MappingData();
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < wrappersCount; i++) {
+                map(mapper, "default", "/ctx/service" + i + "/op", md);
+                assertSame(exactWrappers[i], md.wrapper);
+
+                map(mapper, "default", "/ctx/service" + i + "/other", md);
+                assertSame(prefixWrappers[i], md.wrapper);
+                assertEquals("/other", md.pathInfo.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testCacheInvalidation() throws Exception {
+        final Mapper mapper = new Mapper();
+        mapper.setDefaultHostName("default");
+        mapper.addHost("default", new String[0], "host");
+        mapper.addContext("default", "/ctx", "context", new String[0], null);
+        mapper.addWrapper("default", "/ctx", "/*", "prefix");
+
+        final MappingData md = new MappingData();
+        map(mapper, "default", "/ctx/a", md);
+        assertEquals("prefix", md.wrapper);
+        map(mapper, "default", "/ctx/a", md);
+        assertEquals("prefix", md.wrapper);
+        assertEquals("/a", md.pathInfo.toString());
+
+        mapper.addWrapper("default", "/ctx", "/a", "exact");
+        map(mapper, "default", "/ctx/a", md);
+        assertEquals("exact", md.wrapper);
+
+        mapper.removeWrapper("default", "/ctx", "/a");
+        map(mapper, "default", "/ctx/a", md);
+        assertEquals("prefix", md.wrapper);
+
+        mapper.removeContext("default", "/ctx");
+        map(mapper, "default", "/ctx/a", md);
+        assertNull(md.context);
+
+        mapper.setMappingCacheSize(0);
+        mapper.addContext("default", "/ctx", "context2", new String[0], null);
+        map(mapper, "default", "/ctx/a", md);
+        assertEquals("context2", md.context);
+    }
+
+    @Test
+    public void testCachedPrefixMappings() throws Exception {
+        final Mapper mapper = new Mapper();
+        mapper.setMappingCacheSize(4);
+        mapper.setDefaultHostName("default");
+        mapper.addHost("default", new String[0], "host");
+        mapper.addContext("default", "", "root", new String[0], null);
+        mapper.addWrapper("default", "", "/", "rootDefault");
+        mapper.addContext("default", "/ctx", "context", new String[0], null);
+        mapper.addWrapper("default", "/ctx", "/api/*", "api");
+        mapper.addWrapper("default", "/ctx", "/api/v1/special", "special");
+        mapper.addWrapper("default", "/ctx", "/", "default");
+
+        final MappingData md = new MappingData();
+        // every URI is mapped twice, the second time the result is coming from cache
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 10; j++) {
+                map(mapper, "default", "/ctx/api/v2/" + j, md);
+                assertEquals("api", md.wrapper);
+                assertEquals("/ctx", md.contextPath.toString());
+                assertEquals("/api", md.wrapperPath.toString());
+                assertEquals("/v2/" + j, md.pathInfo.toString());
+                assertEquals("/api/v2/" + j, md.requestPath.toString());
+                assertEquals(MappingData.PATH, md.mappingType);
+
+                map(mapper, "default", "/other/" + j, md);
+                assertEquals("root", md.context);
+                assertEquals("rootDefault", md.wrapper);
+                assertEquals("/other/" + j, md.wrapperPath.toString());
+                assertEquals(MappingData.DEFAULT, md.mappingType);
+            }
+
+            // the longer exact mapping under the wildcard prefix is not shadowed by the cached prefix
+            map(mapper, "default", "/ctx/api/v1/special", md);
+            assertEquals("special", md.wrapper);
+            map(mapper, "default", "/ctx/api/v1/other", md);
+            assertEquals("api", md.wrapper);
+
+            // the prefix has to end on the path segment boundary
+            map(mapper, "default", "/ctx/apix/y", md);
+            assertEquals("default", md.wrapper);
+            assertEquals("/apix/y", md.wrapperPath.toString());
+
+            map(mapper, "default", "/ctx/api", md);
+            assertEquals("api", md.wrapper);
+            assertEquals("/api", md.wrapperPath.toString());
+            assertNull(md.pathInfo.toString());
+        }
+    }
+
+    private static void map(final Mapper mapper, final String hostName, final String path, final MappingData md) throws Exception {
+        final DataChunk host = DataChunk.newInstance();
+        host.setBytes(hostName.getBytes());
+        final DataChunk uri = DataChunk.newInstance();
+        uri.setBytes(path.getBytes());
+
+        md.recycle();
+        mapper.map(host, uri, md);
+    }
 }
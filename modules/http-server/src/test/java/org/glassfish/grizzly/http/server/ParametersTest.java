@@ -211,6 +211,57 @@ public class ParametersTest {
         }
     }
 
+    /**
+     * The rest of the form body is consumed once the parameters limit is reached.
+     */
+    @Test
+    public void testPostBodyConsumedOverParametersLimit() throws Exception {
+        final HttpServer server = createServer();
+        server.getServerConfiguration().setMaxRequestParameters(2);
+        final String body = generatePostBody(1024 * 32);
+        final String[][] paramParts = getParts(body);
+        final FutureImpl<Boolean> resultFuture = Futures.createSafeFuture();
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                try {
+                    assertEquals(paramParts[1][1], request.getParameter(paramParts[1][0]));
+                    assertEquals(null, request.getParameter(paramParts[2][0]));
+                    assertEquals(-1, request.getInputStream().read());
+                    resultFuture.result(Boolean.TRUE);
+                } catch (Throwable t) {
+                    resultFuture.failure(t);
+                }
+            }
+        }, "/*");
+
+        Socket socket = null;
+        try {
+            server.start();
+
+            socket = new Socket("localhost", PORT);
+            final PrintWriter pw = new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream())));
+            pw.print("POST /form HTTP/1.1\r\n");
+            pw.print("Host: localhost:" + PORT + "\r\n");
+            pw.print("Content-Type: application/x-www-form-urlencoded\r\n");
+            pw.print("Content-Length: " + body.length() + "\r\n");
+            pw.print("Connection: close\r\n\r\n");
+            // the parameters limit is reached before the rest of the body arrives
+            pw.print(body.substring(0, 512));
+            pw.flush();
+            Thread.sleep(500);
+            pw.print(body.substring(512));
+            pw.flush();
+
+            resultFuture.get(10, TimeUnit.SECONDS);
+        } finally {
+            server.shutdownNow();
+            if (socket != null) {
+                socket.close();
+            }
+        }
+    }
+
     // -------------------------------------------------------- Private Methods
 
     private static HttpServer createServer() {
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import static org.glassfish.grizzly.http.server.NetworkListener.DEFAULT_NETWORK_HOST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.glassfish.grizzly.http.StaticResponse;
+import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
+import org.glassfish.grizzly.http.util.HttpStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link StaticResponse}s and pre-encoded {@link HeaderBlock}s.
+ */
+public class StaticResponseTest {
+    private static final int PORT = 18895;
+
+    private static final HeaderBlock SECURITY_HEADERS = HeaderBlock.builder().header("X-Content-Type-Options", "nosniff")
+            .header("X-Frame-Options", "DENY").build();
+
+    private static final StaticResponse HEALTH = StaticResponse.builder().contentType("text/plain").header(Header.CacheControl, "no-cache")
+            .body("OK").build();
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws Exception {
+        server = new HttpServer();
+        server.addListener(new NetworkListener("test", DEFAULT_NETWORK_HOST, PORT));
+        server.getServerConfiguration().setDefaultResponseHeaders(HeaderBlock.builder().header(Header.Server, "test-server").build());
+        server.getServerConfiguration().addHttpHandler(new StaticResponseHttpHandler(HEALTH), "/health");
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.addHeaderBlock(SECURITY_HEADERS);
+                response.setContentType("application/json");
+                response.getWriter().write("{}");
+            }
+        }, "/json");
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.sendStaticResponse(StaticResponse.builder().status(HttpStatus.NOT_FOUND_404).body("none").build());
+                // ignored
+                response.getWriter().write("ignored content");
+            }
+        }, "/missing");
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testStaticResponseKeepAlive() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            final OutputStream out = socket.getOutputStream();
+            final InputStream in = socket.getInputStream();
+
+            for (int i = 0; i < 3; i++) {
+                out.write("GET /health HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                final TestResponse response = readResponse(in, false);
+                assertEquals("HTTP/1.1 200 OK", response.statusLine);
+                assertEquals("text/plain", response.headers.get("Content-Type"));
+                assertEquals("no-cache", response.headers.get("Cache-Control"));
+                assertEquals("2", response.headers.get("Content-Length"));
+                assertEquals("test-server", response.headers.get("Server"));
+                assertNotNull(response.headers.get("Date"));
+                assertNull(response.headers.get("Connection"));
+                assertEquals("OK", response.body);
+            }
+
+            // HEAD - no body
+            out.write("HEAD /health HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            TestResponse response = readResponse(in, true);
+            assertEquals("HTTP/1.1 200 OK", response.statusLine);
+            assertEquals("2", response.headers.get("Content-Length"));
+            assertEquals("", response.body);
+
+            // the content written after the static response is ignored
+            out.write("GET /missing HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            response = readResponse(in, false);
+            assertEquals("HTTP/1.1 404 Not Found", response.statusLine);
+            assertEquals("none", response.body);
+
+            out.write("GET /health HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            response = readResponse(in, false);
+            assertEquals("OK", response.body);
+            assertEquals("close", response.headers.get("Connection"));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testStaticResponseHttp10() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            socket.getOutputStream().write("GET /health HTTP/1.0\r\nConnection: keep-alive\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+            final TestResponse response = readResponse(socket.getInputStream(), false);
+            // same as for regular responses, the server's protocol version is used
+            assertEquals("HTTP/1.1 200 OK", response.statusLine);
+            assertEquals("keep-alive", response.headers.get("Connection"));
+            assertEquals("OK", response.body);
+        }
+    }
+
+    @Test
+    public void testHeaderBlocks() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+            socket.getOutputStream().write("GET /json HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+            final TestResponse response = readResponse(socket.getInputStream(), false);
+            assertEquals("HTTP/1.1 200 OK", response.statusLine);
+            assertTrue(response.headers.get("Content-Type").startsWith("application/json"));
+            assertEquals("nosniff", response.headers.get("X-Content-Type-Options"));
+            assertEquals("DENY", response.headers.get("X-Frame-Options"));
+            assertEquals("test-server", response.headers.get("Server"));
+            assertEquals("{}", response.body);
+        }
+    }
+
+    @Test
+    public void testHeaderBlockSanitizing() {
+        final HeaderBlock block = HeaderBlock.builder().header("X-Test", "a\r\nInjected: b").build();
+        assertEquals("X-Test: a  Injected: b\r\n", block.toString());
+        assertTrue(block.contains("x-test"));
+        assertFalse(block.contains("Injected"));
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static TestResponse readResponse(final InputStream in, final boolean isHead) throws IOException {
+        final TestResponse response = new TestResponse();
+        response.statusLine = readLine(in);
+
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            final int idx = line.indexOf(':');
+            response.headers.put(line.substring(0, idx).trim(), line.substring(idx + 1).trim());
+        }
+
+        final int length = isHead ? 0 : Integer.parseInt(response.headers.get("Content-Length"));
+        final byte[] body = new byte[length];
+        int read = 0;
+        while (read < length) {
+            final int n = in.read(body, read, length - read);
+            if (n == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            read += n;
+        }
+
+        response.body = new String(body, StandardCharsets.UTF_8);
+        return response;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new IOException("Unexpected EOF");
+            }
+            if (b != '\r') {
+                out.write(b);
+            }
+        }
+
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static final class TestResponse {
+        private String statusLine;
+        private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private String body;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the age of long-lived connections. Behind an L4 load balancer a keep-alive HTTP/1.1 or an HTTP/2 connection
+ * pins the client to the node it first reached. Once the connection gets too old, the client is asked to reconnect, so
+ * the load balancer may spread the clients over the nodes added after scale-out.
+ * <p>
+ * Each connection gets its own limit, randomly shortened by up to the configured jitter, so the connections opened
+ * together don't reconnect together. While more than the overload threshold connections are open, the shorter overload
+ * age limit applies, so an overloaded node sheds its connections faster.
+ *
+ * @since 4.1
+ */
+public final class ConnectionAgeLimit {
+    public static final float DEFAULT_JITTER = 0.1f;
+
+    private final long maxAgeNanos;
+    private final long overloadMaxAgeNanos;
+    private final int overloadThreshold;
+    private final float jitter;
+
+    private final AtomicInteger openConnectionsCount = new AtomicInteger();
+
+    /**
+     * @param maxAge the max connection age, values less than or equal to zero are considered as UNLIMITED
+     * @param overloadMaxAge the max connection age, which applies while more than <tt>overloadThreshold</tt> connections
+     * are open, values less than or equal to zero are considered as UNLIMITED
+     * @param overloadThreshold the number of open connections, above which the node is considered overloaded, values less
+     * than zero disable the overload mode
+     * @param jitter the fraction in <tt>[0, 1)</tt>, by which each connection's age limit is randomly shortened
+     * @param timeUnit the {@link TimeUnit} of <tt>maxAge</tt> and <tt>overloadMaxAge</tt>
+     */
+    public ConnectionAgeLimit(final long maxAge, final long overloadMaxAge, final int overloadThreshold, final float jitter,
+            final TimeUnit timeUnit) {
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("The jitter must be in [0, 1) range");
+        }
+
+        this.maxAgeNanos = maxAge > 0 ? timeUnit.toNanos(maxAge) : -1;
+        this.overloadMaxAgeNanos = overloadMaxAge > 0 && overloadThreshold >= 0 ? timeUnit.toNanos(overloadMaxAge) : -1;
+        this.overloadThreshold = overloadThreshold;
+        this.jitter = jitter;
+    }
+
+    /**
+     * @return <tt>true</tt> if neither the max connection age, nor the overload mode are configured, so no connection ever
+     * gets too old
+     */
+    public boolean isDisabled() {
+        return maxAgeNanos == -1 && overloadMaxAgeNanos == -1;
+    }
+
+    /**
+     * @return the number of connections currently open and tracked by this limit
+     */
+    public int getOpenConnectionsCount() {
+        return openConnectionsCount.get();
+    }
+
+    /**
+     * @return <tt>true</tt> if more than the overload threshold connections are open
+     */
+    public boolean isOverloaded() {
+        return overloadMaxAgeNanos != -1 && openConnectionsCount.get() > overloadThreshold;
+    }
+
+    /**
+     * Starts tracking a newly opened connection. The returned {@link Age} has to be closed, once the connection is closed.
+     *
+     * @return the {@link Age} of the new connection
+     */
+    public Age open() {
+        openConnectionsCount.incrementAndGet();
+        return new Age(System.nanoTime(), 1 - jitter * ThreadLocalRandom.current().nextFloat());
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionAgeLimit{maxAge=" + TimeUnit.NANOSECONDS.toMillis(maxAgeNanos) + "ms, overloadMaxAge="
+                + TimeUnit.NANOSECONDS.toMillis(overloadMaxAgeNanos) + "ms, overloadThreshold=" + overloadThreshold + ", jitter=" + jitter
+                + ", openConnections=" + openConnectionsCount + '}';
+    }
+
+    /**
+     * The age of a single connection.
+     */
+    public final class Age {
+        private final long openedNanos;
+        private final float factor;
+        private final AtomicBoolean isClosed = new AtomicBoolean();
+
+        private Age(final long openedNanos, final float factor) {
+            this.openedNanos = openedNanos;
+            this.factor = factor;
+        }
+
+        /**
+         * @return <tt>true</tt> if the connection has exceeded its age limit and the client should reconnect
+         */
+        public boolean isExceeded() {
+            return isExceeded(System.nanoTime());
+        }
+
+        boolean isExceeded(final long nowNanos) {
+            long limitNanos = maxAgeNanos;
+            if (isOverloaded() && (limitNanos == -1 || overloadMaxAgeNanos < limitNanos)) {
+                limitNanos = overloadMaxAgeNanos;
+            }
+
+            return limitNanos != -1 && nowNanos - openedNanos >= (long) (limitNanos * factor);
+        }
+
+        /**
+         * Stops tracking the connection. Subsequent calls have no effect.
+         */
+        public void close() {
+            if (isClosed.compareAndSet(false, true)) {
+                openConnectionsCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -16,12 +16,14 @@
 
 package org.glassfish.grizzly.http;
 
+import static org.glassfish.grizzly.http.util.HttpCodecUtils.byteBufferView;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.checkEOL;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.put;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.skipSpaces;
 import static org.glassfish.grizzly.utils.Charsets.ASCII_CHARSET;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
@@ -40,6 +42,7 @@ import org.glassfish.grizzly.http.util.Constants;
 import org.glassfish.grizzly.http.util.CookieHeaderParser;
 import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
 import org.glassfish.grizzly.http.util.MimeHeaders;
 import org.glassfish.grizzly.memory.Buffers;
 import org.glassfish.grizzly.memory.CompositeBuffer;
@@ -1068,9 +1071,10 @@ public abstract class HttpCodecFilter extends HttpBaseFilter implements Monitori
         final int limit = Math.min(input.limit(), parsingState.packetLimit);
         final int start = parsingState.start;
         int offset = parsingState.offset;
+        final ByteBuffer byteBuffer = byteBufferView(input);
 
         while (offset < limit) {
-            byte b = input.get(offset);
+            byte b = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (b == Constants.COLON) {
 
                 parsingState.headerValueStorage = mimeHeaders.addValue(input, start, offset - start);
@@ -1113,9 +1117,10 @@ public abstract class HttpCodecFilter extends HttpBaseFilter implements Monitori
         int offset = parsingState.offset;
 
         final boolean hasShift = offset != parsingState.checkpoint;
+        final ByteBuffer byteBuffer = byteBufferView(input);
 
         while (offset < limit) {
-            final byte b = input.get(offset);
+            final byte b = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (b == Constants.CR) {
                 if (isStrictHeaderValueValidationSet) {
                     parsingState.offset = offset;
@@ -1504,6 +1509,7 @@ public abstract class HttpCodecFilter extends HttpBaseFilter implements Monitori
             final MimeHeaders mimeHeaders = httpHeader.getHeaders();
             final byte[] tempEncodingBuffer = httpHeader.getTempHeaderEncodingBuffer();
             encodedBuffer = encodeMimeHeaders(memoryManager, encodedBuffer, mimeHeaders, tempEncodingBuffer);
+            encodedBuffer = encodeHeaderBlocks(memoryManager, encodedBuffer, httpHeader);
             onHttpHeadersEncoded(httpHeader, ctx);
             encodedBuffer = put(memoryManager, encodedBuffer, CRLF_BYTES);
             encodedBuffer.trim();
@@ -1608,6 +1614,15 @@ public abstract class HttpCodecFilter extends HttpBaseFilter implements Monitori
         return buffer;
     }
 
+    protected static Buffer encodeHeaderBlocks(final MemoryManager memoryManager, Buffer buffer, final HttpHeader httpHeader) {
+        final List<HeaderBlock> headerBlocks = httpHeader.headerBlocks;
+        for (int i = 0, size = headerBlocks.size(); i < size; i++) {
+            buffer = put(memoryManager, buffer, headerBlocks.get(i).getByteArray());
+        }
+
+        return buffer;
+    }
+
     protected static Buffer encodeMimeHeader(final MemoryManager memoryManager, Buffer buffer, final DataChunk name, final DataChunk value,
             final byte[] tempBuffer, final boolean encodeLastCRLF) {
 
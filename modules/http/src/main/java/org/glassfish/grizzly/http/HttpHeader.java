@@ -29,6 +29,7 @@ import org.glassfish.grizzly.http.util.ContentType;
 import org.glassfish.grizzly.http.util.ContentType.SettableContentType;
 import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
 import org.glassfish.grizzly.http.util.HeaderValue;
 import org.glassfish.grizzly.http.util.HttpUtils;
 import org.glassfish.grizzly.http.util.MimeHeaders;
@@ -85,6 +86,8 @@ public abstract class HttpHeader extends HttpPacket implements MimeHeadersPacket
     // <tt>true</tt>, if content encodings for this headers were chosen
     private boolean isContentEncodingsSelected;
 
+    final List<HeaderBlock> headerBlocks = new ArrayList<>(2);
+
     private final AttributeHolder attributes = Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createUnsafeAttributeHolder();
     private AttributeHolder activeAttributes;
 
@@ -711,7 +714,7 @@ public abstract class HttpHeader extends HttpPacket implements MimeHeadersPacket
         }
         final String result = handleGetSpecialHeader(name);
 
-        return result != null || headers.getHeader(name) != null;
+        return result != null || headers.getHeader(name) != null || headerBlocksContain(name);
     }
 
     /**
@@ -723,7 +726,41 @@ public abstract class HttpHeader extends HttpPacket implements MimeHeadersPacket
             return false;
         }
         final String result = handleGetSpecialHeader(header);
-        return result != null || headers.getHeader(header) != null;
+        return result != null || headers.getHeader(header) != null || headerBlocksContain(header.toString());
+    }
+
+    /**
+     * Adds the block of pre-encoded headers, which will be serialized after the other headers of this message. The
+     * headers of the block are not visible via {@link #getHeaders()}, it's up to the caller not to set the same headers
+     * individually.
+     *
+     * @param headerBlock the {@link HeaderBlock}
+     *
+     * @since 4.1
+     */
+    public void addHeaderBlock(final HeaderBlock headerBlock) {
+        if (headerBlock != null && !headerBlocks.contains(headerBlock)) {
+            headerBlocks.add(headerBlock);
+        }
+    }
+
+    /**
+     * @return the blocks of pre-encoded headers added to this message
+     *
+     * @since 4.1
+     */
+    public List<HeaderBlock> getHeaderBlocks() {
+        return Collections.unmodifiableList(headerBlocks);
+    }
+
+    boolean headerBlocksContain(final String name) {
+        for (int i = 0, size = headerBlocks.size(); i < size; i++) {
+            if (headerBlocks.get(i).contains(name)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -825,6 +862,7 @@ public abstract class HttpHeader extends HttpPacket implements MimeHeadersPacket
         protocolC.recycle();
         parsedProtocol = null;
         contentEncodings.clear();
+        headerBlocks.clear();
         headers.clear();
         isCommitted = false;
         isChunked = false;
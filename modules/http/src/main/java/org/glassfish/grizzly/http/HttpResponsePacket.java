@@ -65,6 +65,13 @@ public abstract class HttpResponsePacket extends HttpHeader {
      */
     private boolean acknowledgment;
 
+    private StaticResponse staticResponse;
+
+    /**
+     * The headers of the <tt>103 Early Hints</tt> informational response being sent.
+     */
+    private MimeHeaders earlyHints;
+
     /**
      * Do we allow custom reason phrase.
      */
@@ -244,6 +251,55 @@ public abstract class HttpResponsePacket extends HttpHeader {
         this.acknowledgment = acknowledgement;
     }
 
+    /**
+     * @return the {@link StaticResponse} to be sent instead of this response's status, headers and content, or
+     * <tt>null</tt>
+     *
+     * @since 4.1
+     */
+    public StaticResponse getStaticResponse() {
+        return staticResponse;
+    }
+
+    /**
+     * Sets the pre-encoded {@link StaticResponse}, which will be sent instead of this response's status, headers and
+     * content. Must be called before the response is committed.
+     *
+     * @param staticResponse the {@link StaticResponse}
+     *
+     * @since 4.1
+     */
+    public void setStaticResponse(final StaticResponse staticResponse) {
+        if (isCommitted()) {
+            throw new IllegalStateException("The response has been already committed");
+        }
+
+        this.staticResponse = staticResponse;
+    }
+
+    /**
+     * @return the headers of the <tt>103 Early Hints</tt> informational response, which is being sent ahead of this
+     * response, or <tt>null</tt>
+     *
+     * @since 4.1
+     */
+    public MimeHeaders getEarlyHints() {
+        return earlyHints;
+    }
+
+    /**
+     * Sets the headers of the <tt>103 Early Hints</tt> informational response. While set, writing this packet's header
+     * sends the informational response instead of committing this response; the status, headers and the acknowledgment
+     * state of this response are left untouched.
+     *
+     * @param earlyHints the early hints headers, or <tt>null</tt> once the informational response has been sent
+     *
+     * @since 4.1
+     */
+    public void setEarlyHints(final MimeHeaders earlyHints) {
+        this.earlyHints = earlyHints;
+    }
+
     /**
      * Mark this packet as having been acknowledged.
      */
@@ -263,6 +319,8 @@ public abstract class HttpResponsePacket extends HttpHeader {
     protected void reset() {
         httpStatus = null;
         acknowledgment = false;
+        staticResponse = null;
+        earlyHints = null;
         allowCustomReasonPhrase = true;
         isHtmlEncodingCustomReasonPhrase = true;
         reasonPhraseC.recycle();
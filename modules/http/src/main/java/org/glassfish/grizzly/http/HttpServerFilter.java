@@ -16,6 +16,7 @@
 
 package org.glassfish.grizzly.http;
 
+import static org.glassfish.grizzly.http.util.HttpCodecUtils.byteBufferView;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.findEOL;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.findSpace;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.put;
@@ -23,6 +24,7 @@ import static org.glassfish.grizzly.http.util.HttpCodecUtils.skipSpaces;
 import static org.glassfish.grizzly.http.util.HttpCodecUtils.toCheckedByteArray;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 import org.glassfish.grizzly.Buffer;
@@ -39,6 +41,7 @@ import org.glassfish.grizzly.http.util.ContentType;
 import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http.util.FastHttpDateFormat;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
 import org.glassfish.grizzly.http.util.HttpStatus;
 import org.glassfish.grizzly.http.util.HttpUtils;
 import org.glassfish.grizzly.http.util.MimeHeaders;
@@ -68,10 +71,14 @@ public class HttpServerFilter extends HttpCodecFilter {
 
     private final KeepAlive keepAlive;
 
+    private final ConnectionAgeLimit connectionAgeLimit;
+
     private String defaultResponseContentType;
     private byte[] defaultResponseContentTypeBytes;
     private byte[] defaultResponseContentTypeBytesNoCharset;
 
+    private HeaderBlock defaultResponseHeaders;
+
     private final boolean allowKeepAlive;
     private final int maxRequestHeaders;
     private final int maxResponseHeaders;
@@ -158,6 +165,7 @@ public class HttpServerFilter extends HttpCodecFilter {
 
         this.allowKeepAlive = keepAlive != null;
         this.keepAlive = allowKeepAlive ? new KeepAlive(keepAlive) : null;
+        this.connectionAgeLimit = allowKeepAlive ? createConnectionAgeLimit(this.keepAlive) : null;
 
         if (defaultResponseContentType != null && !defaultResponseContentType.isEmpty()) {
             setDefaultResponseContentType(defaultResponseContentType);
@@ -183,6 +191,26 @@ public class HttpServerFilter extends HttpCodecFilter {
         }
     }
 
+    /**
+     * @return the {@link HeaderBlock} added to every response, or <tt>null</tt>
+     * @since 4.1
+     */
+    public HeaderBlock getDefaultResponseHeaders() {
+        return defaultResponseHeaders;
+    }
+
+    /**
+     * Sets the block of pre-encoded headers (like <tt>Server</tt> or security headers), which will be added to every
+     * response. The block is serialized with a single bulk copy, so it's cheaper than adding the same headers to each
+     * response.
+     *
+     * @param defaultResponseHeaders the {@link HeaderBlock} or <tt>null</tt>
+     * @since 4.1
+     */
+    public void setDefaultResponseHeaders(final HeaderBlock defaultResponseHeaders) {
+        this.defaultResponseHeaders = defaultResponseHeaders;
+    }
+
     /**
      * The flag, which enables/disables payload support for HTTP methods, for which HTTP spec doesn't clearly state whether
      * they support payload. Known "undefined" methods are: GET, HEAD, DELETE.
@@ -245,7 +273,7 @@ public class HttpServerFilter extends HttpCodecFilter {
             if (allowKeepAlive) {
                 KeepAliveContext keepAliveContext = keepAliveContextAttr.get(httpContext);
                 if (keepAliveContext == null) {
-                    keepAliveContext = new KeepAliveContext(connection);
+                    keepAliveContext = new KeepAliveContext(connection, connectionAgeLimit != null ? connectionAgeLimit.open() : null);
                     keepAliveContextAttr.set(httpContext, keepAliveContext);
                 } else if (keepAliveQueue != null) {
                     keepAliveQueue.remove(keepAliveContext);
@@ -488,9 +516,10 @@ public class HttpServerFilter extends HttpCodecFilter {
         int offset = state.offset;
 
         boolean found = false;
+        final ByteBuffer byteBuffer = byteBufferView(input);
 
         while (offset < limit) {
-            final byte b = input.get(offset);
+            final byte b = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (b == Constants.SP || b == Constants.HT) {
                 found = true;
                 break;
@@ -720,6 +749,20 @@ public class HttpServerFilter extends HttpCodecFilter {
         boolean wasContentAlreadyEncoded = false;
         final HttpResponsePacket response = (HttpResponsePacket) header;
         if (!response.isCommitted()) {
+            final StaticResponse staticResponse = response.getStaticResponse();
+            if (staticResponse != null) {
+                final Buffer encoded = encodeStaticResponse(ctx, response.getRequest(), response, staticResponse);
+                if (!isHeaderPacket) {
+                    input.recycle();
+                }
+                return encoded;
+            }
+
+            final MimeHeaders earlyHints = response.getEarlyHints();
+            if (earlyHints != null && isHeaderPacket) {
+                return encodeEarlyHints(ctx, response, earlyHints);
+            }
+
             final HttpContent encodedHttpContent = prepareResponse(ctx, response.getRequest(), response, content);
 
             if (encodedHttpContent != null) {
@@ -735,6 +778,71 @@ public class HttpServerFilter extends HttpCodecFilter {
         return encoded;
     }
 
+    /**
+     * Serializes the pre-encoded {@link StaticResponse}: the status line, the headers and the body are copied, the cached
+     * <tt>Date</tt> value and the headers set on the response (like <tt>Connection</tt>) are spliced in.
+     */
+    private Buffer encodeStaticResponse(final FilterChainContext ctx, final HttpRequestPacket request, final HttpResponsePacket response,
+            final StaticResponse staticResponse) {
+
+        final MemoryManager memoryManager = ctx.getMemoryManager();
+        final byte[] head = staticResponse.getHead(response.getProtocol());
+        final byte[] body = staticResponse.getBody();
+
+        response.setStatus(staticResponse.getStatus());
+        response.setContentLength(body.length);
+        prepareKeepAlive(request.getProtocol(), response, true);
+
+        Buffer encodedBuffer = memoryManager.allocateAtLeast(head.length + body.length + 128);
+        encodedBuffer = put(memoryManager, encodedBuffer, head);
+        encodedBuffer = put(memoryManager, encodedBuffer, FastHttpDateFormat.getCurrentDateBytes());
+        encodedBuffer = put(memoryManager, encodedBuffer, CRLF_BYTES);
+        encodedBuffer = encodeMimeHeaders(memoryManager, encodedBuffer, response.getHeaders(), response.getTempHeaderEncodingBuffer());
+        if (defaultResponseHeaders != null) {
+            response.addHeaderBlock(defaultResponseHeaders);
+        }
+        encodedBuffer = encodeHeaderBlocks(memoryManager, encodedBuffer, response);
+        encodedBuffer = put(memoryManager, encodedBuffer, CRLF_BYTES);
+
+        if (!Method.HEAD.equals(request.getMethod())) {
+            encodedBuffer = put(memoryManager, encodedBuffer, body);
+        }
+
+        encodedBuffer.trim();
+        encodedBuffer.allowBufferDispose(true);
+
+        response.setCommitted(true);
+        // the content is already serialized, any content written later is ignored
+        response.setExpectContent(false);
+
+        HttpProbeNotifier.notifyHeaderSerialize(this, ctx.getConnection(), response, encodedBuffer);
+
+        return encodedBuffer;
+    }
+
+    /**
+     * Serializes the <tt>103 Early Hints</tt> informational response. The response itself stays uncommitted, its status,
+     * headers and keep-alive state are left for the final response.
+     */
+    private Buffer encodeEarlyHints(final FilterChainContext ctx, final HttpResponsePacket response, final MimeHeaders earlyHints) {
+        final MemoryManager memoryManager = ctx.getMemoryManager();
+
+        Buffer encodedBuffer = memoryManager.allocate(256);
+        encodedBuffer = put(memoryManager, encodedBuffer, response.getProtocol().getProtocolBytes());
+        encodedBuffer = put(memoryManager, encodedBuffer, Constants.SP);
+        encodedBuffer = put(memoryManager, encodedBuffer, HttpStatus.EARLY_HINTS_103.getStatusBytes());
+        encodedBuffer = put(memoryManager, encodedBuffer, Constants.SP);
+        encodedBuffer = put(memoryManager, encodedBuffer, HttpStatus.EARLY_HINTS_103.getReasonPhraseBytes());
+        encodedBuffer = put(memoryManager, encodedBuffer, CRLF_BYTES);
+        encodedBuffer = encodeMimeHeaders(memoryManager, encodedBuffer, earlyHints, response.getTempHeaderEncodingBuffer());
+        encodedBuffer = put(memoryManager, encodedBuffer, CRLF_BYTES);
+
+        encodedBuffer.trim();
+        encodedBuffer.allowBufferDispose(true);
+
+        return encodedBuffer;
+    }
+
     /**
      * Prepare Http response
      * 
@@ -754,6 +862,10 @@ public class HttpServerFilter extends HttpCodecFilter {
             return null;
         }
 
+        if (defaultResponseHeaders != null) {
+            response.addHeaderBlock(defaultResponseHeaders);
+        }
+
         boolean entityBody = true;
         final int statusCode = response.getStatus();
 
@@ -831,7 +943,7 @@ public class HttpServerFilter extends HttpCodecFilter {
                 if (contentTypeValue.isNull()) {
                     contentType.serializeToDataChunk(contentTypeValue);
                 }
-            } else if (defaultResponseContentType != null) {
+            } else if (defaultResponseContentType != null && !response.headerBlocksContain(Header.ContentType.toString())) {
                 final DataChunk contenTypeValue = headers.setValue(Header.ContentType);
                 if (contenTypeValue.isNull()) {
                     final String ce = response.getCharacterEncoding();
@@ -849,6 +961,17 @@ public class HttpServerFilter extends HttpCodecFilter {
             response.getHeaders().addValue(Header.Date).setBytes(FastHttpDateFormat.getCurrentDateBytes());
         }
 
+        prepareKeepAlive(requestProtocol, response, entityBody);
+
+        return encodedHttpContent;
+    }
+
+    /**
+     * Decides whether the connection is kept alive after the response and sets the <tt>Connection</tt> header
+     * accordingly.
+     */
+    private void prepareKeepAlive(final Protocol requestProtocol, final HttpResponsePacket response, final boolean entityBody) {
+        final MimeHeaders headers = response.getHeaders();
         final ProcessingState state = response.getProcessingState();
         final boolean isHttp11 = requestProtocol == Protocol.HTTP_1_1;
 
@@ -864,6 +987,9 @@ public class HttpServerFilter extends HttpCodecFilter {
             } else if (!checkKeepAliveRequestsCount(state.getHttpContext())) {
                 // We processed max allowed HTTP requests over the keep alive connection
                 state.keepAlive = false;
+            } else if (isConnectionAgeExceeded(state.getHttpContext())) {
+                // The connection is too old, let the client reconnect, possibly to another node
+                state.keepAlive = false;
             } else {
                 final DataChunk dc = headers.getValue(Header.Connection);
                 if (dc != null && !dc.isNull() && dc.equalsIgnoreCase(CLOSE_BYTES)) {
@@ -881,8 +1007,6 @@ public class HttpServerFilter extends HttpCodecFilter {
         } else if (!isHttp11 && !state.error) {
             headers.setValue(Header.Connection).setBytes(KEEPALIVE_BYTES);
         }
-
-        return encodedHttpContent;
     }
 
     @Override
@@ -960,6 +1084,13 @@ public class HttpServerFilter extends HttpCodecFilter {
 
     @Override
     public NextAction handleClose(final FilterChainContext ctx) throws IOException {
+        if (connectionAgeLimit != null) {
+            final KeepAliveContext keepAliveContext = keepAliveContextAttr.get(ctx.getConnection());
+            if (keepAliveContext != null && keepAliveContext.age != null) {
+                keepAliveContext.age.close();
+            }
+        }
+
         final ServerHttpRequestImpl httpRequest = httpRequestInProcessAttr.get(ctx.getConnection());
         if (httpRequest != null && !httpRequest.isContentBroken()) {
             // if we still have HTTP request in progress and this HTTP request
@@ -1037,6 +1168,21 @@ public class HttpServerFilter extends HttpCodecFilter {
         return isKeepAlive;
     }
 
+    private boolean isConnectionAgeExceeded(final HttpContext httpContext) {
+        if (connectionAgeLimit == null) {
+            return false;
+        }
+
+        final KeepAliveContext keepAliveContext = keepAliveContextAttr.get(httpContext);
+        return keepAliveContext.age != null && keepAliveContext.age.isExceeded();
+    }
+
+    private static ConnectionAgeLimit createConnectionAgeLimit(final KeepAlive keepAlive) {
+        final ConnectionAgeLimit limit = new ConnectionAgeLimit(keepAlive.getMaxConnectionAgeInSeconds(), keepAlive.getOverloadMaxConnectionAgeInSeconds(),
+                keepAlive.getOverloadConnectionsThreshold(), keepAlive.getConnectionAgeJitter(), TimeUnit.SECONDS);
+        return limit.isDisabled() ? null : limit;
+    }
+
     private void sendBadRequestResponse(final FilterChainContext ctx, final HttpResponsePacket response) {
         if (response.getHttpStatus().getStatusCode() < 400) {
             // 400 - Bad request
@@ -1070,9 +1216,11 @@ public class HttpServerFilter extends HttpCodecFilter {
 
     private static class KeepAliveContext {
         private final Connection connection;
+        private final ConnectionAgeLimit.Age age;
 
-        public KeepAliveContext(Connection connection) {
+        public KeepAliveContext(Connection connection, ConnectionAgeLimit.Age age) {
             this.connection = connection;
+            this.age = age;
         }
 
         private volatile long keepAliveTimeoutMillis = DelayedExecutor.UNSET_TIMEOUT;
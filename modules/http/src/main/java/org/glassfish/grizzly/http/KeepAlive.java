@@ -44,6 +44,26 @@ public final class KeepAlive implements MonitoringAware<KeepAliveProbe> {
      */
     private int maxRequestsCount = Constants.DEFAULT_MAX_KEEP_ALIVE;
 
+    /**
+     * The number of seconds a keep-alive connection may be open before it's closed after the next response.
+     */
+    private int maxConnectionAgeInSeconds = -1;
+
+    /**
+     * The fraction, by which each connection's age limit is randomly shortened.
+     */
+    private float connectionAgeJitter = ConnectionAgeLimit.DEFAULT_JITTER;
+
+    /**
+     * The number of open connections, above which the overload connection age limit applies.
+     */
+    private int overloadConnectionsThreshold = -1;
+
+    /**
+     * The number of seconds a keep-alive connection may be open, while the server is overloaded.
+     */
+    private int overloadMaxConnectionAgeInSeconds = -1;
+
     public KeepAlive() {
         monitoringConfig = new DefaultMonitoringConfig<KeepAliveProbe>(KeepAliveProbe.class) {
 
@@ -64,6 +84,10 @@ public final class KeepAlive implements MonitoringAware<KeepAliveProbe> {
         this.monitoringConfig = keepAlive.monitoringConfig;
         this.idleTimeoutInSeconds = keepAlive.idleTimeoutInSeconds;
         this.maxRequestsCount = keepAlive.maxRequestsCount;
+        this.maxConnectionAgeInSeconds = keepAlive.maxConnectionAgeInSeconds;
+        this.connectionAgeJitter = keepAlive.connectionAgeJitter;
+        this.overloadConnectionsThreshold = keepAlive.overloadConnectionsThreshold;
+        this.overloadMaxConnectionAgeInSeconds = keepAlive.overloadMaxConnectionAgeInSeconds;
     }
 
     /**
@@ -112,6 +136,106 @@ public final class KeepAlive implements MonitoringAware<KeepAliveProbe> {
         this.maxRequestsCount = maxRequestsCount;
     }
 
+    /**
+     * @return the number of seconds a keep-alive connection may be open before it's closed after the next response.
+     *
+     * @since 4.1
+     */
+    public int getMaxConnectionAgeInSeconds() {
+        return maxConnectionAgeInSeconds;
+    }
+
+    /**
+     * <p>
+     * Configures the max age of keep-alive connections. Once a connection gets older, the next response carries the
+     * <tt>Connection: close</tt> header, so the client reconnects and the load balancer may pick another node.
+     * </p>
+     *
+     * @param maxConnectionAgeInSeconds the number of seconds a keep-alive connection may be open. Values less than or
+     * equal to zero are considered as UNLIMITED.
+     *
+     * @since 4.1
+     */
+    public void setMaxConnectionAgeInSeconds(final int maxConnectionAgeInSeconds) {
+        this.maxConnectionAgeInSeconds = maxConnectionAgeInSeconds > 0 ? maxConnectionAgeInSeconds : -1;
+    }
+
+    /**
+     * @return the fraction, by which each connection's age limit is randomly shortened.
+     *
+     * @since 4.1
+     */
+    public float getConnectionAgeJitter() {
+        return connectionAgeJitter;
+    }
+
+    /**
+     * <p>
+     * Configures the jitter of the connection age limits, so the connections opened together don't get closed together.
+     * </p>
+     *
+     * @param connectionAgeJitter the fraction in <tt>[0, 1)</tt>, by which each connection's age limit is randomly
+     * shortened.
+     *
+     * @since 4.1
+     */
+    public void setConnectionAgeJitter(final float connectionAgeJitter) {
+        if (connectionAgeJitter < 0 || connectionAgeJitter >= 1) {
+            throw new IllegalArgumentException("The jitter must be in [0, 1) range");
+        }
+
+        this.connectionAgeJitter = connectionAgeJitter;
+    }
+
+    /**
+     * @return the number of open keep-alive connections, above which the overload connection age limit applies.
+     *
+     * @since 4.1
+     */
+    public int getOverloadConnectionsThreshold() {
+        return overloadConnectionsThreshold;
+    }
+
+    /**
+     * <p>
+     * Configures the number of open keep-alive connections, above which the server is considered overloaded and the
+     * {@link #getOverloadMaxConnectionAgeInSeconds() overload connection age limit} applies.
+     * </p>
+     *
+     * @param overloadConnectionsThreshold the number of open keep-alive connections. Values less than zero disable the
+     * overload mode.
+     *
+     * @since 4.1
+     */
+    public void setOverloadConnectionsThreshold(final int overloadConnectionsThreshold) {
+        this.overloadConnectionsThreshold = overloadConnectionsThreshold >= 0 ? overloadConnectionsThreshold : -1;
+    }
+
+    /**
+     * @return the number of seconds a keep-alive connection may be open, while the server is overloaded.
+     *
+     * @since 4.1
+     */
+    public int getOverloadMaxConnectionAgeInSeconds() {
+        return overloadMaxConnectionAgeInSeconds;
+    }
+
+    /**
+     * <p>
+     * Configures the max age of keep-alive connections, which applies while more than
+     * {@link #getOverloadConnectionsThreshold()} connections are open, so an overloaded server sheds its connections
+     * faster.
+     * </p>
+     *
+     * @param overloadMaxConnectionAgeInSeconds the number of seconds a keep-alive connection may be open, while the
+     * server is overloaded. Values less than or equal to zero are considered as UNLIMITED.
+     *
+     * @since 4.1
+     */
+    public void setOverloadMaxConnectionAgeInSeconds(final int overloadMaxConnectionAgeInSeconds) {
+        this.overloadMaxConnectionAgeInSeconds = overloadMaxConnectionAgeInSeconds > 0 ? overloadMaxConnectionAgeInSeconds : -1;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
+import org.glassfish.grizzly.http.util.HttpStatus;
+
+/**
+ * Immutable, completely pre-encoded HTTP response: the status line, the headers and the body are serialized once, only
+ * the cached <tt>Date</tt> header value is spliced in when the response is sent. It's meant for tiny responses, which
+ * are the same for every request, like health checks or plain-text and small JSON endpoints.
+ *
+ * The response is sent by setting it on the {@link HttpResponsePacket} via
+ * {@link HttpResponsePacket#setStaticResponse(StaticResponse)} before the response is committed. The
+ * {@link HttpServerFilter} writes the response head and the body in one {@link org.glassfish.grizzly.Buffer}, the
+ * headers set on the {@link HttpResponsePacket} (like <tt>Connection</tt>) are still serialized, but no content
+ * encodings are applied.
+ *
+ * <pre>
+ * static final StaticResponse HEALTH = StaticResponse.builder()
+ *         .contentType("text/plain")
+ *         .body("OK")
+ *         .build();
+ * </pre>
+ *
+ * @since 4.1
+ */
+public final class StaticResponse {
+    private static final byte[] DATE_PREFIX = "Date: ".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpStatus status;
+    private final HeaderBlock headers;
+    private final byte[] body;
+
+    private final byte[] http11Head;
+    private final byte[] http10Head;
+
+    private StaticResponse(final HttpStatus status, final HeaderBlock headers, final byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+
+        http11Head = encodeHead(Protocol.HTTP_1_1);
+        http10Head = encodeHead(Protocol.HTTP_1_0);
+    }
+
+    /**
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the response {@link HttpStatus}
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the response headers, including <tt>Content-Length</tt>
+     */
+    public HeaderBlock getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the response body length
+     */
+    public int getContentLength() {
+        return body.length;
+    }
+
+    /**
+     * Returns the encoded status line and headers up to the <tt>Date</tt> header value (<tt>"...\r\nDate: "</tt>).
+     */
+    byte[] getHead(final Protocol protocol) {
+        return protocol == Protocol.HTTP_1_0 ? http10Head : http11Head;
+    }
+
+    /**
+     * @return the response body, the returned array is shared and must not be modified
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    private byte[] encodeHead(final Protocol protocol) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(64 + headers.getByteArray().length);
+        out.writeBytes(protocol.getProtocolBytes());
+        out.write(' ');
+        out.writeBytes(status.getStatusBytes());
+        out.write(' ');
+        out.writeBytes(status.getReasonPhraseBytes());
+        out.write('\r');
+        out.write('\n');
+        out.writeBytes(headers.getByteArray());
+        out.writeBytes(DATE_PREFIX);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * {@link StaticResponse} builder.
+     */
+    public static final class Builder {
+        private HttpStatus status = HttpStatus.OK_200;
+        private final HeaderBlock.Builder headers = HeaderBlock.builder();
+        private byte[] body = new byte[0];
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the response status, the default is <tt>200 OK</tt>.
+         */
+        public Builder status(final HttpStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder contentType(final String contentType) {
+            headers.header(Header.ContentType, contentType);
+            return this;
+        }
+
+        public Builder header(final String name, final String value) {
+            headers.header(name, value);
+            return this;
+        }
+
+        public Builder header(final Header header, final String value) {
+            headers.header(header, value);
+            return this;
+        }
+
+        public Builder headers(final HeaderBlock block) {
+            headers.headers(block);
+            return this;
+        }
+
+        /**
+         * Sets the response body, the array is not copied and must not be modified afterwards.
+         */
+        public Builder body(final byte[] body) {
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * Sets the response body encoded using UTF-8.
+         */
+        public Builder body(final String body) {
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        public StaticResponse build() {
+            final HeaderBlock block = HeaderBlock.builder().headers(headers.build()).header(Header.ContentLength, Integer.toString(body.length)).build();
+            return new StaticResponse(status, block, body);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.util;
+
+import static org.glassfish.grizzly.http.util.HttpCodecUtils.toCheckedByteArray;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable block of pre-encoded HTTP headers.
+ *
+ * The headers, which are the same for many responses (like <tt>Server</tt>, <tt>Content-Type</tt> or security
+ * headers), may be encoded into a <tt>HeaderBlock</tt> once and then attached to every response. The block is
+ * serialized with a single bulk copy after the regular response headers, so the headers don't have to be added to and
+ * serialized through {@link MimeHeaders} for each response.
+ *
+ * <pre>
+ * static final HeaderBlock SECURITY_HEADERS = HeaderBlock.builder()
+ *         .header("X-Content-Type-Options", "nosniff")
+ *         .header("X-Frame-Options", "DENY")
+ *         .build();
+ * ...
+ * response.addHeaderBlock(SECURITY_HEADERS);
+ * </pre>
+ *
+ * @since 4.1
+ */
+public final class HeaderBlock {
+    private static final byte[] COLON_SP = { ':', ' ' };
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private final byte[] bytes;
+    private final String[] names;
+    private final String[] values;
+
+    private HeaderBlock(final byte[] bytes, final String[] names, final String[] values) {
+        this.bytes = bytes;
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return <tt>true</tt> if the block contains the header with the given name (case insensitive)
+     */
+    public boolean contains(final String name) {
+        for (String n : names) {
+            if (n.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return <tt>true</tt> if the block contains the given {@link Header}
+     */
+    public boolean contains(final Header header) {
+        return contains(header.toString());
+    }
+
+    /**
+     * @return the number of headers in the block
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param idx the header index
+     * @return the lower case name of the header with the given index
+     */
+    public String getName(final int idx) {
+        return names[idx];
+    }
+
+    /**
+     * @param idx the header index
+     * @return the value of the header with the given index, as it's encoded in the block
+     */
+    public String getValue(final int idx) {
+        return values[idx];
+    }
+
+    /**
+     * Returns the encoded headers, each one is terminated by <tt>CRLF</tt>. The returned array is shared and must not be
+     * modified.
+     *
+     * @return the encoded headers
+     */
+    public byte[] getByteArray() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, Constants.DEFAULT_HTTP_CHARSET);
+    }
+
+    /**
+     * {@link HeaderBlock} builder.
+     */
+    public static final class Builder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        private final List<String> names = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the header. The unprintable characters of the name and the value are replaced with spaces.
+         *
+         * @param name the header name
+         * @param value the header value
+         * @return this <tt>Builder</tt>
+         */
+        public Builder header(final String name, final String value) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Header name can't be empty");
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Header value can't be null");
+            }
+
+            final byte[] valueBytes = toCheckedByteArray(value);
+            out.writeBytes(toCheckedByteArray(name));
+            out.writeBytes(COLON_SP);
+            out.writeBytes(valueBytes);
+            out.writeBytes(CRLF);
+            names.add(name.toLowerCase(Locale.ENGLISH));
+            values.add(new String(valueBytes, Constants.DEFAULT_HTTP_CHARSET));
+
+            return this;
+        }
+
+        /**
+         * Adds the header.
+         *
+         * @param header the {@link Header}
+         * @param value the header value
+         * @return this <tt>Builder</tt>
+         */
+        public Builder header(final Header header, final String value) {
+            return header(header.toString(), value);
+        }
+
+        /**
+         * Adds all the headers of the given block.
+         *
+         * @param block the {@link HeaderBlock}
+         * @return this <tt>Builder</tt>
+         */
+        public Builder headers(final HeaderBlock block) {
+            out.writeBytes(block.bytes);
+            for (int i = 0; i < block.names.length; i++) {
+                names.add(block.names[i]);
+                values.add(block.values[i]);
+            }
+
+            return this;
+        }
+
+        public HeaderBlock build() {
+            return new HeaderBlock(out.toByteArray(), names.toArray(new String[0]), values.toArray(new String[0]));
+        }
+    }
+}
@@ -18,11 +18,13 @@ package org.glassfish.grizzly.http.util;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.http.HttpCodecFilter;
 import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.memory.ByteBufferWrapper;
 import org.glassfish.grizzly.memory.MemoryManager;
 
 /**
@@ -194,9 +196,10 @@ public class HttpCodecUtils {
     public static boolean findEOL(final HttpCodecFilter.HeaderParsingState state, final Buffer input) {
         int offset = state.offset;
         final int limit = Math.min(input.limit(), state.packetLimit);
+        final ByteBuffer byteBuffer = byteBufferView(input);
 
         while (offset < limit) {
-            final byte b = input.get(offset);
+            final byte b = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (b == Constants.CR) {
                 state.checkpoint = offset;
             } else if (b == Constants.LF) {
@@ -243,10 +246,24 @@ public class HttpCodecUtils {
         return false;
     }
 
+    /**
+     * Returns the {@link ByteBuffer}, which backs the given non-composite {@link Buffer} and is indexed the same way, or
+     * <tt>null</tt> if there is no such {@link ByteBuffer}. The parsers scan the direct {@link Buffer}s (which don't
+     * have an accessible array) through the view to avoid the per-byte {@link Buffer#get(int)} call overhead.
+     *
+     * @param input the {@link Buffer}
+     * @return the {@link ByteBuffer} view or <tt>null</tt>
+     * @since 4.1
+     */
+    public static ByteBuffer byteBufferView(final Buffer input) {
+        return input instanceof ByteBufferWrapper ? input.toByteBuffer() : null;
+    }
+
     public static int findSpace(final Buffer input, int offset, final int packetLimit) {
         final int limit = Math.min(input.limit(), packetLimit);
+        final ByteBuffer byteBuffer = byteBufferView(input);
         while (offset < limit) {
-            final byte b = input.get(offset);
+            final byte b = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (isSpaceOrTab(b)) {
                 return offset;
             }
@@ -273,8 +290,9 @@ public class HttpCodecUtils {
 
     public static int skipSpaces(final Buffer input, int offset, final int packetLimit) {
         final int limit = Math.min(input.limit(), packetLimit);
+        final ByteBuffer byteBuffer = byteBufferView(input);
         while (offset < limit) {
-            final byte b = input.get(offset);
+            final byte b = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (isNotSpaceAndTab(b)) {
                 return offset;
             }
@@ -301,8 +319,9 @@ public class HttpCodecUtils {
 
     public static int indexOf(final Buffer input, int offset, final byte b, final int packetLimit) {
         final int limit = Math.min(input.limit(), packetLimit);
+        final ByteBuffer byteBuffer = byteBufferView(input);
         while (offset < limit) {
-            final byte currentByte = input.get(offset);
+            final byte currentByte = byteBuffer != null ? byteBuffer.get(offset) : input.get(offset);
             if (currentByte == b) {
                 return offset;
             }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Flat, recyclable multi-map of request parameters.
+ *
+ * Every added name/value pair occupies one slot of parallel arrays, the slots of the same name are linked together in
+ * the order they were added. An open-addressing index maps a name to its first slot. Recycling the table just clears the
+ * used slots, so the arrays are reused by the next request unless a huge request made them grow too much.
+ *
+ * A slot with a <tt>null</tt> value only registers the name, it's used to represent a parameter without values.
+ */
+final class ParameterTable {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    private String[] names;
+    private String[] values;
+    // the next slot of the same name, or -1
+    private int[] nextSlots;
+    // for the first slot of a name: the last slot of the name, for other slots: -1
+    private int[] lastSlots;
+    private int size;
+
+    // first slot index + 1 of the hashed name, 0 marks an empty bucket
+    private int[] index;
+    private int nameCount;
+
+    private Set<String> nameSet;
+
+    ParameterTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @return the number of slots (name/value pairs) in the table
+     */
+    int size() {
+        return size;
+    }
+
+    String nameAt(final int slot) {
+        return names[slot];
+    }
+
+    String valueAt(final int slot) {
+        return values[slot];
+    }
+
+    boolean contains(final String name) {
+        return firstSlot(name) != -1;
+    }
+
+    /**
+     * Adds the name/value pair.
+     *
+     * @param name the parameter name
+     * @param value the parameter value, or <tt>null</tt> to only register the name
+     */
+    void add(final String name, final String value) {
+        final int first = firstSlot(name);
+        if (first != -1 && value == null) {
+            return;
+        }
+
+        if (size == names.length) {
+            grow();
+        }
+
+        final int slot = size++;
+        names[slot] = name;
+        values[slot] = value;
+        nextSlots[slot] = -1;
+
+        if (first == -1) {
+            lastSlots[slot] = slot;
+            insertIndex(name, slot);
+            nameCount++;
+            nameSet = null;
+
+            if (nameCount * 2 > index.length) {
+                rehash(index.length * 2);
+            }
+        } else {
+            lastSlots[slot] = -1;
+            nextSlots[lastSlots[first]] = slot;
+            lastSlots[first] = slot;
+        }
+    }
+
+    /**
+     * @return the first value of the parameter, <tt>""</tt> if the parameter doesn't have values, or <tt>null</tt> if
+     * there is no such parameter
+     */
+    String getFirst(final String name) {
+        int slot = firstSlot(name);
+        if (slot == -1) {
+            return null;
+        }
+
+        while (slot != -1) {
+            final String value = values[slot];
+            if (value != null) {
+                return value;
+            }
+
+            slot = nextSlots[slot];
+        }
+
+        return "";
+    }
+
+    /**
+     * @return the parameter values, or <tt>null</tt> if there is no such parameter
+     */
+    String[] getAll(final String name) {
+        final int first = firstSlot(name);
+        if (first == -1) {
+            return null;
+        }
+
+        int count = 0;
+        for (int slot = first; slot != -1; slot = nextSlots[slot]) {
+            if (values[slot] != null) {
+                count++;
+            }
+        }
+
+        final String[] result = new String[count];
+        int i = 0;
+        for (int slot = first; slot != -1; slot = nextSlots[slot]) {
+            if (values[slot] != null) {
+                result[i++] = values[slot];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the parameter names in the order they were added
+     */
+    Set<String> names() {
+        if (nameSet == null) {
+            final Set<String> set = new LinkedHashSet<>(nameCount * 2);
+            for (int slot = 0; slot < size; slot++) {
+                if (lastSlots[slot] != -1) {
+                    set.add(names[slot]);
+                }
+            }
+
+            nameSet = Collections.unmodifiableSet(set);
+        }
+
+        return nameSet;
+    }
+
+    void clear() {
+        if (names.length > MAX_RETAINED_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        } else {
+            Arrays.fill(names, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            Arrays.fill(index, 0);
+        }
+
+        size = 0;
+        nameCount = 0;
+        nameSet = null;
+    }
+
+    private int firstSlot(final String name) {
+        final int[] localIndex = index;
+        final int mask = localIndex.length - 1;
+
+        int bucket = hash(name) & mask;
+        int entry;
+        while ((entry = localIndex[bucket]) != 0) {
+            if (name.equals(names[entry - 1])) {
+                return entry - 1;
+            }
+
+            bucket = (bucket + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void insertIndex(final String name, final int slot) {
+        final int mask = index.length - 1;
+
+        int bucket = hash(name) & mask;
+        while (index[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+
+        index[bucket] = slot + 1;
+    }
+
+    private void rehash(final int indexSize) {
+        index = new int[indexSize];
+        for (int slot = 0; slot < size; slot++) {
+            if (lastSlots[slot] != -1) {
+                insertIndex(names[slot], slot);
+            }
+        }
+    }
+
+    private void grow() {
+        final int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        values = Arrays.copyOf(values, capacity);
+        nextSlots = Arrays.copyOf(nextSlots, capacity);
+        lastSlots = Arrays.copyOf(lastSlots, capacity);
+    }
+
+    private void allocate(final int capacity) {
+        names = new String[capacity];
+        values = new String[capacity];
+        nextSlots = new int[capacity];
+        lastSlots = new int[capacity];
+        index = new int[capacity * 2];
+    }
+
+    private static int hash(final String name) {
+        final int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -18,11 +18,7 @@
 package org.glassfish.grizzly.http.util;
 
 import java.io.CharConversionException;
-import java.io.IOException;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -40,7 +36,7 @@ public final class Parameters {
      */
     private final static Logger LOGGER = Grizzly.logger(Parameters.class);
 
-    private final LinkedHashMap<String, ArrayList<String>> paramHashValues = new LinkedHashMap<>();
+    private final ParameterTable paramValues = new ParameterTable();
 
     private boolean didQueryParameters = false;
     private boolean didMerge = false;
@@ -101,7 +97,7 @@ public final class Parameters {
 
     public void recycle() {
 
-        paramHashValues.clear();
+        paramValues.clear();
         didQueryParameters = false;
         currentChild = null;
         didMerge = false;
@@ -173,29 +169,26 @@ public final class Parameters {
         if (key == null) {
             return;
         }
-        ArrayList<String> values;
-        if (paramHashValues.containsKey(key)) {
-            values = paramHashValues.get(key);
-        } else {
-            values = new ArrayList<>(1);
-            paramHashValues.put(key, values);
+        if (newValues.length == 0) {
+            paramValues.add(key, null);
+            return;
+        }
+
+        for (String value : newValues) {
+            paramValues.add(key, value);
         }
-        values.ensureCapacity(values.size() + newValues.length);
-        Collections.addAll(values, newValues);
     }
 
     public String[] getParameterValues(String name) {
         handleQueryParameters();
-        final ArrayList<String> values;
         // sub-request
         if (currentChild != null) {
             currentChild.merge();
-            values = currentChild.paramHashValues.get(name);
-        } else {
-            // no "facade"
-            values = paramHashValues.get(name);
+            return currentChild.paramValues.getAll(name);
         }
-        return values != null ? values.toArray(new String[values.size()]) : null;
+
+        // no "facade"
+        return paramValues.getAll(name);
     }
 
     public Set<String> getParameterNames() {
@@ -207,7 +200,7 @@ public final class Parameters {
              * START PWC 6057385 return currentChild.paramHashStringArray.keys();
              */
             // START PWC 6057385
-            currentChild.paramHashValues.keySet();
+            currentChild.paramValues.names();
             // END PWC 6057385
         }
         // merge in child
@@ -215,7 +208,7 @@ public final class Parameters {
          * START PWC 6057385 return paramHashStringArray.keys();
          */
         // START PWC 6057385
-        return paramHashValues.keySet();
+        return paramValues.names();
         // END PWC 6057385
     }
 
@@ -245,9 +238,9 @@ public final class Parameters {
          * START PWC 6057385 Hashtable parentProps=parent.paramHashStringArray;
          */
         // START PWC 6057385
-        LinkedHashMap<String, ArrayList<String>> parentProps = parent.paramHashValues;
+        ParameterTable parentProps = parent.paramValues;
         // END PWC 6057385
-        merge2(paramHashValues, parentProps);
+        merge2(paramValues, parentProps);
         didMerge = true;
         if (LOGGER.isLoggable(Level.FINEST)) {
             LOGGER.log(Level.FINEST, "After {0}", paramsAsString());
@@ -256,15 +249,7 @@ public final class Parameters {
 
     // Shortcut.
     public String getParameter(final String name) {
-        ArrayList<String> values = paramHashValues.get(name);
-        if (values != null) {
-            if (values.isEmpty()) {
-                return "";
-            }
-            return values.get(0);
-        } else {
-            return null;
-        }
+        return paramValues.getFirst(name);
     }
     // -------------------- Processing --------------------
 
@@ -300,24 +285,11 @@ public final class Parameters {
      * while (e.hasMoreElements()) { String name = (String) e.nextElement();
      */
     // START PWC 6057385
-    private static void merge2(LinkedHashMap<String, ArrayList<String>> one, LinkedHashMap<String, ArrayList<String>> two) {
-
-        for (String name : two.keySet()) {
-            // END PWC 6057385
-            ArrayList<String> oneValue = one.get(name);
-            ArrayList<String> twoValue = two.get(name);
-            ArrayList<String> combinedValue;
-
-            if (twoValue != null) {
-                if (oneValue == null) {
-                    combinedValue = new ArrayList<>(twoValue);
-                } else {
-                    combinedValue = new ArrayList<>(oneValue.size() + twoValue.size());
-                    combinedValue.addAll(oneValue);
-                    combinedValue.addAll(twoValue);
-                }
-                one.put(name, combinedValue);
-            }
+    private static void merge2(ParameterTable one, ParameterTable two) {
+        // END PWC 6057385
+        // the slots of the same name keep their order, so the parent values follow the child ones
+        for (int slot = 0, size = two.size(); slot < size; slot++) {
+            one.add(two.nameAt(slot), two.valueAt(slot));
         }
     }
 
@@ -336,12 +308,36 @@ public final class Parameters {
             );
         }
 
-        ArrayList<String> values = paramHashValues.get(key);
-        if (values == null) {
-            values = new ArrayList<>(1);
-            paramHashValues.put(key, values);
+        paramValues.add(key, value);
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return <tt>true</tt> if no more parameters can be added without exceeding the limit
+     */
+    boolean isLimitReached() {
+        return limit > -1 && parameterCount >= limit;
+    }
+
+    /**
+     * Returns the {@link ParametersParser}, which incrementally parses <tt>application/x-www-form-urlencoded</tt> content
+     * into this <tt>Parameters</tt>. The parser is reused, so only one content may be parsed at a time.
+     *
+     * @param enc the {@link Charset} of the content, <tt>null</tt> means the default HTTP charset
+     * @return the reset {@link ParametersParser}
+     *
+     * @since 4.1
+     */
+    public ParametersParser getParser(final Charset enc) {
+        if (parser == null) {
+            parser = new ParametersParser(this);
         }
-        values.add(value);
+
+        parser.reset(enc);
+        return parser;
     }
 
     // public void setURLDecoder(UDecoder u) {
@@ -352,8 +348,7 @@ public final class Parameters {
     // of the above.
     // we are called from a single thread - we can do it the hard way
     // if needed
-    final BufferChunk tmpName = new BufferChunk();
-    final BufferChunk tmpValue = new BufferChunk();
+    private ParametersParser parser;
     private final BufferChunk origName = new BufferChunk();
     private final BufferChunk origValue = new BufferChunk();
     final CharChunk tmpNameC = new CharChunk(1024);
@@ -373,169 +368,9 @@ public final class Parameters {
                     new Object[] { buffer, start, len, buffer.toStringContent(enc, start, start + len) });
         }
 
-        int decodeFailCount = 0;
-
-        int end = start + len;
-        int pos = start;
-        while (pos < end) {
-            if (limit > -1 && parameterCount >= limit) {
-                LOGGER.warning(LogMessages.WARNING_GRIZZLY_HTTP_SEVERE_GRIZZLY_HTTP_PARAMETERS_MAX_COUNT_FAIL(limit));
-                break;
-            }
-            int nameStart = pos;
-            int nameEnd = -1;
-            int valueStart = -1;
-            int valueEnd = -1;
-
-            boolean parsingName = true;
-            boolean decodeName = false;
-            boolean decodeValue = false;
-            boolean parameterComplete = false;
-
-            do {
-                switch (buffer.get(pos)) {
-                case '=':
-                    if (parsingName) {
-                        // Name finished. Value starts from next character
-                        nameEnd = pos;
-                        parsingName = false;
-                        valueStart = ++pos;
-                    } else {
-                        // Equals character in value
-                        pos++;
-                    }
-                    break;
-                case '&':
-                    if (parsingName) {
-                        // Name finished. No value.
-                        nameEnd = pos;
-                    } else {
-                        // Value finished
-                        valueEnd = pos;
-                    }
-                    parameterComplete = true;
-                    pos++;
-                    break;
-                case '+':
-                case '%':
-                    // Decoding required
-                    if (parsingName) {
-                        decodeName = true;
-                    } else {
-                        decodeValue = true;
-                    }
-                    pos++;
-                    break;
-                default:
-                    pos++;
-                    break;
-                }
-            } while (!parameterComplete && pos < end);
-
-            if (pos == end) {
-                if (nameEnd == -1) {
-                    nameEnd = pos;
-                } else if (valueStart > -1 && valueEnd == -1) {
-                    valueEnd = pos;
-                }
-            }
-
-            if (LOGGER.isLoggable(Level.FINEST) && valueStart == -1) {
-                LOGGER.log(Level.FINEST,
-                        LogMessages.FINE_GRIZZLY_HTTP_PARAMETERS_NOEQUAL(nameStart, nameEnd, buffer.toStringContent(DEFAULT_CHARSET, nameStart, nameEnd)));
-            }
-
-            if (nameEnd <= nameStart) {
-                if (LOGGER.isLoggable(Level.INFO)) {
-                    if (valueEnd < nameStart) {
-                        LOGGER.info(LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_INVALID_CHUNK(nameStart, nameEnd, null));
-                    }
-                }
-                continue;
-                // invalid chunk - it's better to ignore
-            }
-            tmpName.setBufferChunk(buffer, nameStart, nameEnd);
-            tmpValue.setBufferChunk(buffer, valueStart, valueEnd);
-
-            // Take copies as if anything goes wrong originals will be
-            // corrupted. This means original values can be logged.
-            // For performance - only done for debug
-            if (LOGGER.isLoggable(Level.FINEST)) {
-                origName.setBufferChunk(buffer, nameStart, nameEnd);
-                origValue.setBufferChunk(buffer, valueStart, valueEnd);
-            }
-
-            try {
-                String name;
-                String value;
-
-                if (decodeName) {
-                    name = urlDecode(tmpName, enc);
-                } else {
-                    name = tmpName.toString(enc);
-                }
-
-                if (valueStart != -1) {
-                    if (decodeValue) {
-                        value = urlDecode(tmpValue, enc);
-                    } else {
-                        value = tmpValue.toString(enc);
-                    }
-                } else {
-                    value = "";
-                }
-
-                addParameter(name, value);
-            } catch (Exception e) {
-                decodeFailCount++;
-                if (LOGGER.isLoggable(Level.FINEST)) {
-                    LOGGER.log(Level.FINEST, LogMessages.FINE_GRIZZLY_HTTP_PARAMETERS_DECODE_FAIL_DEBUG(origName.toString(), origValue.toString()));
-                } else if (LOGGER.isLoggable(Level.INFO) && decodeFailCount == 1) {
-                    final String name = tmpName.getLength() > 0 ? tmpName.toString() : "unavailable";
-                    final String value = tmpValue.getLength() > 0 ? tmpValue.toString() : "unavailable";
-                    LOGGER.log(Level.INFO, LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_DECODE_FAIL_INFO(e.getMessage(), name, value));
-                    LOGGER.log(Level.FINE, "Decoding stacktrace.", e);
-                }
-            } finally {
-                tmpName.recycle();
-                tmpValue.recycle();
-            }
-
-        }
-
-        if (!LOGGER.isLoggable(Level.FINEST) && decodeFailCount > 1) {
-            LOGGER.info(LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_MULTIPLE_DECODING_FAIL(decodeFailCount));
-        }
-    }
-
-    private String urlDecode(final BufferChunk bc, final Charset enc) throws IOException {
-//        if (urlDec == null) {
-//            urlDec = new UDecoder();
-//        }
-        URLDecoder.decode(bc, true);
-        String result;
-        if (enc != null) {
-            if (bc.getStart() == -1 && bc.getEnd() == -1) {
-                return "";
-            }
-            result = bc.toString(enc);
-        } else {
-            final CharChunk cc = tmpNameC;
-            final int length = bc.getLength();
-            cc.allocate(length, -1);
-            // Default encoding: fast conversion
-            final Buffer bbuf = bc.getBuffer();
-            final char[] cbuf = cc.getBuffer();
-            final int start = bc.getStart();
-            for (int i = 0; i < length; i++) {
-                cbuf[i] = (char) (bbuf.get(i + start) & 0xff);
-            }
-
-            cc.setChars(cbuf, 0, length);
-            result = cc.toString();
-            cc.recycle();
-        }
-        return result;
+        final ParametersParser localParser = getParser(enc);
+        localParser.parse(buffer, start, start + len);
+        localParser.finish();
     }
 
     public void processParameters(char chars[], int start, int len) {
@@ -649,12 +484,11 @@ public final class Parameters {
      */
     public String paramsAsString() {
         StringBuilder sb = new StringBuilder();
-        for (final String s : paramHashValues.keySet()) {
+        for (final String s : paramValues.names()) {
             // END PWC 6057385
             sb.append(s).append('=');
-            ArrayList<String> v = paramHashValues.get(s);
-            for (int i = 0, len = v.size(); i < len; i++) {
-                sb.append(v.get(i)).append(',');
+            for (final String v : paramValues.getAll(s)) {
+                sb.append(v).append(',');
             }
             sb.append('\n');
         }
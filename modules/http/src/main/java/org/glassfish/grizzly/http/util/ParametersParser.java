@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.util;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.localization.LogMessages;
+
+/**
+ * Incremental <tt>application/x-www-form-urlencoded</tt> parser, which adds the parsed parameters to its
+ * {@link Parameters}.
+ *
+ * The content may be passed in arbitrary chunks, as they arrive from the network, so the whole form doesn't have to be
+ * buffered. Percent escapes and <tt>'+'</tt> are decoded into reusable byte arrays, the name and value
+ * {@link String}s are created once the parameter is complete. The parser stops consuming the content as soon as the
+ * {@link Parameters#setLimit(int) parameters limit} is reached.
+ *
+ * The parser is obtained via {@link Parameters#getParser(Charset)} and is reused by its {@link Parameters}.
+ *
+ * <pre>
+ * final ParametersParser parser = parameters.getParser(charset);
+ * while (...) {
+ *     if (!parser.parse(chunk, chunk.position(), chunk.limit())) {
+ *         break;
+ *     }
+ * }
+ * parser.finish();
+ * </pre>
+ *
+ * @since 4.1
+ */
+public final class ParametersParser {
+    private static final Logger LOGGER = Grizzly.logger(ParametersParser.class);
+
+    private static final int INITIAL_NAME_SIZE = 64;
+    private static final int INITIAL_VALUE_SIZE = 256;
+    private static final int MAX_RETAINED_SIZE = 8192;
+
+    private final Parameters parameters;
+    private Charset charset = Constants.DEFAULT_HTTP_CHARSET;
+
+    private byte[] name = new byte[INITIAL_NAME_SIZE];
+    private int nameLength;
+    private byte[] value = new byte[INITIAL_VALUE_SIZE];
+    private int valueLength;
+
+    // the current parameter has started
+    private boolean inParameter;
+    // '=' has been seen, the value is being parsed
+    private boolean inValue;
+    // the number of name bytes as they appear in the content
+    private int rawNameLength;
+    // 0 - no escape, 1 - the first hex digit is expected, 2 - the second hex digit is expected
+    private int escapeState;
+    private int escapedByte;
+    private boolean isInvalid;
+
+    private long position;
+    private long parameterStart;
+    private int decodeFailCount;
+    private boolean isLimitReached;
+
+    ParametersParser(final Parameters parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Prepares the parser to parse new content.
+     *
+     * @param charset the {@link Charset} of the decoded names and values, <tt>null</tt> means the default HTTP charset
+     */
+    void reset(final Charset charset) {
+        this.charset = charset != null ? charset : Constants.DEFAULT_HTTP_CHARSET;
+
+        resetParameter();
+        if (name.length > MAX_RETAINED_SIZE) {
+            name = new byte[INITIAL_NAME_SIZE];
+        }
+        if (value.length > MAX_RETAINED_SIZE) {
+            value = new byte[INITIAL_VALUE_SIZE];
+        }
+
+        position = 0;
+        decodeFailCount = 0;
+        isLimitReached = false;
+    }
+
+    /**
+     * Parses the next chunk of the content.
+     *
+     * @param buffer the {@link Buffer} containing the chunk
+     * @param start the chunk start index (inclusive)
+     * @param end the chunk end index (exclusive)
+     *
+     * @return <tt>true</tt> if more content is expected, or <tt>false</tt> if the parameters limit is reached and the rest
+     * of the content is going to be ignored
+     */
+    public boolean parse(final Buffer buffer, final int start, final int end) {
+        if (isLimitReached) {
+            return false;
+        }
+
+        if (!buffer.isComposite() && buffer.hasArray()) {
+            final byte[] array = buffer.array();
+            final int offset = buffer.arrayOffset();
+            for (int i = start + offset, to = end + offset; i < to; i++) {
+                if (!consume(array[i])) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                if (!consume(buffer.get(i))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Completes the last parameter. Must be called once the whole content has been passed to the parser.
+     */
+    public void finish() {
+        if (inParameter && !isLimitReached) {
+            completeParameter(position);
+        }
+
+        if (!LOGGER.isLoggable(Level.FINEST) && decodeFailCount > 1) {
+            LOGGER.info(LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_MULTIPLE_DECODING_FAIL(decodeFailCount));
+        }
+
+        decodeFailCount = 0;
+    }
+
+    /**
+     * @return <tt>true</tt> if the parameters limit is reached and the rest of the content is ignored
+     */
+    public boolean isLimitReached() {
+        return isLimitReached;
+    }
+
+    private boolean consume(final byte b) {
+        if (!inParameter) {
+            if (parameters.isLimitReached()) {
+                isLimitReached = true;
+                LOGGER.warning(LogMessages.WARNING_GRIZZLY_HTTP_SEVERE_GRIZZLY_HTTP_PARAMETERS_MAX_COUNT_FAIL(parameters.getLimit()));
+                return false;
+            }
+
+            inParameter = true;
+            parameterStart = position;
+        }
+
+        position++;
+
+        if (escapeState != 0) {
+            final int digit = HexUtils.hexDigit2Dec(b & 0xFF);
+            if (digit != -1) {
+                escapedByte = escapedByte << 4 | digit;
+                if (escapeState == 1) {
+                    escapeState = 2;
+                } else {
+                    escapeState = 0;
+                    append((byte) escapedByte);
+                }
+
+                return true;
+            }
+
+            // illegal escape, the parameter will be dropped, but the byte still may be a delimiter
+            escapeState = 0;
+            isInvalid = true;
+        }
+
+        if (!inValue && b != '=' && b != '&') {
+            rawNameLength++;
+        }
+
+        switch (b) {
+        case '&':
+            completeParameter(position - 1);
+            break;
+        case '=':
+            if (inValue) {
+                append(b);
+            } else {
+                inValue = true;
+            }
+            break;
+        case '+':
+            append((byte) ' ');
+            break;
+        case '%':
+            escapeState = 1;
+            escapedByte = 0;
+            break;
+        default:
+            append(b);
+        }
+
+        return true;
+    }
+
+    private void append(final byte b) {
+        if (inValue) {
+            if (valueLength == value.length) {
+                value = Arrays.copyOf(value, valueLength * 2);
+            }
+            value[valueLength++] = b;
+        } else {
+            if (nameLength == name.length) {
+                name = Arrays.copyOf(name, nameLength * 2);
+            }
+            name[nameLength++] = b;
+        }
+    }
+
+    private void completeParameter(final long parameterEnd) {
+        if (escapeState != 0) {
+            // unexpected termination of the escape
+            isInvalid = true;
+        }
+
+        if (rawNameLength == 0) {
+            // invalid chunk - it's better to ignore
+            if (!inValue && LOGGER.isLoggable(Level.INFO)) {
+                LOGGER.info(LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_INVALID_CHUNK(parameterStart, parameterEnd, null));
+            }
+        } else if (isInvalid) {
+            decodeFailCount++;
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, LogMessages.FINE_GRIZZLY_HTTP_PARAMETERS_DECODE_FAIL_DEBUG(nameString(), valueString()));
+            } else if (LOGGER.isLoggable(Level.INFO) && decodeFailCount == 1) {
+                final String n = nameLength > 0 ? nameString() : "unavailable";
+                final String v = valueLength > 0 ? valueString() : "unavailable";
+                LOGGER.log(Level.INFO,
+                        LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_DECODE_FAIL_INFO("Illegal hex characters in escape (%) pattern", n, v));
+            }
+        } else {
+            if (!inValue && LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, LogMessages.FINE_GRIZZLY_HTTP_PARAMETERS_NOEQUAL(parameterStart, parameterEnd, nameString()));
+            }
+
+            parameters.addParameter(nameString(), valueLength > 0 ? valueString() : "");
+        }
+
+        resetParameter();
+    }
+
+    private String nameString() {
+        return new String(name, 0, nameLength, charset);
+    }
+
+    private String valueString() {
+        return new String(value, 0, valueLength, charset);
+    }
+
+    private void resetParameter() {
+        nameLength = 0;
+        valueLength = 0;
+        rawNameLength = 0;
+        inParameter = false;
+        inValue = false;
+        escapeState = 0;
+        isInvalid = false;
+    }
+}
@@ -19,6 +19,8 @@ package org.glassfish.grizzly.http;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -40,6 +42,7 @@ import org.glassfish.grizzly.http.util.MimeHeaders;
 import org.glassfish.grizzly.impl.FutureImpl;
 import org.glassfish.grizzly.impl.SafeFutureImpl;
 import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.ByteBufferWrapper;
 import org.glassfish.grizzly.memory.MemoryManager;
 import org.glassfish.grizzly.nio.NIOConnection;
 import org.glassfish.grizzly.nio.transport.TCPNIOConnectorHandler;
@@ -337,11 +340,29 @@ public class HttpRequestParseTest {
         assertTrue(packet.getHttpHeader().isChunked());
     }
 
-    @SuppressWarnings({ "unchecked" })
+    @Test
+    public void testDirectBufferDecoder() {
+        final String request = "POST /index.html?a=b HTTP/1.1\r\nHost: localhost\r\nX-Test: Value\r\n"
+                + "Content-Length: 2\r\n\r\nOK";
+        final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(request.length());
+        byteBuffer.put(request.getBytes(StandardCharsets.US_ASCII)).flip();
+
+        final HttpRequestPacket packet = (HttpRequestPacket) ((HttpContent) doTestDecoder(new ByteBufferWrapper(byteBuffer), 4096)).getHttpHeader();
+        assertEquals("POST", packet.getMethod().getMethodString());
+        assertEquals("/index.html", packet.getRequestURI());
+        assertEquals("a=b", packet.getQueryString());
+        assertEquals("HTTP/1.1", packet.getProtocolString());
+        assertEquals("localhost", packet.getHeader("host"));
+        assertEquals("Value", packet.getHeader("x-test"));
+        assertEquals(2, packet.getContentLength());
+    }
+
     private HttpPacket doTestDecoder(String request, int limit) {
+        return doTestDecoder(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, request), limit);
+    }
 
-        MemoryManager mm = MemoryManager.DEFAULT_MEMORY_MANAGER;
-        Buffer input = Buffers.wrap(mm, request);
+    @SuppressWarnings({ "unchecked" })
+    private HttpPacket doTestDecoder(Buffer input, int limit) {
 
         HttpServerFilter filter = new HttpServerFilter(true, limit, null, null) {
 
@@ -26,12 +26,14 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Set;
 
 import org.glassfish.grizzly.http.util.Constants;
 import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http.util.Parameters;
+import org.glassfish.grizzly.http.util.ParametersParser;
 import org.glassfish.grizzly.http.util.UEncoder;
 import org.glassfish.grizzly.memory.Buffers;
 import org.glassfish.grizzly.memory.MemoryManager;
@@ -331,6 +333,74 @@ public class ParametersTest {
         params.processParameters(request);
     }
 
+    @Test
+    public void testIncrementalParsing() {
+        final String form = "a=1&b=%C3%A4+x&a=2&&c&=skipped&d=%zz&e=%4&f=3";
+        final byte[] data = form.getBytes(Charsets.ASCII_CHARSET);
+
+        // feed the form in chunks of every possible size, escapes are split between chunks
+        for (int chunkSize = 1; chunkSize <= data.length; chunkSize++) {
+            final Parameters p = new Parameters();
+            final ParametersParser parser = p.getParser(Charsets.UTF8_CHARSET);
+            for (int i = 0; i < data.length; i += chunkSize) {
+                final int end = Math.min(i + chunkSize, data.length);
+                final byte[] chunk = new byte[end - i];
+                System.arraycopy(data, i, chunk, 0, chunk.length);
+                assertTrue(parser.parse(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, chunk), 0, chunk.length));
+            }
+            parser.finish();
+
+            final String msg = "chunkSize=" + chunkSize;
+            assertEquals(msg, "[a, b, c, f]", p.getParameterNames().toString());
+            assertEquals(msg, "[1, 2]", Arrays.toString(p.getParameterValues("a")));
+            assertEquals(msg, "\u00e4 x", p.getParameter("b"));
+            assertEquals(msg, "", p.getParameter("c"));
+            assertEquals(msg, "3", p.getParameter("f"));
+            assertNull(msg, p.getParameter("d"));
+            assertNull(msg, p.getParameter("e"));
+        }
+    }
+
+    @Test
+    public void testIncrementalParsingLimit() {
+        final Parameters p = new Parameters();
+        p.setLimit(2);
+
+        final ParametersParser parser = p.getParser(null);
+        assertTrue(parser.parse(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, "a=1&b=2&"), 0, 8));
+        assertFalse(parser.parse(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, "c=3"), 0, 3));
+        assertTrue(parser.isLimitReached());
+        parser.finish();
+
+        assertArrayEquals(new String[] { "a", "b" }, p.getParameterNames().toArray());
+
+        // the parser is reusable after recycling
+        p.recycle();
+        final ParametersParser parser2 = p.getParser(null);
+        assertTrue(parser2.parse(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, "x=%41"), 0, 5));
+        parser2.finish();
+        assertEquals("A", p.getParameter("x"));
+    }
+
+    @Test
+    public void testManyParameters() {
+        final Parameters p = new Parameters();
+        for (int i = 0; i < 5000; i++) {
+            p.addParameter("name" + (i % 1000), "value" + i);
+        }
+
+        assertEquals(1000, p.getParameterNames().size());
+        final String[] values = p.getParameterValues("name7");
+        assertEquals(5, values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("value" + (i * 1000 + 7), values[i]);
+        }
+
+        p.recycle();
+        assertTrue(p.getParameterNames().isEmpty());
+        assertNull(p.getParameter("name7"));
+    }
+
     private void validateParameters(Parameter[] parameters, Parameters p) {
         Iterator<String> names = p.getParameterNames().iterator();
 
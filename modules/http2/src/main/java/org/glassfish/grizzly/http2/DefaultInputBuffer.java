@@ -52,7 +52,13 @@ class DefaultInputBuffer implements StreamInputBuffer {
 
     private volatile int inputQueueSize;
 
-    private final BlockingQueue<InputElement> inputQueue = new LinkedTransferQueue<>();
+    // the input queue is created lazily, so streams, which never receive
+    // payload (GET, HEAD etc.) don't pay for it
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultInputBuffer, BlockingQueue> inputQueueUpdater
+        = AtomicReferenceFieldUpdater.newUpdater(DefaultInputBuffer.class, BlockingQueue.class, "inputQueue");
+
+    private volatile BlockingQueue<InputElement> inputQueue;
 
     // true, if the input is closed
     private final AtomicBoolean inputClosed = new AtomicBoolean();
@@ -135,10 +141,14 @@ class DefaultInputBuffer implements StreamInputBuffer {
         }
 
         // if the stream had been terminated by this time but the element wasn't
-        // read - dispose the buffer and return false
-        if (isClosed() && inputQueue.remove(element)) {
-            data.tryDispose();
-            return false;
+        // read - dispose the buffer and return false. The queue field is read
+        // directly: if the queue hasn't been created, the element isn't there
+        if (isClosed()) {
+            final BlockingQueue<InputElement> queue = inputQueue;
+            if (queue != null && queue.remove(element)) {
+                data.tryDispose();
+                return false;
+            }
         }
 
         return true;
@@ -153,7 +163,7 @@ class DefaultInputBuffer implements StreamInputBuffer {
             passPayloadUpstream(inputElement, inputQueueSize);
         } else {
             // if "expect more input" switch is off - enqueue the element
-            if (!inputQueue.offer(inputElement)) {
+            if (!inputQueue().offer(inputElement)) {
                 // Should never happen, but findbugs complains
                 throw new IllegalStateException("New element can't be added");
             }
@@ -253,7 +263,7 @@ class DefaultInputBuffer implements StreamInputBuffer {
             if (inputQueueSizeNow <= 0) {
                 // if there is no element available - block
                 try {
-                    inputElement = inputQueue.poll(http2Session.getConnection().getReadTimeout(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+                    inputElement = inputQueue().poll(http2Session.getConnection().getReadTimeout(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
                 } catch (InterruptedException e) {
                     throw new IOException("Blocking read was interrupted");
                 }
@@ -273,7 +283,7 @@ class DefaultInputBuffer implements StreamInputBuffer {
                 buffer = inputElement.toBuffer();
             } else if (inputQueueSizeNow == 1) {
                 // if there is one element available
-                inputElement = inputQueue.poll();
+                inputElement = inputQueue().poll();
 
                 checkEOF(inputElement);
                 buffer = inputElement.toBuffer();
@@ -282,7 +292,7 @@ class DefaultInputBuffer implements StreamInputBuffer {
                 final CompositeBuffer compositeBuffer = CompositeBuffer.newBuffer(http2Session.getMemoryManager());
 
                 for (int i = 0; i < inputQueueSizeNow; i++) {
-                    final InputElement currentElement = inputQueue.poll();
+                    final InputElement currentElement = inputQueue().poll();
                     checkEOF(currentElement);
 
                     if (!currentElement.isService) {
@@ -344,13 +354,16 @@ class DefaultInputBuffer implements StreamInputBuffer {
                 // count the data amount, which hasn't been read and
                 // release correspondent number of bytes in the session
                 // control flow window
-                InputElement element;
-
-                while ((element = inputQueue.poll()) != null) {
-                    if (!element.isService) {
-                        final Buffer buffer = element.toBuffer();
-                        szToRelease += buffer.remaining();
-                        buffer.tryDispose();
+                final BlockingQueue<InputElement> queue = inputQueue;
+                if (queue != null) {
+                    InputElement element;
+
+                    while ((element = queue.poll()) != null) {
+                        if (!element.isService) {
+                            final Buffer buffer = element.toBuffer();
+                            szToRelease += buffer.remaining();
+                            buffer.tryDispose();
+                        }
                     }
                 }
             }
@@ -477,6 +490,26 @@ class DefaultInputBuffer implements StreamInputBuffer {
         return HttpBrokenContent.builder(stream.getInputHttpHeader()).error(t).build();
     }
 
+    /**
+     * @return the input queue, creating it on first use
+     */
+    private BlockingQueue<InputElement> inputQueue() {
+        final BlockingQueue<InputElement> queue = inputQueue;
+        if (queue != null) {
+            return queue;
+        }
+
+        final BlockingQueue<InputElement> newQueue = new LinkedTransferQueue<>();
+        return inputQueueUpdater.compareAndSet(this, null, newQueue) ? newQueue : inputQueue;
+    }
+
+    /**
+     * @return <tt>true</tt> if the input queue has been allocated
+     */
+    boolean isInputQueueAllocated() {
+        return inputQueue != null;
+    }
+
     private static int bufSz(final Buffer buffer) {
         return buffer != null ? buffer.remaining() : 0;
     }
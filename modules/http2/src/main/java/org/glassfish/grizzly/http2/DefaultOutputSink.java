@@ -21,7 +21,6 @@ import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +41,7 @@ import org.glassfish.grizzly.http.HttpHeader;
 import org.glassfish.grizzly.http.HttpPacket;
 import org.glassfish.grizzly.http.HttpResponsePacket;
 import org.glassfish.grizzly.http.HttpTrailer;
+import org.glassfish.grizzly.http.util.MimeHeaders;
 import org.glassfish.grizzly.http2.frames.ErrorCode;
 import org.glassfish.grizzly.http2.frames.HeadersFrame;
 import org.glassfish.grizzly.http2.frames.Http2Frame;
@@ -256,6 +256,15 @@ class DefaultOutputSink implements StreamOutputSink {
 
             // If HTTP header hasn't been committed - commit it
             if (!httpHeader.isCommitted()) {
+                // 103 Early Hints block: a non-final HEADERS frame, the response stays uncommitted
+                if (!httpHeader.isRequest()) {
+                    final MimeHeaders earlyHints = ((HttpResponsePacket) httpHeader).getEarlyHints();
+                    if (earlyHints != null) {
+                        sendEarlyHints(completionHandler, messageCloner, earlyHints);
+                        return null;
+                    }
+                }
+
                 final boolean dontSendPayload = !httpHeader.isExpectContent()
                     || (httpContent != null && httpContent.isLast() && !httpContent.getContent().hasRemaining());
                 LOGGER.finest(() -> "Header not committed yet; dontSendPayload=" + dontSendPayload);
@@ -658,6 +667,24 @@ class DefaultOutputSink implements StreamOutputSink {
         }
     }
 
+    private void sendEarlyHints(final CompletionHandler<WriteResult> completionHandler, final MessageCloner<Buffer> messageCloner,
+            final MimeHeaders earlyHints) throws IOException {
+        http2Session.getDeflaterLock().lock();
+        try {
+            final boolean logging = NetLogger.isActive();
+            final Map<String, String> capture = logging ? new HashMap<>() : null;
+            final List<Http2Frame> headerFrames = http2Session.encodeEarlyHintsAsHeaderFrames(stream.getId(), null, earlyHints, capture);
+            if (logging) {
+                NetLogger.log(NetLogger.Context.TX, http2Session, (HeadersFrame) headerFrames.get(0), capture);
+            }
+            unflushedWritesCounter.incrementAndGet();
+            flushToConnectionOutputSink(headerFrames, completionHandler, messageCloner, false);
+            LOGGER.finest("Early hints have been sent.");
+        } finally {
+            http2Session.getDeflaterLock().unlock();
+        }
+    }
+
     private void sendTrailers(final CompletionHandler<WriteResult> completionHandler, final HttpTrailer httpContent) {
         http2Session.getDeflaterLock().lock();
         try {
@@ -665,7 +692,7 @@ class DefaultOutputSink implements StreamOutputSink {
             final Map<String,String> capture = logging ? new HashMap<>() : null;
             final List<Http2Frame> trailerFrames =
                     http2Session.encodeTrailersAsHeaderFrames(stream.getId(),
-                            new ArrayList<>(4),
+                            null,
                             httpContent.getHeaders(), capture);
             if (logging) {
                 for (Http2Frame http2Frame : trailerFrames) {
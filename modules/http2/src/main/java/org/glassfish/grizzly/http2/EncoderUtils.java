@@ -25,11 +25,15 @@ import java.util.Map;
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.glassfish.grizzly.http.StaticResponse;
 import org.glassfish.grizzly.http.util.Ascii;
 import org.glassfish.grizzly.http.util.BufferChunk;
 import org.glassfish.grizzly.http.util.ByteChunk;
 import org.glassfish.grizzly.http.util.DataChunk;
+import org.glassfish.grizzly.http.util.FastHttpDateFormat;
 import org.glassfish.grizzly.http.util.Header;
+import org.glassfish.grizzly.http.util.HeaderBlock;
+import org.glassfish.grizzly.http.util.HttpStatus;
 import org.glassfish.grizzly.http.util.MimeHeaders;
 import org.glassfish.grizzly.memory.Buffers;
 import org.glassfish.grizzly.ssl.SSLUtils;
@@ -67,6 +71,11 @@ class EncoderUtils extends EncoderDecoderUtilsBase {
 
         encodeUserHeaders(headers, encoder, capture);
 
+        final StaticResponse staticResponse = response.getStaticResponse();
+        if (staticResponse != null) {
+            encodeStaticResponseHeaders(staticResponse.getHeaders(), encoder, capture);
+        }
+
         return encoder.flushHeaders();
     }
 
@@ -169,6 +178,18 @@ class EncoderUtils extends EncoderDecoderUtilsBase {
         return encoder.flushHeaders();
     }
 
+    static Buffer encodeEarlyHints(final Http2Session http2Session, final MimeHeaders earlyHints, final Map<String, String> capture) throws IOException {
+        assert http2Session.getDeflaterLock().isLocked();
+
+        final HeadersEncoder encoder = http2Session.getHeadersEncoder();
+
+        encoder.encodeHeader(STATUS_HEADER, String.valueOf(HttpStatus.EARLY_HINTS_103.getStatusCode()), capture);
+
+        encodeUserHeaders(earlyHints, encoder, capture);
+
+        return encoder.flushHeaders();
+    }
+
     static Buffer encodeTrailerHeaders(final Http2Session http2Session, final MimeHeaders trailers, final Map<String, String> capture) {
         assert http2Session.getDeflaterLock().isLocked();
 
@@ -184,6 +205,18 @@ class EncoderUtils extends EncoderDecoderUtilsBase {
         return encoder.flushHeaders();
     }
 
+    /**
+     * Encodes the pre-encoded {@link StaticResponse} headers, including <tt>Content-Length</tt>, and the current
+     * <tt>Date</tt>.
+     */
+    private static void encodeStaticResponseHeaders(final HeaderBlock headers, final HeadersEncoder encoder, final Map<String, String> capture) {
+        for (int i = 0, size = headers.size(); i < size; i++) {
+            encoder.encodeHeader(headers.getName(i), headers.getValue(i), capture);
+        }
+
+        encoder.encodeHeader(Header.Date.getLowerCase(), FastHttpDateFormat.getCurrentDate(), capture);
+    }
+
     @SuppressWarnings("unchecked")
     private static void encodeUserHeaders(final MimeHeaders headers, final HeadersEncoder encoder, final Map<String, String> capture) throws IOException {
 
@@ -195,7 +228,7 @@ class EncoderUtils extends EncoderDecoderUtilsBase {
                 final String nameStr = nameToLowerCase(headers.getName(i));
                 final DataChunk value = headers.getValue(i);
                 if (!value.isNull()) {
-                    encoder.encodeHeader(nameStr, value.toString(), capture);
+                    encoder.encodeHeader(nameStr, value, capture);
                 }
 
             }
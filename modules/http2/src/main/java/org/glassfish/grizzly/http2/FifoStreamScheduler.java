@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link Http2StreamScheduler}, which serializes the records in the order they were offered regardless of the stream
+ * priorities.
+ *
+ * @since 4.1
+ */
+public class FifoStreamScheduler implements Http2StreamScheduler {
+    private final ArrayDeque<Http2OutputQueueRecord> queue = new ArrayDeque<>();
+
+    @Override
+    public synchronized void offer(final Http2Stream stream, final Http2OutputQueueRecord record) {
+        queue.offer(record);
+    }
+
+    @Override
+    public synchronized Http2OutputQueueRecord next() {
+        return queue.peek();
+    }
+
+    @Override
+    public synchronized void onSerialized(final Http2OutputQueueRecord record, final int bytes) {
+        if (record.isFinished() && queue.peek() == record) {
+            queue.poll();
+        }
+    }
+
+    @Override
+    public void onPriorityChanged(final Http2Stream stream) {
+    }
+
+    @Override
+    public synchronized List<Http2OutputQueueRecord> removeAll() {
+        final List<Http2OutputQueueRecord> records = new ArrayList<>(queue);
+        queue.clear();
+        return records;
+    }
+}
@@ -16,9 +16,11 @@
 
 package org.glassfish.grizzly.http2;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http2.hpack.Encoder;
 import org.glassfish.grizzly.memory.CompositeBuffer;
 import org.glassfish.grizzly.memory.MemoryManager;
@@ -34,14 +36,37 @@ public class HeadersEncoder {
 
     private static final int DEFAULT_BUFFER_SIZE = Integer.parseInt(System.getProperty(DEFAULT_BUFFER_SIZE_PROP_NAME, DEFAULT_BUFFER_SIZE_STRING));
 
+    private static final String FIELD_CACHE_SIZE_PROP_NAME = "org.glassfish.grizzly.http2.HeadersEncoder.FIELD_CACHE_SIZE";
+    private static final String FIELD_CACHE_SIZE_STRING = "64";
+
+    private static final int FIELD_CACHE_SIZE = Integer.parseInt(System.getProperty(FIELD_CACHE_SIZE_PROP_NAME, FIELD_CACHE_SIZE_STRING));
+
+    // the longest header value, whose representation is cached
+    private static final int MAX_CACHED_VALUE_LENGTH = 256;
+
+    // the field cache entry for the headers, whose values change too often to be cached
+    private static final EncodedField NOT_CACHEABLE = new EncodedField(null, null);
+
     private final Encoder hpackEncoder;
     private final MemoryManager memoryManager;
 
+    // The representations of the recently encoded header fields, keyed by name.
+    // The hpack Encoder never adds fields to the dynamic table, so a field representation
+    // depends on its name and value only, and may be reused for the session lifetime.
+    private final Map<String, EncodedField> fieldCache;
+    private final int fieldCacheSize;
+
     private CompositeBuffer buffer;
 
     public HeadersEncoder(final MemoryManager memoryManager, final int maxHeaderTableSize) {
+        this(memoryManager, maxHeaderTableSize, FIELD_CACHE_SIZE);
+    }
+
+    HeadersEncoder(final MemoryManager memoryManager, final int maxHeaderTableSize, final int fieldCacheSize) {
         this.memoryManager = memoryManager;
         hpackEncoder = new Encoder(maxHeaderTableSize);
+        this.fieldCacheSize = fieldCacheSize;
+        fieldCache = fieldCacheSize > 0 ? new HashMap<>(fieldCacheSize * 2) : null;
     }
 
     public void encodeHeader(final String name, final String value, final Map<String, String> capture) {
@@ -49,10 +74,38 @@ public class HeadersEncoder {
             capture.put(name, value);
         }
         init();
-        hpackEncoder.header(name, value);
-        while (!hpackEncoder.encode(buffer)) {
-            buffer.append(memoryManager.allocate(DEFAULT_BUFFER_SIZE));
+
+        if (fieldCache == null || hpackEncoder.isCapacityUpdatePending()) {
+            encode0(name, value);
+            return;
         }
+
+        final EncodedField field = fieldCache.get(name);
+        if (field != null && value.equals(field.value)) {
+            write(field);
+            return;
+        }
+
+        final int start = buffer.position();
+        encode0(name, value);
+        cache(name, value, field, start);
+    }
+
+    /**
+     * Same as {@link #encodeHeader(String, String, Map)}, but doesn't convert the value to a {@link String}, if the
+     * header field representation is cached.
+     */
+    public void encodeHeader(final String name, final DataChunk value, final Map<String, String> capture) {
+        if (capture == null && fieldCache != null && !hpackEncoder.isCapacityUpdatePending()) {
+            final EncodedField field = fieldCache.get(name);
+            if (field != null && field.value != null && value.equals(field.value)) {
+                init();
+                write(field);
+                return;
+            }
+        }
+
+        encodeHeader(name, value.toString(), capture);
     }
 
     public Buffer flushHeaders() {
@@ -71,4 +124,62 @@ public class HeadersEncoder {
             buffer.append(memoryManager.allocate(DEFAULT_BUFFER_SIZE));
         }
     }
+
+    private void encode0(final String name, final String value) {
+        hpackEncoder.header(name, value);
+        while (!hpackEncoder.encode(buffer)) {
+            buffer.append(memoryManager.allocate(DEFAULT_BUFFER_SIZE));
+        }
+    }
+
+    private void write(final EncodedField field) {
+        field.isReused = true;
+        final byte[] encoded = field.encoded;
+        if (buffer.remaining() < encoded.length) {
+            buffer.append(memoryManager.allocate(Math.max(DEFAULT_BUFFER_SIZE, encoded.length)));
+        }
+        buffer.put(encoded);
+    }
+
+    /**
+     * Caches the field representation encoded starting at the given buffer position. If the previously cached value of
+     * the field has never been reused, the field is considered not cacheable (like <tt>content-length</tt> or
+     * <tt>date</tt>), so its representations aren't copied anymore.
+     */
+    private void cache(final String name, final String value, final EncodedField oldField, final int start) {
+        if (oldField == NOT_CACHEABLE) {
+            return;
+        }
+
+        if (oldField != null && !oldField.isReused) {
+            fieldCache.put(name, NOT_CACHEABLE);
+            return;
+        }
+
+        if (value.length() > MAX_CACHED_VALUE_LENGTH) {
+            return;
+        }
+
+        if (oldField == null && fieldCache.size() >= fieldCacheSize) {
+            fieldCache.clear();
+        }
+
+        final byte[] encoded = new byte[buffer.position() - start];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = buffer.get(start + i);
+        }
+
+        fieldCache.put(name, new EncodedField(value, encoded));
+    }
+
+    private static final class EncodedField {
+        private final String value;
+        private final byte[] encoded;
+        private boolean isReused;
+
+        private EncodedField(final String value, final byte[] encoded) {
+            this.value = value;
+            this.encoded = encoded;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import org.glassfish.grizzly.filterchain.FilterChainContext.TransportContext;
 import org.glassfish.grizzly.filterchain.FilterChainEvent;
 import org.glassfish.grizzly.filterchain.NextAction;
 import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http.ConnectionAgeLimit;
 import org.glassfish.grizzly.http.FixedLengthTransferEncoding;
 import org.glassfish.grizzly.http.HttpBaseFilter;
 import org.glassfish.grizzly.http.HttpContent;
@@ -57,10 +58,14 @@ import org.glassfish.grizzly.http2.frames.HeadersFrame;
 import org.glassfish.grizzly.http2.frames.Http2Frame;
 import org.glassfish.grizzly.http2.frames.PingFrame;
 import org.glassfish.grizzly.http2.frames.PriorityFrame;
+import org.glassfish.grizzly.http2.frames.PriorityUpdateFrame;
 import org.glassfish.grizzly.http2.frames.PushPromiseFrame;
 import org.glassfish.grizzly.http2.frames.RstStreamFrame;
 import org.glassfish.grizzly.http2.frames.SettingsFrame;
 import org.glassfish.grizzly.http2.frames.WindowUpdateFrame;
+import org.glassfish.grizzly.monitoring.DefaultMonitoringConfig;
+import org.glassfish.grizzly.monitoring.MonitoringAware;
+import org.glassfish.grizzly.monitoring.MonitoringConfig;
 import org.glassfish.grizzly.threadpool.GrizzlyExecutorService;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.grizzly.threadpool.Threads;
@@ -76,7 +81,7 @@ import org.glassfish.grizzly.utils.Charsets;
  *
  * @author Grizzly team
  */
-public abstract class Http2BaseFilter extends HttpBaseFilter {
+public abstract class Http2BaseFilter extends HttpBaseFilter implements MonitoringAware<Http2Probe> {
     private final static Logger LOGGER = Grizzly.logger(Http2BaseFilter.class);
 
     /**
@@ -101,6 +106,11 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
 
     private int localMaxFramePayloadSize;
 
+    /**
+     * HTTP/2 probes
+     */
+    final DefaultMonitoringConfig<Http2Probe> monitoringConfig = new DefaultMonitoringConfig<>(Http2Probe.class);
+
     /**
      * Constructs Http2HandlerFilter.
      */
@@ -117,6 +127,14 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
         return localMaxFramePayloadSize;
     }
 
+    /**
+     * @return the {@link ConnectionAgeLimit.Age} of a new server session's connection, or <tt>null</tt> if the connection
+     * age isn't limited
+     */
+    ConnectionAgeLimit.Age openConnectionAge() {
+        return null;
+    }
+
     /**
      * Sets the maximum allowed HTTP2 frame size.
      *
@@ -133,6 +151,16 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
         return configuration;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 4.1
+     */
+    @Override
+    public MonitoringConfig<Http2Probe> getMonitoringConfig() {
+        return monitoringConfig;
+    }
+
     protected boolean processFrames(final FilterChainContext ctx, final Http2Session http2Session, final List<Http2Frame> framesList) {
 
         if (framesList == null || framesList.isEmpty()) {
@@ -156,6 +184,8 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
                             throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR);
                         }
 
+                        // the resets the peer makes the server send are as cheap for the peer as its own ones
+                        http2Session.checkStreamResetBudget();
                         sendRstStream(ctx, http2Session, streamId, e.getErrorCode());
                     }
                 }
@@ -357,6 +387,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             throws Http2StreamException, Http2SessionException, IOException {
 
         http2Session.checkFrameSequenceSemantics(frame);
+        http2Session.checkFrameBudget(frame);
 
         switch (frame.getType()) {
         case DataFrame.TYPE: {
@@ -364,7 +395,11 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             break;
         }
         case PriorityFrame.TYPE: {
-            processPriorityFrame(frame);
+            processPriorityFrame(http2Session, frame);
+            break;
+        }
+        case PriorityUpdateFrame.TYPE: {
+            processPriorityUpdateFrame(http2Session, frame);
             break;
         }
         case HeadersFrame.TYPE:
@@ -401,7 +436,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
 
     }
 
-    private void processPriorityFrame(final Http2Frame frame) throws Http2SessionException, Http2StreamException {
+    private void processPriorityFrame(final Http2Session http2Session, final Http2Frame frame) throws Http2SessionException, Http2StreamException {
         final int streamId = frame.getStreamId();
         try {
             if (streamId == 0) {
@@ -413,6 +448,37 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             if (streamId == ((PriorityFrame) frame).getStreamDependency()) {
                 throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "PRIORITY frame dependent on itself.");
             }
+
+            final Http2Stream stream = http2Session.getStream(streamId);
+            if (stream != null) {
+                stream.setWeight(((PriorityFrame) frame).getWeight() + 1);
+            }
+        } finally {
+            frame.recycle();
+        }
+    }
+
+    private void processPriorityUpdateFrame(final Http2Session http2Session, final Http2Frame frame) throws Http2SessionException {
+        try {
+            final PriorityUpdateFrame updateFrame = (PriorityUpdateFrame) frame;
+            if (!http2Session.isServer()) {
+                throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "PRIORITY_UPDATE frame received by client.");
+            }
+            if (frame.getStreamId() != 0) {
+                throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "PRIORITY_UPDATE frame on non-zero stream ID.");
+            }
+            if (frame.getLength() < 4) {
+                throw new Http2SessionException(ErrorCode.FRAME_SIZE_ERROR, "PRIORITY_UPDATE frame is too short.");
+            }
+            if (updateFrame.getPrioritizedStreamId() == 0) {
+                throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "PRIORITY_UPDATE frame prioritizes stream ID zero.");
+            }
+
+            // the updates of the streams, which are not open yet, are ignored
+            final Http2Stream stream = http2Session.getStream(updateFrame.getPrioritizedStreamId());
+            if (stream != null) {
+                stream.setStreamPriority(StreamPriority.parse(updateFrame.getPriorityFieldValue()));
+            }
         } finally {
             frame.recycle();
         }
@@ -477,6 +543,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             }
             sendSettingsAck(http2Session, context);
             applySettings(http2Session, settingsFrame);
+            http2Session.onPeerSettingsApplied();
         } finally {
             frame.recycle();
         }
@@ -531,6 +598,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
         PingFrame pingFrame = (PingFrame) frame;
 
         if (pingFrame.isAckSet()) {
+            http2Session.onPingAck(pingFrame.getOpaqueData());
             return;
         }
 
@@ -882,29 +950,42 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             dataFrame.recycle();
         }
 
-        // Always ACK the data to maintain flow-control state
-        http2Session.ackConsumedData(data.remaining());
-
-        // If we're going away, ignore any frames for streams greater than the last stream ID from the goaway frame.
-        if (ignoreFrameForStreamId(http2Session, streamId)) {
-            return;
+        // ACK the data to maintain flow-control state. In zero-copy input mode
+        // the data is ACKed once it's passed to the HTTP layer, or right away if it's dropped
+        final boolean isZeroCopyInput = http2Session.isZeroCopyInput();
+        if (!isZeroCopyInput) {
+            http2Session.ackConsumedData(data.remaining());
         }
+        http2Session.onDataFrameReceived(data.remaining());
 
-        final Http2Stream stream = http2Session.getStream(streamId);
-        if (stream == null && streamId > http2Session.lastPeerStreamId) {
-            // consider this case an idle stream without creating one
-            throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "Received DATA frame on IDLE stream.");
-        }
-        // @TODO null stream may happen if stream state has been cleaned up. Need to deal with this better.
-        if (stream == null) {
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Data frame received for non-existent stream: connection={0}, frame={1}, stream={2}",
-                        new Object[] { context.getConnection(), dataFrame, streamId });
+        boolean isOffered = false;
+        try {
+            // If we're going away, ignore any frames for streams greater than the last stream ID from the goaway frame.
+            if (ignoreFrameForStreamId(http2Session, streamId)) {
+                return;
+            }
+
+            final Http2Stream stream = http2Session.getStream(streamId);
+            if (stream == null && streamId > http2Session.lastPeerStreamId) {
+                // consider this case an idle stream without creating one
+                throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "Received DATA frame on IDLE stream.");
+            }
+            // @TODO null stream may happen if stream state has been cleaned up. Need to deal with this better.
+            if (stream == null) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Data frame received for non-existent stream: connection={0}, frame={1}, stream={2}",
+                            new Object[] { context.getConnection(), dataFrame, streamId });
+                }
+                throw new Http2StreamException(streamId, ErrorCode.STREAM_CLOSED);
             }
-            throw new Http2StreamException(streamId, ErrorCode.STREAM_CLOSED);
-        }
 
-        stream.offerInputData(data, fin);
+            stream.offerInputData(data, fin);
+            isOffered = true;
+        } finally {
+            if (isZeroCopyInput && !isOffered) {
+                http2Session.ackConsumedData(data.remaining());
+            }
+        }
     }
 
     protected static boolean ignoreFrameForStreamId(final Http2Session session, final int streamId) {
@@ -17,8 +17,10 @@
 package org.glassfish.grizzly.http2;
 
 import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import org.glassfish.grizzly.filterchain.Filter;
+import org.glassfish.grizzly.http.ConnectionAgeLimit;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 
 /**
@@ -33,6 +35,11 @@ public class Http2Configuration {
     public static final float DEFAULT_STREAMS_HIGH_WATER_MARK = 0.5f;
     public static final float DEFAULT_STREAMS_CLEAN_PERCENTAGE = 0.5f;
     public static final int DEFAULT_CLEAN_FREQUENCY_CHECK = 50;
+    public static final int DEFAULT_MAX_WINDOW_SIZE = 16 * 1024 * 1024;
+    public static final int DEFAULT_MAX_STREAM_RESETS_PER_SECOND = 200;
+    public static final int DEFAULT_MAX_NEW_STREAMS_PER_SECOND = -1;
+    public static final int DEFAULT_MAX_CONTROL_FRAMES_PER_SECOND = 1000;
+    public static final int DEFAULT_MAX_EMPTY_FRAMES_PER_SECOND = 100;
 
     private volatile int maxConcurrentStreams;
     private volatile int initialWindowSize;
@@ -44,6 +51,18 @@ public class Http2Configuration {
     private volatile boolean disableCipherCheck;
     private volatile boolean priorKnowledge;
     private volatile boolean pushEnabled;
+    private volatile Supplier<Http2StreamScheduler> streamSchedulerFactory;
+    private volatile boolean windowAutoTuning;
+    private volatile int maxWindowSize;
+    private volatile int maxStreamResetsPerSecond;
+    private volatile int maxNewStreamsPerSecond;
+    private volatile int maxControlFramesPerSecond;
+    private volatile int maxEmptyFramesPerSecond;
+    private volatile boolean zeroCopyInput;
+    private volatile int maxConnectionAgeInSeconds;
+    private volatile float connectionAgeJitter;
+    private volatile int overloadConnectionsThreshold;
+    private volatile int overloadMaxConnectionAgeInSeconds;
     private final ExecutorService executorService;
     private final ThreadPoolConfig threadPoolConfig;
 
@@ -62,6 +81,18 @@ public class Http2Configuration {
         streamsHighWaterMark = builder.streamsHighWaterMark;
         cleanPercentage = builder.cleanPercentage;
         cleanFrequencyCheck = builder.cleanFrequencyCheck;
+        streamSchedulerFactory = builder.streamSchedulerFactory;
+        windowAutoTuning = builder.windowAutoTuning;
+        maxWindowSize = builder.maxWindowSize;
+        maxStreamResetsPerSecond = builder.maxStreamResetsPerSecond;
+        maxNewStreamsPerSecond = builder.maxNewStreamsPerSecond;
+        maxControlFramesPerSecond = builder.maxControlFramesPerSecond;
+        maxEmptyFramesPerSecond = builder.maxEmptyFramesPerSecond;
+        zeroCopyInput = builder.zeroCopyInput;
+        maxConnectionAgeInSeconds = builder.maxConnectionAgeInSeconds;
+        connectionAgeJitter = builder.connectionAgeJitter;
+        overloadConnectionsThreshold = builder.overloadConnectionsThreshold;
+        overloadMaxConnectionAgeInSeconds = builder.overloadMaxConnectionAgeInSeconds;
     }
 
     // --------------------------------------------------------- Public Methods
@@ -230,6 +261,281 @@ public class Http2Configuration {
         this.cleanFrequencyCheck = cleanFrequencyCheck;
     }
 
+    /**
+     * @return the factory of the {@link Http2StreamScheduler}s, which decide the order the stream responses are written in.
+     * If not explicitly configured, the {@link PriorityStreamScheduler} is used.
+     *
+     * @since 4.1
+     */
+    public Supplier<Http2StreamScheduler> getStreamSchedulerFactory() {
+        return streamSchedulerFactory;
+    }
+
+    /**
+     * Sets the factory of the {@link Http2StreamScheduler}s, a new scheduler is created for each HTTP/2 session. Pass
+     * <tt>FifoStreamScheduler::new</tt> to write the stream data in the order it was written by the application.
+     *
+     * @since 4.1
+     */
+    public void setStreamSchedulerFactory(final Supplier<Http2StreamScheduler> streamSchedulerFactory) {
+        this.streamSchedulerFactory = streamSchedulerFactory;
+    }
+
+    /**
+     * @return <code>true</code> if the receive windows of new HTTP2 connections are tuned automatically. By default the
+     * auto-tuning is disabled.
+     *
+     * @since 4.1
+     */
+    public boolean isWindowAutoTuning() {
+        return windowAutoTuning;
+    }
+
+    /**
+     * Enables or disables the receive window auto-tuning. When enabled, each session estimates the bandwidth-delay
+     * product from the PING round trips and the data arrival rate, and grows the connection window and the initial stream
+     * window up to the {@link #getMaxWindowSize() max window size}, so uploads over high-latency links aren't capped by the
+     * static window. The windows of the streams, whose application reads lag, are shrunk.
+     *
+     * @param windowAutoTuning <code>true</code> to enable the auto-tuning
+     *
+     * @since 4.1
+     */
+    public void setWindowAutoTuning(final boolean windowAutoTuning) {
+        this.windowAutoTuning = windowAutoTuning;
+    }
+
+    /**
+     * @return the maximum size, in bytes, the receive windows may be grown to by the auto-tuning. If not explicitly
+     * configured, this returns {@value #DEFAULT_MAX_WINDOW_SIZE}.
+     *
+     * @since 4.1
+     */
+    public int getMaxWindowSize() {
+        return maxWindowSize;
+    }
+
+    /**
+     * Sets the maximum size, in bytes, the receive windows may be grown to by the auto-tuning.
+     *
+     * @since 4.1
+     */
+    public void setMaxWindowSize(final int maxWindowSize) {
+        this.maxWindowSize = maxWindowSize;
+    }
+
+    /**
+     * @return the number of stream resets a peer may cause per second, with a burst of the same size, before the
+     * session is terminated with <tt>ENHANCE_YOUR_CALM</tt>. Both the RST_STREAM frames sent by the peer and the
+     * streams reset by the server because of the peer's stream errors are counted. If not explicitly configured, this
+     * returns {@value #DEFAULT_MAX_STREAM_RESETS_PER_SECOND}. Negative value means "unlimited".
+     *
+     * @since 4.1
+     */
+    public int getMaxStreamResetsPerSecond() {
+        return maxStreamResetsPerSecond;
+    }
+
+    /**
+     * Sets the number of stream resets a peer may cause per second. The budget protects the server from the clients,
+     * which keep opening and cancelling streams (the "rapid reset" pattern), or keep sending stream errors to make the
+     * server reset the streams, so the server doesn't burn the worker threads on requests, that nobody waits for.
+     * Negative value means "unlimited".
+     *
+     * @since 4.1
+     */
+    public void setMaxStreamResetsPerSecond(final int maxStreamResetsPerSecond) {
+        this.maxStreamResetsPerSecond = maxStreamResetsPerSecond;
+    }
+
+    /**
+     * @return the number of streams a peer may open per second, with a burst of the same size, before the session is
+     * terminated with <tt>ENHANCE_YOUR_CALM</tt>. If not explicitly configured, this returns
+     * {@value #DEFAULT_MAX_NEW_STREAMS_PER_SECOND}, i.e. the budget is disabled. Negative value means "unlimited".
+     *
+     * @since 4.1
+     */
+    public int getMaxNewStreamsPerSecond() {
+        return maxNewStreamsPerSecond;
+    }
+
+    /**
+     * Sets the number of streams a peer may open per second. Unlike the stream resets budget, this one also catches the
+     * clients, which open streams faster than the server can serve them, without ever resetting them. The budget is
+     * disabled by default, because legitimate clients, which multiplex many short requests over a single connection (for
+     * example gRPC clients or backend proxies), may open thousands of streams per second. When enabling it, the value
+     * has to be above the peak request rate of such clients. Negative value means "unlimited".
+     *
+     * @since 4.1
+     */
+    public void setMaxNewStreamsPerSecond(final int maxNewStreamsPerSecond) {
+        this.maxNewStreamsPerSecond = maxNewStreamsPerSecond;
+    }
+
+    /**
+     * @return the number of PING, SETTINGS, PRIORITY, PRIORITY_UPDATE and unknown frames a peer may send per second, with a
+     * burst of the same size, before the session is terminated with <tt>ENHANCE_YOUR_CALM</tt>. The acknowledgements are
+     * not counted. If not explicitly configured, this returns {@value #DEFAULT_MAX_CONTROL_FRAMES_PER_SECOND}. Negative
+     * value means "unlimited".
+     *
+     * @since 4.1
+     */
+    public int getMaxControlFramesPerSecond() {
+        return maxControlFramesPerSecond;
+    }
+
+    /**
+     * Sets the number of control frames a peer may send per second. Negative value means "unlimited".
+     *
+     * @see #getMaxControlFramesPerSecond()
+     *
+     * @since 4.1
+     */
+    public void setMaxControlFramesPerSecond(final int maxControlFramesPerSecond) {
+        this.maxControlFramesPerSecond = maxControlFramesPerSecond;
+    }
+
+    /**
+     * @return the number of empty DATA (without END_STREAM) and CONTINUATION (without END_HEADERS) frames a peer may send
+     * per second, with a burst of the same size, before the session is terminated with <tt>ENHANCE_YOUR_CALM</tt>. If not
+     * explicitly configured, this returns {@value #DEFAULT_MAX_EMPTY_FRAMES_PER_SECOND}. Negative value means
+     * "unlimited".
+     *
+     * @since 4.1
+     */
+    public int getMaxEmptyFramesPerSecond() {
+        return maxEmptyFramesPerSecond;
+    }
+
+    /**
+     * Sets the number of empty DATA and CONTINUATION frames a peer may send per second. Negative value means "unlimited".
+     *
+     * @see #getMaxEmptyFramesPerSecond()
+     *
+     * @since 4.1
+     */
+    public void setMaxEmptyFramesPerSecond(final int maxEmptyFramesPerSecond) {
+        this.maxEmptyFramesPerSecond = maxEmptyFramesPerSecond;
+    }
+
+    /**
+     * @return <code>true</code> if the connection receive window is credited only when the stream input data is passed to
+     * the HTTP layer. By default the zero-copy input mode is disabled.
+     *
+     * @since 4.1
+     */
+    public boolean isZeroCopyInput() {
+        return zeroCopyInput;
+    }
+
+    /**
+     * Enables or disables the zero-copy input mode. DATA frame payloads are always passed to the stream input buffers as
+     * slices of the connection read buffer, which keep the read buffer alive until the payload is released. By default the
+     * connection window is credited as soon as a DATA frame arrives. When the zero-copy input mode is enabled, the
+     * connection window is credited only when the payload leaves the stream input buffer, i.e. it is passed to the HTTP
+     * layer (or dropped), so the payload waiting in the stream input buffers is bounded by the connection window. The
+     * payload already passed to the HTTP layer, but not yet read by the application, is not accounted. The downside is
+     * that a stream, whose input isn't passed upstream, may stall the other streams of the connection.
+     *
+     * @param zeroCopyInput <code>true</code> to credit the connection window when the data is passed to the HTTP layer
+     *
+     * @since 4.1
+     */
+    public void setZeroCopyInput(final boolean zeroCopyInput) {
+        this.zeroCopyInput = zeroCopyInput;
+    }
+
+    /**
+     * @return the number of seconds a server session may be open before it's drained with a graceful GOAWAY. Negative
+     * value (the default) means "unlimited".
+     *
+     * @since 4.1
+     */
+    public int getMaxConnectionAgeInSeconds() {
+        return maxConnectionAgeInSeconds;
+    }
+
+    /**
+     * Sets the max age of server sessions. The first request on a session older than that is still served, but it's
+     * accompanied by a GOAWAY, so the client opens a new connection, which the load balancer may route to another node.
+     * Once the in-flight streams are complete, the session is closed. Negative value means "unlimited".
+     *
+     * @see #getConnectionAgeJitter()
+     *
+     * @since 4.1
+     */
+    public void setMaxConnectionAgeInSeconds(final int maxConnectionAgeInSeconds) {
+        this.maxConnectionAgeInSeconds = maxConnectionAgeInSeconds;
+    }
+
+    /**
+     * @return the fraction in <tt>[0, 1)</tt>, by which each session's age limit is randomly shortened, so the sessions
+     * opened together don't go away together. If not explicitly configured, this returns
+     * {@value ConnectionAgeLimit#DEFAULT_JITTER}.
+     *
+     * @since 4.1
+     */
+    public float getConnectionAgeJitter() {
+        return connectionAgeJitter;
+    }
+
+    /**
+     * Sets the fraction in <tt>[0, 1)</tt>, by which each session's age limit is randomly shortened.
+     *
+     * @see #getConnectionAgeJitter()
+     *
+     * @since 4.1
+     */
+    public void setConnectionAgeJitter(final float connectionAgeJitter) {
+        this.connectionAgeJitter = connectionAgeJitter;
+    }
+
+    /**
+     * @return the number of open server sessions, above which the server is considered overloaded and the
+     * {@link #getOverloadMaxConnectionAgeInSeconds() overload age limit} applies. Negative value (the default) disables the
+     * overload mode.
+     *
+     * @since 4.1
+     */
+    public int getOverloadConnectionsThreshold() {
+        return overloadConnectionsThreshold;
+    }
+
+    /**
+     * Sets the number of open server sessions, above which the server is considered overloaded. Negative value disables
+     * the overload mode.
+     *
+     * @see #getOverloadConnectionsThreshold()
+     *
+     * @since 4.1
+     */
+    public void setOverloadConnectionsThreshold(final int overloadConnectionsThreshold) {
+        this.overloadConnectionsThreshold = overloadConnectionsThreshold;
+    }
+
+    /**
+     * @return the number of seconds a server session may be open, while more than
+     * {@link #getOverloadConnectionsThreshold()} sessions are open, so an overloaded server sheds its sessions faster.
+     * Negative value (the default) means "unlimited".
+     *
+     * @since 4.1
+     */
+    public int getOverloadMaxConnectionAgeInSeconds() {
+        return overloadMaxConnectionAgeInSeconds;
+    }
+
+    /**
+     * Sets the max age of server sessions, which applies while the server is overloaded. Negative value means
+     * "unlimited".
+     *
+     * @see #getOverloadMaxConnectionAgeInSeconds()
+     *
+     * @since 4.1
+     */
+    public void setOverloadMaxConnectionAgeInSeconds(final int overloadMaxConnectionAgeInSeconds) {
+        this.overloadMaxConnectionAgeInSeconds = overloadMaxConnectionAgeInSeconds;
+    }
+
     /**
      * @return the thread pool configuration for servicing HTTP/2 streams, if any.
      */
@@ -257,6 +563,18 @@ public class Http2Configuration {
         private float streamsHighWaterMark = DEFAULT_STREAMS_HIGH_WATER_MARK;
         private float cleanPercentage = DEFAULT_STREAMS_CLEAN_PERCENTAGE;
         private int cleanFrequencyCheck = DEFAULT_CLEAN_FREQUENCY_CHECK;
+        private Supplier<Http2StreamScheduler> streamSchedulerFactory = PriorityStreamScheduler::new;
+        private boolean windowAutoTuning;
+        private int maxWindowSize = DEFAULT_MAX_WINDOW_SIZE;
+        private int maxStreamResetsPerSecond = DEFAULT_MAX_STREAM_RESETS_PER_SECOND;
+        private int maxNewStreamsPerSecond = DEFAULT_MAX_NEW_STREAMS_PER_SECOND;
+        private int maxControlFramesPerSecond = DEFAULT_MAX_CONTROL_FRAMES_PER_SECOND;
+        private int maxEmptyFramesPerSecond = DEFAULT_MAX_EMPTY_FRAMES_PER_SECOND;
+        private boolean zeroCopyInput;
+        private int maxConnectionAgeInSeconds = -1;
+        private float connectionAgeJitter = ConnectionAgeLimit.DEFAULT_JITTER;
+        private int overloadConnectionsThreshold = -1;
+        private int overloadMaxConnectionAgeInSeconds = -1;
         private ThreadPoolConfig threadPoolConfig;
         private ExecutorService executorService;
 
@@ -362,6 +680,102 @@ public class Http2Configuration {
             return this;
         }
 
+        /**
+         * @see #setStreamSchedulerFactory(Supplier)
+         */
+        public Http2ConfigurationBuilder streamSchedulerFactory(final Supplier<Http2StreamScheduler> val) {
+            streamSchedulerFactory = val;
+            return this;
+        }
+
+        /**
+         * @see #setWindowAutoTuning(boolean)
+         */
+        public Http2ConfigurationBuilder windowAutoTuning(final boolean val) {
+            windowAutoTuning = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxWindowSize(int)
+         */
+        public Http2ConfigurationBuilder maxWindowSize(final int val) {
+            maxWindowSize = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxStreamResetsPerSecond(int)
+         */
+        public Http2ConfigurationBuilder maxStreamResetsPerSecond(final int val) {
+            maxStreamResetsPerSecond = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxNewStreamsPerSecond(int)
+         */
+        public Http2ConfigurationBuilder maxNewStreamsPerSecond(final int val) {
+            maxNewStreamsPerSecond = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxControlFramesPerSecond(int)
+         */
+        public Http2ConfigurationBuilder maxControlFramesPerSecond(final int val) {
+            maxControlFramesPerSecond = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxEmptyFramesPerSecond(int)
+         */
+        public Http2ConfigurationBuilder maxEmptyFramesPerSecond(final int val) {
+            maxEmptyFramesPerSecond = val;
+            return this;
+        }
+
+        /**
+         * @see #setZeroCopyInput(boolean)
+         */
+        public Http2ConfigurationBuilder zeroCopyInput(final boolean val) {
+            zeroCopyInput = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxConnectionAgeInSeconds(int)
+         */
+        public Http2ConfigurationBuilder maxConnectionAgeInSeconds(final int val) {
+            maxConnectionAgeInSeconds = val;
+            return this;
+        }
+
+        /**
+         * @see #setConnectionAgeJitter(float)
+         */
+        public Http2ConfigurationBuilder connectionAgeJitter(final float val) {
+            connectionAgeJitter = val;
+            return this;
+        }
+
+        /**
+         * @see #setOverloadConnectionsThreshold(int)
+         */
+        public Http2ConfigurationBuilder overloadConnectionsThreshold(final int val) {
+            overloadConnectionsThreshold = val;
+            return this;
+        }
+
+        /**
+         * @see #setOverloadMaxConnectionAgeInSeconds(int)
+         */
+        public Http2ConfigurationBuilder overloadMaxConnectionAgeInSeconds(final int val) {
+            overloadMaxConnectionAgeInSeconds = val;
+            return this;
+        }
+
         /**
          * @return a new {@link Http2Configuration} instances based on the values of this builder.
          */
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import org.glassfish.grizzly.http2.frames.ContinuationFrame;
+import org.glassfish.grizzly.http2.frames.DataFrame;
+import org.glassfish.grizzly.http2.frames.ErrorCode;
+import org.glassfish.grizzly.http2.frames.GoAwayFrame;
+import org.glassfish.grizzly.http2.frames.HeadersFrame;
+import org.glassfish.grizzly.http2.frames.Http2Frame;
+import org.glassfish.grizzly.http2.frames.PingFrame;
+import org.glassfish.grizzly.http2.frames.PushPromiseFrame;
+import org.glassfish.grizzly.http2.frames.RstStreamFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.glassfish.grizzly.http2.frames.WindowUpdateFrame;
+
+/**
+ * Per-session accounting of the frames, which are cheap for a peer to send, but not for the server to process: the
+ * new streams, the stream resets (the "rapid reset" pattern), either sent by the peer or caused by its stream errors,
+ * the control frames and the empty frames. Each kind of frames has its own token bucket budget, configured in
+ * {@link Http2Configuration}. The session, which exceeds a budget, is terminated
+ * with <tt>GOAWAY(ENHANCE_YOUR_CALM)</tt>.
+ *
+ * The budgets are implemented as the generic cell rate algorithm, so each of them is a single <tt>long</tt>. The
+ * frames of a session are processed sequentially, so no synchronization is needed.
+ *
+ * @since 4.1
+ */
+final class Http2FloodProtection {
+    private final Budget newStreams;
+    private final Budget streamResets;
+    private final Budget controlFrames;
+    private final Budget emptyFrames;
+
+    Http2FloodProtection(final Http2Configuration configuration) {
+        newStreams = Budget.of(configuration.getMaxNewStreamsPerSecond());
+        streamResets = Budget.of(configuration.getMaxStreamResetsPerSecond());
+        controlFrames = Budget.of(configuration.getMaxControlFramesPerSecond());
+        emptyFrames = Budget.of(configuration.getMaxEmptyFramesPerSecond());
+    }
+
+    /**
+     * @return <tt>true</tt> if all the budgets are unlimited
+     */
+    boolean isDisabled() {
+        return newStreams == null && streamResets == null && controlFrames == null && emptyFrames == null;
+    }
+
+    /**
+     * Accounts the stream opened by the peer.
+     *
+     * @throws Http2SessionException with {@link ErrorCode#ENHANCE_YOUR_CALM}, if the peer opens too many streams
+     */
+    void onStreamCreated() throws Http2SessionException {
+        check(newStreams, "new streams");
+    }
+
+    /**
+     * Accounts the stream reset by the session because of the peer's stream error.
+     *
+     * @throws Http2SessionException with {@link ErrorCode#ENHANCE_YOUR_CALM}, if the peer causes too many resets
+     */
+    void onStreamReset() throws Http2SessionException {
+        check(streamResets, "stream resets");
+    }
+
+    /**
+     * Accounts the received frame.
+     *
+     * @throws Http2SessionException with {@link ErrorCode#ENHANCE_YOUR_CALM}, if the frame exceeds the budget
+     */
+    void onFrame(final Http2Frame frame) throws Http2SessionException {
+        final Budget budget;
+        final String kind;
+        switch (frame.getType()) {
+        case RstStreamFrame.TYPE:
+            budget = streamResets;
+            kind = "RST_STREAM frames";
+            break;
+        case PingFrame.TYPE:
+            if (((PingFrame) frame).isAckSet()) {
+                return;
+            }
+            budget = controlFrames;
+            kind = "control frames";
+            break;
+        case SettingsFrame.TYPE:
+            if (((SettingsFrame) frame).isAck()) {
+                return;
+            }
+            budget = controlFrames;
+            kind = "control frames";
+            break;
+        case DataFrame.TYPE: {
+            final DataFrame dataFrame = (DataFrame) frame;
+            if (dataFrame.isEndStream() || dataFrame.getData().hasRemaining()) {
+                return;
+            }
+            budget = emptyFrames;
+            kind = "empty frames";
+            break;
+        }
+        case ContinuationFrame.TYPE: {
+            final ContinuationFrame continuationFrame = (ContinuationFrame) frame;
+            if (continuationFrame.isEndHeaders() || continuationFrame.getCompressedHeaders().hasRemaining()) {
+                return;
+            }
+            budget = emptyFrames;
+            kind = "empty frames";
+            break;
+        }
+        case HeadersFrame.TYPE:
+        case PushPromiseFrame.TYPE:
+        case WindowUpdateFrame.TYPE:
+        case GoAwayFrame.TYPE:
+            return;
+        default:
+            // PRIORITY, PRIORITY_UPDATE and unknown frames
+            budget = controlFrames;
+            kind = "control frames";
+        }
+
+        check(budget, kind);
+    }
+
+    private static void check(final Budget budget, final String kind) throws Http2SessionException {
+        if (budget != null && !budget.tryAcquire(System.nanoTime())) {
+            throw new Http2SessionException(ErrorCode.ENHANCE_YOUR_CALM, "Too many " + kind);
+        }
+    }
+
+    /**
+     * Token bucket, which allows the given number of events per second with the burst of the same size.
+     */
+    static final class Budget {
+        private static final long SECOND = 1_000_000_000L;
+
+        private final long interval;
+        private final long tolerance;
+
+        // the theoretical arrival time of the next event
+        private long tat = Long.MIN_VALUE;
+
+        private Budget(final int eventsPerSecond) {
+            interval = SECOND / eventsPerSecond;
+            tolerance = SECOND - interval;
+        }
+
+        /**
+         * @return a new {@link Budget}, or <tt>null</tt> if the rate is unlimited
+         */
+        static Budget of(final int eventsPerSecond) {
+            return eventsPerSecond < 0 ? null : new Budget(Math.max(1, eventsPerSecond));
+        }
+
+        boolean tryAcquire(final long now) {
+            final long t = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            if (t - now > tolerance) {
+                return false;
+            }
+
+            tat = t + interval;
+            return true;
+        }
+    }
+}
@@ -141,6 +141,17 @@ public class Http2FrameCodec {
             return parsingResult.setNeedMore(buffer);
         }
 
+        final Http2Frame controlFrame = http2Session.parseControlFrame(buffer, len);
+        if (controlFrame != null) {
+            // the control frame has been decoded in place, the rest of the buffer is the remainder
+            if (buffer.hasRemaining()) {
+                return parsingResult.setParsed(controlFrame, buffer);
+            }
+
+            buffer.tryDispose();
+            return parsingResult.setParsed(controlFrame, Buffers.EMPTY_BUFFER);
+        }
+
         final Buffer remainder = buffer.split(buffer.position() + len);
         final Http2Frame frame = http2Session.parseHttp2FrameHeader(buffer);
 
@@ -174,8 +185,14 @@ public class Http2FrameCodec {
         }
 
         Buffer appendToRemainder(final MemoryManager mm, final Buffer buffer) {
-            final Buffer remainderBuffer = parsingResult.remainder;
+            Buffer remainderBuffer = parsingResult.remainder;
             parsingResult.remainder = null;
+            if (remainderBuffer != null && !remainderBuffer.hasRemaining()) {
+                // the previous message ended on the frame boundary, don't compose the new message with the empty remainder
+                remainderBuffer.tryDispose();
+                remainderBuffer = null;
+            }
+
             return Buffers.appendBuffers(mm, remainderBuffer, buffer, true);
         }
 
@@ -75,7 +75,17 @@ public class Http2OutputQueueRecord extends AsyncQueueRecord<WriteResult> {
         return isZeroSizeData;
     }
 
-    boolean isFinished() {
+    /**
+     * @return the ID of the stream the record belongs to
+     */
+    public int getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * @return <tt>true</tt> if all the record data has been serialized
+     */
+    public boolean isFinished() {
         return buffer == null;
     }
 
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+/**
+ * Monitoring probe providing callbacks that may be invoked by the HTTP/2 {@link Http2BaseFilter filters}.
+ *
+ * @since 4.1
+ */
+public interface Http2Probe {
+
+    /**
+     * Method will be called, when the receive window auto-tuning takes a new bandwidth-delay product sample.
+     *
+     * @param session the {@link Http2Session} the event belongs to
+     * @param rttNanos the PING round-trip time in nanoseconds
+     * @param bdp the number of bytes received during the round trip
+     */
+    void onBdpSampleEvent(Http2Session session, long rttNanos, int bdp);
+
+    /**
+     * Method will be called, when the receive window auto-tuning grows the connection window and the initial stream
+     * window of the session.
+     *
+     * @param session the {@link Http2Session} the event belongs to
+     * @param oldWindowSize the old window size
+     * @param newWindowSize the new window size
+     */
+    void onSessionWindowTuneEvent(Http2Session session, int oldWindowSize, int newWindowSize);
+
+    /**
+     * Method will be called, when the receive window auto-tuning shrinks the window of the stream, whose application
+     * reads lag, or restores it once the application catches up.
+     *
+     * @param session the {@link Http2Session} the event belongs to
+     * @param stream the {@link Http2Stream} the event belongs to
+     * @param oldWindowSize the old window size
+     * @param newWindowSize the new window size
+     */
+    void onStreamWindowTuneEvent(Http2Session session, Http2Stream stream, int oldWindowSize, int newWindowSize);
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * {@link Http2Probe} adapter that provides no-op implementations for all interface methods allowing easy extension by
+     * the developer.
+     */
+    class Adapter implements Http2Probe {
+
+        // -------------------------------------------- Methods from Http2Probe
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onBdpSampleEvent(Http2Session session, long rttNanos, int bdp) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onSessionWindowTuneEvent(Http2Session session, int oldWindowSize, int newWindowSize) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onStreamWindowTuneEvent(Http2Session session, Http2Stream stream, int oldWindowSize, int newWindowSize) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+/**
+ * Utility class, which has notification methods for different {@link Http2Probe} events.
+ *
+ * @since 4.1
+ */
+final class Http2ProbeNotifier {
+
+    /**
+     * Notify registered {@link Http2Probe}s about the "BDP sample" event.
+     *
+     * @param session the {@link Http2Session} event occurred on.
+     * @param rttNanos the PING round-trip time in nanoseconds.
+     * @param bdp the number of bytes received during the round trip.
+     */
+    static void notifyBdpSample(final Http2Session session, final long rttNanos, final int bdp) {
+        final Http2Probe[] probes = session.handlerFilter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (Http2Probe probe : probes) {
+                probe.onBdpSampleEvent(session, rttNanos, bdp);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link Http2Probe}s about the "session window tuned" event.
+     *
+     * @param session the {@link Http2Session} event occurred on.
+     * @param oldWindowSize the old window size.
+     * @param newWindowSize the new window size.
+     */
+    static void notifySessionWindowTune(final Http2Session session, final int oldWindowSize, final int newWindowSize) {
+        final Http2Probe[] probes = session.handlerFilter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (Http2Probe probe : probes) {
+                probe.onSessionWindowTuneEvent(session, oldWindowSize, newWindowSize);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link Http2Probe}s about the "stream window tuned" event.
+     *
+     * @param session the {@link Http2Session} event occurred on.
+     * @param stream the {@link Http2Stream} event occurred on.
+     * @param oldWindowSize the old window size.
+     * @param newWindowSize the new window size.
+     */
+    static void notifyStreamWindowTune(final Http2Session session, final Http2Stream stream, final int oldWindowSize, final int newWindowSize) {
+        final Http2Probe[] probes = session.handlerFilter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (Http2Probe probe : probes) {
+                probe.onStreamWindowTuneEvent(session, stream, oldWindowSize, newWindowSize);
+            }
+        }
+    }
+}
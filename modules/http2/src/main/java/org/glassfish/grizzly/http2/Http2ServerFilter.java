@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -41,9 +42,11 @@ import java.util.logging.Logger;
 import javax.net.ssl.SSLEngine;
 
 import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.CompletionHandler;
 import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.Grizzly;
 import org.glassfish.grizzly.Transport;
+import org.glassfish.grizzly.WriteResult;
 import org.glassfish.grizzly.attributes.Attribute;
 import org.glassfish.grizzly.attributes.AttributeBuilder;
 import org.glassfish.grizzly.filterchain.Filter;
@@ -51,6 +54,7 @@ import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.filterchain.FilterChainEvent;
 import org.glassfish.grizzly.filterchain.NextAction;
 import org.glassfish.grizzly.filterchain.ShutdownEvent;
+import org.glassfish.grizzly.http.ConnectionAgeLimit;
 import org.glassfish.grizzly.http.HttpBrokenContentException;
 import org.glassfish.grizzly.http.HttpContent;
 import org.glassfish.grizzly.http.HttpContext;
@@ -61,6 +65,7 @@ import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.HttpResponsePacket;
 import org.glassfish.grizzly.http.Method;
 import org.glassfish.grizzly.http.Protocol;
+import org.glassfish.grizzly.http.StaticResponse;
 import org.glassfish.grizzly.http.server.http2.PushEvent;
 import org.glassfish.grizzly.http.util.DataChunk;
 import org.glassfish.grizzly.http.util.FastHttpDateFormat;
@@ -84,6 +89,9 @@ import org.glassfish.grizzly.ssl.SSLUtils;
 public class Http2ServerFilter extends Http2BaseFilter {
     private final static Logger LOGGER = Grizzly.logger(Http2ServerFilter.class);
 
+    // RFC 9218 priority request header
+    private static final String PRIORITY_HEADER = "priority";
+
     private static final String[] CIPHER_SUITE_BLACK_LIST = { "TLS_NULL_WITH_NULL_NULL", "TLS_RSA_WITH_NULL_MD5", "TLS_RSA_WITH_NULL_SHA",
             "TLS_RSA_EXPORT_WITH_RC4_40_MD5", "TLS_RSA_WITH_RC4_128_MD5", "TLS_RSA_WITH_RC4_128_SHA", "TLS_RSA_EXPORT_WITH_RC2_CBC_40_MD5",
             "TLS_RSA_WITH_IDEA_CBC_SHA", "TLS_RSA_EXPORT_WITH_DES40_CBC_SHA", "TLS_RSA_WITH_DES_CBC_SHA", "TLS_RSA_WITH_3DES_EDE_CBC_SHA",
@@ -180,12 +188,20 @@ public class Http2ServerFilter extends Http2BaseFilter {
     private final Collection<Connection> activeConnections = new HashSet<>(1024);
     private final AtomicBoolean shuttingDown = new AtomicBoolean();
 
+    // the server sessions age limit, null if disabled
+    private final ConnectionAgeLimit connectionAgeLimit;
+
     /**
      * Create a new {@link Http2ServerFilter} using the specified {@link Http2Configuration}. Configuration may be changed
      * post-construction by calling {@link #getConfiguration()}.
      */
     public Http2ServerFilter(final Http2Configuration configuration) {
         super(configuration);
+
+        final ConnectionAgeLimit limit = new ConnectionAgeLimit(configuration.getMaxConnectionAgeInSeconds(),
+                configuration.getOverloadMaxConnectionAgeInSeconds(), configuration.getOverloadConnectionsThreshold(),
+                configuration.getConnectionAgeJitter(), TimeUnit.SECONDS);
+        this.connectionAgeLimit = limit.isDisabled() ? null : limit;
     }
 
     /**
@@ -452,6 +468,11 @@ public class Http2ServerFilter extends Http2BaseFilter {
         return http2State;
     }
 
+    @Override
+    ConnectionAgeLimit.Age openConnectionAge() {
+        return connectionAgeLimit != null ? connectionAgeLimit.open() : null;
+    }
+
     Collection<Connection> shuttingDown() {
         shuttingDown.compareAndSet(false, true);
         return activeConnections;
@@ -496,6 +517,7 @@ public class Http2ServerFilter extends Http2BaseFilter {
 
         try {
             applySettings(http2Session, settingsFrame);
+            http2Session.onPeerSettingsApplied();
         } catch (Http2SessionException e) {
             Http2State.remove(connection);
             return false;
@@ -629,6 +651,8 @@ public class Http2ServerFilter extends Http2BaseFilter {
             return;
         }
 
+        http2Session.checkConnectionAge();
+
         try {
             final Map<String, String> capture = NetLogger.isActive() ? new LinkedHashMap<>() : null;
             DecoderUtils.decodeRequestHeaders(http2Session, request, capture);
@@ -651,6 +675,14 @@ public class Http2ServerFilter extends Http2BaseFilter {
             processOutgoingHttpHeader(context, http2Session, header, response);
             return;
         }
+        if (headersFrame.isPrioritized()) {
+            stream.setWeight(headersFrame.getWeight() + 1);
+        }
+        final String priority = request.getHeader(PRIORITY_HEADER);
+        if (priority != null) {
+            stream.setStreamPriority(StreamPriority.parse(priority));
+        }
+
         onHttpHeadersParsed(request, context);
         request.getHeaders().mark();
 
@@ -736,13 +768,53 @@ public class Http2ServerFilter extends Http2BaseFilter {
         final Http2Stream stream = Http2Stream.getStreamFor(response);
         assert stream != null;
 
-        if (!response.isCommitted()) {
+        final FilterChainContext.TransportContext transportContext = ctx.getTransportContext();
+
+        HttpPacket packet = entireHttpPacket;
+        final StaticResponse staticResponse = response.getStaticResponse();
+        if (staticResponse != null) {
+            if (response.isCommitted()) {
+                // the static response has been sent, the content written later is ignored
+                if (HttpContent.isContent(entireHttpPacket)) {
+                    ((HttpContent) entireHttpPacket).recycle();
+                }
+
+                final CompletionHandler<WriteResult> completionHandler = transportContext.getCompletionHandler();
+                if (completionHandler != null) {
+                    completionHandler.completed(WriteResult.create(ctx.getConnection()));
+                }
+                return;
+            }
+
+            packet = prepareStaticResponse(ctx, response, staticResponse, entireHttpPacket);
+        } else if (!response.isCommitted() && response.getEarlyHints() == null) {
             prepareOutgoingResponse(response);
         }
 
-        final FilterChainContext.TransportContext transportContext = ctx.getTransportContext();
+        stream.getOutputSink().writeDownStream(packet, ctx, transportContext.getCompletionHandler(), transportContext.getMessageCloner());
+    }
+
+    /**
+     * Turns the pre-encoded {@link StaticResponse} into a regular response, which is sent in HEADERS and DATA frames. The
+     * static headers are encoded after the headers set on the response, the content written to the response so far is
+     * replaced with the static body.
+     */
+    private static HttpContent prepareStaticResponse(final FilterChainContext ctx, final HttpResponsePacket response,
+            final StaticResponse staticResponse, final HttpPacket entireHttpPacket) {
+
+        response.setProtocol(Protocol.HTTP_2_0);
+        response.setStatus(staticResponse.getStatus());
+
+        final byte[] body = staticResponse.getBody();
+        response.setContentLength(body.length);
+
+        if (HttpContent.isContent(entireHttpPacket)) {
+            ((HttpContent) entireHttpPacket).recycle();
+        }
 
-        stream.getOutputSink().writeDownStream(entireHttpPacket, ctx, transportContext.getCompletionHandler(), transportContext.getMessageCloner());
+        final boolean isHead = Method.HEAD.equals(response.getRequest().getMethod());
+        return response.httpContentBuilder().content(isHead || body.length == 0 ? Buffers.EMPTY_BUFFER : Buffers.wrap(ctx.getMemoryManager(), body))
+                .last(true).build();
     }
 
     private void doPush(final FilterChainContext ctx, final PushEvent pushEvent) {
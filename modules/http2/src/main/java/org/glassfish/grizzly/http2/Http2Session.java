@@ -24,10 +24,8 @@ import static org.glassfish.grizzly.http2.frames.SettingsFrame.SETTINGS_MAX_HEAD
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -42,12 +40,14 @@ import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.Context;
 import org.glassfish.grizzly.EmptyCompletionHandler;
 import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.GrizzlyFuture;
 import org.glassfish.grizzly.IOEvent;
 import org.glassfish.grizzly.IOEventLifeCycleListener;
 import org.glassfish.grizzly.ProcessorExecutor;
 import org.glassfish.grizzly.WriteResult;
 import org.glassfish.grizzly.filterchain.FilterChain;
 import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.ConnectionAgeLimit;
 import org.glassfish.grizzly.http.HttpContent;
 import org.glassfish.grizzly.http.HttpContext;
 import org.glassfish.grizzly.http.HttpHeader;
@@ -66,6 +66,7 @@ import org.glassfish.grizzly.http2.frames.HeadersFrame;
 import org.glassfish.grizzly.http2.frames.Http2Frame;
 import org.glassfish.grizzly.http2.frames.PingFrame;
 import org.glassfish.grizzly.http2.frames.PriorityFrame;
+import org.glassfish.grizzly.http2.frames.PriorityUpdateFrame;
 import org.glassfish.grizzly.http2.frames.PushPromiseFrame;
 import org.glassfish.grizzly.http2.frames.RstStreamFrame;
 import org.glassfish.grizzly.http2.frames.SettingsFrame;
@@ -107,7 +108,7 @@ public class Http2Session {
 
     private final AtomicInteger concurrentStreamsCount = new AtomicInteger(0);
 
-    private final TreeMap<Integer, Http2Stream> streamsMap = new TreeMap<>();
+    private final Http2StreamMap streamsMap = new Http2StreamMap();
 
     // (Optimization) We may read several DataFrames belonging to the same
     // Http2Stream, so in order to not process every DataFrame separately -
@@ -147,6 +148,10 @@ public class Http2Session {
     private volatile boolean isPrefaceReceived;
     private volatile boolean isPrefaceSent;
 
+    // completed, once the first peer SETTINGS frame is applied
+    private final FutureImpl<Http2Session> peerSettingsFuture = Futures.createSafeFuture();
+    private volatile boolean isPeerSettingsReceived;
+
     public static Http2Session get(final Connection connection) {
         final Http2State http2State = Http2State.get(connection);
         return http2State != null ? http2State.getHttp2Session() : null;
@@ -168,6 +173,18 @@ public class Http2Session {
 
     private final AtomicInteger unackedReadBytes = new AtomicInteger();
 
+    // receive window auto-tuning, null if disabled
+    private final Http2WindowTuner windowTuner;
+
+    // the peer frames accounting, null if disabled
+    private final Http2FloodProtection floodProtection;
+
+    // true, if the connection window is credited when the input data is passed to the HTTP layer
+    private final boolean isZeroCopyInput;
+
+    // the server connection age, null if not limited
+    private final ConnectionAgeLimit.Age connectionAge;
+
     public Http2Session(final Connection<?> connection, final boolean isServer, final Http2BaseFilter handlerFilter) {
         this.connection = connection;
         final FilterChain chain = (FilterChain) connection.getProcessor();
@@ -199,6 +216,15 @@ public class Http2Session {
 
         this.maxHeaderListSize = handlerFilter.getConfiguration().getMaxHeaderListSize();
 
+        this.windowTuner = http2Configuration.isWindowAutoTuning() ? new Http2WindowTuner(this, http2Configuration.getMaxWindowSize()) : null;
+
+        final Http2FloodProtection protection = new Http2FloodProtection(http2Configuration);
+        this.floodProtection = protection.isDisabled() ? null : protection;
+
+        this.isZeroCopyInput = http2Configuration.isZeroCopyInput();
+
+        this.connectionAge = isServer ? handlerFilter.openConnectionAge() : null;
+
         if (isServer) {
             this.lastLocalStreamId = 0;
             this.lastPeerStreamId = -1;
@@ -312,11 +338,53 @@ public class Http2Session {
             return WindowUpdateFrame.fromBuffer(flags, streamId, buffer);
         case ContinuationFrame.TYPE:
             return ContinuationFrame.fromBuffer(flags, streamId, buffer);
+        case PriorityUpdateFrame.TYPE:
+            return PriorityUpdateFrame.fromBuffer(flags, streamId, buffer);
         default:
             return new UnknownFrame(type, len);
         }
     }
 
+    /**
+     * Decodes the PING, WINDOW_UPDATE, SETTINGS or RST_STREAM frame in place, the frames are decoded directly from the
+     * passed {@link Buffer}, which may contain more frames, so it doesn't have to be split and retained by the frame.
+     * The {@link Buffer} position is moved to the end of the frame.
+     *
+     * @param buffer the {@link Buffer} positioned at the frame header
+     * @param len the frame length including the frame header
+     * @return the decoded {@link Http2Frame}, or <tt>null</tt> if it's not one of the control frames above, in which case
+     * the {@link Buffer} is not changed
+     */
+    Http2Frame parseControlFrame(final Buffer buffer, final int len) {
+        final int position = buffer.position();
+        final int type = buffer.get(position + 3) & 0xff;
+        if (type != PingFrame.TYPE && type != WindowUpdateFrame.TYPE && type != SettingsFrame.TYPE && type != RstStreamFrame.TYPE) {
+            return null;
+        }
+
+        final int flags = buffer.get(position + 4) & 0xff;
+        final int streamId = buffer.getInt(position + 5) & 0x7fffffff;
+
+        final int limit = buffer.limit();
+        buffer.limit(position + len);
+        buffer.position(position + Http2Frame.FRAME_HEADER_SIZE);
+        try {
+            switch (type) {
+            case PingFrame.TYPE:
+                return PingFrame.decode(flags, streamId, buffer);
+            case WindowUpdateFrame.TYPE:
+                return WindowUpdateFrame.decode(flags, streamId, buffer);
+            case SettingsFrame.TYPE:
+                return SettingsFrame.decode(flags, streamId, buffer);
+            default:
+                return RstStreamFrame.decode(flags, streamId, buffer);
+            }
+        } finally {
+            buffer.limit(limit);
+            buffer.position(position + len);
+        }
+    }
+
     protected Http2Stream newStream(final HttpRequestPacket request, final int streamId, final int refStreamId, final boolean exclusive, final int priority) {
 
         return new Http2Stream(this, request, streamId, refStreamId, exclusive, priority);
@@ -327,6 +395,39 @@ public class Http2Session {
         return new Http2Stream(this, request, priority);
     }
 
+    /**
+     * Accounts the received frame against the session flood protection budgets.
+     *
+     * @throws Http2SessionException with {@link ErrorCode#ENHANCE_YOUR_CALM}, if the peer has exceeded a budget
+     */
+    void checkFrameBudget(final Http2Frame frame) throws Http2SessionException {
+        if (floodProtection != null) {
+            floodProtection.onFrame(frame);
+        }
+    }
+
+    /**
+     * Accounts the stream reset by the session because of the peer's stream error against the session flood protection
+     * budgets.
+     *
+     * @throws Http2SessionException with {@link ErrorCode#ENHANCE_YOUR_CALM}, if the peer has exceeded the budget
+     */
+    void checkStreamResetBudget() throws Http2SessionException {
+        if (floodProtection != null) {
+            floodProtection.onStreamReset();
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if the connection window is credited when the stream input data is passed to the HTTP layer,
+     * rather than when it arrives
+     *
+     * @see Http2Configuration#isZeroCopyInput()
+     */
+    boolean isZeroCopyInput() {
+        return isZeroCopyInput;
+    }
+
     protected void checkFrameSequenceSemantics(final Http2Frame frame) throws Http2SessionException {
 
         final int frameType = frame.getType();
@@ -477,6 +578,33 @@ public class Http2Session {
         return peerMaxConcurrentStreams;
     }
 
+    /**
+     * @return <tt>true</tt>, if the first peer SETTINGS frame has been applied. Until then the peer limits, like
+     * {@link #getPeerMaxConcurrentStreams()}, report the default values.
+     *
+     * @since 4.1
+     */
+    public boolean isPeerSettingsReceived() {
+        return isPeerSettingsReceived;
+    }
+
+    /**
+     * @return the {@link GrizzlyFuture}, which is completed once the first peer SETTINGS frame has been applied, or failed
+     * if the connection is closed before that
+     *
+     * @since 4.1
+     */
+    public GrizzlyFuture<Http2Session> getPeerSettingsFuture() {
+        return peerSettingsFuture;
+    }
+
+    void onPeerSettingsApplied() {
+        if (!isPeerSettingsReceived) {
+            isPeerSettingsReceived = true;
+            peerSettingsFuture.result(this);
+        }
+    }
+
     /**
      * Sets the default maximum number of concurrent streams allowed for this session by peer.
      */
@@ -563,10 +691,31 @@ public class Http2Session {
         if (frame != null) {
             sessionClosed = Futures.createSafeFuture();
             outputSink.writeDownStream(frame);
+        } else if (sessionClosed == null) {
+            // the session is already going away (for example, it's being drained because of its age),
+            // it's terminated once the connection is closed
+            final FutureImpl<Http2Session> closed = Futures.createSafeFuture();
+            connection.addCloseListener((CloseListener<Closeable, CloseType>) (closeable, type) -> closed.result(Http2Session.this));
+            return closed;
         }
         return sessionClosed;
     }
 
+    /**
+     * Starts draining the server session with a graceful GOAWAY, if its connection has exceeded the configured max age.
+     * The in-flight streams are completed, then the final GOAWAY with the last processed stream ID is sent and the
+     * connection is closed, so the client reconnects, possibly to another node.
+     */
+    void checkConnectionAge() {
+        if (connectionAge != null && connectionAge.isExceeded()) {
+            final GoAwayFrame frame = setGoAwayLocally(ErrorCode.NO_ERROR, "Max connection age", true);
+            if (frame != null) {
+                LOGGER.log(Level.FINE, "{0} exceeded the max connection age, draining", this);
+                outputSink.writeDownStream(frame);
+            }
+        }
+    }
+
     /**
      * Terminate the HTTP2 session sending a GOAWAY frame using the specified error code and optional detail. Once the
      * GOAWAY frame is on the wire, the underlying TCP connection will be closed.
@@ -638,15 +787,10 @@ public class Http2Session {
         // close streams that rank above the last stream ID specified by the GOAWAY frame.
         // Allow other streams to continue processing. Once the concurrent stream count reaches zero,
         // the session will be closed.
-        Map<Integer, Http2Stream> invalidStreams = streamsMap.subMap(goingAwayLastStreamId, false, Integer.MAX_VALUE, true);
-        if (!invalidStreams.isEmpty()) {
-            // needs to iterate over copied list to prevent
-            // bug #1995 - ConcurrentModificationException
-            List<Http2Stream> closedStreams = new ArrayList<>(invalidStreams.values());
-            for (final Http2Stream stream : closedStreams) {
-                stream.closedRemotely();
-                deregisterStream();
-            }
+        // the returned list is a snapshot, so the streams may be closed while iterating
+        for (final Http2Stream stream : streamsMap.valuesAbove(goingAwayLastStreamId)) {
+            stream.closedRemotely();
+            deregisterStream();
         }
     }
 
@@ -666,7 +810,13 @@ public class Http2Session {
         }
     }
 
-    boolean isGoingAway() {
+    /**
+     * @return <tt>true</tt> if the session is going away, either because a GOAWAY frame has been sent or received, or
+     * because the underlying connection has been closed. No new streams may be opened on such a session.
+     *
+     * @since 4.1
+     */
+    public boolean isGoingAway() {
         return closeFlag != null;
     }
 
@@ -680,6 +830,64 @@ public class Http2Session {
         outputSink.writeDownStream(f);
     }
 
+    void sendPing(final long opaqueData) {
+        final PingFrame f = PingFrame.builder().opaqueData(opaqueData).build();
+        NetLogger.log(NetLogger.Context.TX, this, f);
+        outputSink.writeDownStream(f);
+    }
+
+    /**
+     * Grows the local connection window and the initial stream window (for the existing and the new streams) to the given
+     * size, if they are smaller.
+     *
+     * @param windowSize the new window size
+     */
+    void growLocalWindowSizes(final int windowSize) {
+        final int oldWindowSize = localConnectionWindowSize;
+        if (windowSize > oldWindowSize) {
+            localConnectionWindowSize = windowSize;
+            sendWindowUpdate(0, windowSize - oldWindowSize);
+        }
+
+        if (windowSize > localStreamWindowSize) {
+            // the peer applies the SETTINGS_INITIAL_WINDOW_SIZE delta to all the open streams
+            localStreamWindowSize = windowSize;
+
+            final SettingsFrame settingsFrame = SettingsFrame.builder().setting(SETTINGS_INITIAL_WINDOW_SIZE, windowSize).build();
+            NetLogger.log(NetLogger.Context.TX, this, settingsFrame);
+            outputSink.writeDownStream(settingsFrame);
+        }
+
+        Http2ProbeNotifier.notifySessionWindowTune(this, oldWindowSize, windowSize);
+    }
+
+    /**
+     * Notifies the window auto-tuning about the received DATA frame.
+     */
+    void onDataFrameReceived(final int size) {
+        if (windowTuner != null) {
+            windowTuner.onDataReceived(size);
+        }
+    }
+
+    /**
+     * Notifies the window auto-tuning about the received PING ACK.
+     */
+    void onPingAck(final long opaqueData) {
+        if (windowTuner != null) {
+            windowTuner.onPingAck(opaqueData);
+        }
+    }
+
+    /**
+     * Notifies the window auto-tuning, that the stream data has been buffered for the application to read.
+     */
+    void onStreamDataBuffered(final Http2Stream stream, final int size) {
+        if (windowTuner != null) {
+            Http2Stream.unreadBytesUpdater.addAndGet(stream, size);
+        }
+    }
+
     void sendPreface() {
         if (!isPrefaceSent) {
             synchronized (sessionLock) {
@@ -783,6 +991,23 @@ public class Http2Session {
         return headerFrames;
     }
 
+    /**
+     * Encodes the <tt>103 Early Hints</tt> informational response into header frames, which don't end the stream.
+     *
+     * @param streamId the stream associated with this response
+     * @param toList the target {@link List}, to which the frames will be serialized.
+     * @param earlyHints a {@link MimeHeaders} of headers to be transmitted as early hints.
+     *
+     * @return the HTTP2 header frames sequence
+     *
+     * @throws IOException if an error occurs encoding the header
+     */
+    protected List<Http2Frame> encodeEarlyHintsAsHeaderFrames(final int streamId, final List<Http2Frame> toList, final MimeHeaders earlyHints,
+            final Map<String, String> capture) throws IOException {
+        final Buffer compressedHeaders = EncoderUtils.encodeEarlyHints(this, earlyHints, capture);
+        return bufferToHeaderFrames(streamId, compressedHeaders, false, toList);
+    }
+
     /**
      * Encodes the {@link Map} of header values into header frames to be sent as trailer headers.
      *
@@ -919,6 +1144,10 @@ public class Http2Session {
                 return null; // if the session is closed is set - return null to ignore stream creation
             }
 
+            if (floodProtection != null) {
+                floodProtection.onStreamCreated();
+            }
+
             if (concurrentStreamsCount.get() >= getLocalMaxConcurrentStreams()) {
                 // throw Session level exception because headers were not decompressed,
                 // so compression context is lost
@@ -1063,6 +1292,7 @@ public class Http2Session {
     void deregisterStream() {
         LOGGER.fine("deregisterStream()");
         final boolean isCloseSession;
+        boolean isCleanup = false;
         synchronized (sessionLock) {
             decStreamCount();
             // If we're in GOAWAY state and there are no streams left - close this session
@@ -1070,16 +1300,16 @@ public class Http2Session {
             if (!isCloseSession) {
                 if (checkCount++ > http2Configuration.getCleanFrequencyCheck() && streamsMap.size() > streamsHighWaterMark) {
                     checkCount = 0;
-                    for (final Iterator<Map.Entry<Integer, Http2Stream>> streamIds = streamsMap.entrySet().iterator(); streamIds.hasNext(); ) {
-                        final Map.Entry<Integer, Http2Stream> entry = streamIds.next();
-                        if (entry.getValue().isClosed()) {
-                            streamIds.remove();
-                        }
-                    }
+                    isCleanup = true;
                 }
             }
         }
 
+        if (isCleanup) {
+            // the streams map has its own lock, no need to hold the session lock while scanning it
+            streamsMap.removeIf(Http2Stream::isClosed);
+        }
+
         if (isCloseSession) {
             if (sessionClosed != null) {
                 sessionClosed.result(this);
@@ -1191,8 +1421,9 @@ public class Http2Session {
             }
 
             if (stream != null) {
-                // ACK HTTP2 stream flow control
-                final int streamUnackedBytes = Http2Stream.unackedReadBytesUpdater.addAndGet(stream, sz);
+                // ACK HTTP2 stream flow control, the window auto-tuning may withhold a part of the consumed bytes
+                final int credit = windowTuner != null ? windowTuner.onStreamDataConsumed(stream, sz) : sz;
+                final int streamUnackedBytes = Http2Stream.unackedReadBytesUpdater.addAndGet(stream, credit);
                 final int streamWindowSize = stream.getLocalWindowSize();
 
                 // send update window message only in case currentUnackedBytes > windowSize / 2
@@ -1216,7 +1447,11 @@ public class Http2Session {
             throw new NullPointerException("Attempt to register null stream");
         }
 
-        streamsMap.put(streamId, stream);
+        if (stream.getId() != streamId) {
+            throw new IllegalArgumentException("Stream ID mismatch");
+        }
+
+        streamsMap.put(stream);
         incStreamCount();
     }
 
@@ -1247,6 +1482,11 @@ public class Http2Session {
         public void onClosed(final Closeable closeable, final CloseType type) throws IOException {
 
             NetLogger.logClose(Http2Session.this);
+            if (connectionAge != null) {
+                connectionAge.close();
+            }
+            peerSettingsFuture.failure(new IOException("Connection closed before the peer SETTINGS were received"));
+
             final boolean isClosing;
             synchronized (sessionLock) {
                 isClosing = !isClosed();
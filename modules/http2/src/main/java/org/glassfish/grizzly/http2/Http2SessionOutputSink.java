@@ -20,11 +20,13 @@
 
 package org.glassfish.grizzly.http2;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -52,7 +54,8 @@ public class Http2SessionOutputSink {
     private static final int MAX_FRAME_PAYLOAD_SIZE = 16383;
     private static final int MAX_OUTPUT_QUEUE_SIZE = 65536;
 
-    // async output queue
+    // async output queue, used for the queue size accounting and the write possible notifications,
+    // the records themselves are kept by the stream scheduler
     private final TaskQueue<Http2OutputQueueRecord> outputQueue = TaskQueue.createTaskQueue(new TaskQueue.MutableMaxQueueSize() {
 
         @Override
@@ -62,12 +65,26 @@ public class Http2SessionOutputSink {
     });
 
     private final AtomicInteger availConnectionWindowSize;
-    private final List<Http2Frame> tmpFramesList = new LinkedList<>();
+    private final List<Http2Frame> tmpFramesList = new ArrayList<>(4);
     private final AtomicBoolean writerLock = new AtomicBoolean();
 
+    private final Http2StreamScheduler streamScheduler;
+    private volatile boolean isClosed;
+
     public Http2SessionOutputSink(Http2Session session) {
         this.http2Session = session;
         availConnectionWindowSize = new AtomicInteger(http2Session.getDefaultConnectionWindowSize());
+        streamScheduler = newStreamScheduler();
+    }
+
+    /**
+     * Creates the {@link Http2StreamScheduler}, which decides which stream's data is written next.
+     *
+     * @since 4.1
+     */
+    protected Http2StreamScheduler newStreamScheduler() {
+        final Supplier<Http2StreamScheduler> factory = http2Session.handlerFilter.getConfiguration().getStreamSchedulerFactory();
+        return factory != null ? factory.get() : new PriorityStreamScheduler();
     }
 
     protected Http2FrameCodec frameCodec() {
@@ -120,6 +137,13 @@ public class Http2SessionOutputSink {
         outputQueue.notifyWritePossible(writeHandler, MAX_OUTPUT_QUEUE_SIZE);
     }
 
+    /**
+     * Notifies the stream scheduler, that the stream priority has been changed.
+     */
+    protected void onPriorityChanged(final Http2Stream stream) {
+        streamScheduler.onPriorityChanged(stream);
+    }
+
     protected void onPeerWindowUpdate(final int delta) throws Http2SessionException {
         final int currentWindow = availConnectionWindowSize.get();
         if (delta > 0 && currentWindow > 0 && currentWindow + delta < 0) {
@@ -169,8 +193,11 @@ public class Http2SessionOutputSink {
         }
 
         final Http2OutputQueueRecord record = new Http2OutputQueueRecord(stream.getId(), data, completionHandler, isLast);
-        outputQueue.offer(record);
+        streamScheduler.offer(stream, record);
         outputQueue.reserveSpace(record.isZeroSizeData() ? 1 : dataSize);
+        if (isClosed) {
+            failScheduledRecords();
+        }
 
         flushOutputQueue();
     }
@@ -203,7 +230,7 @@ public class Http2SessionOutputSink {
             // gather all available output data frames
             while (availWindowSize > bytesToTransfer && queueSize > queueSizeToFree) {
 
-                final Http2OutputQueueRecord record = outputQueue.poll();
+                final Http2OutputQueueRecord record = streamScheduler.next();
                 if (record == null) {
                     // keep this warning for now - should be reported when null record is spotted
                     LOGGER.log(Level.WARNING, "UNEXPECTED NULL RECORD. Queue-size: {0} "
@@ -217,12 +244,9 @@ public class Http2SessionOutputSink {
                 bytesToTransfer += serializedBytes;
                 queueSizeToFree += serializedBytes;
 
-                if (record.isFinished()) {
-                    if (record.isZeroSizeData()) {
-                        queueSizeToFree++;
-                    }
-                } else {
-                    outputQueue.setCurrentElement(record);
+                streamScheduler.onSerialized(record, serializedBytes);
+                if (record.isFinished() && record.isZeroSizeData()) {
+                    queueSizeToFree++;
                 }
 
                 final CompletionHandler<WriteResult> recordCompletionHandler = record.getCompletionHandler();
@@ -279,7 +303,19 @@ public class Http2SessionOutputSink {
     }
 
     public void close() {
+        isClosed = true;
         outputQueue.onClose();
+        failScheduledRecords();
+    }
+
+    private void failScheduledRecords() {
+        final List<Http2OutputQueueRecord> records = streamScheduler.removeAll();
+        if (!records.isEmpty()) {
+            final IOException error = new IOException("Connection closed");
+            for (Http2OutputQueueRecord record : records) {
+                record.notifyFailure(error);
+            }
+        }
     }
 
 }
@@ -75,6 +75,11 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
 
     static final int UPGRADE_STREAM_ID = 1;
 
+    /**
+     * The default RFC 7540 stream weight.
+     */
+    public static final int DEFAULT_WEIGHT = 16;
+
     private static final Attribute<Http2Stream> HTTP_RQST_HTTP2_STREAM_ATTR
         = AttributeBuilder.DEFAULT_ATTRIBUTE_BUILDER.createAttribute("http2.request.stream");
 
@@ -86,6 +91,11 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
     private final int priority;
     private final boolean exclusive;
 
+    // RFC 9218 priority parameters, null if not signalled
+    private volatile StreamPriority streamPriority;
+    // RFC 7540 weight
+    private volatile int weight = DEFAULT_WEIGHT;
+
     private final Http2Session http2Session;
 
     private final AttributeHolder attributes = AttributeBuilder.DEFAULT_ATTRIBUTE_BUILDER.createSafeAttributeHolder();
@@ -99,6 +109,17 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
     @SuppressWarnings("unused")
     private volatile int unackedReadBytes;
 
+    // number of bytes received, but not read by the application yet, counted if the window auto-tuning is enabled
+    static final AtomicIntegerFieldUpdater<Http2Stream> unreadBytesUpdater
+        = AtomicIntegerFieldUpdater.newUpdater(Http2Stream.class, "unreadBytes");
+    @SuppressWarnings("unused")
+    private volatile int unreadBytes;
+
+    // the window auto-tuning state: the number of bytes the local window is shrunk by, and the part of the
+    // shrink, which hasn't been withheld from the WINDOW_UPDATEs yet
+    volatile int windowShrink;
+    int windowWithheld;
+
     // closeReasonRef, "null" value means the connection is open.
     private static final AtomicReferenceFieldUpdater<Http2Stream, CloseReason> closeReasonUpdater
         = AtomicReferenceFieldUpdater.newUpdater(Http2Stream.class, CloseReason.class, "closeReason");
@@ -194,7 +215,7 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
     }
 
     public int getLocalWindowSize() {
-        return http2Session.getLocalStreamWindowSize();
+        return http2Session.getLocalStreamWindowSize() - windowShrink;
     }
 
     /**
@@ -231,6 +252,44 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
         return priority;
     }
 
+    /**
+     * @return the RFC 9218 priority parameters signalled for this stream, or <tt>null</tt> if none have been signalled
+     *
+     * @since 4.1
+     */
+    public StreamPriority getStreamPriority() {
+        return streamPriority;
+    }
+
+    /**
+     * Sets the RFC 9218 priority parameters, which are used to schedule this stream's output. The parameters are set
+     * from the <tt>Priority</tt> request header and <tt>PRIORITY_UPDATE</tt> frames, but may be overridden by the
+     * application.
+     *
+     * @param streamPriority the {@link StreamPriority}, <tt>null</tt> means no priority signal
+     *
+     * @since 4.1
+     */
+    public void setStreamPriority(final StreamPriority streamPriority) {
+        this.streamPriority = streamPriority;
+        http2Session.getOutputSink().onPriorityChanged(this);
+    }
+
+    /**
+     * @return the RFC 7540 stream weight in the <tt>[1; 256]</tt> range, which is used to share the bandwidth between
+     * the streams without RFC 9218 priority signal
+     *
+     * @since 4.1
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    void setWeight(final int weight) {
+        this.weight = weight;
+        http2Session.getOutputSink().onPriorityChanged(this);
+    }
+
     public boolean isPushStream() {
         return (streamId & 1) == 0;
     }
@@ -620,6 +679,8 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
                     // we have to release the part of connection window allocated
                     // for the buffer
                     http2Session.ackConsumedData(size);
+                } else {
+                    http2Session.onStreamDataBuffered(this, size);
                 }
             } catch (final RuntimeException e) {
                 throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, e.getMessage());
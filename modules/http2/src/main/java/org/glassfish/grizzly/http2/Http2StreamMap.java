@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * The {@link Http2Session} stream registry: an open-addressing hash table keyed by the primitive <tt>int</tt> stream
+ * id.
+ *
+ * The lookups are lock-free, so the frame dispatching doesn't contend with the stream creation and removal. The
+ * modifications are serialized on the map's own monitor, which is held only for the table update. The slots store the
+ * {@link Http2Stream}s themselves and the lookup compares the stream id, so a reader never sees a key and a value,
+ * which don't belong together. The removed entries are replaced with a tombstone, which is purged, when the table is
+ * rehashed.
+ *
+ * The iteration methods return snapshots and are weakly consistent with the concurrent modifications.
+ *
+ * @since 4.1
+ */
+final class Http2StreamMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private static final Object TOMBSTONE = new Object();
+
+    private static final Comparator<Http2Stream> BY_ID = Comparator.comparingInt(Http2Stream::getId);
+
+    private volatile AtomicReferenceArray<Object> table = new AtomicReferenceArray<>(MIN_CAPACITY);
+
+    // guarded by this
+    private int size;
+    private int usedSlots; // live entries + tombstones
+
+    private volatile int publishedSize;
+
+    /**
+     * @return the {@link Http2Stream} with the given id, or <tt>null</tt> if there is no such stream
+     */
+    Http2Stream get(final int streamId) {
+        final AtomicReferenceArray<Object> t = table;
+        final int mask = t.length() - 1;
+
+        for (int i = hash(streamId) & mask;; i = i + 1 & mask) {
+            final Object o = t.get(i);
+            if (o == null) {
+                return null;
+            }
+
+            if (o != TOMBSTONE && ((Http2Stream) o).getId() == streamId) {
+                return (Http2Stream) o;
+            }
+        }
+    }
+
+    /**
+     * Registers the {@link Http2Stream} using its id, replacing the stream with the same id if any.
+     */
+    synchronized void put(final Http2Stream stream) {
+        if (usedSlots + 1 > table.length() >> 1) {
+            rehash(size + 1);
+        }
+
+        final AtomicReferenceArray<Object> t = table;
+        final int mask = t.length() - 1;
+        final int streamId = stream.getId();
+
+        int freeSlot = -1;
+        int i = hash(streamId) & mask;
+        for (;; i = i + 1 & mask) {
+            final Object o = t.get(i);
+            if (o == null) {
+                break;
+            }
+
+            if (o == TOMBSTONE) {
+                if (freeSlot == -1) {
+                    freeSlot = i;
+                }
+            } else if (((Http2Stream) o).getId() == streamId) {
+                t.set(i, stream);
+                return;
+            }
+        }
+
+        if (freeSlot != -1) {
+            // reuse the tombstone, the readers will find the stream earlier in the probe sequence
+            t.set(freeSlot, stream);
+        } else {
+            t.set(i, stream);
+            usedSlots++;
+        }
+
+        publishedSize = ++size;
+    }
+
+    /**
+     * Removes the {@link Http2Stream} with the given id.
+     *
+     * @return the removed {@link Http2Stream}, or <tt>null</tt> if there was no such stream
+     */
+    synchronized Http2Stream remove(final int streamId) {
+        final AtomicReferenceArray<Object> t = table;
+        final int mask = t.length() - 1;
+
+        for (int i = hash(streamId) & mask;; i = i + 1 & mask) {
+            final Object o = t.get(i);
+            if (o == null) {
+                return null;
+            }
+
+            if (o != TOMBSTONE && ((Http2Stream) o).getId() == streamId) {
+                t.set(i, TOMBSTONE);
+                publishedSize = --size;
+                return (Http2Stream) o;
+            }
+        }
+    }
+
+    /**
+     * Removes all the {@link Http2Stream}s matching the predicate.
+     *
+     * @return the number of removed streams
+     */
+    synchronized int removeIf(final Predicate<Http2Stream> predicate) {
+        final AtomicReferenceArray<Object> t = table;
+        int removed = 0;
+        for (int i = 0; i < t.length(); i++) {
+            final Object o = t.get(i);
+            if (o != null && o != TOMBSTONE && predicate.test((Http2Stream) o)) {
+                t.set(i, TOMBSTONE);
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            publishedSize = size -= removed;
+            if (size < t.length() >> 3 && t.length() > MIN_CAPACITY) {
+                rehash(size);
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * @return the number of registered streams
+     */
+    int size() {
+        return publishedSize;
+    }
+
+    boolean isEmpty() {
+        return publishedSize == 0;
+    }
+
+    /**
+     * @return the snapshot of the registered {@link Http2Stream}s in no particular order
+     */
+    List<Http2Stream> values() {
+        final AtomicReferenceArray<Object> t = table;
+        final List<Http2Stream> values = new ArrayList<>(publishedSize);
+        for (int i = 0; i < t.length(); i++) {
+            final Object o = t.get(i);
+            if (o != null && o != TOMBSTONE) {
+                values.add((Http2Stream) o);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the snapshot of the registered {@link Http2Stream}s, whose id is greater than the given one, ordered by
+     * the stream id. Used to close the streams above the GOAWAY last stream id.
+     *
+     * @param streamId the exclusive lower bound
+     * @return the ordered list of {@link Http2Stream}s
+     */
+    List<Http2Stream> valuesAbove(final int streamId) {
+        final AtomicReferenceArray<Object> t = table;
+        final List<Http2Stream> values = new ArrayList<>();
+        for (int i = 0; i < t.length(); i++) {
+            final Object o = t.get(i);
+            if (o != null && o != TOMBSTONE && ((Http2Stream) o).getId() > streamId) {
+                values.add((Http2Stream) o);
+            }
+        }
+
+        values.sort(BY_ID);
+        return values;
+    }
+
+    // Must be called with the monitor held
+    private void rehash(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity >> 2 < expectedSize) {
+            capacity <<= 1;
+        }
+
+        final AtomicReferenceArray<Object> oldTable = table;
+        final AtomicReferenceArray<Object> newTable = new AtomicReferenceArray<>(capacity);
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldTable.length(); i++) {
+            final Object o = oldTable.get(i);
+            if (o != null && o != TOMBSTONE) {
+                int j = hash(((Http2Stream) o).getId()) & mask;
+                while (newTable.get(j) != null) {
+                    j = j + 1 & mask;
+                }
+                newTable.set(j, o);
+            }
+        }
+
+        usedSlots = size;
+        table = newTable;
+    }
+
+    private static int hash(final int streamId) {
+        // the stream ids are sequential and of the same parity, spread them over the table
+        final int h = streamId * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+}
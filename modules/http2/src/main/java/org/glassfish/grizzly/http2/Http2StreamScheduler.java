@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import java.util.List;
+
+/**
+ * Decides which stream's DATA is serialized next by the {@link Http2SessionOutputSink}, when the connection flow-control
+ * window is available.
+ *
+ * The records of the same stream must be served in the order they were offered. The scheduler is accessed concurrently:
+ * the records are offered by the threads writing the stream responses, while {@link #next()} and
+ * {@link #onSerialized(Http2OutputQueueRecord, int)} are called by the thread flushing the session output.
+ *
+ * A scheduler instance is created per {@link Http2Session} using the
+ * {@link Http2Configuration#getStreamSchedulerFactory() configured factory}.
+ *
+ * @see PriorityStreamScheduler
+ * @see FifoStreamScheduler
+ *
+ * @since 4.1
+ */
+public interface Http2StreamScheduler {
+
+    /**
+     * Adds the record to the tail of the stream's queue.
+     *
+     * @param stream the {@link Http2Stream} the record belongs to
+     * @param record the {@link Http2OutputQueueRecord}
+     */
+    void offer(Http2Stream stream, Http2OutputQueueRecord record);
+
+    /**
+     * Returns the record to be serialized next, the record stays scheduled until it's reported as finished via
+     * {@link #onSerialized(Http2OutputQueueRecord, int)}.
+     *
+     * @return the next {@link Http2OutputQueueRecord}, or <tt>null</tt> if there are no scheduled records
+     */
+    Http2OutputQueueRecord next();
+
+    /**
+     * Notifies the scheduler, that the given number of bytes of the record, returned by the last {@link #next()} call,
+     * have been serialized. The record is removed if it's {@link Http2OutputQueueRecord#isFinished() finished}.
+     *
+     * @param record the {@link Http2OutputQueueRecord}
+     * @param bytes the number of serialized bytes
+     */
+    void onSerialized(Http2OutputQueueRecord record, int bytes);
+
+    /**
+     * Notifies the scheduler, that the stream's {@link Http2Stream#getStreamPriority() priority parameters} or
+     * {@link Http2Stream#getWeight() weight} have been changed.
+     *
+     * @param stream the {@link Http2Stream}
+     */
+    void onPriorityChanged(Http2Stream stream);
+
+    /**
+     * Removes all the scheduled records, when the session is closed.
+     *
+     * @return the removed records
+     */
+    List<Http2OutputQueueRecord> removeAll();
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+
+/**
+ * Receive window auto-tuning of an {@link Http2Session}.
+ *
+ * The bandwidth-delay product is sampled by sending a PING, when DATA starts arriving, and counting the bytes received
+ * until the PING is acknowledged. If the sample is close to the connection window and the estimated bandwidth keeps
+ * growing, the window is the bottleneck, so the connection window and the initial stream window are grown to twice the
+ * sample, up to the configured max window size.
+ *
+ * The larger windows let the peer put more data in flight, so for the streams, whose application reads lag, the
+ * window is shrunk by withholding the <tt>WINDOW_UPDATE</tt> credit, and restored once the application has read all the
+ * buffered data.
+ *
+ * @see Http2Configuration#setWindowAutoTuning(boolean)
+ *
+ * @since 4.1
+ */
+final class Http2WindowTuner {
+    private static final Logger LOGGER = Grizzly.logger(Http2WindowTuner.class);
+
+    // "BDP" in the high bytes of the PING payload
+    static final long PING_MARKER = 0x4244500000000000L;
+
+    private final Http2Session session;
+    private final int maxWindowSize;
+    private final int minStreamWindowSize;
+
+    // the BDP sampling state
+    private boolean isPingOutstanding;
+    private long pingPayload;
+    private long pingSentNanos;
+    private int pingCounter;
+    private long bytesReceived;
+
+    // the max bandwidth estimate in bytes per second
+    private long maxBandwidth;
+
+    Http2WindowTuner(final Http2Session session, final int maxWindowSize) {
+        this.session = session;
+        this.maxWindowSize = maxWindowSize;
+        this.minStreamWindowSize = session.getDefaultStreamWindowSize();
+    }
+
+    /**
+     * Counts the received DATA bytes and starts a new BDP sample, if none is in progress.
+     */
+    void onDataReceived(final int size) {
+        final long payload;
+        synchronized (this) {
+            bytesReceived += size;
+            if (isPingOutstanding || session.getLocalConnectionWindowSize() >= maxWindowSize) {
+                return;
+            }
+
+            isPingOutstanding = true;
+            bytesReceived = size;
+            pingPayload = payload = PING_MARKER | (++pingCounter & 0xffffffffL);
+            pingSentNanos = System.nanoTime();
+        }
+
+        session.sendPing(payload);
+    }
+
+    /**
+     * Completes the BDP sample, if the PING ACK is the response for the sampling PING.
+     *
+     * @return <tt>true</tt> if the PING has been sent by the tuner
+     */
+    boolean onPingAck(final long opaqueData) {
+        final long rttNanos;
+        final int bdp;
+        boolean isGrowing = false;
+        synchronized (this) {
+            if (!isPingOutstanding || opaqueData != pingPayload) {
+                return false;
+            }
+
+            isPingOutstanding = false;
+            rttNanos = Math.max(1, System.nanoTime() - pingSentNanos);
+            bdp = (int) Math.min(Integer.MAX_VALUE, bytesReceived);
+
+            final long bandwidth = (long) (bdp * 1e9 / rttNanos);
+            if (bdp >= session.getLocalConnectionWindowSize() * 2L / 3 && bandwidth > maxBandwidth) {
+                maxBandwidth = bandwidth;
+                isGrowing = true;
+            }
+        }
+
+        Http2ProbeNotifier.notifyBdpSample(session, rttNanos, bdp);
+
+        if (isGrowing) {
+            final int newWindowSize = (int) Math.min(maxWindowSize, 2L * bdp);
+            if (newWindowSize > session.getLocalConnectionWindowSize()) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "{0} BDP sample: rtt={1}ns bdp={2}. Growing the receive window to {3}",
+                            new Object[] { session, rttNanos, bdp, newWindowSize });
+                }
+
+                session.growLocalWindowSizes(newWindowSize);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Accounts the stream data, which has been consumed by the application, and shrinks or restores the stream window
+     * depending on how much data is still buffered.
+     *
+     * @return the number of bytes to be acknowledged to the peer
+     */
+    int onStreamDataConsumed(final Http2Stream stream, final int consumed) {
+        final int unread = Math.max(0, Http2Stream.unreadBytesUpdater.addAndGet(stream, -consumed));
+
+        int credit = consumed;
+        int oldWindowSize = -1;
+        int newWindowSize = -1;
+        synchronized (this) {
+            final int windowSize = stream.getLocalWindowSize();
+            if (unread > windowSize * 3L / 4 && windowSize / 2 >= minStreamWindowSize) {
+                // the application lags, shrink the window by half
+                final int shrink = windowSize - windowSize / 2;
+                stream.windowShrink += shrink;
+                stream.windowWithheld += shrink;
+
+                oldWindowSize = windowSize;
+                newWindowSize = windowSize - shrink;
+            } else if (unread == 0 && stream.windowShrink > 0) {
+                // the application has caught up, restore the window, giving back the withheld credit
+                final int restore = stream.windowShrink;
+                final int cancelled = Math.min(stream.windowWithheld, restore);
+                stream.windowWithheld -= cancelled;
+                stream.windowShrink = 0;
+                credit += restore - cancelled;
+
+                oldWindowSize = windowSize;
+                newWindowSize = windowSize + restore;
+            }
+
+            if (stream.windowWithheld > 0) {
+                final int withheld = Math.min(stream.windowWithheld, credit);
+                stream.windowWithheld -= withheld;
+                credit -= withheld;
+            }
+        }
+
+        if (oldWindowSize != -1) {
+            Http2ProbeNotifier.notifyStreamWindowTune(session, stream, oldWindowSize, newWindowSize);
+        }
+
+        return credit;
+    }
+}
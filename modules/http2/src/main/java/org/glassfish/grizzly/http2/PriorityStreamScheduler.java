@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Http2StreamScheduler} implementing the RFC 9218 extensible priority scheme with a weighted-fair fallback.
+ *
+ * <ul>
+ * <li>the streams with the lower urgency value are always served first;</li>
+ * <li>within the same urgency the non-incremental streams are served one at a time in the stream ID order, so each
+ * response is completed before the next one starts;</li>
+ * <li>the incremental streams and the streams, which haven't signalled any priority, share the bandwidth using the
+ * weighted-fair queuing, where the stream weight is the RFC 7540 weight (<tt>16</tt> by default). The streams without
+ * priority signal get the default urgency <tt>3</tt>, but are not served sequentially, so a large response can't block
+ * the responses multiplexed behind it.</li>
+ * </ul>
+ *
+ * @since 4.1
+ */
+public class PriorityStreamScheduler implements Http2StreamScheduler {
+    private static final int MAX_WEIGHT = 256;
+
+    // the queues of the streams, which have scheduled records
+    private final Map<Integer, StreamQueue> queues = new HashMap<>();
+    private final List<StreamQueue> activeQueues = new ArrayList<>();
+
+    // the virtual time of the weighted-fair queuing
+    private long virtualTime;
+
+    @Override
+    public synchronized void offer(final Http2Stream stream, final Http2OutputQueueRecord record) {
+        StreamQueue queue = queues.get(stream.getId());
+        if (queue == null) {
+            queue = new StreamQueue(stream.getId());
+            queue.update(stream);
+            queue.virtualTime = virtualTime;
+
+            queues.put(stream.getId(), queue);
+            activeQueues.add(queue);
+        }
+
+        queue.records.offer(record);
+    }
+
+    @Override
+    public synchronized Http2OutputQueueRecord next() {
+        StreamQueue best = null;
+        for (int i = 0, size = activeQueues.size(); i < size; i++) {
+            final StreamQueue queue = activeQueues.get(i);
+            if (best == null || queue.precedes(best)) {
+                best = queue;
+            }
+        }
+
+        return best != null ? best.records.peek() : null;
+    }
+
+    @Override
+    public synchronized void onSerialized(final Http2OutputQueueRecord record, final int bytes) {
+        final StreamQueue queue = queues.get(record.getStreamId());
+        if (queue == null) {
+            return;
+        }
+
+        if (!queue.isSequential) {
+            virtualTime = queue.virtualTime;
+            queue.virtualTime += (long) bytes * MAX_WEIGHT / queue.weight;
+        }
+
+        if (record.isFinished() && queue.records.peek() == record) {
+            queue.records.poll();
+            if (queue.records.isEmpty()) {
+                queues.remove(queue.streamId);
+                activeQueues.remove(queue);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onPriorityChanged(final Http2Stream stream) {
+        final StreamQueue queue = queues.get(stream.getId());
+        if (queue != null) {
+            queue.update(stream);
+        }
+    }
+
+    @Override
+    public synchronized List<Http2OutputQueueRecord> removeAll() {
+        final List<Http2OutputQueueRecord> records = new ArrayList<>();
+        for (StreamQueue queue : activeQueues) {
+            records.addAll(queue.records);
+        }
+
+        queues.clear();
+        activeQueues.clear();
+
+        return records;
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private static final class StreamQueue {
+        private final int streamId;
+        private final ArrayDeque<Http2OutputQueueRecord> records = new ArrayDeque<>(4);
+
+        private int urgency;
+        // non-incremental stream, which has signalled its priority
+        private boolean isSequential;
+        private int weight;
+        private long virtualTime;
+
+        private StreamQueue(final int streamId) {
+            this.streamId = streamId;
+        }
+
+        private void update(final Http2Stream stream) {
+            final StreamPriority priority = stream.getStreamPriority();
+            urgency = priority != null ? priority.getUrgency() : StreamPriority.DEFAULT_URGENCY;
+            isSequential = priority != null && !priority.isIncremental();
+            weight = Math.max(1, Math.min(MAX_WEIGHT, stream.getWeight()));
+        }
+
+        private boolean precedes(final StreamQueue other) {
+            if (urgency != other.urgency) {
+                return urgency < other.urgency;
+            }
+
+            if (isSequential != other.isSequential) {
+                return isSequential;
+            }
+
+            if (!isSequential && virtualTime != other.virtualTime) {
+                return virtualTime < other.virtualTime;
+            }
+
+            return streamId < other.streamId;
+        }
+    }
+}
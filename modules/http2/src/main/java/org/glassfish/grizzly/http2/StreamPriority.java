@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+/**
+ * Immutable HTTP extensible priority parameters as defined by RFC 9218: the <tt>urgency</tt> (<tt>0</tt> is the
+ * highest, <tt>7</tt> is the lowest) and the <tt>incremental</tt> flag.
+ *
+ * The parameters are signalled by the client either via the <tt>Priority</tt> request header or via the
+ * <tt>PRIORITY_UPDATE</tt> frame, and are used by the {@link PriorityStreamScheduler} to order the stream responses.
+ *
+ * @since 4.1
+ */
+public final class StreamPriority {
+    public static final int DEFAULT_URGENCY = 3;
+    public static final int MIN_URGENCY = 0;
+    public static final int MAX_URGENCY = 7;
+
+    /**
+     * The default priority parameters: <tt>u=3</tt>, non-incremental.
+     */
+    public static final StreamPriority DEFAULT = new StreamPriority(DEFAULT_URGENCY, false);
+
+    private static final StreamPriority[] CACHE = new StreamPriority[(MAX_URGENCY + 1) * 2];
+
+    static {
+        for (int u = MIN_URGENCY; u <= MAX_URGENCY; u++) {
+            CACHE[u * 2] = u == DEFAULT_URGENCY ? DEFAULT : new StreamPriority(u, false);
+            CACHE[u * 2 + 1] = new StreamPriority(u, true);
+        }
+    }
+
+    private final int urgency;
+    private final boolean isIncremental;
+
+    private StreamPriority(final int urgency, final boolean isIncremental) {
+        this.urgency = urgency;
+        this.isIncremental = isIncremental;
+    }
+
+    /**
+     * Returns the priority parameters.
+     *
+     * @param urgency the urgency in the <tt>[0; 7]</tt> range
+     * @param isIncremental <tt>true</tt> if the response may be processed incrementally
+     *
+     * @return the {@link StreamPriority}
+     */
+    public static StreamPriority of(final int urgency, final boolean isIncremental) {
+        if (urgency < MIN_URGENCY || urgency > MAX_URGENCY) {
+            throw new IllegalArgumentException("Urgency must be in [" + MIN_URGENCY + "; " + MAX_URGENCY + "] range: " + urgency);
+        }
+
+        return CACHE[urgency * 2 + (isIncremental ? 1 : 0)];
+    }
+
+    /**
+     * Parses the <tt>Priority</tt> header (or <tt>PRIORITY_UPDATE</tt> frame) field value, which is a structured field
+     * dictionary like <tt>"u=1, i"</tt>. Unknown and invalid parameters are ignored, so the defaults are used for them.
+     *
+     * @param value the field value
+     *
+     * @return the {@link StreamPriority}, or <tt>null</tt> if the value is <tt>null</tt>
+     */
+    public static StreamPriority parse(final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        int urgency = DEFAULT_URGENCY;
+        boolean isIncremental = false;
+
+        final int length = value.length();
+        int start = 0;
+        while (start < length) {
+            int end = value.indexOf(',', start);
+            if (end == -1) {
+                end = length;
+            }
+
+            // the parameters of the member (";...") are not used by the priority scheme
+            int memberEnd = value.indexOf(';', start);
+            if (memberEnd == -1 || memberEnd > end) {
+                memberEnd = end;
+            }
+
+            final String member = value.substring(start, memberEnd).trim();
+            final int eq = member.indexOf('=');
+            final String key = eq == -1 ? member : member.substring(0, eq).trim();
+            final String memberValue = eq == -1 ? null : member.substring(eq + 1).trim();
+
+            if ("u".equals(key)) {
+                final int u = parseUrgency(memberValue);
+                if (u != -1) {
+                    urgency = u;
+                }
+            } else if ("i".equals(key)) {
+                if (memberValue == null || "?1".equals(memberValue)) {
+                    isIncremental = true;
+                } else if ("?0".equals(memberValue)) {
+                    isIncremental = false;
+                }
+            }
+
+            start = end + 1;
+        }
+
+        return of(urgency, isIncremental);
+    }
+
+    /**
+     * @return the urgency in the <tt>[0; 7]</tt> range, <tt>0</tt> is the highest
+     */
+    public int getUrgency() {
+        return urgency;
+    }
+
+    /**
+     * @return <tt>true</tt> if the response may be processed incrementally, so it may share the bandwidth with the other
+     * responses of the same urgency
+     */
+    public boolean isIncremental() {
+        return isIncremental;
+    }
+
+    @Override
+    public String toString() {
+        return isIncremental ? "u=" + urgency + ", i" : "u=" + urgency;
+    }
+
+    private static int parseUrgency(final String value) {
+        if (value == null || value.length() != 1) {
+            return -1;
+        }
+
+        final int u = value.charAt(0) - '0';
+        return u >= MIN_URGENCY && u <= MAX_URGENCY ? u : -1;
+    }
+}
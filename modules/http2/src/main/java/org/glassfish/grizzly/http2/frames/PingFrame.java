@@ -55,14 +55,26 @@ public class PingFrame extends Http2Frame {
     }
 
     public static Http2Frame fromBuffer(final int flags, final int streamId, final Buffer frameBuffer) {
+        final PingFrame frame = decode(flags, streamId, frameBuffer);
+        frame.setFrameBuffer(frameBuffer);
+
+        return frame;
+    }
+
+    /**
+     * Decodes the frame from the payload {@link Buffer} without retaining it, so the {@link Buffer} may be shared with
+     * other frames. The payload is expected to be limited to this frame.
+     *
+     * @since 4.1
+     */
+    public static PingFrame decode(final int flags, final int streamId, final Buffer payload) {
         PingFrame frame = create();
         frame.setFlags(flags);
         frame.setStreamId(streamId);
-        frame.setFrameBuffer(frameBuffer);
-        if (frameBuffer.remaining() != 8) {
-            frame.length = frameBuffer.remaining();
+        if (payload.remaining() != 8) {
+            frame.length = payload.remaining();
         } else {
-            frame.opaqueData = frameBuffer.getLong();
+            frame.opaqueData = payload.getLong();
         }
 
         return frame;
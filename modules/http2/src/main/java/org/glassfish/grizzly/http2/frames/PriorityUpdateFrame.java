@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2.frames;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.ThreadCache;
+import org.glassfish.grizzly.memory.MemoryManager;
+
+/**
+ * The RFC 9218 <tt>PRIORITY_UPDATE</tt> frame, which is sent by the client on the stream zero to update the priority
+ * parameters of the prioritized stream.
+ *
+ * @since 4.1
+ */
+public class PriorityUpdateFrame extends Http2Frame {
+    private static final ThreadCache.CachedTypeIndex<PriorityUpdateFrame> CACHE_IDX = ThreadCache.obtainIndex(PriorityUpdateFrame.class, 8);
+
+    public static final int TYPE = 0x10;
+
+    private int prioritizedStreamId;
+    private String priorityFieldValue;
+
+    // ------------------------------------------------------------ Constructors
+
+    private PriorityUpdateFrame() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    static PriorityUpdateFrame create() {
+        PriorityUpdateFrame frame = ThreadCache.takeFromCache(CACHE_IDX);
+        if (frame == null) {
+            frame = new PriorityUpdateFrame();
+        }
+        return frame;
+    }
+
+    public static Http2Frame fromBuffer(final int flags, final int streamId, final Buffer frameBuffer) {
+        PriorityUpdateFrame frame = create();
+        frame.setFlags(flags);
+        frame.setStreamId(streamId);
+
+        frame.length = frameBuffer.remaining();
+        if (frame.length >= 4) {
+            frame.prioritizedStreamId = frameBuffer.getInt() & 0x7fffffff;
+            frame.priorityFieldValue = frameBuffer.toStringContent(StandardCharsets.US_ASCII);
+        }
+
+        frame.setFrameBuffer(frameBuffer);
+
+        return frame;
+    }
+
+    public static PriorityUpdateFrameBuilder builder() {
+        return new PriorityUpdateFrameBuilder();
+    }
+
+    public int getPrioritizedStreamId() {
+        return prioritizedStreamId;
+    }
+
+    public String getPriorityFieldValue() {
+        return priorityFieldValue;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("PriorityUpdateFrame {").append(headerToString()).append(", prioritizedStreamId=").append(prioritizedStreamId)
+                .append(", priorityFieldValue=").append(priorityFieldValue).append('}');
+
+        return sb.toString();
+    }
+
+    // -------------------------------------------------- Methods from Http2Frame
+
+    @Override
+    public int getType() {
+        return TYPE;
+    }
+
+    @Override
+    public Buffer toBuffer(final MemoryManager memoryManager) {
+        final byte[] value = priorityFieldValue != null ? priorityFieldValue.getBytes(StandardCharsets.US_ASCII) : new byte[0];
+        final Buffer buffer = memoryManager.allocate(FRAME_HEADER_SIZE + 4 + value.length);
+
+        serializeFrameHeader(buffer);
+        buffer.putInt(prioritizedStreamId & 0x7fffffff);
+        buffer.put(value);
+
+        buffer.trim();
+
+        return buffer;
+    }
+
+    @Override
+    protected int calcLength() {
+        return 4 + (priorityFieldValue != null ? priorityFieldValue.length() : 0);
+    }
+
+    @Override
+    protected Map<Integer, String> getFlagNamesMap() {
+        return Collections.emptyMap();
+    }
+
+    // -------------------------------------------------- Methods from Cacheable
+
+    @Override
+    public void recycle() {
+        if (DONT_RECYCLE) {
+            return;
+        }
+
+        prioritizedStreamId = 0;
+        priorityFieldValue = null;
+
+        super.recycle();
+        ThreadCache.putToCache(CACHE_IDX, this);
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    public static class PriorityUpdateFrameBuilder extends Http2FrameBuilder<PriorityUpdateFrameBuilder> {
+
+        private int prioritizedStreamId;
+        private String priorityFieldValue;
+
+        // -------------------------------------------------------- Constructors
+
+        protected PriorityUpdateFrameBuilder() {
+        }
+
+        // ------------------------------------------------------ Public Methods
+
+        public PriorityUpdateFrameBuilder prioritizedStreamId(final int prioritizedStreamId) {
+            this.prioritizedStreamId = prioritizedStreamId;
+            return this;
+        }
+
+        public PriorityUpdateFrameBuilder priorityFieldValue(final String priorityFieldValue) {
+            this.priorityFieldValue = priorityFieldValue;
+            return this;
+        }
+
+        @Override
+        public PriorityUpdateFrame build() {
+            final PriorityUpdateFrame frame = PriorityUpdateFrame.create();
+            setHeaderValuesTo(frame);
+
+            frame.prioritizedStreamId = prioritizedStreamId;
+            frame.priorityFieldValue = priorityFieldValue;
+
+            return frame;
+        }
+
+        // --------------------------------------- Methods from Http2FrameBuilder
+
+        @Override
+        protected PriorityUpdateFrameBuilder getThis() {
+            return this;
+        }
+
+    }
+}
@@ -47,11 +47,23 @@ public class RstStreamFrame extends Http2Frame {
     }
 
     public static Http2Frame fromBuffer(final int flags, final int streamId, final Buffer frameBuffer) {
+        final RstStreamFrame frame = decode(flags, streamId, frameBuffer);
+        frame.setFrameBuffer(frameBuffer);
+
+        return frame;
+    }
+
+    /**
+     * Decodes the frame from the payload {@link Buffer} without retaining it, so the {@link Buffer} may be shared with
+     * other frames. The payload is expected to be limited to this frame.
+     *
+     * @since 4.1
+     */
+    public static RstStreamFrame decode(final int flags, final int streamId, final Buffer payload) {
         RstStreamFrame frame = create();
         frame.setFlags(flags);
         frame.setStreamId(streamId);
-        frame.setFrameBuffer(frameBuffer);
-        frame.errorCode = ErrorCode.lookup(frameBuffer.getInt());
+        frame.errorCode = ErrorCode.lookup(payload.getInt());
 
         return frame;
     }
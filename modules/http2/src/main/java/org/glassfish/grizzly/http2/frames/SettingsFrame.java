@@ -94,14 +94,26 @@ public class SettingsFrame extends Http2Frame {
     }
 
     public static SettingsFrame fromBuffer(final int flags, final int streamId, final Buffer frameBuffer) {
+        final SettingsFrame frame = decode(flags, streamId, frameBuffer);
+        frame.setFrameBuffer(frameBuffer);
+
+        return frame;
+    }
+
+    /**
+     * Decodes the frame from the payload {@link Buffer} without retaining it, so the {@link Buffer} may be shared with
+     * other frames. The payload is expected to be limited to this frame.
+     *
+     * @since 4.1
+     */
+    public static SettingsFrame decode(final int flags, final int streamId, final Buffer payload) {
 
         SettingsFrame frame = create();
         frame.setStreamId(streamId);
         frame.setFlags(flags);
-        frame.setFrameBuffer(frameBuffer);
-        if (frameBuffer.remaining() % 6 == 0) {
-            while (frameBuffer.hasRemaining()) {
-                frame.addSetting(frameBuffer.getShort(), frameBuffer.getInt());
+        if (payload.remaining() % 6 == 0) {
+            while (payload.hasRemaining()) {
+                frame.addSetting(payload.getShort(), payload.getInt());
             }
         } else {
             frame.numberOfSettings = -1;
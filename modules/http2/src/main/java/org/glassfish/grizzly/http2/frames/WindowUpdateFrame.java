@@ -47,12 +47,24 @@ public class WindowUpdateFrame extends Http2Frame {
     }
 
     public static Http2Frame fromBuffer(final int flags, final int streamId, final Buffer frameBuffer) {
+        final WindowUpdateFrame frame = decode(flags, streamId, frameBuffer);
+        frame.setFrameBuffer(frameBuffer);
+
+        return frame;
+    }
+
+    /**
+     * Decodes the frame from the payload {@link Buffer} without retaining it, so the {@link Buffer} may be shared with
+     * other frames. The payload is expected to be limited to this frame.
+     *
+     * @since 4.1
+     */
+    public static WindowUpdateFrame decode(final int flags, final int streamId, final Buffer payload) {
         WindowUpdateFrame frame = create();
         frame.setFlags(flags);
         frame.setStreamId(streamId);
-        frame.setFrameBuffer(frameBuffer);
 
-        frame.windowSizeIncrement = frameBuffer.getInt() & 0x7fffffff;
+        frame.windowSizeIncrement = payload.getInt() & 0x7fffffff;
 
         return frame;
     }
@@ -230,6 +230,15 @@ public class Encoder {
         minCapacity = Math.min(minCapacity, lastCapacity);
     }
 
+    /**
+     * Returns whether the header table size update is pending, in which case it will be encoded before the next header.
+     *
+     * @return {@code true} if the size update is pending, {@code false} otherwise
+     */
+    public boolean isCapacityUpdatePending() {
+        return capacityUpdate;
+    }
+
     @SuppressWarnings("UnusedParameters")
     protected int calculateCapacity(int maxCapacity) {
         // Default implementation of the Encoder won't add anything to the
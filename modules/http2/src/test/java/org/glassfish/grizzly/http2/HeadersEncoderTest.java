@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http.util.DataChunk;
+import org.glassfish.grizzly.http2.hpack.Decoder;
+import org.glassfish.grizzly.http2.hpack.DecodingCallback;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.Test;
+
+/**
+ * Tests the {@link HeadersEncoder} header field representations cache.
+ */
+public class HeadersEncoderTest {
+    private static final MemoryManager MM = MemoryManager.DEFAULT_MEMORY_MANAGER;
+
+    @Test
+    public void testCachedEncoding() {
+        final HeadersEncoder cached = new HeadersEncoder(MM, 4096, 64);
+        final HeadersEncoder uncached = new HeadersEncoder(MM, 4096, 0);
+        final Decoder decoder = new Decoder(4096);
+
+        for (int i = 0; i < 5; i++) {
+            final byte[] expected = toBytes(encodeResponse(uncached, i));
+            final byte[] actual = toBytes(encodeResponse(cached, i));
+            assertArrayEquals(expected, actual);
+
+            final List<String> fields = new ArrayList<>();
+            decoder.decode(MM.allocate(actual.length).put(actual).flip(), true, new DecodingCallback() {
+                @Override
+                public void onDecoded(CharSequence name, CharSequence value) {
+                    fields.add(name + ": " + value);
+                }
+            });
+            assertEquals(7, fields.size());
+            assertEquals(":status: 200", fields.get(0));
+            assertEquals("server: Grizzly", fields.get(3));
+            assertEquals("content-length: " + (1000 + i), fields.get(5));
+            assertEquals("x-request: " + i % 2, fields.get(6));
+        }
+    }
+
+    @Test
+    public void testCacheChurn() {
+        final HeadersEncoder cached = new HeadersEncoder(MM, 4096, 64);
+        final HeadersEncoder uncached = new HeadersEncoder(MM, 4096, 0);
+
+        // the content-length values outnumber the cache entries and the dynamic table entries are evicted
+        for (int i = 0; i < 2000; i++) {
+            assertArrayEquals(toBytes(encodeResponse(uncached, i)), toBytes(encodeResponse(cached, i)));
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    /**
+     * Encodes the response headers the way {@link EncoderUtils} does: the pseudo headers as {@link String}s, the rest as
+     * {@link DataChunk}s.
+     */
+    private static Buffer encodeResponse(final HeadersEncoder encoder, final int i) {
+        encoder.encodeHeader(":status", "200", null);
+        encoder.encodeHeader("content-type", chunk("text/html;charset=UTF-8"), null);
+        encoder.encodeHeader("cache-control", chunk("private, max-age=0, must-revalidate"), null);
+        encoder.encodeHeader("server", chunk("Grizzly"), null);
+        encoder.encodeHeader("vary", chunk("Accept-Encoding"), null);
+        encoder.encodeHeader("content-length", chunk(String.valueOf(1000 + i)), null);
+        encoder.encodeHeader("x-request", chunk(String.valueOf(i % 2)), null);
+
+        return encoder.flushHeaders();
+    }
+
+    private static DataChunk chunk(final String value) {
+        final DataChunk chunk = DataChunk.newInstance();
+        chunk.setString(value);
+        return chunk;
+    }
+
+    private static byte[] toBytes(final Buffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        buffer.tryDispose();
+        return bytes;
+    }
+}
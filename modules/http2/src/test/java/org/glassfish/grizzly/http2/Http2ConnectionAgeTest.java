@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http2.frames.ErrorCode;
+import org.glassfish.grizzly.http2.frames.GoAwayFrame;
+import org.glassfish.grizzly.http2.frames.HeadersFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the HTTP/2 session draining, once the max connection age is exceeded.
+ */
+public class Http2ConnectionAgeTest {
+    private static final int PORT = 18916;
+
+    // :method GET, :path /, :scheme http (HPACK static table) and :authority localhost
+    private static final byte[] REQUEST_HEADERS = { (byte) 0x82, (byte) 0x84, (byte) 0x86, 0x01, 0x09, 'l', 'o', 'c', 'a', 'l', 'h', 'o', 's', 't' };
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.createSimpleServer(null, PORT);
+        final NetworkListener listener = server.getListener("grizzly");
+        listener.registerAddOn(new Http2AddOn(Http2Configuration.builder().maxConnectionAgeInSeconds(1).connectionAgeJitter(0).build()));
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.setContentType("text/plain");
+                response.getWriter().write("OK");
+            }
+        }, "/");
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testMaxConnectionAge() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+
+            final OutputStream out = socket.getOutputStream();
+            out.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            writeFrame(out, SettingsFrame.TYPE, 0, 0, new byte[0]);
+
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            writeFrame(out, HeadersFrame.TYPE, 0x5, 1, REQUEST_HEADERS);
+            awaitResponse(in, 1);
+
+            Thread.sleep(1100);
+
+            writeFrame(out, HeadersFrame.TYPE, 0x5, 3, REQUEST_HEADERS);
+
+            // the graceful GOAWAY comes first, the request is still served
+            Frame frame;
+            while ((frame = readFrame(in)).type != GoAwayFrame.TYPE) {
+                assertTrue(frame.streamId != 3);
+            }
+            assertEquals(Integer.MAX_VALUE, ByteBuffer.wrap(frame.payload).getInt(0));
+            assertEquals(ErrorCode.NO_ERROR.getCode(), ByteBuffer.wrap(frame.payload).getInt(4));
+            awaitResponse(in, 3);
+
+            // then the final GOAWAY with the last processed stream
+            while ((frame = readFrame(in)).type != GoAwayFrame.TYPE) {
+            }
+            assertEquals(3, ByteBuffer.wrap(frame.payload).getInt(0));
+            assertEquals(ErrorCode.NO_ERROR.getCode(), ByteBuffer.wrap(frame.payload).getInt(4));
+
+            try {
+                while (true) {
+                    readFrame(in);
+                }
+            } catch (EOFException expected) {
+            }
+        }
+
+        // a new connection is served
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+
+            final OutputStream out = socket.getOutputStream();
+            out.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            writeFrame(out, SettingsFrame.TYPE, 0, 0, new byte[0]);
+            writeFrame(out, HeadersFrame.TYPE, 0x5, 1, REQUEST_HEADERS);
+
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            awaitResponse(in, 1);
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void awaitResponse(final DataInputStream in, final int streamId) throws IOException {
+        while (true) {
+            final Frame frame = readFrame(in);
+            if (frame.type == GoAwayFrame.TYPE) {
+                fail("Unexpected GOAWAY");
+            }
+            if (frame.streamId == streamId && (frame.flags & 0x1) != 0) {
+                return;
+            }
+        }
+    }
+
+    private static void writeFrame(final OutputStream out, final int type, final int flags, final int streamId, final byte[] payload)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(9);
+        header.putInt(payload.length << 8 | type).put((byte) flags).putInt(streamId);
+        out.write(header.array());
+        out.write(payload);
+    }
+
+    private static Frame readFrame(final DataInputStream in) throws IOException {
+        final int lengthAndType = in.readInt();
+        final Frame frame = new Frame();
+        frame.type = lengthAndType & 0xff;
+        frame.flags = in.readByte();
+        frame.streamId = in.readInt() & 0x7fffffff;
+        frame.payload = new byte[lengthAndType >>> 8];
+        in.readFully(frame.payload);
+
+        return frame;
+    }
+
+    private static final class Frame {
+        private int type;
+        private int flags;
+        private int streamId;
+        private byte[] payload;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http2.frames.DataFrame;
+import org.glassfish.grizzly.http2.frames.ErrorCode;
+import org.glassfish.grizzly.http2.frames.GoAwayFrame;
+import org.glassfish.grizzly.http2.frames.HeadersFrame;
+import org.glassfish.grizzly.http2.frames.RstStreamFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the HTTP/2 session flood protection budgets.
+ */
+public class Http2FloodProtectionTest {
+    private static final int PORT = 18908;
+
+    // :method GET, :path /, :scheme http (HPACK static table) and :authority localhost
+    private static final byte[] REQUEST_HEADERS = { (byte) 0x82, (byte) 0x84, (byte) 0x86, 0x01, 0x09, 'l', 'o', 'c', 'a', 'l', 'h', 'o', 's', 't' };
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.createSimpleServer(null, PORT);
+        final NetworkListener listener = server.getListener("grizzly");
+        listener.registerAddOn(new Http2AddOn(Http2Configuration.builder().maxStreamResetsPerSecond(20).maxNewStreamsPerSecond(50).build()));
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.setContentType("text/plain");
+                response.getWriter().write("OK");
+            }
+        }, "/");
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testBudget() {
+        final Http2FloodProtection.Budget budget = Http2FloodProtection.Budget.of(10);
+        final long second = 1_000_000_000L;
+        long now = 5 * second;
+
+        // the burst
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryAcquire(now));
+        }
+        assertFalse(budget.tryAcquire(now));
+
+        // a token per 100ms
+        now += second / 10;
+        assertTrue(budget.tryAcquire(now));
+        assertFalse(budget.tryAcquire(now));
+
+        // the bucket is full again after a second, but not more than full
+        now += 10 * second;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryAcquire(now));
+        }
+        assertFalse(budget.tryAcquire(now));
+
+        assertEquals(null, Http2FloodProtection.Budget.of(-1));
+    }
+
+    @Test
+    public void testRapidReset() throws Exception {
+        try (Socket socket = connect()) {
+            final OutputStream out = socket.getOutputStream();
+            try {
+                for (int i = 0; i < 500; i++) {
+                    final int streamId = 2 * i + 1;
+                    writeFrame(out, HeadersFrame.TYPE, 0x5, streamId, REQUEST_HEADERS);
+                    writeFrame(out, RstStreamFrame.TYPE, 0, streamId, ByteBuffer.allocate(4).putInt(ErrorCode.CANCEL.getCode()).array());
+                }
+                out.flush();
+            } catch (IOException ignored) {
+                // the server may close the connection, while we're still writing
+            }
+
+            assertEquals("Too many RST_STREAM frames", readGoAway(socket));
+        }
+
+        // the other connections are served
+        try (Socket socket = connect()) {
+            writeFrame(socket.getOutputStream(), HeadersFrame.TYPE, 0x5, 1, REQUEST_HEADERS);
+
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            while (true) {
+                final Frame frame = readFrame(in);
+                assertTrue(frame.type != GoAwayFrame.TYPE);
+                if (frame.type == HeadersFrame.TYPE && frame.streamId == 1) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testServerResets() throws Exception {
+        try (Socket socket = connect()) {
+            final OutputStream out = socket.getOutputStream();
+            try {
+                for (int i = 0; i < 500; i++) {
+                    // the DATA frame on the half-closed stream makes the server reset it
+                    final int streamId = 2 * i + 1;
+                    writeFrame(out, HeadersFrame.TYPE, 0x5, streamId, REQUEST_HEADERS);
+                    writeFrame(out, DataFrame.TYPE, 0, streamId, new byte[1]);
+                }
+                out.flush();
+            } catch (IOException ignored) {
+                // the server may close the connection, while we're still writing
+            }
+
+            assertEquals("Too many stream resets", readGoAway(socket));
+        }
+    }
+
+    @Test
+    public void testNewStreams() throws Exception {
+        try (Socket socket = connect()) {
+            final OutputStream out = socket.getOutputStream();
+            try {
+                for (int i = 0; i < 500; i++) {
+                    writeFrame(out, HeadersFrame.TYPE, 0x5, 2 * i + 1, REQUEST_HEADERS);
+                }
+                out.flush();
+            } catch (IOException ignored) {
+                // the server may close the connection, while we're still writing
+            }
+
+            assertEquals("Too many new streams", readGoAway(socket));
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    /**
+     * Reads the frames up to the GOAWAY, checks its error code and returns its debug data.
+     */
+    private static String readGoAway(final Socket socket) throws IOException {
+        final DataInputStream in = new DataInputStream(socket.getInputStream());
+        while (true) {
+            final Frame frame = readFrame(in);
+            if (frame.type == GoAwayFrame.TYPE) {
+                assertEquals(ErrorCode.ENHANCE_YOUR_CALM.getCode(), ByteBuffer.wrap(frame.payload).getInt(4));
+                return new String(frame.payload, 8, frame.payload.length - 8, StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    private static Socket connect() throws IOException {
+        final Socket socket = new Socket("localhost", PORT);
+        socket.setSoTimeout(10000);
+
+        final OutputStream out = socket.getOutputStream();
+        out.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        writeFrame(out, SettingsFrame.TYPE, 0, 0, new byte[0]);
+
+        return socket;
+    }
+
+    private static void writeFrame(final OutputStream out, final int type, final int flags, final int streamId, final byte[] payload)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(9);
+        header.putInt(payload.length << 8 | type).put((byte) flags).putInt(streamId);
+        out.write(header.array());
+        out.write(payload);
+    }
+
+    private static Frame readFrame(final DataInputStream in) throws IOException {
+        try {
+            final int lengthAndType = in.readInt();
+            final Frame frame = new Frame();
+            frame.type = lengthAndType & 0xff;
+            in.readByte();
+            frame.streamId = in.readInt() & 0x7fffffff;
+            frame.payload = new byte[lengthAndType >>> 8];
+            in.readFully(frame.payload);
+
+            return frame;
+        } catch (EOFException e) {
+            fail("Connection closed without GOAWAY");
+            return null;
+        }
+    }
+
+    private static final class Frame {
+        private int type;
+        private int streamId;
+        private byte[] payload;
+    }
+}
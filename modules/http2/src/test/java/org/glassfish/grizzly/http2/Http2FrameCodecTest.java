@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http2.frames.DataFrame;
+import org.glassfish.grizzly.http2.frames.ErrorCode;
+import org.glassfish.grizzly.http2.frames.Http2Frame;
+import org.glassfish.grizzly.http2.frames.PingFrame;
+import org.glassfish.grizzly.http2.frames.RstStreamFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.glassfish.grizzly.http2.frames.WindowUpdateFrame;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.HeapBuffer;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link Http2FrameCodec} parsing and the in place control frames decoding.
+ */
+public class Http2FrameCodecTest {
+    private static final MemoryManager MM = MemoryManager.DEFAULT_MEMORY_MANAGER;
+
+    private Http2Session session;
+    private Http2FrameCodec codec;
+
+    @Before
+    public void before() {
+        final TCPNIOTransport transport = TCPNIOTransportBuilder.newInstance().build();
+        final TCPNIOConnection connection = new TCPNIOConnection(transport, null);
+        connection.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+
+        session = new Http2Session(connection, true, new Http2ServerFilter(Http2Configuration.builder().build()));
+        codec = new Http2FrameCodec();
+    }
+
+    @Test
+    public void testMixedFrames() throws Exception {
+        final byte[] bytes = toBytes(WindowUpdateFrame.builder().streamId(0).windowSizeIncrement(1000).build(),
+                DataFrame.builder().streamId(1).data(Buffers.wrap(MM, "hello")).endStream(true).build(),
+                PingFrame.builder().opaqueData(42).build(),
+                SettingsFrame.builder().setting(SettingsFrame.SETTINGS_INITIAL_WINDOW_SIZE, 100000).build(),
+                RstStreamFrame.builder().streamId(3).errorCode(ErrorCode.CANCEL).build());
+
+        final Http2FrameCodec.FrameParsingState state = new Http2FrameCodec.FrameParsingState();
+
+        // deliver the frames in two reads, splitting the DATA frame
+        final int split = 13 + 12;
+        List<Http2Frame> frames = codec.parse(session, state, wrap(bytes, 0, split));
+        assertEquals(1, frames.size());
+        assertEquals(1000, ((WindowUpdateFrame) frames.get(0)).getWindowSizeIncrement());
+        recycle(frames);
+
+        frames = codec.parse(session, state, wrap(bytes, split, bytes.length - split));
+        assertEquals(4, frames.size());
+
+        final DataFrame dataFrame = (DataFrame) frames.get(0);
+        assertEquals(1, dataFrame.getStreamId());
+        assertTrue(dataFrame.isEndStream());
+        assertEquals("hello", dataFrame.getData().toStringContent());
+
+        assertEquals(42, ((PingFrame) frames.get(1)).getOpaqueData());
+        assertFalse(((PingFrame) frames.get(1)).isAckSet());
+
+        final SettingsFrame settingsFrame = (SettingsFrame) frames.get(2);
+        assertEquals(1, settingsFrame.getNumberOfSettings());
+        assertEquals(SettingsFrame.SETTINGS_INITIAL_WINDOW_SIZE, settingsFrame.getSettingByIndex(0).getId());
+        assertEquals(100000, settingsFrame.getSettingByIndex(0).getValue());
+        assertEquals(6, settingsFrame.getLength());
+
+        assertEquals(3, frames.get(3).getStreamId());
+        assertEquals(ErrorCode.CANCEL, ((RstStreamFrame) frames.get(3)).getErrorCode());
+        recycle(frames);
+
+        // invalid control frame lengths are reported the same way as before
+        final Buffer badPing = MM.allocate(Http2Frame.FRAME_HEADER_SIZE + 4);
+        badPing.putInt(4 << 8 | PingFrame.TYPE).put((byte) 0).putInt(0).putInt(0).flip();
+        frames = codec.parse(session, state, badPing);
+        assertEquals(4, frames.get(0).getLength());
+        recycle(frames);
+    }
+
+    @Test
+    public void testControlFramesInPlace() throws Exception {
+        // a typical read on a busy connection: the peer's flow-control and keep-alive frames
+        final byte[] bytes = toBytes(WindowUpdateFrame.builder().streamId(0).windowSizeIncrement(65535).build(),
+                WindowUpdateFrame.builder().streamId(1).windowSizeIncrement(65535).build(),
+                PingFrame.builder().opaqueData(1).build(),
+                SettingsFrame.builder().setAck().build());
+
+        final Http2FrameCodec.FrameParsingState state = new Http2FrameCodec.FrameParsingState();
+
+        // the read ends on the frame boundary: the source buffer is disposed, no remainder is kept
+        final HeapBuffer src = HeapBuffer.wrap(bytes);
+        src.allowBufferDispose(true);
+
+        List<Http2Frame> frames = codec.parse(session, state, src);
+        assertEquals(4, frames.size());
+        assertEquals(65535, ((WindowUpdateFrame) frames.get(0)).getWindowSizeIncrement());
+        assertEquals(1, frames.get(1).getStreamId());
+        assertEquals(1, ((PingFrame) frames.get(2)).getOpaqueData());
+        assertTrue(((SettingsFrame) frames.get(3)).isAck());
+        recycle(frames);
+
+        assertSame(Buffers.EMPTY_BUFFER, state.parsingResult().remainder());
+        try {
+            src.capacity();
+            fail("The source buffer has to be disposed");
+        } catch (IllegalStateException expected) {
+        }
+
+        // the read ends with a partial frame: the source buffer itself is kept as the remainder
+        final int partial = bytes.length - 5;
+        final Buffer src2 = wrap(bytes, 0, partial);
+        frames = codec.parse(session, state, src2);
+        assertEquals(3, frames.size());
+        recycle(frames);
+
+        final Buffer remainder = state.parsingResult().remainder();
+        assertSame(src2, remainder);
+        assertEquals(partial - Http2Frame.FRAME_HEADER_SIZE + 5, remainder.position());
+
+        // the rest of the frame completes the remainder
+        frames = codec.parse(session, state, wrap(bytes, partial, bytes.length - partial));
+        assertEquals(1, frames.size());
+        assertTrue(((SettingsFrame) frames.get(0)).isAck());
+        recycle(frames);
+        assertFalse(state.parsingResult().remainder().hasRemaining());
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void recycle(final List<Http2Frame> frames) {
+        for (Http2Frame frame : frames) {
+            frame.recycle();
+        }
+        frames.clear();
+    }
+
+    private static Buffer wrap(final byte[] bytes, final int offset, final int length) {
+        return Buffers.wrap(MM, bytes, offset, length);
+    }
+
+    private static byte[] toBytes(final Http2Frame... frames) {
+        Buffer result = null;
+        for (Http2Frame frame : frames) {
+            result = Buffers.appendBuffers(MM, result, frame.toBuffer(MM));
+        }
+
+        final byte[] bytes = new byte[result.remaining()];
+        result.get(bytes);
+        return bytes;
+    }
+}
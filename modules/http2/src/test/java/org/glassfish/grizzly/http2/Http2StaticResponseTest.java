@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.grizzly.http.StaticResponse;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http.util.HttpStatus;
+import org.glassfish.grizzly.http2.frames.DataFrame;
+import org.glassfish.grizzly.http2.frames.HeadersFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.glassfish.grizzly.http2.hpack.Decoder;
+import org.glassfish.grizzly.http2.hpack.DecodingCallback;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the pre-encoded {@link StaticResponse} sent over HTTP/2.
+ */
+public class Http2StaticResponseTest {
+    private static final int PORT = 18917;
+
+    private static final StaticResponse STATIC_RESPONSE = StaticResponse.builder().status(HttpStatus.SERVICE_UNAVAILABLE_503)
+            .contentType("application/json").header("X-Probe", "health").body("{\"status\":\"DOWN\"}").build();
+
+    // :method GET, :path /, :scheme http (HPACK static table) and :authority localhost
+    private static final byte[] REQUEST_HEADERS = { (byte) 0x82, (byte) 0x84, (byte) 0x86, 0x01, 0x09, 'l', 'o', 'c', 'a', 'l', 'h', 'o', 's', 't' };
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.createSimpleServer(null, PORT);
+        final NetworkListener listener = server.getListener("grizzly");
+        listener.registerAddOn(new Http2AddOn(Http2Configuration.builder().build()));
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                response.getWriter().write("replaced");
+                response.sendStaticResponse(STATIC_RESPONSE);
+            }
+        }, "/");
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testStaticResponse() throws Exception {
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(10000);
+
+            final OutputStream out = socket.getOutputStream();
+            out.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            writeFrame(out, SettingsFrame.TYPE, 0, 0, new byte[0]);
+            writeFrame(out, HeadersFrame.TYPE, 0x5, 1, REQUEST_HEADERS);
+
+            final Decoder decoder = new Decoder(4096);
+            final List<String> fields = new ArrayList<>();
+            final StringBuilder body = new StringBuilder();
+
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            boolean isEndStream = false;
+            while (!isEndStream) {
+                final int lengthAndType = in.readInt();
+                final int type = lengthAndType & 0xff;
+                final int flags = in.readByte();
+                final int streamId = in.readInt() & 0x7fffffff;
+                final byte[] payload = new byte[lengthAndType >>> 8];
+                in.readFully(payload);
+
+                if (streamId != 1) {
+                    continue;
+                }
+
+                isEndStream = (flags & 0x1) != 0;
+                if (type == HeadersFrame.TYPE) {
+                    decoder.decode(MemoryManager.DEFAULT_MEMORY_MANAGER.allocate(payload.length).put(payload).flip(), true, new DecodingCallback() {
+                        @Override
+                        public void onDecoded(CharSequence name, CharSequence value) {
+                            fields.add(name + ": " + value);
+                        }
+                    });
+                } else if (type == DataFrame.TYPE) {
+                    body.append(new String(payload, StandardCharsets.US_ASCII));
+                }
+            }
+
+            assertEquals(":status: 503", fields.get(0));
+            assertTrue(fields.toString(), fields.contains("content-type: application/json"));
+            assertTrue(fields.toString(), fields.contains("x-probe: health"));
+            assertTrue(fields.toString(), fields.contains("content-length: 17"));
+            assertTrue(fields.toString(), fields.stream().anyMatch(field -> field.startsWith("date: ")));
+            assertEquals("{\"status\":\"DOWN\"}", body.toString());
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void writeFrame(final OutputStream out, final int type, final int flags, final int streamId, final byte[] payload)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(9);
+        header.putInt(payload.length << 8 | type).put((byte) flags).putInt(streamId);
+        out.write(header.array());
+        out.write(payload);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link Http2StreamMap}.
+ */
+public class Http2StreamMapTest {
+    private static final int STREAMS_COUNT = 512;
+
+    private Http2Session session;
+    private Http2Stream[] streams;
+
+    @Before
+    public void before() {
+        final TCPNIOTransport transport = TCPNIOTransportBuilder.newInstance().build();
+        final TCPNIOConnection connection = new TCPNIOConnection(transport, null);
+        connection.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+
+        session = new Http2Session(connection, true, new Http2ServerFilter(Http2Configuration.builder().build()));
+
+        streams = new Http2Stream[STREAMS_COUNT];
+        for (int i = 0; i < STREAMS_COUNT; i++) {
+            streams[i] = stream(2 * i + 1);
+        }
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        final Http2StreamMap map = new Http2StreamMap();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+
+        for (Http2Stream stream : streams) {
+            map.put(stream);
+        }
+        assertEquals(STREAMS_COUNT, map.size());
+
+        for (Http2Stream stream : streams) {
+            assertSame(stream, map.get(stream.getId()));
+        }
+        assertNull(map.get(2));
+        assertNull(map.get(2 * STREAMS_COUNT + 1));
+
+        // remove every other stream, the rest must still be reachable past the tombstones
+        for (int i = 0; i < STREAMS_COUNT; i += 2) {
+            assertSame(streams[i], map.remove(streams[i].getId()));
+        }
+        assertNull(map.remove(streams[0].getId()));
+        assertEquals(STREAMS_COUNT / 2, map.size());
+
+        for (int i = 0; i < STREAMS_COUNT; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(streams[i].getId()));
+            } else {
+                assertSame(streams[i], map.get(streams[i].getId()));
+            }
+        }
+
+        // the same id replaces the stream
+        final Http2Stream replacement = stream(streams[1].getId());
+        map.put(replacement);
+        assertEquals(STREAMS_COUNT / 2, map.size());
+        assertSame(replacement, map.get(streams[1].getId()));
+
+        assertEquals(STREAMS_COUNT / 2, map.values().size());
+        assertEquals(STREAMS_COUNT / 2, map.removeIf(s -> true));
+        assertTrue(map.isEmpty());
+        assertNull(map.get(streams[1].getId()));
+    }
+
+    @Test
+    public void testValuesAbove() {
+        final Http2StreamMap map = new Http2StreamMap();
+        // insert in the reverse order
+        for (int i = STREAMS_COUNT - 1; i >= 0; i--) {
+            map.put(streams[i]);
+        }
+
+        final List<Http2Stream> above = map.valuesAbove(streams[99].getId());
+        assertEquals(STREAMS_COUNT - 100, above.size());
+        for (int i = 0; i < above.size(); i++) {
+            assertSame(streams[100 + i], above.get(i));
+        }
+
+        assertEquals(STREAMS_COUNT, map.valuesAbove(0).size());
+        assertTrue(map.valuesAbove(Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final Http2StreamMap map = new Http2StreamMap();
+
+        // the half of the streams is always registered
+        for (int i = 0; i < STREAMS_COUNT / 2; i++) {
+            map.put(streams[i]);
+        }
+
+        final int readersCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        final AtomicBoolean isRunning = new AtomicBoolean(true);
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(readersCount + 1);
+
+        // the frame dispatching threads look up the streams without the lock
+        for (int r = 0; r < readersCount; r++) {
+            final int seed = r;
+            new Thread(() -> {
+                int i = seed;
+                while (isRunning.get() && failure.get() == null) {
+                    final Http2Stream stream = streams[i % (STREAMS_COUNT / 2)];
+                    final Http2Stream found = map.get(stream.getId());
+                    if (found != stream) {
+                        failure.compareAndSet(null, "Stream " + stream.getId() + " lookup returned " + found);
+                    }
+
+                    // the other half is being registered and removed: either the stream or nothing
+                    final Http2Stream removable = streams[STREAMS_COUNT / 2 + i % (STREAMS_COUNT / 2)];
+                    final Http2Stream other = map.get(removable.getId());
+                    if (other != null && other != removable) {
+                        failure.compareAndSet(null, "Stream " + removable.getId() + " lookup returned " + other);
+                    }
+                    i += 7;
+                }
+                done.countDown();
+            }).start();
+        }
+
+        // the session keeps registering and removing the other half of the streams, which rehashes the table
+        new Thread(() -> {
+            try {
+                for (int round = 0; round < 200 && failure.get() == null; round++) {
+                    for (int i = STREAMS_COUNT / 2; i < STREAMS_COUNT; i++) {
+                        map.put(streams[i]);
+                    }
+                    for (int i = STREAMS_COUNT / 2; i < STREAMS_COUNT; i++) {
+                        map.remove(streams[i].getId());
+                    }
+                }
+            } finally {
+                isRunning.set(false);
+                done.countDown();
+            }
+        }).start();
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertEquals(STREAMS_COUNT / 2, map.size());
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private Http2Stream stream(final int streamId) {
+        return session.newStream(HttpRequestPacket.builder().method("GET").uri("/").protocol("HTTP/2.0").build(), streamId, 0, false, 0);
+    }
+}
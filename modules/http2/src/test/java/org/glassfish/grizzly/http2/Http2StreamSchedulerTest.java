@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http2.frames.Http2Frame;
+import org.glassfish.grizzly.http2.frames.PriorityUpdateFrame;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link Http2StreamScheduler}s and RFC 9218 priority parameters.
+ */
+public class Http2StreamSchedulerTest {
+    private static final Logger LOGGER = Grizzly.logger(Http2StreamSchedulerTest.class);
+
+    private static final int FRAME_SIZE = 16384;
+
+    private Http2Session session;
+
+    @Before
+    public void before() {
+        final TCPNIOTransport transport = TCPNIOTransportBuilder.newInstance().build();
+        final TCPNIOConnection connection = new TCPNIOConnection(transport, null);
+        connection.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+
+        session = new Http2Session(connection, true, new Http2ServerFilter(Http2Configuration.builder().build()));
+    }
+
+    @Test
+    public void testStreamPriorityParsing() {
+        assertNull(StreamPriority.parse(null));
+        assertEquals(StreamPriority.DEFAULT, StreamPriority.parse(""));
+        assertEquals(StreamPriority.of(1, true), StreamPriority.parse("u=1, i"));
+        assertEquals(StreamPriority.of(6, false), StreamPriority.parse("i=?0,u=6"));
+        assertEquals(StreamPriority.of(0, true), StreamPriority.parse("u=0;x=1, i=?1, foo=bar"));
+        // invalid urgency is ignored
+        assertEquals(StreamPriority.of(3, true), StreamPriority.parse("u=9, i"));
+        assertEquals(StreamPriority.DEFAULT, StreamPriority.parse("u=a"));
+
+        assertEquals("u=1, i", StreamPriority.of(1, true).toString());
+    }
+
+    @Test
+    public void testPriorityUpdateFrame() throws Exception {
+        final Http2Frame frame = PriorityUpdateFrame.builder().prioritizedStreamId(5).priorityFieldValue("u=2, i").build();
+        final Buffer buffer = frame.toBuffer(MemoryManager.DEFAULT_MEMORY_MANAGER);
+
+        final Http2Frame parsed = session.parseHttp2FrameHeader(buffer);
+        assertTrue(parsed instanceof PriorityUpdateFrame);
+        assertEquals(0, parsed.getStreamId());
+        assertEquals(5, ((PriorityUpdateFrame) parsed).getPrioritizedStreamId());
+        assertEquals("u=2, i", ((PriorityUpdateFrame) parsed).getPriorityFieldValue());
+    }
+
+    @Test
+    public void testTimeToFirstByte() {
+        // one bulk download (1MB written in 64K chunks) followed by small responses
+        final Map<Integer, Integer> fifo = firstByteOffsets(new FifoStreamScheduler(), null, null);
+        final Map<Integer, Integer> fair = firstByteOffsets(new PriorityStreamScheduler(), null, null);
+        final Map<Integer, Integer> urgent = firstByteOffsets(new PriorityStreamScheduler(), StreamPriority.of(5, true), StreamPriority.of(1, false));
+
+        LOGGER.info("Bytes sent before the small response's first byte: fifo=" + fifo + " fair=" + fair + " urgent=" + urgent);
+
+        for (int streamId = 3; streamId <= 7; streamId += 2) {
+            assertTrue(fifo.get(streamId) >= 1024 * 1024);
+            assertTrue(fair.get(streamId) <= 4 * FRAME_SIZE);
+            assertTrue(urgent.get(streamId) <= FRAME_SIZE);
+        }
+    }
+
+    @Test
+    public void testUrgencyAndIncremental() {
+        final PriorityStreamScheduler scheduler = new PriorityStreamScheduler();
+
+        // non-incremental streams of the same urgency are served one at a time
+        offer(scheduler, stream(3, StreamPriority.DEFAULT), 3, FRAME_SIZE);
+        offer(scheduler, stream(5, StreamPriority.DEFAULT), 3, FRAME_SIZE);
+        // incremental streams are interleaved
+        offer(scheduler, stream(7, StreamPriority.of(4, true)), 2, FRAME_SIZE);
+        offer(scheduler, stream(9, StreamPriority.of(4, true)), 2, FRAME_SIZE);
+        // lower urgency
+        offer(scheduler, stream(11, StreamPriority.of(6, false)), 1, FRAME_SIZE);
+        // the most urgent
+        offer(scheduler, stream(13, StreamPriority.of(0, false)), 1, FRAME_SIZE);
+
+        assertEquals(List.of(13, 3, 3, 3, 5, 5, 5, 7, 9, 7, 9, 11), drain(scheduler, null));
+        assertNull(scheduler.next());
+    }
+
+    @Test
+    public void testPriorityChange() {
+        final PriorityStreamScheduler scheduler = new PriorityStreamScheduler();
+
+        final Http2Stream stream3 = stream(3, StreamPriority.DEFAULT);
+        offer(scheduler, stream3, 2, FRAME_SIZE);
+        offer(scheduler, stream(5, StreamPriority.DEFAULT), 2, FRAME_SIZE);
+
+        stream3.setStreamPriority(StreamPriority.of(7, false));
+        scheduler.onPriorityChanged(stream3);
+
+        assertEquals(List.of(5, 5, 3, 3), drain(scheduler, null));
+    }
+
+    @Test
+    public void testWeightedFairFallback() {
+        final PriorityStreamScheduler scheduler = new PriorityStreamScheduler();
+
+        final Http2Stream heavy = stream(3, null);
+        heavy.setWeight(32);
+        offer(scheduler, heavy, 30, FRAME_SIZE);
+        offer(scheduler, stream(5, null), 30, FRAME_SIZE);
+
+        final List<Integer> order = drain(scheduler, null);
+        int heavyCount = 0;
+        for (int i = 0; i < 30; i++) {
+            if (order.get(i) == 3) {
+                heavyCount++;
+            }
+        }
+
+        // the bandwidth is shared 2:1
+        assertEquals(20, heavyCount);
+    }
+
+    @Test
+    public void testRecordsSplit() {
+        final FifoStreamScheduler fifo = new FifoStreamScheduler();
+        final PriorityStreamScheduler priority = new PriorityStreamScheduler();
+
+        for (Http2StreamScheduler scheduler : new Http2StreamScheduler[] { fifo, priority }) {
+            final Http2Stream stream = stream(3, null);
+            scheduler.offer(stream, new Http2OutputQueueRecord(3, data(FRAME_SIZE * 3), null, false));
+            scheduler.offer(stream, new Http2OutputQueueRecord(3, data(100), null, true));
+
+            final List<Http2Frame> frames = new ArrayList<>();
+            assertEquals(List.of(3, 3, 3, 3), drain(scheduler, frames));
+            assertFalse(frames.get(2).isFlagSet(1));
+            assertTrue(frames.get(3).isFlagSet(1));
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private Map<Integer, Integer> firstByteOffsets(final Http2StreamScheduler scheduler, final StreamPriority bulkPriority,
+            final StreamPriority smallPriority) {
+        offer(scheduler, stream(1, bulkPriority), 16, 64 * 1024);
+        for (int streamId = 3; streamId <= 7; streamId += 2) {
+            offer(scheduler, stream(streamId, smallPriority), 1, 2048);
+        }
+
+        final Map<Integer, Integer> offsets = new HashMap<>();
+        final List<Http2Frame> frames = new ArrayList<>();
+        int sent = 0;
+        Http2OutputQueueRecord record;
+        while ((record = scheduler.next()) != null) {
+            final int bytes = record.serializeTo(frames, FRAME_SIZE);
+            offsets.putIfAbsent(record.getStreamId(), sent);
+            sent += bytes;
+            scheduler.onSerialized(record, bytes);
+        }
+
+        return offsets;
+    }
+
+    private Http2Stream stream(final int streamId, final StreamPriority priority) {
+        final HttpRequestPacket request = HttpRequestPacket.builder().method("GET").uri("/").protocol("HTTP/2.0").build();
+        final Http2Stream stream = session.newStream(request, streamId, 0, false, 0);
+        stream.setStreamPriority(priority);
+        return stream;
+    }
+
+    private static void offer(final Http2StreamScheduler scheduler, final Http2Stream stream, final int count, final int size) {
+        for (int i = 0; i < count; i++) {
+            scheduler.offer(stream, new Http2OutputQueueRecord(stream.getId(), data(size), null, i == count - 1));
+        }
+    }
+
+    private static Buffer data(final int size) {
+        final Buffer data = MemoryManager.DEFAULT_MEMORY_MANAGER.allocate(size);
+        data.position(size);
+        data.flip();
+        return data;
+    }
+
+    /**
+     * Serializes all the scheduled records and returns the stream IDs of the serialized frames.
+     */
+    private static List<Integer> drain(final Http2StreamScheduler scheduler, List<Http2Frame> frames) {
+        if (frames == null) {
+            frames = new ArrayList<>();
+        }
+
+        final List<Integer> order = new ArrayList<>();
+        Http2OutputQueueRecord record;
+        while ((record = scheduler.next()) != null) {
+            final int bytes = record.serializeTo(frames, FRAME_SIZE);
+            order.add(record.getStreamId());
+            scheduler.onSerialized(record, bytes);
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http2.frames.Http2Frame;
+import org.glassfish.grizzly.http2.frames.PingFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.glassfish.grizzly.http2.frames.WindowUpdateFrame;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the HTTP/2 receive window auto-tuning.
+ */
+public class Http2WindowTunerTest {
+    private static final int MAX_WINDOW_SIZE = 1024 * 1024;
+
+    private Http2Session session;
+    private Http2WindowTuner tuner;
+
+    private final List<String> events = new ArrayList<>();
+    private final List<Http2Frame> frames = new ArrayList<>();
+
+    @Before
+    public void before() {
+        final TCPNIOTransport transport = TCPNIOTransportBuilder.newInstance().build();
+        final TCPNIOConnection connection = new TCPNIOConnection(transport, null);
+        connection.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+
+        final Http2ServerFilter filter = new Http2ServerFilter(
+                Http2Configuration.builder().windowAutoTuning(true).maxWindowSize(MAX_WINDOW_SIZE).build());
+        filter.getMonitoringConfig().addProbes(new Http2Probe.Adapter() {
+            @Override
+            public void onBdpSampleEvent(Http2Session session, long rttNanos, int bdp) {
+                events.add("bdp " + bdp);
+            }
+
+            @Override
+            public void onSessionWindowTuneEvent(Http2Session session, int oldWindowSize, int newWindowSize) {
+                events.add("session " + oldWindowSize + "->" + newWindowSize);
+            }
+
+            @Override
+            public void onStreamWindowTuneEvent(Http2Session session, Http2Stream stream, int oldWindowSize, int newWindowSize) {
+                events.add("stream " + oldWindowSize + "->" + newWindowSize);
+            }
+        });
+
+        session = new Http2Session(connection, true, filter) {
+            @Override
+            protected Http2SessionOutputSink newOutputSink() {
+                return new Http2SessionOutputSink(this) {
+                    @Override
+                    protected void writeDownStream(final Http2Frame frame) {
+                        frames.add(frame);
+                    }
+                };
+            }
+        };
+        tuner = new Http2WindowTuner(session, MAX_WINDOW_SIZE);
+    }
+
+    @Test
+    public void testWindowGrowth() {
+        final int initialWindowSize = session.getLocalConnectionWindowSize();
+
+        // the whole window is received within one RTT
+        tuner.onDataReceived(16384);
+        tuner.onDataReceived(initialWindowSize - 16384);
+        assertEquals(1, frames.size());
+        assertEquals(Http2WindowTuner.PING_MARKER | 1, ((PingFrame) frames.get(0)).getOpaqueData());
+        assertFalse(tuner.onPingAck(12345L));
+        assertTrue(tuner.onPingAck(Http2WindowTuner.PING_MARKER | 1));
+
+        assertEquals(2 * initialWindowSize, session.getLocalConnectionWindowSize());
+        assertEquals(2 * initialWindowSize, session.getLocalStreamWindowSize());
+        assertEquals(initialWindowSize, ((WindowUpdateFrame) frames.get(1)).getWindowSizeIncrement());
+        final SettingsFrame.Setting setting = ((SettingsFrame) frames.get(2)).getSettingByIndex(0);
+        assertEquals(SettingsFrame.SETTINGS_INITIAL_WINDOW_SIZE, setting.getId());
+        assertEquals(2 * initialWindowSize, setting.getValue());
+        assertEquals("bdp " + initialWindowSize, events.get(0));
+        assertEquals("session " + initialWindowSize + "->" + 2 * initialWindowSize, events.get(1));
+
+        // the window isn't the bottleneck, no growth
+        events.clear();
+        tuner.onDataReceived(1000);
+        assertTrue(tuner.onPingAck(Http2WindowTuner.PING_MARKER | 2));
+        assertEquals(2 * initialWindowSize, session.getLocalConnectionWindowSize());
+        assertEquals(1, events.size());
+
+        // the window growth is capped by the max window size
+        tuner.onDataReceived(MAX_WINDOW_SIZE);
+        assertTrue(tuner.onPingAck(Http2WindowTuner.PING_MARKER | 3));
+        assertEquals(MAX_WINDOW_SIZE, session.getLocalConnectionWindowSize());
+        assertEquals(MAX_WINDOW_SIZE, session.getLocalStreamWindowSize());
+
+        // no more sampling once the max window size is reached
+        events.clear();
+        tuner.onDataReceived(MAX_WINDOW_SIZE);
+        assertFalse(tuner.onPingAck(Http2WindowTuner.PING_MARKER | 4));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testStreamWindowShrink() {
+        session.growLocalWindowSizes(4 * 65536);
+        events.clear();
+
+        final Http2Stream stream = session.newStream(HttpRequestPacket.builder().method("POST").uri("/").protocol("HTTP/2.0").build(), 1, 0, false, 0);
+        assertEquals(4 * 65536, stream.getLocalWindowSize());
+
+        // the application lags behind: the window is shrunk and the credit is withheld
+        Http2Stream.unreadBytesUpdater.addAndGet(stream, 4 * 65536);
+        assertEquals(0, tuner.onStreamDataConsumed(stream, 16384));
+        assertEquals(2 * 65536, stream.getLocalWindowSize());
+        assertEquals("stream " + 4 * 65536 + "->" + 2 * 65536, events.get(0));
+
+        // still lagging, shrunk once more
+        assertEquals(0, tuner.onStreamDataConsumed(stream, 16384));
+        assertEquals(65536, stream.getLocalWindowSize());
+
+        // the withheld credit is taken from the following reads
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, tuner.onStreamDataConsumed(stream, 16384));
+        }
+
+        // the application has caught up: the window is restored and all the consumed bytes are acknowledged
+        final int unread = Http2Stream.unreadBytesUpdater.get(stream);
+        final int credit = tuner.onStreamDataConsumed(stream, unread);
+        assertEquals(4 * 65536, stream.getLocalWindowSize());
+        assertEquals(4 * 65536, 7 * 16384 + unread);
+        assertEquals(4 * 65536, credit);
+        assertEquals("stream 65536->" + 4 * 65536, events.get(events.size() - 1));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http2.frames.DataFrame;
+import org.glassfish.grizzly.http2.frames.HeadersFrame;
+import org.glassfish.grizzly.http2.frames.SettingsFrame;
+import org.glassfish.grizzly.http2.frames.WindowUpdateFrame;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the HTTP/2 zero-copy input mode, where the connection window is credited when the data is passed to the HTTP
+ * layer.
+ */
+public class Http2ZeroCopyInputTest {
+    private static final int PORT = 18909;
+
+    // :method POST, :path /, :scheme http (HPACK static table) and :authority localhost
+    private static final byte[] REQUEST_HEADERS = { (byte) 0x83, (byte) 0x84, (byte) 0x86, 0x01, 0x09, 'l', 'o', 'c', 'a', 'l', 'h', 'o', 's', 't' };
+
+    private final CountDownLatch readLatch = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.createSimpleServer(null, PORT);
+        final NetworkListener listener = server.getListener("grizzly");
+        listener.registerAddOn(new Http2AddOn(Http2Configuration.builder().zeroCopyInput(true).build()));
+        server.getServerConfiguration().addHttpHandler(new HttpHandler() {
+            @Override
+            public void service(Request request, Response response) throws Exception {
+                readLatch.await(10, TimeUnit.SECONDS);
+
+                final InputStream in = request.getInputStream();
+                final byte[] buf = new byte[8192];
+                int total = 0;
+                int len;
+                while ((len = in.read(buf)) != -1) {
+                    total += len;
+                }
+
+                response.setContentType("text/plain");
+                response.getWriter().write(String.valueOf(total));
+            }
+        }, "/");
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testLazyInputQueue() throws Exception {
+        final TCPNIOTransport transport = TCPNIOTransportBuilder.newInstance().build();
+        final TCPNIOConnection connection = new TCPNIOConnection(transport, null);
+        connection.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+        final Http2Session session = new Http2Session(connection, true, new Http2ServerFilter(Http2Configuration.builder().build()));
+
+        final Http2Stream stream = session.newStream(HttpRequestPacket.builder().method("POST").uri("/").protocol("HTTP/2.0").build(), 1, 0, false, 0);
+        final DefaultInputBuffer inputBuffer = (DefaultInputBuffer) stream.inputBuffer;
+        stream.onRcvHeaders(false);
+        assertFalse(inputBuffer.isInputQueueAllocated());
+
+        stream.offerInputData(Buffers.wrap(session.getMemoryManager(), "data"), true);
+        stream.flushInputData();
+        assertTrue(inputBuffer.isInputQueueAllocated());
+        assertEquals("data", stream.pollInputData().getContent().toStringContent());
+    }
+
+    @Test
+    public void testCreditOnConsumption() throws Exception {
+        final int chunkSize = 16384;
+
+        try (Socket socket = new Socket("localhost", PORT)) {
+            socket.setSoTimeout(1000);
+
+            final OutputStream out = socket.getOutputStream();
+            out.write("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            writeFrame(out, SettingsFrame.TYPE, 0, 0, new byte[0]);
+            writeFrame(out, HeadersFrame.TYPE, 0x4, 1, REQUEST_HEADERS);
+            for (int i = 0; i < 3; i++) {
+                writeFrame(out, DataFrame.TYPE, 0, 1, new byte[chunkSize]);
+            }
+            out.flush();
+
+            // the data isn't passed to the HTTP layer yet, so the connection window isn't credited
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            try {
+                while (true) {
+                    final Frame frame = readFrame(in);
+                    assertFalse(frame.type == WindowUpdateFrame.TYPE && frame.streamId == 0);
+                }
+            } catch (SocketTimeoutException expected) {
+            }
+
+            socket.setSoTimeout(10000);
+            readLatch.countDown();
+
+            boolean isCredited = false;
+            while (true) {
+                final Frame frame = readFrame(in);
+                if (frame.type == WindowUpdateFrame.TYPE && frame.streamId == 0 && !isCredited) {
+                    isCredited = true;
+                    writeFrame(out, DataFrame.TYPE, DataFrame.END_STREAM, 1, new byte[1]);
+                } else if (frame.type == DataFrame.TYPE && frame.streamId == 1) {
+                    assertTrue(isCredited);
+                    assertEquals(String.valueOf(3 * chunkSize + 1), new String(frame.payload, StandardCharsets.US_ASCII));
+                    break;
+                }
+            }
+        }
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void writeFrame(final OutputStream out, final int type, final int flags, final int streamId, final byte[] payload)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(9);
+        header.putInt(payload.length << 8 | type).put((byte) flags).putInt(streamId);
+        out.write(header.array());
+        out.write(payload);
+    }
+
+    private static Frame readFrame(final DataInputStream in) throws IOException {
+        final int lengthAndType = in.readInt();
+        final Frame frame = new Frame();
+        frame.type = lengthAndType & 0xff;
+        in.readByte();
+        frame.streamId = in.readInt() & 0x7fffffff;
+        frame.payload = new byte[lengthAndType >>> 8];
+        in.readFully(frame.payload);
+
+        return frame;
+    }
+
+    private static final class Frame {
+        private int type;
+        private int streamId;
+        private byte[] payload;
+    }
+}
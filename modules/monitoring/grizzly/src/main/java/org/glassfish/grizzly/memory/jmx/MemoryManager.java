@@ -18,6 +18,7 @@ package org.glassfish.grizzly.memory.jmx;
 
 import org.glassfish.grizzly.monitoring.jmx.JmxObject;
 import org.glassfish.grizzly.memory.MemoryProbe;
+import org.glassfish.grizzly.memory.PooledMemoryManager;
 import java.util.concurrent.atomic.AtomicLong;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.GmbalMBean;
@@ -42,6 +43,7 @@ public class MemoryManager extends JmxObject {
     private final AtomicLong realAllocatedBytes = new AtomicLong();
     private final AtomicLong poolAllocatedBytes = new AtomicLong();
     private final AtomicLong poolReleasedBytes = new AtomicLong();
+    private final AtomicLong leakedBuffers = new AtomicLong();
     
     public MemoryManager(org.glassfish.grizzly.memory.MemoryManager memoryManager) {
         this.memoryManager = memoryManager;
@@ -94,6 +96,30 @@ public class MemoryManager extends JmxObject {
         return poolReleasedBytes.get();
     }
 
+    @ManagedAttribute(id="pool-current-bytes")
+    @Description("The number of bytes in the buffers currently owned by the memory pool, including the buffers in use")
+    public long getPoolCurrentBytes() {
+        return memoryManager instanceof PooledMemoryManager ? ((PooledMemoryManager) memoryManager).getPooledBytes() : 0;
+    }
+
+    @ManagedAttribute(id="pool-high-water-bytes")
+    @Description("The max number of bytes owned by the memory pool")
+    public long getPoolHighWaterBytes() {
+        return memoryManager instanceof PooledMemoryManager ? ((PooledMemoryManager) memoryManager).getPooledBytesHighWater() : 0;
+    }
+
+    @ManagedAttribute(id="pool-trimmed-bytes")
+    @Description("Total number of bytes in the idle buffers trimmed by the elastic memory pool")
+    public long getPoolTrimmedBytes() {
+        return memoryManager instanceof PooledMemoryManager ? ((PooledMemoryManager) memoryManager).getTrimmedBytes() : 0;
+    }
+
+    @ManagedAttribute(id="leaked-buffers")
+    @Description("Total number of sampled pooled buffers, which were garbage collected without being released to the pool")
+    public long getLeakedBuffers() {
+        return leakedBuffers.get();
+    }
+
     private class JmxMemoryProbe implements MemoryProbe {
 
         @Override
@@ -113,5 +139,10 @@ public class MemoryManager extends JmxObject {
             poolReleasedBytes.addAndGet(size);
         }
 
+        @Override
+        public void onBufferLeakEvent(int size, Throwable allocationTrace) {
+            leakedBuffers.incrementAndGet();
+        }
+
     }
 }
@@ -19,11 +19,13 @@ package org.glassfish.grizzly.threadpool.jmx;
 import org.glassfish.grizzly.monitoring.jmx.JmxObject;
 import org.glassfish.grizzly.threadpool.AbstractThreadPool;
 import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
+import org.glassfish.grizzly.threadpool.ThreadPoolSizeController;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.GmbalMBean;
 import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedObject;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.glassfish.grizzly.jmxbase.GrizzlyJmxManager;
@@ -44,6 +46,7 @@ public class ThreadPool extends JmxObject {
     private final AtomicInteger busyThreadsCount = new AtomicInteger();
     private final AtomicLong totalCompletedTasksCount = new AtomicLong();
     private final AtomicInteger totalTaskQueueOverflowCount = new AtomicInteger();
+    private final AtomicInteger totalResizeCount = new AtomicInteger();
 
 
     // ------------------------------------------------------------ Constructors
@@ -184,6 +187,62 @@ public class ThreadPool extends JmxObject {
         return totalTaskQueueOverflowCount.get();
     }
 
+    /**
+     * @return the number of times this thread pool has been resized.
+     * @since 4.1
+     */
+    @ManagedAttribute(id="thread-pool-resize-count")
+    @Description("The total number of times this thread pool has been resized.")
+    public int getTotalResizeCount() {
+        return totalResizeCount.get();
+    }
+
+    /**
+     * @return the pool size calculated by the size controller, or <tt>-1</tt> if the pool size isn't controlled.
+     * @since 4.1
+     */
+    @ManagedAttribute(id="thread-pool-controller-target-size")
+    @Description("The thread pool size calculated by the size controller, or -1 if the pool size isn't controlled.")
+    public int getControllerTargetSize() {
+        final ThreadPoolSizeController controller = threadPool.getSizeController();
+        return controller != null ? controller.getTargetSize() : -1;
+    }
+
+    /**
+     * @return the average task queue wait time (in microseconds) measured by the size controller, or <tt>-1</tt> if the
+     *  pool size isn't controlled.
+     * @since 4.1
+     */
+    @ManagedAttribute(id="thread-pool-controller-queue-wait")
+    @Description("The average task queue wait time (in microseconds) measured by the size controller, or -1 if the pool size isn't controlled.")
+    public long getControllerQueueWait() {
+        final ThreadPoolSizeController controller = threadPool.getSizeController();
+        return controller != null ? controller.getQueueWait(TimeUnit.MICROSECONDS) : -1;
+    }
+
+    /**
+     * @return the average task duration (in microseconds) measured by the size controller, or <tt>-1</tt> if the pool
+     *  size isn't controlled.
+     * @since 4.1
+     */
+    @ManagedAttribute(id="thread-pool-controller-task-duration")
+    @Description("The average task duration (in microseconds) measured by the size controller, or -1 if the pool size isn't controlled.")
+    public long getControllerTaskDuration() {
+        final ThreadPoolSizeController controller = threadPool.getSizeController();
+        return controller != null ? controller.getTaskDuration(TimeUnit.MICROSECONDS) : -1;
+    }
+
+    /**
+     * @return the description of the last resize decision made by the size controller.
+     * @since 4.1
+     */
+    @ManagedAttribute(id="thread-pool-controller-last-resize")
+    @Description("The description of the last resize decision made by the size controller.")
+    public String getControllerLastResize() {
+        final ThreadPoolSizeController controller = threadPool.getSizeController();
+        return controller != null ? controller.getLastResize() : null;
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
 
@@ -218,6 +277,11 @@ public class ThreadPool extends JmxObject {
         public void onTaskQueueOverflowEvent(AbstractThreadPool threadPool) {
             totalTaskQueueOverflowCount.incrementAndGet();
         }
+
+        @Override
+        public void onThreadPoolResizeEvent(AbstractThreadPool threadPool, int oldSize, int newSize) {
+            totalResizeCount.incrementAndGet();
+        }
         
         private void decBusyThreadCount() {
             final int val = busyThreadsCount.decrementAndGet();